@@ -0,0 +1,99 @@
+package org.knowm.xchart.demo.charts.realtime;
+
+import java.util.Timer;
+import java.util.TimerTask;
+import org.knowm.xchart.StreamingXYSeries;
+import org.knowm.xchart.SwingWrapper;
+import org.knowm.xchart.XYChart;
+import org.knowm.xchart.XYChartBuilder;
+import org.knowm.xchart.demo.charts.ExampleChart;
+import org.knowm.xchart.demo.charts.RealtimeExampleChart;
+import org.knowm.xchart.style.markers.SeriesMarkers;
+
+/**
+ * Real-time XY Chart with a Streaming Series
+ *
+ * <p>Demonstrates the following:
+ *
+ * <ul>
+ *   <li>real-time chart updates with SwingWrapper
+ *   <li>appending points to a fixed-capacity streaming series instead of replacing the data
+ */
+public class RealtimeChart07 implements ExampleChart<XYChart>, RealtimeExampleChart {
+
+  private XYChart xyChart;
+
+  private StreamingXYSeries series;
+  private double x = 0;
+  private double y = 0;
+
+  public static final String SERIES_NAME = "series1";
+
+  public static void main(String[] args) {
+
+    // Setup the panel
+    final RealtimeChart07 realtimeChart07 = new RealtimeChart07();
+    realtimeChart07.go();
+  }
+
+  private void go() {
+
+    final SwingWrapper<XYChart> swingWrapper = new SwingWrapper<XYChart>(getChart());
+    swingWrapper.displayChart();
+
+    // Simulate a data feed
+    TimerTask chartUpdaterTask =
+        new TimerTask() {
+
+          @Override
+          public void run() {
+
+            updateData();
+
+            javax.swing.SwingUtilities.invokeLater(
+                new Runnable() {
+
+                  @Override
+                  public void run() {
+
+                    swingWrapper.repaintChart();
+                  }
+                });
+          }
+        };
+
+    Timer timer = new Timer();
+    timer.scheduleAtFixedRate(chartUpdaterTask, 0, 100);
+  }
+
+  @Override
+  public XYChart getChart() {
+
+    // Create Chart
+    xyChart =
+        new XYChartBuilder().width(500).height(400).title("Real-time Streaming XY Chart").build();
+    xyChart.getStyler().setLegendVisible(false);
+
+    series = xyChart.addStreamingSeries(SERIES_NAME, 1000);
+    series.setMarker(SeriesMarkers.NONE);
+    updateData();
+
+    return xyChart;
+  }
+
+  @Override
+  public void updateData() {
+
+    // Append a burst of new points, the oldest ones drop out of the window
+    for (int i = 0; i < 100; i++) {
+      y += Math.random() - 0.5;
+      series.append(x++, y);
+    }
+  }
+
+  @Override
+  public String getExampleChartName() {
+
+    return getClass().getSimpleName() + " - Real-time Streaming XY Chart";
+  }
+}
@@ -8,6 +8,7 @@ import java.awt.font.TextLayout;
 import java.awt.geom.AffineTransform;
 import java.awt.geom.Rectangle2D;
 import org.knowm.xchart.internal.chartpart.Annotation;
+import org.knowm.xchart.internal.chartpart.TextLayoutCache;
 
 public class AnnotationText extends Annotation {
 
@@ -44,8 +45,8 @@ public class AnnotationText extends Annotation {
     g.setFont(styler.getAnnotationTextFont());
 
     FontRenderContext frc = g.getFontRenderContext();
-    TextLayout tl = new TextLayout(text, styler.getAnnotationTextFont(), frc);
-    Shape shape = tl.getOutline(null);
+    TextLayout tl = TextLayoutCache.getTextLayout(text, styler.getAnnotationTextFont(), frc);
+    Shape shape = TextLayoutCache.getOutline(tl);
 
     Rectangle2D textBounds = shape.getBounds2D();
 
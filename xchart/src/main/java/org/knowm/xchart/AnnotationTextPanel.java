@@ -14,6 +14,7 @@ import java.util.List;
 import java.util.Map;
 import org.knowm.xchart.internal.chartpart.Annotation;
 import org.knowm.xchart.internal.chartpart.Chart;
+import org.knowm.xchart.internal.chartpart.TextLayoutCache;
 
 public class AnnotationTextPanel extends Annotation {
 
@@ -114,8 +115,9 @@ public class AnnotationTextPanel extends Annotation {
       double lineHeight = entry.getValue().getHeight();
 
       FontRenderContext frc = g.getFontRenderContext();
-      TextLayout tl = new TextLayout(entry.getKey(), styler.getAnnotationTextPanelFont(), frc);
-      Shape shape = tl.getOutline(null);
+      TextLayout tl =
+          TextLayoutCache.getTextLayout(entry.getKey(), styler.getAnnotationTextPanelFont(), frc);
+      Shape shape = TextLayoutCache.getOutline(tl);
       AffineTransform orig = g.getTransform();
       AffineTransform at = new AffineTransform();
       at.translate(xOffset, yOffset + lineHeight + multiLineOffset);
@@ -135,8 +137,9 @@ public class AnnotationTextPanel extends Annotation {
     Map<String, Rectangle2D> textBounds = new LinkedHashMap<>(lines.size());
     for (String line : lines) {
       TextLayout textLayout =
-          new TextLayout(line, infoPanelFont, new FontRenderContext(null, true, false));
-      Shape shape = textLayout.getOutline(null);
+          TextLayoutCache.getTextLayout(
+              line, infoPanelFont, new FontRenderContext(null, true, false));
+      Shape shape = TextLayoutCache.getOutline(textLayout);
       Rectangle2D bounds = shape.getBounds2D();
       textBounds.put(line, bounds);
     }
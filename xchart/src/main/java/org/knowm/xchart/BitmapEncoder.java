@@ -12,6 +12,7 @@ import java.io.OutputStream;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 import javax.imageio.IIOImage;
 import javax.imageio.ImageIO;
 import javax.imageio.ImageTypeSpecifier;
@@ -22,6 +23,7 @@ import javax.imageio.metadata.IIOMetadata;
 import javax.imageio.metadata.IIOMetadataNode;
 import javax.imageio.stream.FileImageOutputStream;
 import org.knowm.xchart.internal.chartpart.Chart;
+import org.knowm.xchart.internal.chartpart.PlotContent_;
 
 /** A helper class with static methods for saving Charts as bitmaps */
 public final class BitmapEncoder {
@@ -86,6 +88,42 @@ public final class BitmapEncoder {
     ImageIO.write(bufferedImage, bitmapFormat.toString().toLowerCase(), targetStream);
   }
 
+  /**
+   * Save a Chart as an image file, painting the plot content with several threads. Meant for very
+   * large exports, the result is identical to {@link #saveBitmap(Chart, String, BitmapFormat)}.
+   *
+   * @param chart
+   * @param fileName
+   * @param bitmapFormat
+   * @param parallelism the number of threads to paint with
+   * @throws IOException
+   */
+  public static <T extends Chart<?, ?>> void saveBitmap(
+      T chart, String fileName, BitmapFormat bitmapFormat, int parallelism) throws IOException {
+
+    try (OutputStream out = new FileOutputStream(addFileExtension(fileName, bitmapFormat))) {
+      saveBitmap(chart, out, bitmapFormat, parallelism);
+    }
+  }
+
+  /**
+   * Write a Chart into a given stream, painting the plot content with several threads. Does not
+   * close the target stream automatically at the end of the operation
+   *
+   * @param chart
+   * @param targetStream
+   * @param bitmapFormat
+   * @param parallelism the number of threads to paint with
+   * @throws IOException
+   */
+  public static <T extends Chart<?, ?>> void saveBitmap(
+      T chart, OutputStream targetStream, BitmapFormat bitmapFormat, int parallelism)
+      throws IOException {
+
+    BufferedImage bufferedImage = getBufferedImage(chart, parallelism);
+    ImageIO.write(bufferedImage, bitmapFormat.toString().toLowerCase(), targetStream);
+  }
+
   /**
    * Save list of Charts as an image file. Function assumes that all charts are the same size
    * (width, height). Number of charts should equal rows multiplied by cols.
@@ -282,6 +320,38 @@ public final class BitmapEncoder {
     return bufferedImage;
   }
 
+  /**
+   * Paints a chart into a new image, splitting the plot content into tiles which are painted in
+   * parallel. The image is identical to the one of {@link #getBufferedImage(Chart)}. Charts with
+   * tooltips or a cursor enabled, and chart types other than XY, are painted on a single thread.
+   *
+   * @param chart
+   * @param parallelism the number of threads to paint with, 1 to paint on the calling thread
+   * @return the image
+   */
+  public static <T extends Chart<?, ?>> BufferedImage getBufferedImage(T chart, int parallelism) {
+
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("Parallelism must be at least 1!!!");
+    }
+    if (parallelism == 1) {
+      return getBufferedImage(chart);
+    }
+
+    BufferedImage bufferedImage =
+        new BufferedImage(chart.getWidth(), chart.getHeight(), BufferedImage.TYPE_INT_RGB);
+    Graphics2D graphics2D = bufferedImage.createGraphics();
+    ForkJoinPool pool = new ForkJoinPool(parallelism);
+    try {
+      graphics2D.setRenderingHint(PlotContent_.KEY_TILE_POOL, pool);
+      chart.paint(graphics2D, chart.getWidth(), chart.getHeight());
+    } finally {
+      pool.shutdown();
+      graphics2D.dispose();
+    }
+    return bufferedImage;
+  }
+
   private static BufferedImage mergeImages(List<BufferedImage> images, Integer rows, Integer cols) {
 
     BufferedImage first = images.get(0);
@@ -0,0 +1,301 @@
+package org.knowm.xchart;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageTypeSpecifier;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+import org.knowm.xchart.BitmapEncoder.BitmapFormat;
+import org.knowm.xchart.internal.chartpart.Chart;
+
+/**
+ * A reusable renderer for turning many charts into bitmaps, for example on a server. In contrast to
+ * the static methods of {@link BitmapEncoder}, the images painted into are pooled by size and the
+ * ImageWriters are pooled by format, and the encoded bytes are buffered in memory rather than in a
+ * temporary file. The renderer is thread-safe; the same chart must not be rendered by two threads
+ * at the same time though.
+ */
+public class BitmapRenderer {
+
+  private final Executor executor;
+  private final int maxPooledImagesPerSize;
+
+  private final Map<Long, Deque<BufferedImage>> imagePool = new ConcurrentHashMap<>();
+  private final Map<BitmapFormat, Deque<ImageWriter>> writerPool = new ConcurrentHashMap<>();
+
+  /** Constructor - renders asynchronously on the common ForkJoinPool */
+  public BitmapRenderer() {
+
+    this(ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Constructor
+   *
+   * @param executor the executor the submit methods render on
+   */
+  public BitmapRenderer(Executor executor) {
+
+    this(executor, Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Constructor
+   *
+   * @param executor the executor the submit methods render on
+   * @param maxPooledImagesPerSize the number of idle images kept per image size, which should be
+   *     the number of charts of the same size rendered concurrently
+   */
+  public BitmapRenderer(Executor executor, int maxPooledImagesPerSize) {
+
+    if (maxPooledImagesPerSize < 0) {
+      throw new IllegalArgumentException("The pool size must not be negative!!!");
+    }
+    this.executor = executor;
+    this.maxPooledImagesPerSize = maxPooledImagesPerSize;
+  }
+
+  /**
+   * Renders a chart on the calling thread and writes it into the given stream. Does not close the
+   * target stream.
+   *
+   * @param chart
+   * @param bitmapFormat
+   * @param targetStream
+   * @throws IOException
+   */
+  public void write(Chart<?, ?> chart, BitmapFormat bitmapFormat, OutputStream targetStream)
+      throws IOException {
+
+    BufferedImage image = acquireImage(chart.getWidth(), chart.getHeight());
+    try {
+      paint(chart, image);
+      encode(image, bitmapFormat, targetStream);
+    } finally {
+      releaseImage(image);
+    }
+  }
+
+  /**
+   * Renders a chart on the calling thread and writes it into the given buffer, starting at its
+   * position
+   *
+   * @param chart
+   * @param bitmapFormat
+   * @param targetBuffer
+   * @return the number of bytes written
+   * @throws IOException
+   * @throws java.nio.BufferOverflowException if the buffer is too small
+   */
+  public int write(Chart<?, ?> chart, BitmapFormat bitmapFormat, ByteBuffer targetBuffer)
+      throws IOException {
+
+    int start = targetBuffer.position();
+    write(chart, bitmapFormat, new ByteBufferOutputStream(targetBuffer));
+    return targetBuffer.position() - start;
+  }
+
+  /**
+   * Renders a chart on the calling thread
+   *
+   * @param chart
+   * @param bitmapFormat
+   * @return the encoded bitmap
+   * @throws IOException
+   */
+  public byte[] getBitmapBytes(Chart<?, ?> chart, BitmapFormat bitmapFormat) throws IOException {
+
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    write(chart, bitmapFormat, baos);
+    return baos.toByteArray();
+  }
+
+  /**
+   * Renders a chart on the executor
+   *
+   * @param chart
+   * @param bitmapFormat
+   * @return the encoded bitmap, completed exceptionally with an UncheckedIOException if encoding
+   *     failed
+   */
+  public CompletableFuture<byte[]> submit(Chart<?, ?> chart, BitmapFormat bitmapFormat) {
+
+    return CompletableFuture.supplyAsync(
+        () -> {
+          try {
+            return getBitmapBytes(chart, bitmapFormat);
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+        },
+        executor);
+  }
+
+  /**
+   * Renders a chart on the executor and writes it into the given stream, which is not closed
+   *
+   * @param chart
+   * @param bitmapFormat
+   * @param targetStream
+   * @return completes when the chart is written, exceptionally with an UncheckedIOException if
+   *     encoding failed
+   */
+  public CompletableFuture<Void> submit(
+      Chart<?, ?> chart, BitmapFormat bitmapFormat, OutputStream targetStream) {
+
+    return CompletableFuture.runAsync(
+        () -> {
+          try {
+            write(chart, bitmapFormat, targetStream);
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+        },
+        executor);
+  }
+
+  /**
+   * Renders several charts concurrently on the executor
+   *
+   * @param charts
+   * @param bitmapFormat
+   * @return the futures of the encoded bitmaps, in the order of the charts
+   */
+  public List<CompletableFuture<byte[]>> submitAll(
+      List<? extends Chart<?, ?>> charts, BitmapFormat bitmapFormat) {
+
+    List<CompletableFuture<byte[]>> futures = new ArrayList<>(charts.size());
+    for (Chart<?, ?> chart : charts) {
+      futures.add(submit(chart, bitmapFormat));
+    }
+    return futures;
+  }
+
+  /** Drops all pooled images and writers */
+  public void clear() {
+
+    imagePool.clear();
+    for (Deque<ImageWriter> writers : writerPool.values()) {
+      ImageWriter writer;
+      while ((writer = writers.poll()) != null) {
+        writer.dispose();
+      }
+    }
+  }
+
+  private static void paint(Chart<?, ?> chart, BufferedImage image) {
+
+    Graphics2D graphics2D = image.createGraphics();
+    try {
+      // a recycled image has to look like a new one, which is all black
+      graphics2D.setBackground(Color.BLACK);
+      graphics2D.clearRect(0, 0, image.getWidth(), image.getHeight());
+      chart.paint(graphics2D, chart.getWidth(), chart.getHeight());
+    } finally {
+      graphics2D.dispose();
+    }
+  }
+
+  private void encode(BufferedImage image, BitmapFormat bitmapFormat, OutputStream targetStream)
+      throws IOException {
+
+    ImageWriter writer = acquireWriter(bitmapFormat);
+    try (ImageOutputStream output = new MemoryCacheImageOutputStream(targetStream)) {
+      writer.setOutput(output);
+      writer.write(null, new IIOImage(image, null, null), writer.getDefaultWriteParam());
+    } finally {
+      writer.reset();
+      releaseWriter(bitmapFormat, writer);
+    }
+  }
+
+  private BufferedImage acquireImage(int width, int height) {
+
+    Deque<BufferedImage> images = imagePool.get(sizeKey(width, height));
+    BufferedImage image = images == null ? null : images.poll();
+    if (image == null) {
+      image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+    }
+    return image;
+  }
+
+  private void releaseImage(BufferedImage image) {
+
+    Deque<BufferedImage> images =
+        imagePool.computeIfAbsent(
+            sizeKey(image.getWidth(), image.getHeight()), k -> new ConcurrentLinkedDeque<>());
+    // the size is only approximate under contention, which is fine for a cache
+    if (images.size() < maxPooledImagesPerSize) {
+      images.push(image);
+    }
+  }
+
+  private static long sizeKey(int width, int height) {
+
+    return ((long) width << 32) | height;
+  }
+
+  private ImageWriter acquireWriter(BitmapFormat bitmapFormat) throws IOException {
+
+    Deque<ImageWriter> writers = writerPool.get(bitmapFormat);
+    ImageWriter writer = writers == null ? null : writers.poll();
+    if (writer != null) {
+      return writer;
+    }
+    Iterator<ImageWriter> iterator =
+        ImageIO.getImageWriters(
+            ImageTypeSpecifier.createFromBufferedImageType(BufferedImage.TYPE_INT_RGB),
+            bitmapFormat.toString().toLowerCase());
+    if (!iterator.hasNext()) {
+      throw new IOException("No ImageWriter found for " + bitmapFormat + "!!!");
+    }
+    return iterator.next();
+  }
+
+  private void releaseWriter(BitmapFormat bitmapFormat, ImageWriter writer) {
+
+    writerPool.computeIfAbsent(bitmapFormat, k -> new ConcurrentLinkedDeque<>()).push(writer);
+  }
+
+  /** Writes into a ByteBuffer, throwing a BufferOverflowException if it is full */
+  private static class ByteBufferOutputStream extends OutputStream {
+
+    private final ByteBuffer buffer;
+
+    ByteBufferOutputStream(ByteBuffer buffer) {
+
+      this.buffer = buffer;
+    }
+
+    @Override
+    public void write(int b) {
+
+      buffer.put((byte) b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+
+      buffer.put(b, off, len);
+    }
+  }
+}
@@ -147,14 +147,19 @@ public class BoxChart extends Chart<BoxStyler, BoxSeries> {
   @Override
   public void paint(Graphics2D g, int width, int height) {
 
-    setWidth(width);
-    setHeight(height);
-    setSeriesStyles();
-    paintBackground(g);
-
-    axisPair.paint(g);
-    plot.paint(g);
-    chartTitle.paint(g);
-    annotations.forEach(x -> x.paint(g));
+    beginPaint();
+    try {
+      setWidth(width);
+      setHeight(height);
+      setSeriesStyles();
+      paintBackground(g);
+
+      axisPair.paint(g);
+      plot.paint(g);
+      chartTitle.paint(g);
+      annotations.forEach(x -> x.paint(g));
+    } finally {
+      endPaint();
+    }
   }
 }
@@ -212,26 +212,31 @@ public class BubbleChart extends Chart<BubbleStyler, BubbleSeries> {
   @Override
   public void paint(Graphics2D g, int width, int height) {
 
-    setWidth(width);
-    setHeight(height);
-
-    // set the series types if they are not set. Legend and Plot need it.
-    for (BubbleSeries bubbleSeries : getSeriesMap().values()) {
-      BubbleSeries.BubbleSeriesRenderStyle seriesType =
-          bubbleSeries.getBubbleSeriesRenderStyle(); // would be directly set
-      if (seriesType == null) { // wasn't overridden, use default from Style Manager
-        bubbleSeries.setBubbleSeriesRenderStyle(getStyler().getDefaultSeriesRenderStyle());
+    beginPaint();
+    try {
+      setWidth(width);
+      setHeight(height);
+
+      // set the series types if they are not set. Legend and Plot need it.
+      for (BubbleSeries bubbleSeries : getSeriesMap().values()) {
+        BubbleSeries.BubbleSeriesRenderStyle seriesType =
+            bubbleSeries.getBubbleSeriesRenderStyle(); // would be directly set
+        if (seriesType == null) { // wasn't overridden, use default from Style Manager
+          bubbleSeries.setBubbleSeriesRenderStyle(getStyler().getDefaultSeriesRenderStyle());
+        }
       }
-    }
-    setSeriesStyles();
+      setSeriesStyles();
 
-    paintBackground(g);
+      paintBackground(g);
 
-    axisPair.paint(g);
-    plot.paint(g);
-    chartTitle.paint(g);
-    legend.paint(g);
-    annotations.forEach(x -> x.paint(g));
+      axisPair.paint(g);
+      plot.paint(g);
+      chartTitle.paint(g);
+      legend.paint(g);
+      annotations.forEach(x -> x.paint(g));
+    } finally {
+      endPaint();
+    }
   }
 
   /** set the series color based on theme */
@@ -1,14 +1,35 @@
 package org.knowm.xchart;
 
-import java.io.*;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import org.knowm.xchart.internal.DoubleToDecimal;
 
 /**
  * This class is used to export Chart data to a folder containing one or more CSV files. The parent
  * folder's name is the title of the chart. Each series becomes a CSV file in the folder. The
  * series' name becomes the CSV files' name.
+ *
+ * <p>The series of a chart are written in parallel. Numbers are formatted straight into a byte
+ * buffer, as the shortest decimals which parse back to the exact values, without a String per
+ * value.
  */
 public class CSVExporter {
 
+  /** the size of a binary file's header: the number of points and the number of columns */
+  static final int BINARY_HEADER_SIZE = 16;
+
+  /** the size of the buffer files are written through */
+  private static final int BUFFER_SIZE = 1 << 16;
+
+  private static final byte[] LINE_SEPARATOR =
+      System.getProperty("line.separator").getBytes(StandardCharsets.US_ASCII);
+
   /**
    * Export all XYChart series as rows in separate CSV files.
    *
@@ -17,9 +38,8 @@ public class CSVExporter {
    */
   public static void writeCSVRows(XYChart chart, String path2Dir) {
 
-    for (XYSeries xySeries : chart.getSeriesMap().values()) {
-      writeCSVRows(xySeries, path2Dir);
-    }
+    chart.getSeriesMap().values().parallelStream()
+        .forEach(xySeries -> writeCSVRows(xySeries, path2Dir));
   }
 
   /**
@@ -31,53 +51,34 @@ public class CSVExporter {
   public static void writeCSVRows(XYSeries series, String path2Dir) {
 
     File newFile = new File(path2Dir + series.getName() + ".csv");
-    Writer out = null;
-    try {
-
-      out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(newFile), "UTF8"));
-      String csv = join(series.getXData(), ",") + System.getProperty("line.separator");
-      out.write(csv);
-      csv = join(series.getYData(), ",") + System.getProperty("line.separator");
-      out.write(csv);
+    try (NumberWriter out = new NumberWriter(newFile)) {
+
+      writeRow(out, series.getXData());
+      writeRow(out, series.getYData());
       if (series.getExtraValues() != null) {
-        csv = join(series.getExtraValues(), ",") + System.getProperty("line.separator");
-        out.write(csv);
+        writeRow(out, series.getExtraValues());
       }
     } catch (Exception e) {
       e.printStackTrace();
-    } finally {
-      if (out != null) {
-        try {
-          out.flush();
-          out.close();
-        } catch (IOException e) {
-          // NOP
-        }
-      }
     }
   }
 
   /**
-   * Joins a series into an entire row of comma separated values.
+   * Writes a series into an entire row of comma separated values.
    *
+   * @param out
    * @param seriesData
-   * @param separator
-   * @return
    */
-  private static String join(double[] seriesData, String separator) {
+  private static void writeRow(NumberWriter out, double[] seriesData) throws IOException {
 
-    // two or more elements
-    StringBuilder sb = new StringBuilder(256); // Java default is 16, probably too small
-    sb.append(seriesData[0]);
-    for (int i = 1; i < seriesData.length; i++) {
+    for (int i = 0; i < seriesData.length; i++) {
 
-      if (separator != null) {
-        sb.append(separator);
+      if (i > 0) {
+        out.write((byte) ',');
       }
-
-      sb.append(seriesData[i]);
+      out.write(seriesData[i]);
     }
-    return sb.toString();
+    out.newLine();
   }
 
   /**
@@ -88,9 +89,8 @@ public class CSVExporter {
    */
   public static void writeCSVColumns(XYChart chart, String path2Dir) {
 
-    for (XYSeries xySeries : chart.getSeriesMap().values()) {
-      writeCSVColumns(xySeries, path2Dir);
-    }
+    chart.getSeriesMap().values().parallelStream()
+        .forEach(xySeries -> writeCSVColumns(xySeries, path2Dir));
   }
 
   /**
@@ -102,39 +102,164 @@ public class CSVExporter {
   public static void writeCSVColumns(XYSeries series, String path2Dir) {
 
     File newFile = new File(path2Dir + series.getName() + ".csv");
-    Writer out = null;
-    try {
+    try (NumberWriter out = new NumberWriter(newFile)) {
 
-      out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(newFile), "UTF8"));
       double[] xData = series.getXData();
       double[] yData = series.getYData();
       double[] errorBarData = series.getExtraValues();
       for (int i = 0; i < xData.length; i++) {
 
-        StringBuilder sb = new StringBuilder();
-        sb.append(xData[i]).append(",");
-        sb.append(yData[i]).append(",");
+        out.write(xData[i]);
+        out.write((byte) ',');
+        out.write(yData[i]);
         if (errorBarData != null) {
-          sb.append(errorBarData[i]).append(",");
+          out.write((byte) ',');
+          out.write(errorBarData[i]);
         }
-        sb.setLength(sb.length() - 1);
-        sb.append(System.getProperty("line.separator"));
+        out.newLine();
+      }
+    } catch (Exception e) {
+      e.printStackTrace();
+    }
+  }
+
+  /**
+   * Export all XYChart series in separate binary files, see {@link #writeBinaryColumns(XYSeries,
+   * String)}.
+   *
+   * @param chart
+   * @param path2Dir
+   */
+  public static void writeBinaryColumns(XYChart chart, String path2Dir) {
+
+    chart.getSeriesMap().values().parallelStream()
+        .forEach(xySeries -> writeBinaryColumns(xySeries, path2Dir));
+  }
+
+  /**
+   * Export a Chart series in columns in a binary file, which is much smaller and faster to write
+   * and read than a CSV file and holds the exact values. The file starts with the number of points
+   * and the number of columns, two or three with error bars, as 8 byte longs. The x data, the y
+   * data and the error bars follow one after the other, as 8 byte doubles. Everything is
+   * little-endian, so each column can also be mapped with {@link MappedColumn}. The file can be
+   * read back with {@link CSVImporter#getSeriesDataFromBinaryFile(String)}.
+   *
+   * @param series
+   * @param path2Dir - ex. "./path/to/directory/" *make sure you have the '/' on the end
+   */
+  public static void writeBinaryColumns(XYSeries series, String path2Dir) {
+
+    File newFile = new File(path2Dir + series.getName() + ".bin");
+    try (FileChannel channel = openForWriting(newFile)) {
 
-        // String csv = xDataPoint + "," + yDataPoint + errorBarValue == null ? "" : ("," +
-        // errorBarValue) + System.getProperty("line.separator");
-        // String csv = + yDataPoint + System.getProperty("line.separator");
-        out.write(sb.toString());
+      double[] xData = series.getXData();
+      double[] yData = series.getYData();
+      double[] errorBarData = series.getExtraValues();
+      ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+      buffer.putLong(xData.length);
+      buffer.putLong(errorBarData == null ? 2 : 3);
+      writeColumn(channel, buffer, xData);
+      writeColumn(channel, buffer, yData);
+      if (errorBarData != null) {
+        writeColumn(channel, buffer, errorBarData);
       }
+      flush(channel, buffer);
     } catch (Exception e) {
       e.printStackTrace();
-    } finally {
-      if (out != null) {
-        try {
-          out.flush();
-          out.close();
-        } catch (IOException e) {
-          // NOP
-        }
+    }
+  }
+
+  private static void writeColumn(FileChannel channel, ByteBuffer buffer, double[] data)
+      throws IOException {
+
+    int i = 0;
+    while (i < data.length) {
+      int count = Math.min(buffer.remaining() / Double.BYTES, data.length - i);
+      buffer.asDoubleBuffer().put(data, i, count);
+      buffer.position(buffer.position() + count * Double.BYTES);
+      i += count;
+      if (buffer.remaining() < Double.BYTES) {
+        flush(channel, buffer);
+      }
+    }
+  }
+
+  private static FileChannel openForWriting(File file) throws IOException {
+
+    return FileChannel.open(
+        file.toPath(),
+        StandardOpenOption.CREATE,
+        StandardOpenOption.WRITE,
+        StandardOpenOption.TRUNCATE_EXISTING);
+  }
+
+  private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+
+    buffer.flip();
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+    buffer.clear();
+  }
+
+  /** Formats numbers into a byte buffer, which is written to a file whenever it is full */
+  private static class NumberWriter implements Closeable {
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private final byte[] bytes = buffer.array();
+    private int position;
+
+    NumberWriter(File file) throws IOException {
+
+      channel = openForWriting(file);
+    }
+
+    void write(byte b) throws IOException {
+
+      ensureCapacity(1);
+      bytes[position++] = b;
+    }
+
+    void newLine() throws IOException {
+
+      ensureCapacity(LINE_SEPARATOR.length);
+      System.arraycopy(LINE_SEPARATOR, 0, bytes, position, LINE_SEPARATOR.length);
+      position += LINE_SEPARATOR.length;
+    }
+
+    /** Writes the shortest decimal which Double.parseDouble parses back to exactly the value */
+    void write(double value) throws IOException {
+
+      ensureCapacity(DoubleToDecimal.MAX_LENGTH);
+      position = DoubleToDecimal.write(value, bytes, position);
+    }
+
+    private void ensureCapacity(int length) throws IOException {
+
+      if (bytes.length - position < length) {
+        flush();
+      }
+    }
+
+    private void flush() throws IOException {
+
+      buffer.limit(position);
+      buffer.position(0);
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+      buffer.clear();
+      position = 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+
+      try {
+        flush();
+      } finally {
+        channel.close();
       }
     }
   }
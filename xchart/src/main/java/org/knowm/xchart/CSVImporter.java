@@ -1,11 +1,18 @@
 package org.knowm.xchart;
 
-import java.io.BufferedReader;
+import java.io.EOFException;
 import java.io.File;
-import java.io.FileReader;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Collectors;
 import org.knowm.xchart.style.Styler.ChartTheme;
 
 /**
@@ -15,6 +22,19 @@ import org.knowm.xchart.style.Styler.ChartTheme;
  */
 public class CSVImporter {
 
+  /** the size of the buffer files are read through, and so the maximum length of a value */
+  private static final int BUFFER_SIZE = 1 << 16;
+
+  /** 10^0 to 10^22, the powers of ten which are exactly representable as doubles */
+  private static final double[] POWERS_OF_TEN = new double[23];
+
+  static {
+    POWERS_OF_TEN[0] = 1;
+    for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+      POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+    }
+  }
+
   /**
    * @param path2Directory
    * @param dataOrientation
@@ -41,27 +61,17 @@ public class CSVImporter {
     // 2. get all the csv files in the dir
     File[] csvFiles = getAllFiles(path2Directory, ".*.csv");
 
-    // 3. create a series for each file, naming the series the file name
-    for (File csvFile : csvFiles) {
-      String[] xAndYData;
-      if (dataOrientation == DataOrientation.Rows) {
-        xAndYData = getSeriesDataFromCSVRows(csvFile);
-      } else {
-        xAndYData = getSeriesDataFromCSVColumns(csvFile);
-      }
-
-      if (xAndYData[2] == null || xAndYData[2].trim().equalsIgnoreCase("")) {
-        chart.addSeries(
-            csvFile.getName().substring(0, csvFile.getName().indexOf(".csv")),
-            getAxisData(xAndYData[0]),
-            getAxisData(xAndYData[1]));
-      } else {
-        chart.addSeries(
-            csvFile.getName().substring(0, csvFile.getName().indexOf(".csv")),
-            getAxisData(xAndYData[0]),
-            getAxisData(xAndYData[1]),
-            getAxisData(xAndYData[2]));
-      }
+    // 3. parse the files in parallel, one task per file
+    List<double[][]> allData =
+        Arrays.stream(csvFiles)
+            .parallel()
+            .map(csvFile -> parse(csvFile, dataOrientation))
+            .collect(Collectors.toList());
+
+    // 4. create a series for each file, naming the series the file name
+    for (int i = 0; i < csvFiles.length; i++) {
+      double[][] data = allData.get(i);
+      chart.addSeries(getSeriesName(csvFiles[i], ".csv"), data[0], data[1], data[2]);
     }
 
     return chart;
@@ -74,16 +84,65 @@ public class CSVImporter {
     File csvFile = new File(path2CSVFile);
 
     // 2. Create Series
-    String[] xAndYData;
-    if (dataOrientation == DataOrientation.Rows) {
-      xAndYData = getSeriesDataFromCSVRows(csvFile);
-    } else {
-      xAndYData = getSeriesDataFromCSVColumns(csvFile);
+    double[][] data = parse(csvFile, dataOrientation);
+    return new SeriesData(data[0], data[1], getSeriesName(csvFile, ".csv"));
+  }
+
+  /**
+   * Reads a series from a binary file written by {@link CSVExporter#writeBinaryColumns(XYSeries,
+   * String)}. The error bars, if any, are not read.
+   *
+   * @param path2BinaryFile
+   * @return the series data
+   */
+  public static SeriesData getSeriesDataFromBinaryFile(String path2BinaryFile) {
+
+    File binaryFile = new File(path2BinaryFile);
+    try (FileChannel channel = FileChannel.open(binaryFile.toPath(), StandardOpenOption.READ)) {
+      ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+      buffer.limit(CSVExporter.BINARY_HEADER_SIZE);
+      readFully(channel, buffer);
+      long size = buffer.getLong(0);
+      long columnCount = buffer.getLong(Long.BYTES);
+      if (size < 0
+          || size > Integer.MAX_VALUE
+          || (columnCount != 2 && columnCount != 3)
+          || channel.size() != CSVExporter.BINARY_HEADER_SIZE + size * columnCount * Double.BYTES) {
+        throw new IllegalArgumentException(binaryFile + " is not a binary series file!!!");
+      }
+      double[] xData = readColumn(channel, buffer, (int) size);
+      double[] yData = readColumn(channel, buffer, (int) size);
+      return new SeriesData(xData, yData, getSeriesName(binaryFile, ".bin"));
+    } catch (IOException e) {
+      throw new UncheckedIOException("Exception while reading binary file: " + binaryFile, e);
+    }
+  }
+
+  private static double[] readColumn(FileChannel channel, ByteBuffer buffer, int size)
+      throws IOException {
+
+    double[] data = new double[size];
+    int i = 0;
+    while (i < size) {
+      int count = Math.min(buffer.capacity() / Double.BYTES, size - i);
+      buffer.clear();
+      buffer.limit(count * Double.BYTES);
+      readFully(channel, buffer);
+      buffer.asDoubleBuffer().get(data, i, count);
+      i += count;
+    }
+    return data;
+  }
+
+  /** Fills the buffer from its start to its limit, leaving its position at its start */
+  private static void readFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+
+    while (buffer.hasRemaining()) {
+      if (channel.read(buffer) < 0) {
+        throw new EOFException();
+      }
     }
-    return new SeriesData(
-        getAxisData(xAndYData[0]),
-        getAxisData(xAndYData[1]),
-        csvFile.getName().substring(0, csvFile.getName().indexOf(".csv")));
+    buffer.flip();
   }
 
   /**
@@ -99,93 +158,177 @@ public class CSVImporter {
     return getChartFromCSVDir(path2Directory, dataOrientation, width, height, null);
   }
 
+  private static String getSeriesName(File file, String extension) {
+
+    return file.getName().substring(0, file.getName().indexOf(extension));
+  }
+
   /**
-   * Get the series's data from a file
+   * Reads the x data, y data and error bars from a file. The bytes are scanned and the numbers are
+   * parsed in place, without creating a String per line or value.
    *
    * @param csvFile
-   * @return
+   * @param dataOrientation
+   * @return the x data, the y data and the error bars, which are null if the file has none
    */
-  private static String[] getSeriesDataFromCSVRows(File csvFile) {
+  private static double[][] parse(File csvFile, DataOrientation dataOrientation) {
+
+    DoubleArrayBuilder[] columns = {
+      new DoubleArrayBuilder(), new DoubleArrayBuilder(), new DoubleArrayBuilder()
+    };
+    boolean isRows = dataOrientation == DataOrientation.Rows;
+    int line = 0;
+    int field = 0;
+
+    try (FileChannel channel = FileChannel.open(csvFile.toPath(), StandardOpenOption.READ)) {
+      ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+      byte[] bytes = buffer.array();
+      boolean isEndOfFile = false;
+      while (!isEndOfFile) {
+        isEndOfFile = channel.read(buffer) < 0;
+        buffer.flip();
+        int end = buffer.limit();
+
+        // a value cut off at the end of the buffer is parsed after the next read
+        int parseEnd = isEndOfFile ? end : lastDelimiter(bytes, end) + 1;
+        if (parseEnd == 0 && end == bytes.length) {
+          throw new IllegalArgumentException(
+              "Value longer than " + BUFFER_SIZE + " bytes in " + csvFile + "!!!");
+        }
 
-    String[] xAndYData = new String[3];
+        int start = 0;
+        for (int i = 0; i < parseEnd; i++) {
+          byte b = bytes[i];
+          if (b == ',' || b == '\n') {
+            addValue(bytes, start, i, columns, isRows ? line : field);
+            start = i + 1;
+            if (b == ',') {
+              field++;
+            } else {
+              line++;
+              field = 0;
+            }
+          }
+        }
+        if (isEndOfFile) {
+          addValue(bytes, start, end, columns, isRows ? line : field);
+        }
 
-    BufferedReader bufferedReader = null;
-    try {
-      int counter = 0;
-      String line;
-      bufferedReader = new BufferedReader(new FileReader(csvFile));
-      while ((line = bufferedReader.readLine()) != null) {
-        xAndYData[counter++] = line;
+        buffer.position(start);
+        buffer.compact();
       }
-    } catch (Exception e) {
-      System.out.println("Exception while reading csv file: " + e);
-    } finally {
-      if (bufferedReader != null) {
-        try {
-          bufferedReader.close();
-        } catch (IOException e) {
-          e.printStackTrace();
-        }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Exception while reading csv file: " + csvFile, e);
+    }
+
+    return new double[][] {
+      columns[0].toArray(), columns[1].toArray(), columns[2].isEmpty() ? null : columns[2].toArray()
+    };
+  }
+
+  private static int lastDelimiter(byte[] bytes, int end) {
+
+    for (int i = end - 1; i >= 0; i--) {
+      if (bytes[i] == ',' || bytes[i] == '\n') {
+        return i;
       }
     }
-    return xAndYData;
+    return -1;
+  }
+
+  /** Parses the value between from and to and adds it to its column, ignoring empty values */
+  private static void addValue(
+      byte[] bytes, int from, int to, DoubleArrayBuilder[] columns, int column) {
+
+    while (from < to && isWhitespace(bytes[from])) {
+      from++;
+    }
+    while (to > from && isWhitespace(bytes[to - 1])) {
+      to--;
+    }
+    if (from == to || column >= columns.length) {
+      return;
+    }
+    columns[column].add(parseDouble(bytes, from, to));
+  }
+
+  private static boolean isWhitespace(byte b) {
+
+    return b == ' ' || b == '\t' || b == '\r';
   }
 
   /**
-   * @param csvFile
-   * @return
+   * Parses a decimal number. Numbers with up to 15 significant digits and a small exponent, which
+   * is what CSV files are usually made of, are exactly representable and converted with a single
+   * multiplication or division. Anything else is left to Double.parseDouble, so the result is
+   * always the same as Double.parseDouble's.
    */
-  private static String[] getSeriesDataFromCSVColumns(File csvFile) {
-
-    String[] xAndYData = new String[3];
-    xAndYData[0] = "";
-    xAndYData[1] = "";
-    xAndYData[2] = "";
-
-    BufferedReader bufferedReader = null;
-    try {
-      String line;
-      bufferedReader = new BufferedReader(new FileReader(csvFile));
-      while ((line = bufferedReader.readLine()) != null) {
-        String[] dataArray = line.split(",");
-        xAndYData[0] += dataArray[0] + ",";
-        xAndYData[1] += dataArray[1] + ",";
-        if (dataArray.length > 2) {
-          xAndYData[2] += dataArray[2] + ",";
-        }
+  private static double parseDouble(byte[] bytes, int from, int to) {
+
+    int i = from;
+    boolean isNegative = bytes[i] == '-';
+    if (isNegative || bytes[i] == '+') {
+      i++;
+    }
+    long mantissa = 0;
+    int significantDigits = 0;
+    int exponent = 0;
+    boolean hasDigits = false;
+    for (; i < to && isDigit(bytes[i]); i++) {
+      hasDigits = true;
+      mantissa = mantissa * 10 + (bytes[i] - '0');
+      if (mantissa != 0) {
+        significantDigits++;
       }
-    } catch (Exception e) {
-      System.out.println("Exception while reading csv file: " + e);
-    } finally {
-      if (bufferedReader != null) {
-        try {
-          bufferedReader.close();
-        } catch (IOException e) {
-          e.printStackTrace();
+    }
+    if (i < to && bytes[i] == '.') {
+      for (i++; i < to && isDigit(bytes[i]); i++) {
+        hasDigits = true;
+        mantissa = mantissa * 10 + (bytes[i] - '0');
+        if (mantissa != 0) {
+          significantDigits++;
         }
+        exponent--;
       }
     }
-    return xAndYData;
-  }
-
-  /**
-   * @param stringData
-   * @return
-   */
-  private static List<Number> getAxisData(String stringData) {
+    if (hasDigits && i < to && (bytes[i] == 'e' || bytes[i] == 'E')) {
+      i++;
+      boolean isNegativeExponent = i < to && bytes[i] == '-';
+      if (i < to && (bytes[i] == '-' || bytes[i] == '+')) {
+        i++;
+      }
+      int exponentStart = i;
+      int explicitExponent = 0;
+      for (; i < to && isDigit(bytes[i]) && explicitExponent < 1000; i++) {
+        explicitExponent = explicitExponent * 10 + (bytes[i] - '0');
+      }
+      if (i == exponentStart) {
+        hasDigits = false;
+      }
+      exponent += isNegativeExponent ? -explicitExponent : explicitExponent;
+    }
 
-    List<Number> axisData = new ArrayList<Number>();
-    String[] stringDataArray = stringData.split(",");
-    for (String dataPoint : stringDataArray) {
+    if (!hasDigits
+        || i != to
+        || significantDigits > 15
+        || exponent < -(POWERS_OF_TEN.length - 1)
+        || exponent > POWERS_OF_TEN.length - 1) {
+      String dataPoint = new String(bytes, from, to - from, StandardCharsets.ISO_8859_1);
       try {
-        Double value = Double.parseDouble(dataPoint);
-        axisData.add(value);
+        return Double.parseDouble(dataPoint);
       } catch (NumberFormatException e) {
         System.out.println("Error parsing >" + dataPoint + "< !");
         throw (e);
       }
     }
-    return axisData;
+    double value =
+        exponent >= 0 ? mantissa * POWERS_OF_TEN[exponent] : mantissa / POWERS_OF_TEN[-exponent];
+    return isNegative ? -value : value;
+  }
+
+  private static boolean isDigit(byte b) {
+
+    return b >= '0' && b <= '9';
   }
 
   /**
@@ -246,8 +389,10 @@ public class CSVImporter {
 
   public static class SeriesData {
 
-    private final List<Number> xAxisData;
-    private final List<Number> yAxisData;
+    private List<Number> xAxisData;
+    private List<Number> yAxisData;
+    private double[] xAxisDataArray;
+    private double[] yAxisDataArray;
     private final String seriesName;
 
     public SeriesData(List<Number> xAxisData, List<Number> yAxisData, String seriesName) {
@@ -257,19 +402,91 @@ public class CSVImporter {
       this.seriesName = seriesName;
     }
 
+    public SeriesData(double[] xAxisData, double[] yAxisData, String seriesName) {
+
+      this.xAxisDataArray = xAxisData;
+      this.yAxisDataArray = yAxisData;
+      this.seriesName = seriesName;
+    }
+
     public List<Number> getxAxisData() {
 
+      if (xAxisData == null) {
+        xAxisData = toList(xAxisDataArray);
+      }
       return xAxisData;
     }
 
     public List<Number> getyAxisData() {
 
+      if (yAxisData == null) {
+        yAxisData = toList(yAxisDataArray);
+      }
       return yAxisData;
     }
 
+    public double[] getxAxisDataArray() {
+
+      if (xAxisDataArray == null) {
+        xAxisDataArray = toArray(xAxisData);
+      }
+      return xAxisDataArray;
+    }
+
+    public double[] getyAxisDataArray() {
+
+      if (yAxisDataArray == null) {
+        yAxisDataArray = toArray(yAxisData);
+      }
+      return yAxisDataArray;
+    }
+
     public String getSeriesName() {
 
       return seriesName;
     }
+
+    private static List<Number> toList(double[] data) {
+
+      List<Number> list = new ArrayList<>(data.length);
+      for (double d : data) {
+        list.add(d);
+      }
+      return list;
+    }
+
+    private static double[] toArray(List<Number> data) {
+
+      double[] array = new double[data.size()];
+      for (int i = 0; i < array.length; i++) {
+        array[i] = data.get(i).doubleValue();
+      }
+      return array;
+    }
+  }
+
+  /** A growable array of doubles */
+  private static class DoubleArrayBuilder {
+
+    private double[] data = new double[16];
+    private int size;
+
+    void add(double value) {
+
+      if (size == data.length) {
+        data = Arrays.copyOf(data, size * 2);
+      }
+      data[size++] = value;
+    }
+
+    boolean isEmpty() {
+
+      return size == 0;
+    }
+
+    double[] toArray() {
+
+      return Arrays.copyOf(data, size);
+    }
   }
 }
@@ -2,6 +2,7 @@ package org.knowm.xchart;
 
 import java.awt.Graphics2D;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.Iterator;
 import java.util.List;
@@ -97,11 +98,71 @@ public class CategoryChart extends Chart<CategoryStyler, CategorySeries> {
   public CategorySeries addSeries(
       String seriesName, double[] xData, double[] yData, double[] errorBars) {
 
-    return addSeries(
+    return addSeries(seriesName, Utils.getNumberListViewOfDoubleArray(xData), yData, errorBars);
+  }
+
+  /**
+   * Add a series for a Category type chart using String categories and double values. The arrays
+   * are not copied, and passing the same categories array to several series shares it between them.
+   *
+   * @param seriesName
+   * @param categories the X-Axis categories
+   * @param values the Y-Axis data, NaN for missing values
+   * @return A Series object that you can set properties on
+   */
+  public CategorySeries addSeries(String seriesName, String[] categories, double[] values) {
+
+    return addSeries(seriesName, categories, values, null);
+  }
+
+  /**
+   * Add a series for a Category type chart using String categories and double values with error
+   * bars. The arrays are not copied, and passing the same categories array to several series shares
+   * it between them.
+   *
+   * @param seriesName
+   * @param categories the X-Axis categories
+   * @param values the Y-Axis data, NaN for missing values
+   * @param errorBars the error bar data
+   * @return A Series object that you can set properties on
+   */
+  public CategorySeries addSeries(
+      String seriesName, String[] categories, double[] values, double[] errorBars) {
+
+    if (categories == null) {
+      throw new IllegalArgumentException("X-Axis data cannot be null!!!");
+    }
+    return addSeries(seriesName, Arrays.asList(categories), values, errorBars);
+  }
+
+  /**
+   * Adds a series keeping the y data and error bars as arrays
+   *
+   * @param seriesName
+   * @param xData the X-Axis data
+   * @param yData the Y-Axis data, NaN for missing values
+   * @param errorBars the error bar data
+   * @return A Series object that you can set properties on
+   */
+  private CategorySeries addSeries(
+      String seriesName, List<?> xData, double[] yData, double[] errorBars) {
+
+    // Sanity checks
+    sanityCheck(
         seriesName,
-        Utils.getNumberListFromDoubleArray(xData),
-        Utils.getNumberListFromDoubleArray(yData),
-        Utils.getNumberListFromDoubleArray(errorBars));
+        xData,
+        Utils.getNumberListViewOfDoubleArray(yData),
+        Utils.getNumberListViewOfDoubleArray(errorBars));
+    if (xData.size() != yData.length) {
+      throw new IllegalArgumentException("X and Y-Axis sizes are not the same!!!");
+    }
+
+    CategorySeries series =
+        new CategorySeries(seriesName, xData, yData, errorBars, getDataType(xData));
+
+    seriesMap.put(seriesName, series);
+
+    return series;
   }
 
   /**
@@ -252,10 +313,48 @@ public class CategoryChart extends Chart<CategoryStyler, CategorySeries> {
       String seriesName, double[] newXData, double[] newYData, double[] newErrorBarData) {
 
     return updateCategorySeries(
-        seriesName,
-        Utils.getNumberListFromDoubleArray(newXData),
-        Utils.getNumberListFromDoubleArray(newYData),
-        Utils.getNumberListFromDoubleArray(newErrorBarData));
+        seriesName, Utils.getNumberListViewOfDoubleArray(newXData), newYData, newErrorBarData);
+  }
+
+  /**
+   * Update a series by updating the values and error bar data, keeping its categories. The arrays
+   * are not copied.
+   *
+   * @param seriesName
+   * @param newValues - NaN for missing values
+   * @param newErrorBarData - set null if there are no error bars
+   * @return
+   */
+  public CategorySeries updateCategorySeries(
+      String seriesName, double[] newValues, double[] newErrorBarData) {
+
+    CategorySeries series = getSeriesMap().get(seriesName);
+    if (series == null) {
+      throw new IllegalArgumentException("Series name >" + seriesName + "< not found!!!");
+    }
+    return updateCategorySeries(
+        seriesName, (List<?>) series.getXData(), newValues, newErrorBarData);
+  }
+
+  private CategorySeries updateCategorySeries(
+      String seriesName, List<?> newXData, double[] newYData, double[] newErrorBarData) {
+
+    Map<String, CategorySeries> seriesMap = getSeriesMap();
+    CategorySeries series = seriesMap.get(seriesName);
+    if (series == null) {
+      throw new IllegalArgumentException("Series name >" + seriesName + "< not found!!!");
+    }
+    if (newXData == null) {
+      // generate X-Data
+      List<Integer> generatedXData = new ArrayList<Integer>();
+      for (int i = 1; i <= newYData.length; i++) {
+        generatedXData.add(i);
+      }
+      newXData = generatedXData;
+    }
+    series.replaceData(newXData, newYData, newErrorBarData);
+
+    return series;
   }
 
   ///////////////////////////////////////////////////
@@ -294,26 +393,32 @@ public class CategoryChart extends Chart<CategoryStyler, CategorySeries> {
   @Override
   public void paint(Graphics2D g, int width, int height) {
 
-    setWidth(width);
-    setHeight(height);
-
-    // set the series render styles if they are not set. Legend and Plot need it.
-    for (CategorySeries seriesCategory : getSeriesMap().values()) {
-      CategorySeries.CategorySeriesRenderStyle seriesType =
-          seriesCategory.getChartCategorySeriesRenderStyle(); // would be directly set
-      if (seriesType == null) { // wasn't overridden, use default from Style Manager
-        seriesCategory.setChartCategorySeriesRenderStyle(getStyler().getDefaultSeriesRenderStyle());
+    beginPaint();
+    try {
+      setWidth(width);
+      setHeight(height);
+
+      // set the series render styles if they are not set. Legend and Plot need it.
+      for (CategorySeries seriesCategory : getSeriesMap().values()) {
+        CategorySeries.CategorySeriesRenderStyle seriesType =
+            seriesCategory.getChartCategorySeriesRenderStyle(); // would be directly set
+        if (seriesType == null) { // wasn't overridden, use default from Style Manager
+          seriesCategory.setChartCategorySeriesRenderStyle(
+              getStyler().getDefaultSeriesRenderStyle());
+        }
       }
-    }
-    setSeriesStyles();
+      setSeriesStyles();
 
-    paintBackground(g);
+      paintBackground(g);
 
-    axisPair.paint(g);
-    plot.paint(g);
-    chartTitle.paint(g);
-    legend.paint(g);
-    annotations.forEach(x -> x.paint(g));
+      axisPair.paint(g);
+      plot.paint(g);
+      chartTitle.paint(g);
+      legend.paint(g);
+      annotations.forEach(x -> x.paint(g));
+    } finally {
+      endPaint();
+    }
   }
 
   /** set the series color, marker and line style based on theme */
@@ -32,6 +32,21 @@ public class CategorySeries extends AxesChartSeriesCategory {
     super(name, xData, yData, errorBars, axisType);
   }
 
+  /**
+   * Constructor - the y data and error bars are kept as the given arrays
+   *
+   * @param name
+   * @param xData
+   * @param yData the y data, NaN for missing values
+   * @param errorBars
+   * @param axisType
+   */
+  public CategorySeries(
+      String name, List<?> xData, double[] yData, double[] errorBars, Series.DataType axisType) {
+
+    super(name, xData, yData, errorBars, axisType);
+  }
+
   public CategorySeriesRenderStyle getChartCategorySeriesRenderStyle() {
 
     return chartCategorySeriesRenderStyle;
@@ -108,14 +108,19 @@ public class DialChart extends Chart<DialStyler, DialSeries> {
   @Override
   public void paint(Graphics2D g, int width, int height) {
 
-    setWidth(width);
-    setHeight(height);
-
-    paintBackground(g);
-
-    plot.paint(g);
-    chartTitle.paint(g);
-    //    legend.paint(g); // no legend for dial charts
-    annotations.forEach(x -> x.paint(g));
+    beginPaint();
+    try {
+      setWidth(width);
+      setHeight(height);
+
+      paintBackground(g);
+
+      plot.paint(g);
+      chartTitle.paint(g);
+      //    legend.paint(g); // no legend for dial charts
+      annotations.forEach(x -> x.paint(g));
+    } finally {
+      endPaint();
+    }
   }
 }
@@ -2,6 +2,7 @@ package org.knowm.xchart;
 
 import java.awt.Graphics2D;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import org.knowm.xchart.internal.chartpart.AxisPair;
@@ -80,7 +81,53 @@ public class HeatMapChart extends Chart<HeatMapStyler, HeatMapSeries> {
    */
   public HeatMapSeries addSeries(String seriesName, int[] xData, int[] yData, int[][] heatData) {
 
-    return addSeries(seriesName, arrayToList(xData), arrayToList(yData), arrayToList(heatData));
+    return addSeries(
+        seriesName,
+        arrayToList(xData),
+        arrayToList(yData),
+        toHeatDataArray(xData, yData, heatData));
+  }
+
+  /**
+   * Add a series for a HeatMap type chart using a matrix. The heat data is kept in a primitive
+   * array, which is much lighter than a list of triples for large matrices.
+   *
+   * @param seriesName
+   * @param xData the X-Axis data
+   * @param yData the Y-Axis data
+   * @param heatData the heat data, heatData[x][y] being the value of the cell at (x, y), NaN for
+   *     empty cells
+   * @return
+   */
+  public HeatMapSeries addSeries(String seriesName, int[] xData, int[] yData, double[][] heatData) {
+
+    return addSeries(
+        seriesName,
+        arrayToList(xData),
+        arrayToList(yData),
+        toHeatDataArray(xData, yData, heatData));
+  }
+
+  /**
+   * Add a series for a HeatMap type chart using a dense array, which is used without copying
+   *
+   * @param seriesName
+   * @param xData the X-Axis data
+   * @param yData the Y-Axis data
+   * @param heatData the heat data, the value of the cell at (x, y) being at x * yData.size() + y,
+   *     NaN for empty cells
+   * @return
+   */
+  public HeatMapSeries addSeries(
+      String seriesName, List<?> xData, List<?> yData, double[] heatData) {
+
+    if (heatMapSeries != null) {
+      throw new RuntimeException("HeatMapSeries can only be added once!!!");
+    }
+    sanityCheck(xData, yData, heatData);
+    heatMapSeries = new HeatMapSeries(seriesName, xData, yData, heatData);
+    seriesMap.put(seriesName, heatMapSeries);
+    return heatMapSeries;
   }
 
   /**
@@ -115,7 +162,53 @@ public class HeatMapChart extends Chart<HeatMapStyler, HeatMapSeries> {
    */
   public HeatMapSeries updateSeries(String seriesName, int[] xData, int[] yData, int[][] heatData) {
 
-    return updateSeries(seriesName, arrayToList(xData), arrayToList(yData), arrayToList(heatData));
+    return updateSeries(
+        seriesName,
+        arrayToList(xData),
+        arrayToList(yData),
+        toHeatDataArray(xData, yData, heatData));
+  }
+
+  /**
+   * Update a series by updating the X-Axis, Y-Axis and heat data
+   *
+   * @param seriesName
+   * @param xData
+   * @param yData
+   * @param heatData heatData[x][y] being the value of the cell at (x, y), NaN for empty cells
+   * @return
+   */
+  public HeatMapSeries updateSeries(
+      String seriesName, int[] xData, int[] yData, double[][] heatData) {
+
+    return updateSeries(
+        seriesName,
+        arrayToList(xData),
+        arrayToList(yData),
+        toHeatDataArray(xData, yData, heatData));
+  }
+
+  /**
+   * Update a series by updating the X-Axis, Y-Axis and heat data
+   *
+   * @param seriesName
+   * @param xData
+   * @param yData
+   * @param heatData the value of the cell at (x, y) being at x * yData.size() + y, NaN for empty
+   *     cells
+   * @return
+   */
+  public HeatMapSeries updateSeries(
+      String seriesName, List<?> xData, List<?> yData, double[] heatData) {
+
+    Map<String, HeatMapSeries> seriesMap = getSeriesMap();
+    HeatMapSeries series = seriesMap.get(seriesName);
+    if (series == null) {
+      throw new IllegalArgumentException("Series name >" + seriesName + "< not found!!!");
+    }
+    sanityCheck(xData, yData, heatData);
+    series.replaceData(xData, yData, heatData);
+    return series;
   }
 
   /**
@@ -148,22 +241,26 @@ public class HeatMapChart extends Chart<HeatMapStyler, HeatMapSeries> {
   @Override
   public void paint(Graphics2D g, int width, int height) {
 
-    if (heatMapSeries == null) {
-      return;
-    }
-    setWidth(width);
-    setHeight(height);
+    beginPaint();
+    try {
+      if (heatMapSeries == null) {
+        return;
+      }
+      setWidth(width);
+      setHeight(height);
 
-    prepareForPaint();
-    // setSeriesStyles();
+      // setSeriesStyles();
 
-    paintBackground(g);
+      paintBackground(g);
 
-    axisPair.paint(g);
-    plot.paint(g);
-    chartTitle.paint(g);
-    legend.paint(g);
-    annotations.forEach(x -> x.paint(g));
+      axisPair.paint(g);
+      plot.paint(g);
+      chartTitle.paint(g);
+      legend.paint(g);
+      annotations.forEach(x -> x.paint(g));
+    } finally {
+      endPaint();
+    }
   }
 
   private List<Integer> arrayToList(int[] data) {
@@ -175,22 +272,36 @@ public class HeatMapChart extends Chart<HeatMapStyler, HeatMapSeries> {
     return list;
   }
 
-  private List<Number[]> arrayToList(int[][] heatData) {
+  /** Cells outside of the axes are dropped and missing cells are left empty */
+  private double[] toHeatDataArray(int[] xData, int[] yData, int[][] heatData) {
 
-    List<Number[]> list = new ArrayList<>();
-    Number[] numbers = null;
-    int[] array = null;
-    for (int i = 0; i < heatData.length; i++) {
-      array = heatData[i];
-      for (int j = 0; j < array.length; j++) {
-        numbers = new Number[3];
-        numbers[0] = i;
-        numbers[1] = j;
-        numbers[2] = heatData[i][j];
-        list.add(numbers);
+    if (heatData == null) {
+      return null; // caught by the sanity check
+    }
+    double[] array = new double[xData.length * yData.length];
+    Arrays.fill(array, Double.NaN);
+    for (int i = 0; i < Math.min(heatData.length, xData.length); i++) {
+      int[] column = heatData[i];
+      for (int j = 0; j < Math.min(column.length, yData.length); j++) {
+        array[i * yData.length + j] = column[j];
       }
     }
-    return list;
+    return array;
+  }
+
+  /** Cells outside of the axes are dropped and missing cells are left empty */
+  private double[] toHeatDataArray(int[] xData, int[] yData, double[][] heatData) {
+
+    if (heatData == null) {
+      return null; // caught by the sanity check
+    }
+    double[] array = new double[xData.length * yData.length];
+    Arrays.fill(array, Double.NaN);
+    for (int i = 0; i < Math.min(heatData.length, xData.length); i++) {
+      double[] column = heatData[i];
+      System.arraycopy(column, 0, array, i * yData.length, Math.min(column.length, yData.length));
+    }
+    return array;
   }
 
   private void sanityCheck(List<?> xData, List<?> yData, List<Number[]> heatData) {
@@ -229,7 +340,35 @@ public class HeatMapChart extends Chart<HeatMapStyler, HeatMapSeries> {
     }
   }
 
-  private void prepareForPaint() {
+  private void sanityCheck(List<?> xData, List<?> yData, double[] heatData) {
+
+    if (xData == null) {
+      throw new IllegalArgumentException("X-Axis data cannot be null!!!");
+    }
+    if (xData.size() == 0) {
+      throw new IllegalArgumentException("X-Axis data cannot be empty!!!");
+    }
+    if (yData == null) {
+      throw new IllegalArgumentException("Y-Axis data cannot be null!!!");
+    }
+    if (yData.size() == 0) {
+      throw new IllegalArgumentException("Y-Axis data cannot be empty!!!");
+    }
+    if (heatData == null) {
+      throw new IllegalArgumentException("Heat data cannot be null!!!");
+    }
+    if (heatData.length != xData.size() * yData.size()) {
+      throw new IllegalArgumentException(
+          "Heat data length is not equal to the number of X-Axis times Y-Axis values!!!");
+    }
+  }
+
+  @Override
+  protected void prepareForPaint() {
+
+    if (heatMapSeries == null) {
+      return;
+    }
     if (styler.getMin() != Double.MIN_VALUE) {
       heatMapSeries.setMin(styler.getMin());
     }
@@ -4,7 +4,12 @@ import java.util.*;
 import org.knowm.xchart.internal.chartpart.RenderableSeries.LegendRenderType;
 import org.knowm.xchart.internal.series.AxesChartSeries;
 
-/** A Series containing X, Y and heatData data to be plotted on a Chart */
+/**
+ * A Series containing X, Y and heatData data to be plotted on a Chart. The heat data is either a
+ * list of sparse {x index, y index, value} triples, or a dense array holding a value for every
+ * cell. The data and the min and max are published together in one {@link DataSnapshot}, so the
+ * getters never lock and always return data which belongs together.
+ */
 public class HeatMapSeries extends AxesChartSeries {
 
   List<?> xData;
@@ -13,6 +18,9 @@ public class HeatMapSeries extends AxesChartSeries {
 
   List<? extends Number[]> heatData;
 
+  /** the value of the cell at (x, y) is at x * yData.size() + y, NaN for empty cells */
+  double[] heatDataArray;
+
   // heatData value min
   double min;
 
@@ -33,15 +41,52 @@ public class HeatMapSeries extends AxesChartSeries {
     this.xData = xData;
     this.yData = yData;
     this.heatData = heatData;
-    calculateMinMax();
+    dataChanged();
+  }
+
+  /**
+   * Constructor
+   *
+   * @param name
+   * @param xData
+   * @param yData
+   * @param heatDataArray the value of the cell at (x, y) at x * yData.size() + y, NaN for empty
+   *     cells
+   */
+  protected HeatMapSeries(String name, List<?> xData, List<?> yData, double[] heatDataArray) {
+
+    super(name, getDataType(xData), getDataType(yData));
+    this.xData = xData;
+    this.yData = yData;
+    this.heatDataArray = heatDataArray;
+    dataChanged();
   }
 
-  public void replaceData(List<?> xData, List<?> yData, List<Number[]> heatData) {
+  public synchronized void replaceData(List<?> xData, List<?> yData, List<Number[]> heatData) {
 
     this.xData = xData;
     this.yData = yData;
     this.heatData = heatData;
-    calculateMinMax();
+    this.heatDataArray = null;
+    dataChanged();
+  }
+
+  /**
+   * This is an internal method which shouldn't be called from client code. Use
+   * HeatMapChart.updateSeries instead!
+   *
+   * @param xData
+   * @param yData
+   * @param heatDataArray the value of the cell at (x, y) at x * yData.size() + y, NaN for empty
+   *     cells
+   */
+  public synchronized void replaceData(List<?> xData, List<?> yData, double[] heatDataArray) {
+
+    this.xData = xData;
+    this.yData = yData;
+    this.heatData = null;
+    this.heatDataArray = heatDataArray;
+    dataChanged();
   }
 
   @Override
@@ -49,18 +94,30 @@ public class HeatMapSeries extends AxesChartSeries {
 
     min = Double.MAX_VALUE;
     max = Double.MIN_VALUE;
-    Number number = null;
-    for (Number[] numbers : heatData) {
-      if (numbers == null) {
-        continue;
+    if (heatData == null) {
+      for (double value : heatDataArray) {
+        // NaN fails both comparisons
+        if (min > value) {
+          min = value;
+        }
+        if (max < value) {
+          max = value;
+        }
       }
-      number = numbers[2];
-      if (number != null) {
-        if (min > number.doubleValue()) {
-          min = number.doubleValue();
+    } else {
+      Number number = null;
+      for (Number[] numbers : heatData) {
+        if (numbers == null) {
+          continue;
         }
-        if (max < number.doubleValue()) {
-          max = number.doubleValue();
+        number = numbers[2];
+        if (number != null) {
+          if (min > number.doubleValue()) {
+            min = number.doubleValue();
+          }
+          if (max < number.doubleValue()) {
+            max = number.doubleValue();
+          }
         }
       }
     }
@@ -118,40 +175,176 @@ public class HeatMapSeries extends AxesChartSeries {
     return axisType;
   }
 
+  @Override
+  protected DataSnapshot createDataSnapshot(AxesChartSeries.DataSnapshot previous) {
+
+    return new DataSnapshot(this);
+  }
+
+  @Override
+  public DataSnapshot getDataSnapshot() {
+
+    return (DataSnapshot) super.getDataSnapshot();
+  }
+
   public List<?> getXData() {
 
-    return xData;
+    return getDataSnapshot().xData;
   }
 
   public List<?> getYData() {
 
-    return yData;
+    return getDataSnapshot().yData;
   }
 
+  /**
+   * @return the heat data as {x index, y index, value} triples, created on the first call for dense
+   *     series
+   */
   public List<? extends Number[]> getHeatData() {
 
-    return heatData;
+    return getDataSnapshot().getHeatData();
+  }
+
+  /**
+   * @return the heat data as a dense array, which holds the value of the cell at (x, y) at x *
+   *     yData.size() + y and NaN for empty cells. It is created on the first call for series of
+   *     sparse heat data and must not be modified.
+   */
+  public double[] getHeatDataArray() {
+
+    return getDataSnapshot().getHeatDataArray();
   }
 
   public double getMin() {
 
-    return min;
+    return getDataSnapshot().min;
   }
 
-  public HeatMapSeries setMin(double min) {
+  public synchronized HeatMapSeries setMin(double min) {
 
-    this.min = min;
+    if (this.min != min) {
+      this.min = min;
+      publishData();
+    }
     return this;
   }
 
   public double getMax() {
 
-    return max;
+    return getDataSnapshot().max;
   }
 
-  public HeatMapSeries setMax(double max) {
+  public synchronized HeatMapSeries setMax(double max) {
 
-    this.max = max;
+    if (this.max != max) {
+      this.max = max;
+      publishData();
+    }
     return this;
   }
+
+  /**
+   * The data of a series at one point in time. Neither the snapshot nor its data are changed after
+   * it is published, so it can be read by any thread without locking. The form of the heat data
+   * which was not given is created on first use.
+   */
+  public static final class DataSnapshot extends AxesChartSeries.DataSnapshot {
+
+    private final List<?> xData;
+    private final List<?> yData;
+    private final double min;
+    private final double max;
+
+    // creating them twice when racing does no harm
+    private volatile List<? extends Number[]> heatData;
+    private volatile double[] heatDataArray;
+
+    private DataSnapshot(HeatMapSeries series) {
+
+      super(series);
+      this.xData = series.xData;
+      this.yData = series.yData;
+      this.heatData = series.heatData;
+      this.heatDataArray = series.heatDataArray;
+      this.min = series.min;
+      this.max = series.max;
+    }
+
+    public List<?> getXData() {
+
+      return xData;
+    }
+
+    public List<?> getYData() {
+
+      return yData;
+    }
+
+    /**
+     * @return the heat data as {x index, y index, value} triples
+     */
+    public List<? extends Number[]> getHeatData() {
+
+      List<? extends Number[]> list = heatData;
+      if (list == null) {
+        list = toHeatData(heatDataArray, yData.size());
+        heatData = list;
+      }
+      return list;
+    }
+
+    /**
+     * @return the heat data as a dense array, which holds the value of the cell at (x, y) at x *
+     *     yData.size() + y and NaN for empty cells
+     */
+    public double[] getHeatDataArray() {
+
+      double[] array = heatDataArray;
+      if (array == null) {
+        array = toHeatDataArray(heatData, xData.size(), yData.size());
+        heatDataArray = array;
+      }
+      return array;
+    }
+
+    public double getMin() {
+
+      return min;
+    }
+
+    public double getMax() {
+
+      return max;
+    }
+  }
+
+  private static List<Number[]> toHeatData(double[] heatDataArray, int ySize) {
+
+    List<Number[]> list = new ArrayList<>();
+    for (int i = 0; i < heatDataArray.length; i++) {
+      if (!Double.isNaN(heatDataArray[i])) {
+        list.add(new Number[] {i / ySize, i % ySize, heatDataArray[i]});
+      }
+    }
+    return list;
+  }
+
+  private static double[] toHeatDataArray(List<? extends Number[]> heatData, int xSize, int ySize) {
+
+    double[] array = new double[xSize * ySize];
+    Arrays.fill(array, Double.NaN);
+    for (Number[] numbers : heatData) {
+      if (numbers == null) {
+        continue;
+      }
+      int x = numbers[0].intValue();
+      int y = numbers[1].intValue();
+      // cells outside of the axes are left out, negative indices would land in another column
+      if (x >= 0 && x < xSize && y >= 0 && y < ySize) {
+        array[x * ySize + y] = numbers[2].doubleValue();
+      }
+    }
+    return array;
+  }
 }
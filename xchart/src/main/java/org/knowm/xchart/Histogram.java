@@ -2,16 +2,26 @@ package org.knowm.xchart;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Iterator;
 import java.util.List;
-
-/** This class can be used to create histogram */
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.DoubleStream;
+
+/**
+ * This class can be used to create histogram. The counts are kept in a primitive array: large data
+ * arrays are binned in parallel on the common ForkJoinPool, values can be added one by one with
+ * {@link #add(double)}, and histograms of the same bins built from different shards of the data can
+ * be combined with {@link #merge(Histogram)}. Adding and merging are not thread-safe.
+ */
 public class Histogram {
 
+  /** arrays with up to this many values are binned and scanned on the calling thread */
+  private static final int PARALLEL_CHUNK_SIZE = 1 << 16;
+
   private final Collection<? extends Number> originalData;
   private final int numBins;
   private final double min;
   private final double max;
+  private final double[] counts; // frequency counts
   private List<Double> xAxisData; // bin centers
   private List<Double> yAxisData; // frequency counts
 
@@ -26,24 +36,14 @@ public class Histogram {
     // Sanity checks
     sanityCheck(data, numBins);
 
+    double[] values = toArray(data);
+    double[] minMax = getMinMax(values);
+
     this.numBins = numBins;
     this.originalData = data;
-
-    Double tempMax = -Double.MAX_VALUE;
-    Double tempMin = Double.MAX_VALUE;
-    for (Number number : data) {
-      double value = number.doubleValue();
-      if (value > tempMax) {
-        tempMax = value;
-      }
-      if (value < tempMin) {
-        tempMin = value;
-      }
-    }
-    max = tempMax;
-    min = tempMin;
-
-    init();
+    this.min = minMax[0];
+    this.max = minMax[1];
+    this.counts = bin(values);
   }
 
   /**
@@ -58,16 +58,102 @@ public class Histogram {
 
     // Sanity checks
     sanityCheck(data, numBins);
-    if (max < min) {
-      throw new IllegalArgumentException("max cannot be less than min!!!");
-    }
+    sanityCheck(min, max);
 
     this.numBins = numBins;
     this.originalData = data;
     this.min = min;
     this.max = max;
+    this.counts = bin(toArray(data));
+  }
+
+  /**
+   * Constructor - the range of the bins is the range of the data. NaN values are ignored.
+   *
+   * @param data
+   * @param numBins
+   */
+  public Histogram(double[] data, int numBins) {
 
-    init();
+    // Sanity checks
+    sanityCheck(data, numBins);
+
+    double[] minMax = getMinMax(data);
+
+    this.numBins = numBins;
+    this.originalData = null;
+    this.min = minMax[0];
+    this.max = minMax[1];
+    this.counts = bin(data);
+  }
+
+  /**
+   * Constructor - values outside of min and max, and NaN values, are ignored
+   *
+   * @param data
+   * @param numBins
+   * @param min
+   * @param max
+   */
+  public Histogram(double[] data, int numBins, double min, double max) {
+
+    // Sanity checks
+    sanityCheck(data, numBins);
+    sanityCheck(min, max);
+
+    this.numBins = numBins;
+    this.originalData = null;
+    this.min = min;
+    this.max = max;
+    this.counts = bin(data);
+  }
+
+  /**
+   * Constructor - bins a stream, in parallel if it is a parallel stream. Values outside of min and
+   * max, and NaN values, are ignored.
+   *
+   * @param data
+   * @param numBins
+   * @param min
+   * @param max
+   */
+  public Histogram(DoubleStream data, int numBins, double min, double max) {
+
+    // Sanity checks
+    if (data == null) {
+      throw new IllegalArgumentException("Histogram data cannot be null!!!");
+    }
+    sanityCheck(numBins);
+    sanityCheck(min, max);
+
+    this.numBins = numBins;
+    this.originalData = null;
+    this.min = min;
+    this.max = max;
+    this.counts =
+        data.collect(
+            () -> new double[numBins], this::add, (counts, other) -> addCounts(counts, other));
+  }
+
+  /**
+   * Constructor - an empty histogram, to be filled with {@link #add(double)} or {@link
+   * #merge(Histogram)}
+   *
+   * @param numBins
+   * @param min
+   * @param max
+   */
+  public Histogram(int numBins, double min, double max) {
+
+    // Sanity checks
+    sanityCheck(numBins);
+    sanityCheck(min, max);
+
+    this.numBins = numBins;
+    this.originalData = null;
+    this.min = min;
+    this.max = max;
+    this.counts = new double[numBins];
   }
 
   private void sanityCheck(Collection<? extends Number> data, int numBins) {
@@ -78,61 +164,159 @@ public class Histogram {
     if (data.isEmpty()) {
       throw new IllegalArgumentException("Histogram data cannot be empty!!!");
     }
-    if (data.contains(null)) {
-      throw new IllegalArgumentException("Histogram data cannot contain null!!!");
+    sanityCheck(numBins);
+  }
+
+  private void sanityCheck(double[] data, int numBins) {
+
+    if (data == null) {
+      throw new IllegalArgumentException("Histogram data cannot be null!!!");
+    }
+    if (data.length == 0) {
+      throw new IllegalArgumentException("Histogram data cannot be empty!!!");
     }
+    sanityCheck(numBins);
+  }
+
+  private void sanityCheck(int numBins) {
 
     if (numBins <= 0) {
       throw new IllegalArgumentException("Histogram numBins cannot be less than or equal to 0!!!");
     }
   }
 
-  private void init() {
-
-    double[] tempYAxisData = new double[numBins];
-    final double binSize = (max - min) / numBins;
+  private void sanityCheck(double min, double max) {
 
-    // y axis data
-    Iterator<? extends Number> itr = originalData.iterator();
-    double doubleValue = 0.0;
-    int bin = 0;
-    while (itr.hasNext()) {
+    if (max < min) {
+      throw new IllegalArgumentException("max cannot be less than min!!!");
+    }
+  }
 
-      doubleValue = itr.next().doubleValue();
+  private static double[] toArray(Collection<? extends Number> data) {
 
-      /* this data is smaller than min, or this data point is bigger than max */
-      if (doubleValue < min || doubleValue > max) {
-        continue;
-      }
-      bin = (int) ((doubleValue - min) / binSize); // changed this from numBins
-      if (bin < numBins) {
-        tempYAxisData[bin] += 1;
-      } else { // the value falls exactly on the max value
-        tempYAxisData[bin - 1] += 1;
+    double[] values = new double[data.size()];
+    int i = 0;
+    for (Number number : data) {
+      if (number == null) {
+        throw new IllegalArgumentException("Histogram data cannot contain null!!!");
       }
+      values[i++] = number.doubleValue();
     }
-    yAxisData = new ArrayList<Double>(numBins);
-    for (double d : tempYAxisData) {
-      yAxisData.add(d);
+    return values;
+  }
+
+  private static double[] getMinMax(double[] values) {
+
+    double[] minMax = new MinMaxTask(values, 0, values.length).invoke();
+    if (minMax[0] > minMax[1]) {
+      throw new IllegalArgumentException("Histogram data cannot contain only NaN values!!!");
     }
+    return minMax;
+  }
 
-    // x axis data
-    xAxisData = new ArrayList<Double>(numBins);
+  private double[] bin(double[] values) {
+
+    return new BinningTask(values, 0, values.length).invoke();
+  }
+
+  /**
+   * Adds a value. Values outside of min and max, and NaN values, are ignored.
+   *
+   * @param value
+   */
+  public void add(double value) {
+
+    add(counts, value);
+    xAxisData = null;
+    yAxisData = null;
+  }
+
+  /**
+   * Adds the counts of another histogram with the same bins to this one
+   *
+   * @param histogram
+   */
+  public void merge(Histogram histogram) {
+
+    if (histogram.numBins != numBins || histogram.min != min || histogram.max != max) {
+      throw new IllegalArgumentException("Only histograms with the same bins can be merged!!!");
+    }
+    addCounts(counts, histogram.counts);
+    xAxisData = null;
+    yAxisData = null;
+  }
+
+  private void add(double[] counts, double value) {
+
+    /* this data is smaller than min, or this data point is bigger than max, or NaN */
+    if (!(value >= min && value <= max)) {
+      return;
+    }
+    int bin = (int) ((value - min) / ((max - min) / numBins));
+    if (bin < numBins) {
+      counts[bin] += 1;
+    } else { // the value falls exactly on the max value
+      counts[numBins - 1] += 1;
+    }
+  }
+
+  private static void addCounts(double[] counts, double[] other) {
+
+    for (int i = 0; i < counts.length; i++) {
+      counts[i] += other[i];
+    }
+  }
+
+  /**
+   * @return the bin centers, a copy which can be passed to a chart directly
+   */
+  public double[] getxAxisDataArray() {
+
+    double binSize = (max - min) / numBins;
+    double[] binCenters = new double[numBins];
     for (int i = 0; i < numBins; i++) {
-      xAxisData.add(((i * (max - min)) / numBins + min) + binSize / 2);
+      binCenters[i] = ((i * (max - min)) / numBins + min) + binSize / 2;
     }
+    return binCenters;
+  }
+
+  /**
+   * @return the frequency counts, a copy which can be passed to a chart directly
+   */
+  public double[] getyAxisDataArray() {
+
+    return counts.clone();
   }
 
   public List<Double> getxAxisData() {
 
+    if (xAxisData == null) {
+      xAxisData = toList(getxAxisDataArray());
+    }
     return xAxisData;
   }
 
   public List<Double> getyAxisData() {
 
+    if (yAxisData == null) {
+      yAxisData = toList(counts);
+    }
     return yAxisData;
   }
 
+  private static List<Double> toList(double[] values) {
+
+    List<Double> list = new ArrayList<>(values.length);
+    for (double d : values) {
+      list.add(d);
+    }
+    return list;
+  }
+
+  /**
+   * @return the data the histogram was created from, or null if it was not created from a
+   *     Collection
+   */
   public Collection<? extends Number> getOriginalData() {
 
     return originalData;
@@ -152,4 +336,81 @@ public class Histogram {
 
     return max;
   }
+
+  /** Bins a range of the data, splitting it into chunks each counted into its own array */
+  private class BinningTask extends RecursiveTask<double[]> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final double[] values;
+    private final int start;
+    private final int end;
+
+    BinningTask(double[] values, int start, int end) {
+
+      this.values = values;
+      this.start = start;
+      this.end = end;
+    }
+
+    @Override
+    protected double[] compute() {
+
+      if (end - start <= PARALLEL_CHUNK_SIZE) {
+        double[] chunkCounts = new double[numBins];
+        for (int i = start; i < end; i++) {
+          add(chunkCounts, values[i]);
+        }
+        return chunkCounts;
+      }
+      int middle = (start + end) >>> 1;
+      BinningTask left = new BinningTask(values, start, middle);
+      left.fork();
+      double[] chunkCounts = new BinningTask(values, middle, end).compute();
+      addCounts(chunkCounts, left.join());
+      return chunkCounts;
+    }
+  }
+
+  /** Finds the min and max of a range of the data, ignoring NaN values */
+  private static class MinMaxTask extends RecursiveTask<double[]> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final double[] values;
+    private final int start;
+    private final int end;
+
+    MinMaxTask(double[] values, int start, int end) {
+
+      this.values = values;
+      this.start = start;
+      this.end = end;
+    }
+
+    @Override
+    protected double[] compute() {
+
+      if (end - start <= PARALLEL_CHUNK_SIZE) {
+        double tempMin = Double.MAX_VALUE;
+        double tempMax = -Double.MAX_VALUE;
+        for (int i = start; i < end; i++) {
+          double value = values[i];
+          if (value > tempMax) {
+            tempMax = value;
+          }
+          if (value < tempMin) {
+            tempMin = value;
+          }
+        }
+        return new double[] {tempMin, tempMax};
+      }
+      int middle = (start + end) >>> 1;
+      MinMaxTask left = new MinMaxTask(values, start, middle);
+      left.fork();
+      double[] minMax = new MinMaxTask(values, middle, end).compute();
+      double[] leftMinMax = left.join();
+      return new double[] {Math.min(minMax[0], leftMinMax[0]), Math.max(minMax[1], leftMinMax[1])};
+    }
+  }
 }
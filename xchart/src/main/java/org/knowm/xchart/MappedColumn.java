@@ -0,0 +1,152 @@
+package org.knowm.xchart;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A column of little-endian numbers in a binary file, memory-mapped rather than read into the heap.
+ * Mapping is cheap no matter how large the file is; the operating system pages in the parts of the
+ * file which are actually read. Columns larger than 2 GB are mapped in several chunks. The mapping
+ * is released when the column is garbage collected.
+ */
+public class MappedColumn {
+
+  /** mapped chunks are 1 GB, a multiple of every value size so no value spans two chunks */
+  private static final int CHUNK_SHIFT = 30;
+
+  private static final int CHUNK_MASK = (1 << CHUNK_SHIFT) - 1;
+
+  private final ByteBuffer[] chunks;
+  private final ValueType valueType;
+  private final long size;
+
+  private MappedColumn(ByteBuffer[] chunks, ValueType valueType, long size) {
+
+    this.chunks = chunks;
+    this.valueType = valueType;
+    this.size = size;
+  }
+
+  /**
+   * Maps a whole file as one column. Trailing bytes which do not make up a whole value are ignored.
+   *
+   * @param path
+   * @param valueType
+   * @return the column
+   * @throws IOException
+   */
+  public static MappedColumn map(Path path, ValueType valueType) throws IOException {
+
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      return map(channel, valueType, 0, channel.size() / valueType.size);
+    }
+  }
+
+  /**
+   * Maps a column stored in a region of a file, for example one of several columns stored one after
+   * the other
+   *
+   * @param path
+   * @param valueType
+   * @param byteOffset the position of the first value in the file
+   * @param size the number of values
+   * @return the column
+   * @throws IOException
+   */
+  public static MappedColumn map(Path path, ValueType valueType, long byteOffset, long size)
+      throws IOException {
+
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      return map(channel, valueType, byteOffset, size);
+    }
+  }
+
+  private static MappedColumn map(
+      FileChannel channel, ValueType valueType, long byteOffset, long size) throws IOException {
+
+    if (byteOffset < 0 || size < 0) {
+      throw new IllegalArgumentException("Byte offset and size cannot be negative!!!");
+    }
+    long byteSize = size * valueType.size;
+    if (byteOffset + byteSize > channel.size()) {
+      throw new IllegalArgumentException("The column exceeds the end of the file!!!");
+    }
+    int chunkCount = (int) ((byteSize + CHUNK_MASK) >>> CHUNK_SHIFT);
+    ByteBuffer[] chunks = new ByteBuffer[chunkCount];
+    for (int i = 0; i < chunkCount; i++) {
+      long chunkStart = (long) i << CHUNK_SHIFT;
+      long chunkSize = Math.min(byteSize - chunkStart, 1L << CHUNK_SHIFT);
+      // the mapping stays valid after the channel is closed
+      chunks[i] =
+          channel
+              .map(FileChannel.MapMode.READ_ONLY, byteOffset + chunkStart, chunkSize)
+              .order(ByteOrder.LITTLE_ENDIAN);
+    }
+    return new MappedColumn(chunks, valueType, size);
+  }
+
+  /**
+   * @return the number of values
+   */
+  public long size() {
+
+    return size;
+  }
+
+  public ValueType getValueType() {
+
+    return valueType;
+  }
+
+  /**
+   * Reads a value. Safe to call from several threads at the same time.
+   *
+   * @param index
+   * @return the value, converted to a double
+   */
+  public double get(long index) {
+
+    long bytePosition = index * valueType.size;
+    ByteBuffer chunk = chunks[(int) (bytePosition >>> CHUNK_SHIFT)];
+    int position = (int) (bytePosition & CHUNK_MASK);
+    switch (valueType) {
+      case Float32:
+        return chunk.getFloat(position);
+      case Int64:
+        return chunk.getLong(position);
+      default:
+        return chunk.getDouble(position);
+    }
+  }
+
+  /** The type of the values in a column */
+  public enum ValueType {
+    /** 8 byte IEEE 754 doubles */
+    Float64(8),
+
+    /** 4 byte IEEE 754 floats */
+    Float32(4),
+
+    /** 8 byte signed integers, e.g. epoch milliseconds */
+    Int64(8);
+
+    private final int size;
+
+    ValueType(int size) {
+
+      this.size = size;
+    }
+
+    /**
+     * @return the size of a value in bytes
+     */
+    public int getSize() {
+
+      return size;
+    }
+  }
+}
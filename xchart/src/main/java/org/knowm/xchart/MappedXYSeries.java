@@ -0,0 +1,257 @@
+package org.knowm.xchart;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * An XYSeries reading its data from memory-mapped columns, for captures too large to be loaded into
+ * the heap. The x values have to be in ascending order, like timestamps.
+ *
+ * <p>Before each paint, the visible range is loaded into small heap arrays. Ranges of up to
+ * getMaxLoadedPoints() points are loaded as they are. Larger ones are split into buckets, of which
+ * only the first, the smallest, the largest and the last point are loaded, which keeps the lines
+ * and the axis ranges as they would be with all points. Zooming in only reads the visible part of
+ * the columns.
+ */
+public class MappedXYSeries extends XYSeries {
+
+  private static final int DEFAULT_MAX_LOADED_POINTS = 8192;
+
+  private final MappedColumn xColumn;
+  private final MappedColumn yColumn;
+
+  /** the visible range of the columns */
+  private long viewStart;
+
+  private long viewEnd;
+
+  private int maxLoadedPoints = DEFAULT_MAX_LOADED_POINTS;
+
+  /** the points loaded for the whole columns, kept to make resetting a zoom cheap */
+  private double[][] allPoints;
+
+  /** true if the visible range changed since the last paint */
+  private boolean isDirty = true;
+
+  /**
+   * Constructor
+   *
+   * @param name
+   * @param xColumn
+   * @param yColumn
+   * @param xAxisDataType
+   */
+  public MappedXYSeries(
+      String name, MappedColumn xColumn, MappedColumn yColumn, DataType xAxisDataType) {
+
+    super(name, new double[0], new double[0], null, xAxisDataType);
+
+    if (xColumn.size() != yColumn.size()) {
+      throw new IllegalArgumentException("X and Y-Axis sizes are not the same!!!");
+    }
+    this.xColumn = xColumn;
+    this.yColumn = yColumn;
+    this.viewEnd = xColumn.size();
+  }
+
+  /**
+   * @return the number of points in the columns
+   */
+  public long size() {
+
+    return xColumn.size();
+  }
+
+  public int getMaxLoadedPoints() {
+
+    return maxLoadedPoints;
+  }
+
+  /**
+   * Set how many points are loaded into the heap at most, which should be a few times the width of
+   * the plot in pixels
+   *
+   * @param maxLoadedPoints
+   */
+  public synchronized MappedXYSeries setMaxLoadedPoints(int maxLoadedPoints) {
+
+    if (maxLoadedPoints < 4) {
+      throw new IllegalArgumentException("At least 4 points have to be loaded!!!");
+    }
+    this.maxLoadedPoints = maxLoadedPoints;
+    allPoints = null;
+    isDirty = true;
+    return this;
+  }
+
+  /** The data of a mapped series is read from its columns and cannot be replaced */
+  @Override
+  public void replaceData(double[] newXData, double[] newYData, double[] newExtraValues) {
+
+    throw new UnsupportedOperationException("The data of a mapped series cannot be replaced!!!");
+  }
+
+  @Override
+  public void filterXByIndex(int startIndex, int endIndex) {
+
+    long start = Math.max(0, startIndex);
+    long end = Math.min(size(), endIndex);
+    if (start > end) {
+      throw new IllegalArgumentException(start + " > " + end);
+    }
+    setView(start, end);
+  }
+
+  @Override
+  public boolean filterXByValue(double minValue, double maxValue) {
+
+    long start = getFirstIndexNotLessThan(minValue);
+    long end = getFirstIndexGreaterThan(maxValue);
+    if (start == 0 && end == size()) {
+      return false;
+    }
+    setView(start, Math.max(start, end));
+    return true;
+  }
+
+  @Override
+  public void resetFilter() {
+
+    setView(0, size());
+  }
+
+  @Override
+  public boolean isAllXData() {
+
+    return viewStart == 0 && viewEnd == size();
+  }
+
+  private synchronized void setView(long start, long end) {
+
+    if (start != viewStart || end != viewEnd) {
+      viewStart = start;
+      viewEnd = end;
+      isDirty = true;
+    }
+  }
+
+  @Override
+  synchronized void prepareForPaint() {
+
+    if (!isDirty) {
+      return;
+    }
+    isDirty = false;
+
+    double[][] points;
+    if (isAllXData()) {
+      if (allPoints == null) {
+        allPoints = load(viewStart, viewEnd);
+      }
+      points = allPoints;
+    } else {
+      points = load(viewStart, viewEnd);
+    }
+    super.replaceData(points[0], points[1], null);
+  }
+
+  /** Loads a range of the columns, reduced to at most maxLoadedPoints points */
+  private double[][] load(long start, long end) {
+
+    long count = end - start;
+    if (count <= maxLoadedPoints) {
+      double[] xData = new double[(int) count];
+      double[] yData = new double[(int) count];
+      for (int i = 0; i < count; i++) {
+        xData[i] = xColumn.get(start + i);
+        yData[i] = yColumn.get(start + i);
+      }
+      return new double[][] {xData, yData};
+    }
+
+    // the indices of the first, smallest, largest and last point of each bucket, in order, -1 for
+    // duplicates. The buckets are independent and scanned in parallel.
+    int bucketCount = maxLoadedPoints / 4;
+    long[] indices = new long[bucketCount * 4];
+    IntStream.range(0, bucketCount)
+        .parallel()
+        .forEach(
+            bucket -> {
+              long from = start + count * bucket / bucketCount;
+              long to = start + count * (bucket + 1) / bucketCount;
+              long minIndex = -1;
+              long maxIndex = -1;
+              double min = Double.POSITIVE_INFINITY;
+              double max = Double.NEGATIVE_INFINITY;
+              for (long i = from; i < to; i++) {
+                double y = yColumn.get(i);
+                // NaN fails both comparisons
+                if (y < min) {
+                  min = y;
+                  minIndex = i;
+                }
+                if (y > max) {
+                  max = y;
+                  maxIndex = i;
+                }
+              }
+              long[] bucketIndices = {from, minIndex, maxIndex, to - 1};
+              Arrays.sort(bucketIndices);
+              for (int j = 0; j < 4; j++) {
+                long index = bucketIndices[j];
+                boolean isDuplicate = index < 0 || (j > 0 && index == bucketIndices[j - 1]);
+                indices[bucket * 4 + j] = isDuplicate ? -1 : index;
+              }
+            });
+
+    int size = 0;
+    for (long index : indices) {
+      if (index >= 0) {
+        size++;
+      }
+    }
+    double[] xData = new double[size];
+    double[] yData = new double[size];
+    int n = 0;
+    for (long index : indices) {
+      if (index >= 0) {
+        xData[n] = xColumn.get(index);
+        yData[n] = yColumn.get(index);
+        n++;
+      }
+    }
+    return new double[][] {xData, yData};
+  }
+
+  /** Binary search in the sorted x column */
+  private long getFirstIndexNotLessThan(double value) {
+
+    long low = 0;
+    long high = size();
+    while (low < high) {
+      long mid = (low + high) >>> 1;
+      if (xColumn.get(mid) < value) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  /** Binary search in the sorted x column */
+  private long getFirstIndexGreaterThan(double value) {
+
+    long low = 0;
+    long high = size();
+    while (low < high) {
+      long mid = (low + high) >>> 1;
+      if (xColumn.get(mid) <= value) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+}
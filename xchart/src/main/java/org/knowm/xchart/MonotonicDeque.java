@@ -0,0 +1,85 @@
+package org.knowm.xchart;
+
+import java.util.function.LongToDoubleFunction;
+
+/**
+ * Sequence numbers of the points in a sliding window whose values are monotonic, so the front is
+ * always the min (or max) of the window. Each point is pushed and removed at most once, which makes
+ * updates amortized O(1).
+ */
+class MonotonicDeque {
+
+  private final boolean isMin;
+  private final LongToDoubleFunction values;
+  private final long[] sequences;
+  private int head;
+  private int size;
+
+  /**
+   * Constructor
+   *
+   * @param capacity the size of the window
+   * @param isMin true to track the min, false to track the max
+   * @param values the value of the point with a sequence number
+   */
+  MonotonicDeque(int capacity, boolean isMin, LongToDoubleFunction values) {
+
+    this.isMin = isMin;
+    this.values = values;
+    this.sequences = new long[capacity];
+  }
+
+  /** Removes the points which dropped out of the window */
+  void evict(long windowStart) {
+
+    while (size > 0 && sequences[head] < windowStart) {
+      head = (head + 1) % sequences.length;
+      size--;
+    }
+  }
+
+  void push(long sequence) {
+
+    double value = values.applyAsDouble(sequence);
+    if (Double.isNaN(value)) {
+      return;
+    }
+    while (size > 0) {
+      double last = values.applyAsDouble(sequences[(head + size - 1) % sequences.length]);
+      if (isMin ? last < value : last > value) {
+        break;
+      }
+      size--;
+    }
+    sequences[(head + size) % sequences.length] = sequence;
+    size++;
+  }
+
+  /**
+   * Pushes the newest point again after its value moved towards the extreme, e.g. when the high of
+   * a forming bar went up
+   */
+  void repush(long sequence) {
+
+    if (size > 0 && sequences[(head + size - 1) % sequences.length] == sequence) {
+      size--;
+    }
+    push(sequence);
+  }
+
+  double peek() {
+
+    return values.applyAsDouble(sequences[head]);
+  }
+
+  boolean isEmpty() {
+
+    return size == 0;
+  }
+
+  void clear() {
+
+    head = 0;
+    size = 0;
+  }
+}
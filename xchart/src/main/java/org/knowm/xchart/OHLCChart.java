@@ -534,6 +534,46 @@ public class OHLCChart extends Chart<OHLCStyler, OHLCSeries> {
     return series;
   }
 
+  /**
+   * Add a series for live data, whose bars are built from ticks. Feed it with
+   * StreamingOHLCSeries.addTick instead of calling updateOHLCSeries.
+   *
+   * @param seriesName
+   * @param barWidth the duration of a bar in x units
+   * @param capacity the maximum number of bars kept, older bars are dropped
+   * @return A Series object that you can set properties on
+   */
+  public StreamingOHLCSeries addStreamingSeries(String seriesName, double barWidth, int capacity) {
+
+    return addStreamingSeries(seriesName, barWidth, capacity, DataType.Number);
+  }
+
+  /**
+   * Add a series for live data, whose bars are built from ticks. Feed it with
+   * StreamingOHLCSeries.addTick instead of calling updateOHLCSeries.
+   *
+   * @param seriesName
+   * @param barWidth the duration of a bar in x units, e.g. 60000 for one minute bars of Date data
+   * @param capacity the maximum number of bars kept, older bars are dropped
+   * @param xAxisDataType Number, or Date if the timestamps are epoch milliseconds
+   * @return A Series object that you can set properties on
+   */
+  public StreamingOHLCSeries addStreamingSeries(
+      String seriesName, double barWidth, int capacity, DataType xAxisDataType) {
+
+    if (seriesMap.containsKey(seriesName)) {
+      throw new IllegalArgumentException(
+          "Series name >"
+              + seriesName
+              + "< has already been used. Use unique names for each series!!!");
+    }
+    StreamingOHLCSeries series =
+        new StreamingOHLCSeries(seriesName, barWidth, capacity, xAxisDataType);
+    seriesMap.put(seriesName, series);
+
+    return series;
+  }
+
   private OHLCSeries addSeries(
       String seriesName, double[] xData, double[] yData, DataType dataType) {
 
@@ -842,28 +882,41 @@ public class OHLCChart extends Chart<OHLCStyler, OHLCSeries> {
   }
 
   @Override
-  public void paint(Graphics2D g, int width, int height) {
-
-    setWidth(width);
-    setHeight(height);
+  protected void prepareForPaint() {
 
-    // set the series render styles if they are not set. Legend and Plot need it.
     for (OHLCSeries series : getSeriesMap().values()) {
-      OHLCSeries.OHLCSeriesRenderStyle renderStyle =
-          series.getOhlcSeriesRenderStyle(); // would be directly set
-      if (renderStyle == null) { // wasn't overridden, use default from Style Manager
-        series.setOhlcSeriesRenderStyle(getStyler().getDefaultSeriesRenderStyle());
-      }
+      series.prepareForPaint();
     }
-    setSeriesStyles();
+  }
 
-    paintBackground(g);
+  @Override
+  public void paint(Graphics2D g, int width, int height) {
 
-    axisPair.paint(g);
-    plot.paint(g);
-    chartTitle.paint(g);
-    legend.paint(g);
-    annotations.forEach(x -> x.paint(g));
+    beginPaint();
+    try {
+      setWidth(width);
+      setHeight(height);
+
+      // set the series render styles if they are not set. Legend and Plot need it.
+      for (OHLCSeries series : getSeriesMap().values()) {
+        OHLCSeries.OHLCSeriesRenderStyle renderStyle =
+            series.getOhlcSeriesRenderStyle(); // would be directly set
+        if (renderStyle == null) { // wasn't overridden, use default from Style Manager
+          series.setOhlcSeriesRenderStyle(getStyler().getDefaultSeriesRenderStyle());
+        }
+      }
+      setSeriesStyles();
+
+      paintBackground(g);
+
+      axisPair.paint(g);
+      plot.paint(g);
+      chartTitle.paint(g);
+      legend.paint(g);
+      annotations.forEach(x -> x.paint(g));
+    } finally {
+      endPaint();
+    }
   }
 
   /** set the series color, marker and line style based on theme */
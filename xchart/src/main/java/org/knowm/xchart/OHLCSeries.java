@@ -3,8 +3,14 @@ package org.knowm.xchart;
 import java.awt.Color;
 import org.knowm.xchart.internal.chartpart.RenderableSeries;
 import org.knowm.xchart.internal.chartpart.RenderableSeries.LegendRenderType;
+import org.knowm.xchart.internal.series.AxesChartSeries;
 import org.knowm.xchart.internal.series.MarkerSeries;
 
+/**
+ * A Series containing open, high, low and close data, or a line, to be plotted on an OHLC Chart.
+ * The arrays and the min and max are published together in one {@link DataSnapshot}, so the getters
+ * never lock and always return data which belongs together.
+ */
 public class OHLCSeries extends MarkerSeries {
 
   private double[] xData; // can be Number or Date(epochtime)
@@ -22,6 +28,8 @@ public class OHLCSeries extends MarkerSeries {
   /** Down Color */
   private Color downColor;
 
+  private boolean isAggregationEnabled;
+
   /**
    * Constructor
    *
@@ -72,7 +80,7 @@ public class OHLCSeries extends MarkerSeries {
     this.lowData = lowData;
     this.closeData = closeData;
     this.volumeData = volumeData;
-    calculateMinMax();
+    dataChanged();
   }
 
   /**
@@ -89,7 +97,7 @@ public class OHLCSeries extends MarkerSeries {
     this.xData = xData;
     this.yData = yData;
     this.ohlcSeriesRenderStyle = OHLCSeriesRenderStyle.Line;
-    calculateMinMax();
+    dataChanged();
   }
 
   public OHLCSeriesRenderStyle getOhlcSeriesRenderStyle() {
@@ -147,6 +155,25 @@ public class OHLCSeries extends MarkerSeries {
     return this;
   }
 
+  public boolean isAggregationEnabled() {
+
+    return isAggregationEnabled;
+  }
+
+  /**
+   * Set whether candles are merged into wider time buckets when there are more candles in the
+   * visible range than fit the plot width. A bucket opens with its first candle, closes with its
+   * last, spans the highest high and the lowest low, and sums the volumes. The bucket width follows
+   * the zoom level. Only applies to Candle and HiLo series whose x data is in ascending order.
+   *
+   * @param isAggregationEnabled
+   */
+  public OHLCSeries setAggregationEnabled(boolean isAggregationEnabled) {
+
+    this.isAggregationEnabled = isAggregationEnabled;
+    return this;
+  }
+
   @Override
   public LegendRenderType getLegendRenderType() {
 
@@ -184,7 +211,7 @@ public class OHLCSeries extends MarkerSeries {
    * @param newCloseData
    * @param newVolumeData
    */
-  void replaceData(
+  synchronized void replaceData(
       double[] newXData,
       double[] newOpenData,
       double[] newHighData,
@@ -199,7 +226,7 @@ public class OHLCSeries extends MarkerSeries {
     this.lowData = newLowData;
     this.closeData = newCloseData;
     this.volumeData = newVolumeData;
-    calculateMinMax();
+    dataChanged();
   }
 
   /**
@@ -209,11 +236,26 @@ public class OHLCSeries extends MarkerSeries {
    * @param newXData
    * @param newYData
    */
-  void replaceData(double[] newXData, double[] newYData) {
+  synchronized void replaceData(double[] newXData, double[] newYData) {
 
     this.xData = newXData;
     this.yData = newYData;
-    calculateMinMax();
+    dataChanged();
+  }
+
+  /** Called by the chart before painting, so the series can publish data added in the meantime */
+  void prepareForPaint() {}
+
+  /**
+   * Gets the sequence number of the first bar, for series whose bars are numbered in the order they
+   * are added and never change once a later bar is added. This lets the aggregated candles be
+   * extended rather than built again when bars are added.
+   *
+   * @return the sequence number, or -1 if the bars are not numbered
+   */
+  protected long getFirstBarSequence() {
+
+    return -1;
   }
 
   /**
@@ -257,40 +299,52 @@ public class OHLCSeries extends MarkerSeries {
     yMax = yMinMax[1];
   }
 
+  @Override
+  protected DataSnapshot createDataSnapshot(AxesChartSeries.DataSnapshot previous) {
+
+    return new DataSnapshot(this);
+  }
+
+  @Override
+  public DataSnapshot getDataSnapshot() {
+
+    return (DataSnapshot) super.getDataSnapshot();
+  }
+
   public double[] getXData() {
 
-    return xData;
+    return getDataSnapshot().xData;
   }
 
   public double[] getOpenData() {
 
-    return openData;
+    return getDataSnapshot().openData;
   }
 
   public double[] getHighData() {
 
-    return highData;
+    return getDataSnapshot().highData;
   }
 
   public double[] getLowData() {
 
-    return lowData;
+    return getDataSnapshot().lowData;
   }
 
   public double[] getCloseData() {
 
-    return closeData;
+    return getDataSnapshot().closeData;
   }
 
   // TODO remove this??
   public long[] getVolumeData() {
 
-    return volumeData;
+    return getDataSnapshot().volumeData;
   }
 
   public double[] getYData() {
 
-    return yData;
+    return getDataSnapshot().yData;
   }
 
   public enum OHLCSeriesRenderStyle implements RenderableSeries {
@@ -311,4 +365,76 @@ public class OHLCSeries extends MarkerSeries {
       return legendRenderType;
     }
   }
+
+  /**
+   * The data of a series at one point in time. Neither the snapshot nor its arrays are changed
+   * after it is published, so it can be read by any thread without locking.
+   */
+  public static final class DataSnapshot extends AxesChartSeries.DataSnapshot {
+
+    private final double[] xData;
+    private final double[] openData;
+    private final double[] highData;
+    private final double[] lowData;
+    private final double[] closeData;
+    private final long[] volumeData;
+    private final double[] yData;
+    private final long firstBarSequence;
+
+    private DataSnapshot(OHLCSeries series) {
+
+      super(series);
+      this.xData = series.xData;
+      this.openData = series.openData;
+      this.highData = series.highData;
+      this.lowData = series.lowData;
+      this.closeData = series.closeData;
+      this.volumeData = series.volumeData;
+      this.yData = series.yData;
+      this.firstBarSequence = series.getFirstBarSequence();
+    }
+
+    public double[] getXData() {
+
+      return xData;
+    }
+
+    public double[] getOpenData() {
+
+      return openData;
+    }
+
+    public double[] getHighData() {
+
+      return highData;
+    }
+
+    public double[] getLowData() {
+
+      return lowData;
+    }
+
+    public double[] getCloseData() {
+
+      return closeData;
+    }
+
+    public long[] getVolumeData() {
+
+      return volumeData;
+    }
+
+    public double[] getYData() {
+
+      return yData;
+    }
+
+    /**
+     * @return the sequence number of the first bar, or -1 if the bars are not numbered
+     */
+    public long getFirstBarSequence() {
+
+      return firstBarSequence;
+    }
+  }
 }
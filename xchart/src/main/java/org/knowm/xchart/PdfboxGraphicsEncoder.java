@@ -1,13 +1,16 @@
 package org.knowm.xchart;
 
 import de.rototor.pdfbox.graphics2d.PdfBoxGraphics2D;
+import java.awt.RenderingHints;
 import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPage;
 import org.apache.pdfbox.pdmodel.PDPageContentStream;
@@ -61,6 +64,22 @@ public class PdfboxGraphicsEncoder {
     savePdfboxGraphics(charts, os);
   }
 
+  /**
+   * Write a chart to an OutputStream, painting plot content with more than rasterThreshold shapes
+   * as an embedded image of rasterDPI, see VectorGraphicsEncoder
+   *
+   * @param chart Chart
+   * @param os OutputStream
+   * @param rasterDPI the resolution of the image
+   * @param rasterThreshold the number of shapes above which plot content is rasterized
+   * @throws IOException
+   */
+  public static void savePdfboxGraphics(
+      Chart chart, OutputStream os, int rasterDPI, int rasterThreshold) throws IOException {
+
+    savePdfboxGraphics(Collections.singletonList(chart), os, rasterDPI, rasterThreshold);
+  }
+
   /**
    * Write multiple charts to a file
    *
@@ -97,6 +116,31 @@ public class PdfboxGraphicsEncoder {
   public static void savePdfboxGraphics(List<? extends Chart> charts, OutputStream os)
       throws IOException {
 
+    savePdfboxGraphics(charts, os, Collections.emptyMap());
+  }
+
+  /**
+   * Write multiple charts to an OutputStream, rasterizing dense plot content, see
+   * savePdfboxGraphics(Chart, OutputStream, int, int)
+   *
+   * @param charts List&lt;? extends Chart&gt;
+   * @param os OutputStream
+   * @param rasterDPI the resolution of the image
+   * @param rasterThreshold the number of shapes above which plot content is rasterized
+   * @throws IOException
+   */
+  public static void savePdfboxGraphics(
+      List<? extends Chart> charts, OutputStream os, int rasterDPI, int rasterThreshold)
+      throws IOException {
+
+    savePdfboxGraphics(
+        charts, os, VectorGraphicsEncoder.getRasterHints(rasterDPI, rasterThreshold));
+  }
+
+  static void savePdfboxGraphics(
+      List<? extends Chart> charts, OutputStream os, Map<RenderingHints.Key, Object> hints)
+      throws IOException {
+
     PDDocument document = new PDDocument();
     PDRectangle mediaBox = null;
     PDPage page = null;
@@ -109,6 +153,7 @@ public class PdfboxGraphicsEncoder {
       // add page
       document.addPage(page);
       pdfBoxGraphics2D = new PdfBoxGraphics2D(document, chart.getWidth(), chart.getHeight());
+      pdfBoxGraphics2D.addRenderingHints(hints);
       chart.paint(pdfBoxGraphics2D, chart.getWidth(), chart.getHeight());
       pdfBoxGraphics2D.dispose();
       xform = pdfBoxGraphics2D.getXFormObject();
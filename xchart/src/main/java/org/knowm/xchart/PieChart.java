@@ -110,25 +110,30 @@ public class PieChart extends Chart<PieStyler, PieSeries> {
   @Override
   public void paint(Graphics2D g, int width, int height) {
 
-    setWidth(width);
-    setHeight(height);
-
-    // set the series types if they are not set. Legend and Plot need it.
-    for (PieSeries seriesPie : getSeriesMap().values()) {
-      PieSeries.PieSeriesRenderStyle seriesType =
-          seriesPie.getChartPieSeriesRenderStyle(); // would be directly set
-      if (seriesType == null) { // wasn't overridden, use default from Style Manager
-        seriesPie.setChartPieSeriesRenderStyle(getStyler().getDefaultSeriesRenderStyle());
+    beginPaint();
+    try {
+      setWidth(width);
+      setHeight(height);
+
+      // set the series types if they are not set. Legend and Plot need it.
+      for (PieSeries seriesPie : getSeriesMap().values()) {
+        PieSeries.PieSeriesRenderStyle seriesType =
+            seriesPie.getChartPieSeriesRenderStyle(); // would be directly set
+        if (seriesType == null) { // wasn't overridden, use default from Style Manager
+          seriesPie.setChartPieSeriesRenderStyle(getStyler().getDefaultSeriesRenderStyle());
+        }
       }
-    }
-    setSeriesStyles();
+      setSeriesStyles();
 
-    paintBackground(g);
+      paintBackground(g);
 
-    plot.paint(g);
-    chartTitle.paint(g);
-    legend.paint(g);
-    annotations.forEach(x -> x.paint(g));
+      plot.paint(g);
+      chartTitle.paint(g);
+      legend.paint(g);
+      annotations.forEach(x -> x.paint(g));
+    } finally {
+      endPaint();
+    }
   }
 
   /** set the series color based on theme */
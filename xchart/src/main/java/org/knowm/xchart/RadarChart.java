@@ -171,17 +171,22 @@ public class RadarChart extends Chart<RadarStyler, RadarSeries> {
   @Override
   public void paint(Graphics2D g, int width, int height) {
 
-    setWidth(width);
-    setHeight(height);
+    beginPaint();
+    try {
+      setWidth(width);
+      setHeight(height);
 
-    setSeriesStyles();
+      setSeriesStyles();
 
-    paintBackground(g);
+      paintBackground(g);
 
-    plot.paint(g);
-    chartTitle.paint(g);
-    legend.paint(g);
-    annotations.forEach(x -> x.paint(g));
+      plot.paint(g);
+      chartTitle.paint(g);
+      legend.paint(g);
+      annotations.forEach(x -> x.paint(g));
+    } finally {
+      endPaint();
+    }
   }
 
   /** set the series color based on theme */
@@ -0,0 +1,94 @@
+package org.knowm.xchart;
+
+import java.awt.Component;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Caps how often charts fed with real-time data are repainted. Instead of repainting after each
+ * update, producers mark a panel as dirty with {@link #requestRepaint(Component)}, which never
+ * blocks. At most once per frame interval, all dirty panels are repainted together, so the work
+ * follows the frame rate rather than the update rate. One scheduler can be shared by any number of
+ * panels, and uses one daemon thread, which only wakes up when a panel is dirty.
+ */
+public class RepaintScheduler {
+
+  private final long frameIntervalNanos;
+
+  private final Set<Component> dirtyComponents = ConcurrentHashMap.newKeySet();
+
+  /** true if a frame is scheduled which has not started yet */
+  private final AtomicBoolean isFrameScheduled = new AtomicBoolean();
+
+  private final ScheduledExecutorService executor =
+      Executors.newSingleThreadScheduledExecutor(
+          runnable -> {
+            Thread thread = new Thread(runnable, "XChart Repaint Scheduler");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  private volatile long lastFrameNanos;
+
+  /**
+   * Constructor
+   *
+   * @param framesPerSecond the maximum number of times per second a panel is repainted
+   */
+  public RepaintScheduler(double framesPerSecond) {
+
+    if (!(framesPerSecond > 0)) {
+      throw new IllegalArgumentException("Frames per second must be greater than 0!!!");
+    }
+    this.frameIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / framesPerSecond);
+    this.lastFrameNanos = System.nanoTime() - frameIntervalNanos;
+  }
+
+  /**
+   * Marks a component as dirty, to be repainted with the next frame. Can be called from any thread.
+   *
+   * @param component
+   */
+  public void requestRepaint(Component component) {
+
+    if (executor.isShutdown()) {
+      return;
+    }
+    dirtyComponents.add(component);
+    if (isFrameScheduled.compareAndSet(false, true)) {
+      long delay = Math.max(0, lastFrameNanos + frameIntervalNanos - System.nanoTime());
+      try {
+        executor.schedule(this::repaintDirtyComponents, delay, TimeUnit.NANOSECONDS);
+      } catch (RejectedExecutionException e) {
+        // shut down in the meantime
+        dirtyComponents.clear();
+      }
+    }
+  }
+
+  private void repaintDirtyComponents() {
+
+    lastFrameNanos = System.nanoTime();
+    // requests from now on schedule the next frame, so none are lost
+    isFrameScheduled.set(false);
+    for (Iterator<Component> iterator = dirtyComponents.iterator(); iterator.hasNext(); ) {
+      Component component = iterator.next();
+      iterator.remove();
+      // thread-safe, only queues a paint on the Event Dispatch Thread or a background render
+      component.repaint();
+    }
+  }
+
+  /** Stops the scheduler's thread. Repaints requested afterwards are ignored. */
+  public void shutdown() {
+
+    executor.shutdownNow();
+    dirtyComponents.clear();
+  }
+}
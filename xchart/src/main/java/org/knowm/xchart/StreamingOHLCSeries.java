@@ -0,0 +1,283 @@
+package org.knowm.xchart;
+
+/**
+ * An OHLCSeries built from live ticks. Each tick updates the bar it falls into, whose x value is
+ * the start of its time bucket: the first tick of a bar sets the open, every tick moves the high,
+ * the low and the close, and the sizes add up to the volume. A tick in a later bucket closes the
+ * forming bar and starts a new one. The bars are kept in fixed-capacity ring buffers, and the min
+ * and max of the bars are maintained incrementally, so a tick costs the same however long the
+ * history is. Once the capacity is reached, each new bar replaces the oldest one.
+ *
+ * <p>Ticks may be added from any thread. The bars are published to the chart once per paint, so the
+ * getters reflect the bars as of the last paint. As the forming bar changes while it may still be
+ * painted, a paint copies the bars into new arrays. The bars are numbered, so the aggregated
+ * candles are extended by the new bars rather than built again.
+ */
+public class StreamingOHLCSeries extends OHLCSeries {
+
+  private final double barWidth;
+  private final int capacity;
+
+  // ring buffers, the bar with sequence number n is stored at n % capacity
+  private final double[] xRing;
+  private final double[] openRing;
+  private final double[] highRing;
+  private final double[] lowRing;
+  private final double[] closeRing;
+  private final long[] volumeRing;
+
+  /** number of bars started so far, the sequence number of the next one */
+  private long count;
+
+  /** sequence number of the oldest bar kept, the last one is still forming */
+  private long windowStart;
+
+  private final MonotonicDeque xMinDeque;
+  private final MonotonicDeque xMaxDeque;
+  private final MonotonicDeque lowDeque;
+  private final MonotonicDeque highDeque;
+
+  /** true if ticks were added since the last paint */
+  private boolean isDirty;
+
+  /**
+   * Constructor
+   *
+   * @param name
+   * @param barWidth the duration of a bar in x units, e.g. 60000 for one minute bars of epoch
+   *     milliseconds
+   * @param capacity the maximum number of bars kept
+   * @param xAxisDataType
+   */
+  public StreamingOHLCSeries(String name, double barWidth, int capacity, DataType xAxisDataType) {
+
+    super(
+        name,
+        new double[0],
+        new double[0],
+        new double[0],
+        new double[0],
+        new double[0],
+        new long[0],
+        xAxisDataType);
+
+    if (!(barWidth > 0) || Double.isInfinite(barWidth)) {
+      throw new IllegalArgumentException("Bar width must be greater than 0!!!");
+    }
+    if (capacity < 1) {
+      throw new IllegalArgumentException("Capacity must be at least 1!!!");
+    }
+    this.barWidth = barWidth;
+    this.capacity = capacity;
+    this.xRing = new double[capacity];
+    this.openRing = new double[capacity];
+    this.highRing = new double[capacity];
+    this.lowRing = new double[capacity];
+    this.closeRing = new double[capacity];
+    this.volumeRing = new long[capacity];
+    this.xMinDeque = new MonotonicDeque(capacity, true, sequence -> xRing[slotOf(sequence)]);
+    this.xMaxDeque = new MonotonicDeque(capacity, false, sequence -> xRing[slotOf(sequence)]);
+    this.lowDeque = new MonotonicDeque(capacity, true, sequence -> lowRing[slotOf(sequence)]);
+    this.highDeque = new MonotonicDeque(capacity, false, sequence -> highRing[slotOf(sequence)]);
+  }
+
+  /**
+   * Add a tick to the bar it falls into. Ticks are expected in time order, a tick older than the
+   * forming bar is dropped.
+   *
+   * @param timestamp
+   * @param price
+   * @param size
+   * @return true if the tick was added, false if it was dropped
+   */
+  public synchronized boolean addTick(double timestamp, double price, long size) {
+
+    if (Double.isNaN(price)) {
+      return false;
+    }
+    double barStart = Math.floor(timestamp / barWidth) * barWidth;
+    if (count > windowStart) {
+      int slot = slotOf(count - 1);
+      double formingBarStart = xRing[slot];
+      if (barStart == formingBarStart) {
+        if (price > highRing[slot]) {
+          highRing[slot] = price;
+          highDeque.repush(count - 1);
+        }
+        if (price < lowRing[slot]) {
+          lowRing[slot] = price;
+          lowDeque.repush(count - 1);
+        }
+        closeRing[slot] = price;
+        volumeRing[slot] += size;
+        isDirty = true;
+        return true;
+      }
+      // also drops NaN timestamps
+      if (!(barStart > formingBarStart)) {
+        return false;
+      }
+    } else if (Double.isNaN(barStart)) {
+      return false;
+    }
+    addBar(barStart, price, price, price, price, size);
+    return true;
+  }
+
+  /**
+   * Starts a new bar, dropping the oldest one if the series is at capacity
+   *
+   * @param x
+   * @param open
+   * @param high
+   * @param low
+   * @param close
+   * @param volume
+   */
+  private void addBar(double x, double open, double high, double low, double close, long volume) {
+
+    if (count - windowStart == capacity) {
+      windowStart++;
+      xMinDeque.evict(windowStart);
+      xMaxDeque.evict(windowStart);
+      lowDeque.evict(windowStart);
+      highDeque.evict(windowStart);
+    }
+
+    int slot = slotOf(count);
+    xRing[slot] = x;
+    openRing[slot] = open;
+    highRing[slot] = high;
+    lowRing[slot] = low;
+    closeRing[slot] = close;
+    volumeRing[slot] = volume;
+    xMinDeque.push(count);
+    xMaxDeque.push(count);
+    lowDeque.push(count);
+    highDeque.push(count);
+    count++;
+    isDirty = true;
+  }
+
+  /** Remove all bars */
+  public synchronized void clear() {
+
+    // the bars keep their numbers, so they cannot be mistaken for the bars painted before
+    windowStart = count;
+    xMinDeque.clear();
+    xMaxDeque.clear();
+    lowDeque.clear();
+    highDeque.clear();
+    isDirty = true;
+  }
+
+  /**
+   * @return the number of bars currently held, including the forming one, at most the capacity
+   */
+  public synchronized int size() {
+
+    return (int) (count - windowStart);
+  }
+
+  public double getBarWidth() {
+
+    return barWidth;
+  }
+
+  public int getCapacity() {
+
+    return capacity;
+  }
+
+  /**
+   * This is an internal method which shouldn't be called from client code. Replaces the bars with
+   * the given ones, keeping only the last bars if there are more than the capacity. Ticks falling
+   * into the bucket of the last bar update it.
+   */
+  @Override
+  synchronized void replaceData(
+      double[] newXData,
+      double[] newOpenData,
+      double[] newHighData,
+      double[] newLowData,
+      double[] newCloseData,
+      long[] newVolumeData) {
+
+    clear();
+    for (int i = Math.max(0, newXData.length - capacity); i < newXData.length; i++) {
+      addBar(
+          Math.floor(newXData[i] / barWidth) * barWidth,
+          newOpenData[i],
+          newHighData[i],
+          newLowData[i],
+          newCloseData[i],
+          newVolumeData == null ? 0 : newVolumeData[i]);
+    }
+  }
+
+  /** The data of a streaming series are bars and cannot be replaced by a line */
+  @Override
+  void replaceData(double[] newXData, double[] newYData) {
+
+    throw new UnsupportedOperationException(
+        "The data of a streaming series cannot be replaced by a line!!!");
+  }
+
+  @Override
+  synchronized void prepareForPaint() {
+
+    if (!isDirty) {
+      return;
+    }
+    isDirty = false;
+
+    // copy the bars into new arrays in chronological order, as the last ones may still be painted
+    int size = size();
+    int start = slotOf(windowStart);
+    double[] xData = copy(xRing, start, size);
+    double[] openData = copy(openRing, start, size);
+    double[] highData = copy(highRing, start, size);
+    double[] lowData = copy(lowRing, start, size);
+    double[] closeData = copy(closeRing, start, size);
+    long[] volumeData = new long[size];
+    int firstLength = Math.min(size, capacity - start);
+    System.arraycopy(volumeRing, start, volumeData, 0, firstLength);
+    System.arraycopy(volumeRing, 0, volumeData, firstLength, size - firstLength);
+
+    super.replaceData(xData, openData, highData, lowData, closeData, volumeData);
+  }
+
+  private double[] copy(double[] ring, int start, int size) {
+
+    double[] data = new double[size];
+    int firstLength = Math.min(size, capacity - start);
+    System.arraycopy(ring, start, data, 0, firstLength);
+    System.arraycopy(ring, 0, data, firstLength, size - firstLength);
+    return data;
+  }
+
+  @Override
+  protected void calculateMinMax() {
+
+    // the ring buffers are not yet available while the super constructor runs
+    if (xRing == null) {
+      super.calculateMinMax();
+      return;
+    }
+    xMin = xMinDeque.isEmpty() ? Double.MAX_VALUE : xMinDeque.peek();
+    xMax = xMaxDeque.isEmpty() ? -Double.MAX_VALUE : xMaxDeque.peek();
+    yMin = lowDeque.isEmpty() ? Double.MAX_VALUE : lowDeque.peek();
+    yMax = highDeque.isEmpty() ? -Double.MAX_VALUE : highDeque.peek();
+  }
+
+  @Override
+  protected long getFirstBarSequence() {
+
+    return windowStart;
+  }
+
+  private int slotOf(long sequence) {
+
+    return (int) (sequence % capacity);
+  }
+}
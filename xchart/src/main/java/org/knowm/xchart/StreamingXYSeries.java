@@ -0,0 +1,197 @@
+package org.knowm.xchart;
+
+/**
+ * An XYSeries for real-time data, keeping a sliding window of the last points appended. Appending a
+ * point is amortized O(1), and the min and max of the sliding window are maintained incrementally.
+ * Once the capacity is reached, each appended point replaces the oldest one.
+ *
+ * <p>Points may be appended from any thread. The appended data is published to the chart once per
+ * paint, so getXData() and getYData() reflect the data as of the last paint.
+ *
+ * <p>The points are appended to buffers of twice the capacity, and a paint publishes the window as
+ * a range of them, without copying. Published ranges are never written again, so they can still be
+ * painted by another thread while points are appended. Only when a buffer is full, the window is
+ * moved to a new one, which allocates once per at least capacity appended points.
+ */
+public class StreamingXYSeries extends XYSeries {
+
+  private final int capacity;
+
+  // the point with sequence number n is stored at n - bufferStart
+  private double[] xBuffer;
+  private double[] yBuffer;
+  private long bufferStart;
+
+  /** number of points appended so far, the sequence number of the next one */
+  private long count;
+
+  /** sequence number of the oldest point of the window */
+  private long windowStart;
+
+  private final MonotonicDeque xMinDeque;
+  private final MonotonicDeque xMaxDeque;
+  private final MonotonicDeque yMinDeque;
+  private final MonotonicDeque yMaxDeque;
+
+  /** true if points were appended since the last paint */
+  private boolean isDirty;
+
+  /**
+   * Constructor
+   *
+   * @param name
+   * @param capacity the maximum number of points kept
+   * @param xAxisDataType
+   */
+  public StreamingXYSeries(String name, int capacity, DataType xAxisDataType) {
+
+    super(name, new double[0], new double[0], null, xAxisDataType);
+
+    if (capacity < 1) {
+      throw new IllegalArgumentException("Capacity must be at least 1!!!");
+    }
+    this.capacity = capacity;
+    int bufferLength = (int) Math.min(2L * capacity, Integer.MAX_VALUE - 8);
+    this.xBuffer = new double[bufferLength];
+    this.yBuffer = new double[bufferLength];
+    this.xMinDeque = new MonotonicDeque(capacity, true, this::getX);
+    this.xMaxDeque = new MonotonicDeque(capacity, false, this::getX);
+    this.yMinDeque = new MonotonicDeque(capacity, true, this::getY);
+    this.yMaxDeque = new MonotonicDeque(capacity, false, this::getY);
+  }
+
+  /**
+   * Append a point, dropping the oldest one if the series is at capacity
+   *
+   * @param x
+   * @param y
+   */
+  public synchronized void append(double x, double y) {
+
+    if (count - windowStart == capacity) {
+      windowStart++;
+      xMinDeque.evict(windowStart);
+      xMaxDeque.evict(windowStart);
+      yMinDeque.evict(windowStart);
+      yMaxDeque.evict(windowStart);
+    }
+
+    if (count - bufferStart == xBuffer.length) {
+      // the window is copied rather than moved, the old buffers may still be painted
+      int size = (int) (count - windowStart);
+      double[] newXBuffer = new double[xBuffer.length];
+      double[] newYBuffer = new double[yBuffer.length];
+      System.arraycopy(xBuffer, (int) (windowStart - bufferStart), newXBuffer, 0, size);
+      System.arraycopy(yBuffer, (int) (windowStart - bufferStart), newYBuffer, 0, size);
+      xBuffer = newXBuffer;
+      yBuffer = newYBuffer;
+      bufferStart = windowStart;
+    }
+    int index = (int) (count - bufferStart);
+    xBuffer[index] = x;
+    yBuffer[index] = y;
+
+    xMinDeque.push(count);
+    xMaxDeque.push(count);
+    yMinDeque.push(count);
+    yMaxDeque.push(count);
+
+    count++;
+    isDirty = true;
+  }
+
+  /**
+   * Append several points at once, dropping the oldest ones if the series is at capacity
+   *
+   * @param xData
+   * @param yData
+   */
+  public synchronized void appendBatch(double[] xData, double[] yData) {
+
+    if (xData.length != yData.length) {
+      throw new IllegalArgumentException("X and Y-Axis sizes are not the same!!!");
+    }
+    // points which would be dropped again within this batch are skipped
+    for (int i = Math.max(0, xData.length - capacity); i < xData.length; i++) {
+      append(xData[i], yData[i]);
+    }
+  }
+
+  /** Remove all points */
+  public synchronized void clear() {
+
+    // the following points are still appended after the published ones
+    windowStart = count;
+    xMinDeque.clear();
+    xMaxDeque.clear();
+    yMinDeque.clear();
+    yMaxDeque.clear();
+    isDirty = true;
+  }
+
+  /**
+   * @return the number of points currently held, at most the capacity
+   */
+  public synchronized int size() {
+
+    return (int) (count - windowStart);
+  }
+
+  public int getCapacity() {
+
+    return capacity;
+  }
+
+  /**
+   * This is an internal method which shouldn't be called from client code. Replaces the content of
+   * the buffers with the given data, keeping only the last points if there are more than the
+   * capacity. Error bars are not supported.
+   */
+  @Override
+  public synchronized void replaceData(
+      double[] newXData, double[] newYData, double[] newExtraValues) {
+
+    if (newExtraValues != null) {
+      throw new IllegalArgumentException("Streaming series do not support error bars!!!");
+    }
+    clear();
+    appendBatch(newXData, newYData);
+  }
+
+  @Override
+  synchronized void prepareForPaint() {
+
+    if (!isDirty) {
+      return;
+    }
+    isDirty = false;
+
+    // publishes the window in place, the points appended later go behind it
+    super.replaceData(xBuffer, yBuffer, (int) (windowStart - bufferStart), size());
+  }
+
+  @Override
+  protected void calculateMinMax() {
+
+    // the buffers are not yet available while the super constructor runs, and a zoomed view has
+    // to be scanned anyway
+    if (xBuffer == null || isFiltered()) {
+      super.calculateMinMax();
+      return;
+    }
+    xMin = xMinDeque.isEmpty() ? Double.MAX_VALUE : xMinDeque.peek();
+    xMax = xMaxDeque.isEmpty() ? -Double.MAX_VALUE : xMaxDeque.peek();
+    yMin = yMinDeque.isEmpty() ? Double.MAX_VALUE : yMinDeque.peek();
+    yMax = yMaxDeque.isEmpty() ? -Double.MAX_VALUE : yMaxDeque.peek();
+  }
+
+  private double getX(long sequence) {
+
+    return xBuffer[(int) (sequence - bufferStart)];
+  }
+
+  private double getY(long sequence) {
+
+    return yBuffer[(int) (sequence - bufferStart)];
+  }
+}
@@ -15,6 +15,8 @@ public class SwingWrapper<T extends Chart<?, ?>> {
   private final List<XChartPanel<T>> chartPanels = new ArrayList<XChartPanel<T>>();
   private String windowTitle = "XChart";
   private boolean isCentered = true;
+  private boolean isRenderingInBackground = false;
+  private RepaintScheduler repaintScheduler;
   private List<T> charts = new ArrayList<T>();
   private int numRows;
   private int numColumns;
@@ -73,6 +75,8 @@ public class SwingWrapper<T extends Chart<?, ?>> {
 
               frame.setDefaultCloseOperation(WindowConstants.EXIT_ON_CLOSE);
               XChartPanel<T> chartPanel = new XChartPanel<T>(charts.get(0));
+              chartPanel.setRenderingInBackground(isRenderingInBackground);
+              chartPanel.setRepaintScheduler(repaintScheduler);
               chartPanels.add(chartPanel);
               frame.add(chartPanel);
 
@@ -113,6 +117,8 @@ public class SwingWrapper<T extends Chart<?, ?>> {
             for (T chart : charts) {
               if (chart != null) {
                 XChartPanel<T> chartPanel = new XChartPanel<T>(chart);
+                chartPanel.setRenderingInBackground(isRenderingInBackground);
+                chartPanel.setRepaintScheduler(repaintScheduler);
                 chartPanels.add(chartPanel);
                 frame.add(chartPanel);
               } else {
@@ -165,12 +171,17 @@ public class SwingWrapper<T extends Chart<?, ?>> {
   }
 
   /**
-   * Repaint the XChartPanel given the provided index.
+   * Repaint the XChartPanel given the provided index. With a repaint scheduler, the panel is only
+   * marked to be repainted with the scheduler's next frame.
    *
    * @param index
    */
   public void repaintChart(int index) {
 
+    if (repaintScheduler != null) {
+      chartPanels.get(index).requestRepaint();
+      return;
+    }
     chartPanels.get(index).revalidate();
     chartPanels.get(index).repaint();
   }
@@ -186,6 +197,31 @@ public class SwingWrapper<T extends Chart<?, ?>> {
     return this;
   }
 
+  /**
+   * Set whether the charts are rendered on background threads, see {@link
+   * XChartPanel#setRenderingInBackground(boolean)}. In a matrix of charts, the charts are then also
+   * rendered in parallel.
+   *
+   * @param isRenderingInBackground
+   * @return
+   */
+  public SwingWrapper setRenderingInBackground(boolean isRenderingInBackground) {
+    this.isRenderingInBackground = isRenderingInBackground;
+    return this;
+  }
+
+  /**
+   * Set a scheduler which caps how often the charts are repainted by {@link #repaintChart(int)},
+   * for charts updated with real-time data. The scheduler can be shared with other SwingWrappers.
+   *
+   * @param repaintScheduler
+   * @return
+   */
+  public SwingWrapper setRepaintScheduler(RepaintScheduler repaintScheduler) {
+    this.repaintScheduler = repaintScheduler;
+    return this;
+  }
+
   /**
    * Set the Window Title
    *
@@ -1,16 +1,16 @@
 package org.knowm.xchart;
 
-import de.erichseifert.vectorgraphics2d.Document;
-import de.erichseifert.vectorgraphics2d.Processor;
-import de.erichseifert.vectorgraphics2d.VectorGraphics2D;
-import de.erichseifert.vectorgraphics2d.eps.EPSProcessor;
-import de.erichseifert.vectorgraphics2d.intermediate.CommandSequence;
-import de.erichseifert.vectorgraphics2d.svg.SVGProcessor;
-import de.erichseifert.vectorgraphics2d.util.PageSize;
+import java.awt.RenderingHints;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import org.knowm.xchart.internal.chartpart.Chart;
+import org.knowm.xchart.internal.chartpart.PlotContent_;
+import org.knowm.xchart.internal.vector.StreamingGraphics2D;
 
 /** A helper class with static methods for saving Charts as vectors */
 public final class VectorGraphicsEncoder {
@@ -30,40 +30,108 @@ public final class VectorGraphicsEncoder {
     }
   }
 
-  /** Write a chart to an OutputStream. */
+  /**
+   * Write a chart to a file, rasterizing dense plot content, see saveVectorGraphic(Chart,
+   * OutputStream, VectorGraphicsFormat, int, int).
+   */
+  public static void saveVectorGraphic(
+      Chart chart,
+      String fileName,
+      VectorGraphicsFormat vectorGraphicsFormat,
+      int rasterDPI,
+      int rasterThreshold)
+      throws IOException {
+
+    try (FileOutputStream file =
+        new FileOutputStream(addFileExtension(fileName, vectorGraphicsFormat))) {
+      saveVectorGraphic(chart, file, vectorGraphicsFormat, rasterDPI, rasterThreshold);
+    }
+  }
+
+  /**
+   * Write a chart to an OutputStream. SVG and EPS documents are written while the chart is painted,
+   * so the memory needed does not grow with the number of paint calls.
+   */
   public static void saveVectorGraphic(
       Chart chart, OutputStream os, VectorGraphicsFormat vectorGraphicsFormat) throws IOException {
-    final Processor p;
+
+    saveVectorGraphic(chart, os, vectorGraphicsFormat, Collections.emptyMap());
+  }
+
+  /**
+   * Write a chart to an OutputStream, painting plot content with more than rasterThreshold shapes
+   * (data points, bubbles or heat map cells) as an embedded image of rasterDPI. Axes, labels and
+   * legends stay vectors, while the document no longer grows with the data.
+   *
+   * @param chart
+   * @param os
+   * @param vectorGraphicsFormat
+   * @param rasterDPI the resolution of the image, 72 is one pixel per point of the chart
+   * @param rasterThreshold the number of shapes above which plot content is rasterized
+   */
+  public static void saveVectorGraphic(
+      Chart chart,
+      OutputStream os,
+      VectorGraphicsFormat vectorGraphicsFormat,
+      int rasterDPI,
+      int rasterThreshold)
+      throws IOException {
+
+    saveVectorGraphic(chart, os, vectorGraphicsFormat, getRasterHints(rasterDPI, rasterThreshold));
+  }
+
+  private static void saveVectorGraphic(
+      Chart chart,
+      OutputStream os,
+      VectorGraphicsFormat vectorGraphicsFormat,
+      Map<RenderingHints.Key, Object> hints)
+      throws IOException {
 
     switch (vectorGraphicsFormat) {
       case EPS:
-        p = new EPSProcessor();
+        saveStreamingGraphics(
+            chart, StreamingGraphics2D.createEPS(os, chart.getWidth(), chart.getHeight()), hints);
         break;
       case PDF:
-        p = new PDFBoxProcessor();
+        PdfboxGraphicsEncoder.savePdfboxGraphics(Collections.singletonList(chart), os, hints);
         break;
       case SVG:
-        p = new SVGProcessor();
+        saveStreamingGraphics(
+            chart, StreamingGraphics2D.createSVG(os, chart.getWidth(), chart.getHeight()), hints);
         break;
 
       default:
         throw new UnsupportedOperationException(
             "Unsupported vector graphics format: " + vectorGraphicsFormat);
     }
+  }
+
+  private static void saveStreamingGraphics(
+      Chart chart, StreamingGraphics2D g, Map<RenderingHints.Key, Object> hints)
+      throws IOException {
 
-    if (VectorGraphicsFormat.PDF != vectorGraphicsFormat) {
-      VectorGraphics2D vg2d = new VectorGraphics2D();
-      //    vg2d.draw(new Rectangle2D.Double(0.0, 0.0, chart.getWidth(), chart.getHeight()));
-      CommandSequence commands = vg2d.getCommands();
+    g.addRenderingHints(hints);
+    try {
+      chart.paint(g, chart.getWidth(), chart.getHeight());
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+    g.finish();
+  }
 
-      chart.paint(vg2d, chart.getWidth(), chart.getHeight());
+  /** The rendering hints which make PlotContent_ rasterize dense plot content */
+  static Map<RenderingHints.Key, Object> getRasterHints(int rasterDPI, int rasterThreshold) {
 
-      PageSize pageSize = new PageSize(0.0, 0.0, chart.getWidth(), chart.getHeight());
-      Document doc = p.getDocument(commands, pageSize);
-      doc.writeTo(os);
-    } else {
-      ((PDFBoxProcessor) p).savePdf(chart, os);
+    if (rasterDPI < 1) {
+      throw new IllegalArgumentException("DPI must be at least 1!!!");
+    }
+    if (rasterThreshold < 0) {
+      throw new IllegalArgumentException("Raster threshold must not be negative!!!");
     }
+    Map<RenderingHints.Key, Object> hints = new HashMap<>();
+    hints.put(PlotContent_.KEY_RASTER_DPI, rasterDPI);
+    hints.put(PlotContent_.KEY_RASTER_THRESHOLD, rasterThreshold);
+    return hints;
   }
 
   /**
@@ -93,18 +161,4 @@ public final class VectorGraphicsEncoder {
     PDF,
     SVG
   }
-
-  private static class PDFBoxProcessor implements Processor {
-
-    @Override
-    public Document getDocument(CommandSequence arg0, PageSize arg1) {
-
-      return null;
-    }
-
-    public void savePdf(Chart chart, OutputStream os) throws IOException {
-
-      PdfboxGraphicsEncoder.savePdfboxGraphics(chart, os);
-    }
-  }
 }
@@ -12,6 +12,8 @@ import java.awt.event.KeyEvent;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseListener;
+import java.awt.event.MouseMotionListener;
+import java.awt.image.BufferedImage;
 import java.awt.print.PageFormat;
 import java.awt.print.Paper;
 import java.awt.print.Printable;
@@ -19,6 +21,10 @@ import java.awt.print.PrinterException;
 import java.awt.print.PrinterJob;
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import javax.swing.AbstractAction;
 import javax.swing.JFileChooser;
 import javax.swing.JLabel;
@@ -27,11 +33,13 @@ import javax.swing.JPanel;
 import javax.swing.JPopupMenu;
 import javax.swing.JTextField;
 import javax.swing.KeyStroke;
+import javax.swing.SwingUtilities;
 import javax.swing.UIManager;
 import javax.swing.filechooser.FileFilter;
 import org.knowm.xchart.BitmapEncoder.BitmapFormat;
 import org.knowm.xchart.VectorGraphicsEncoder.VectorGraphicsFormat;
 import org.knowm.xchart.internal.chartpart.Chart;
+import org.knowm.xchart.internal.chartpart.ChartPart;
 import org.knowm.xchart.internal.chartpart.ChartZoom;
 import org.knowm.xchart.internal.chartpart.Cursor;
 import org.knowm.xchart.internal.chartpart.ToolTips;
@@ -42,9 +50,25 @@ import org.knowm.xchart.style.XYStyler;
  *
  * <p>Right-click + Save As... or ctrl+S pops up a Save As dialog box for saving the chart as PNG,
  * JPEG, etc. file.
+ *
+ * <p>By default, the chart is painted on the Event Dispatch Thread. With {@link
+ * #setRenderingInBackground(boolean)}, it is rendered into an image on a background thread instead,
+ * and the Event Dispatch Thread only draws the last completed image, so a chart which is slow to
+ * paint does not block the user interface. The tooltips, the cursor and the zoom then handle the
+ * mouse on the render thread as well, as they use what the last frame painted.
  */
 public class XChartPanel<T extends Chart<?, ?>> extends JPanel {
 
+  /** the threads rendering the charts of all panels rendering in the background */
+  private static final ExecutorService RENDER_EXECUTOR =
+      Executors.newFixedThreadPool(
+          Runtime.getRuntime().availableProcessors(),
+          runnable -> {
+            Thread thread = new Thread(runnable, "XChart Renderer");
+            thread.setDaemon(true);
+            return thread;
+          });
+
   private final T chart;
   private final Dimension preferredSize;
   private String saveAsString = "Save As...";
@@ -53,6 +77,38 @@ public class XChartPanel<T extends Chart<?, ?>> extends JPanel {
   private String resetString = "Reset Zoom";
   private ToolTips toolTips = null;
 
+  private volatile boolean isRenderingInBackground;
+
+  /** guards the frames and the render state below */
+  private final Object renderLock = new Object();
+
+  /** the last completed frame, drawn by the Event Dispatch Thread */
+  private BufferedImage frontBuffer;
+
+  /** the frame rendered into next, only touched by the render thread */
+  private BufferedImage backBuffer;
+
+  private int frontBufferWidth;
+  private int frontBufferHeight;
+  private double frontBufferScale;
+
+  /** true if a render is queued or running */
+  private boolean isRendering;
+
+  /** true if another frame has been requested since the running render started */
+  private boolean isRenderRequested;
+
+  /** the mouse events for the chart parts, handled by the render thread before the next frame */
+  private final List<MouseEvent> mouseEvents = new ArrayList<>();
+
+  /** true while the chart is printed, which pauses the render thread */
+  private boolean isPrinting;
+
+  /** the scale of the screen, e.g. 2 on a HiDPI screen, to render sharp frames */
+  private volatile double renderScale = 1;
+
+  private volatile RepaintScheduler repaintScheduler;
+
   /**
    * Constructor
    *
@@ -107,8 +163,9 @@ public class XChartPanel<T extends Chart<?, ?>> extends JPanel {
     this.addComponentListener(
         new ComponentAdapter() {
           public void componentResized(ComponentEvent ev) {
-            if (chart.getStyler().isToolTipsEnabled()) {
-              XChartPanel.this.removeMouseListener(toolTips);
+            // the render thread rebuilds the tooltips with the next frame anyway
+            if (chart.getStyler().isToolTipsEnabled() && !isRenderingInBackground) {
+              XChartPanel.this.removeMouseMotionListener(toolTips);
               toolTips = new ToolTips(chart);
               XChartPanel.this.addMouseMotionListener(toolTips);
             }
@@ -157,16 +214,322 @@ public class XChartPanel<T extends Chart<?, ?>> extends JPanel {
     this.resetString = resetString;
   }
 
+  /**
+   * Set whether the chart is rendered on a background thread rather than on the Event Dispatch
+   * Thread. Calling repaint() then renders a new frame in the background, and the panel is painted
+   * with it once it is complete. Repaints requested while a frame is rendered are coalesced into
+   * one more frame.
+   *
+   * <p>A frame paints each series from one snapshot of its data, so updating the chart from another
+   * thread needs no locking. The mouse listeners of the chart parts, like the tooltips, are called
+   * on the render thread, the other mouse listeners stay on the Event Dispatch Thread.
+   *
+   * @param isRenderingInBackground
+   */
+  public void setRenderingInBackground(boolean isRenderingInBackground) {
+
+    this.isRenderingInBackground = isRenderingInBackground;
+    if (!isRenderingInBackground) {
+      // the Event Dispatch Thread takes over the chart parts once the last frame is done
+      synchronized (renderLock) {
+        mouseEvents.clear();
+        awaitRenderer();
+        frontBuffer = null;
+      }
+    }
+    repaint();
+  }
+
+  public boolean isRenderingInBackground() {
+
+    return isRenderingInBackground;
+  }
+
+  /**
+   * Set a scheduler which caps how often {@link #requestRepaint()} repaints this panel. A scheduler
+   * can be shared by many panels.
+   *
+   * @param repaintScheduler the scheduler, or null to repaint right away
+   */
+  public void setRepaintScheduler(RepaintScheduler repaintScheduler) {
+
+    this.repaintScheduler = repaintScheduler;
+  }
+
+  public RepaintScheduler getRepaintScheduler() {
+
+    return repaintScheduler;
+  }
+
+  /**
+   * Request a repaint after the chart was updated, e.g. from a thread feeding it with real-time
+   * data. With a repaint scheduler, the panel is repainted with the scheduler's next frame, else
+   * right away. Never blocks.
+   */
+  public void requestRepaint() {
+
+    RepaintScheduler scheduler = repaintScheduler;
+    if (scheduler != null) {
+      scheduler.requestRepaint(this);
+    } else {
+      repaint();
+    }
+  }
+
+  @Override
+  public void repaint(long tm, int x, int y, int width, int height) {
+
+    if (isRenderingInBackground) {
+      requestRender();
+    } else {
+      super.repaint(tm, x, y, width, height);
+    }
+  }
+
   @Override
   protected void paintComponent(Graphics g) {
 
     super.paintComponent(g);
 
     Graphics2D g2d = (Graphics2D) g.create();
-    chart.paint(g2d, getWidth(), getHeight());
+    if (!isRenderingInBackground) {
+      chart.paint(g2d, getWidth(), getHeight());
+    } else if (isPaintingForPrint()) {
+      printChart(g2d);
+    } else {
+      renderScale = g2d.getDeviceConfiguration().getDefaultTransform().getScaleX();
+      boolean isStale;
+      synchronized (renderLock) {
+        if (frontBuffer != null) {
+          g2d.drawImage(frontBuffer, 0, 0, frontBufferWidth, frontBufferHeight, null);
+        }
+        isStale =
+            frontBuffer == null
+                || frontBufferWidth != getWidth()
+                || frontBufferHeight != getHeight()
+                || frontBufferScale != renderScale;
+      }
+      // e.g. after a resize, until then the last frame is shown
+      if (isStale) {
+        requestRender();
+      }
+    }
     g2d.dispose();
   }
 
+  /** Paints the chart for printing, while the render thread is paused */
+  private void printChart(Graphics2D g2d) {
+
+    synchronized (renderLock) {
+      isPrinting = true;
+      awaitRenderer();
+    }
+    try {
+      chart.paint(g2d, getWidth(), getHeight());
+    } finally {
+      synchronized (renderLock) {
+        isPrinting = false;
+      }
+      startRenderer();
+    }
+  }
+
+  @Override
+  protected void processMouseEvent(MouseEvent e) {
+
+    if (isRenderingInBackground) {
+      dispatchMouseEvent(e, false);
+      queueMouseEvent(e);
+    } else {
+      super.processMouseEvent(e);
+    }
+  }
+
+  @Override
+  protected void processMouseMotionEvent(MouseEvent e) {
+
+    if (isRenderingInBackground) {
+      dispatchMouseEvent(e, false);
+      queueMouseEvent(e);
+    } else {
+      super.processMouseMotionEvent(e);
+    }
+  }
+
+  /** Queues a mouse event for the chart parts, which handle it on the render thread */
+  private void queueMouseEvent(MouseEvent e) {
+
+    synchronized (renderLock) {
+      int last = mouseEvents.size() - 1;
+      // only the last of several moves counts
+      if (last >= 0
+          && e.getID() == MouseEvent.MOUSE_MOVED
+          && mouseEvents.get(last).getID() == MouseEvent.MOUSE_MOVED) {
+        mouseEvents.set(last, e);
+      } else {
+        mouseEvents.add(e);
+      }
+    }
+    startRenderer();
+  }
+
+  /**
+   * Calls the mouse listeners which are chart parts, or the ones which are not
+   *
+   * @param e
+   * @param isToChartParts
+   */
+  private void dispatchMouseEvent(MouseEvent e, boolean isToChartParts) {
+
+    if (e.getID() == MouseEvent.MOUSE_MOVED || e.getID() == MouseEvent.MOUSE_DRAGGED) {
+      for (MouseMotionListener listener : getMouseMotionListeners()) {
+        if (listener instanceof ChartPart != isToChartParts) {
+          continue;
+        }
+        if (e.getID() == MouseEvent.MOUSE_MOVED) {
+          listener.mouseMoved(e);
+        } else {
+          listener.mouseDragged(e);
+        }
+      }
+      return;
+    }
+    for (MouseListener listener : getMouseListeners()) {
+      if (listener instanceof ChartPart != isToChartParts) {
+        continue;
+      }
+      switch (e.getID()) {
+        case MouseEvent.MOUSE_PRESSED:
+          listener.mousePressed(e);
+          break;
+        case MouseEvent.MOUSE_RELEASED:
+          listener.mouseReleased(e);
+          break;
+        case MouseEvent.MOUSE_CLICKED:
+          listener.mouseClicked(e);
+          break;
+        case MouseEvent.MOUSE_ENTERED:
+          listener.mouseEntered(e);
+          break;
+        case MouseEvent.MOUSE_EXITED:
+          listener.mouseExited(e);
+          break;
+        default:
+          break;
+      }
+    }
+  }
+
+  private void requestRender() {
+
+    synchronized (renderLock) {
+      isRenderRequested = true;
+    }
+    startRenderer();
+  }
+
+  /** Starts the render thread of this panel, unless it is running or paused */
+  private void startRenderer() {
+
+    synchronized (renderLock) {
+      if (isRendering || isPrinting || (!isRenderRequested && mouseEvents.isEmpty())) {
+        return;
+      }
+      isRendering = true;
+    }
+    RENDER_EXECUTOR.execute(this::render);
+  }
+
+  /** Waits until the render thread finished its frame, holding the render lock */
+  private void awaitRenderer() {
+
+    boolean isInterrupted = false;
+    while (isRendering) {
+      try {
+        renderLock.wait();
+      } catch (InterruptedException e) {
+        isInterrupted = true;
+      }
+    }
+    if (isInterrupted) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Handles the mouse events of the chart parts and renders frames until no more are requested,
+   * then repaints the panel with the last one
+   */
+  private void render() {
+
+    while (true) {
+      List<MouseEvent> events;
+      synchronized (renderLock) {
+        if (isPrinting
+            || (mouseEvents.isEmpty() && !(isRenderRequested && isRenderingInBackground))) {
+          isRendering = false;
+          renderLock.notifyAll();
+          return;
+        }
+        events = new ArrayList<>(mouseEvents);
+        mouseEvents.clear();
+      }
+
+      try {
+        for (MouseEvent e : events) {
+          dispatchMouseEvent(e, true);
+        }
+        renderFrame();
+      } catch (RuntimeException e) {
+        // reported like an exception painting on the Event Dispatch Thread
+        SwingUtilities.invokeLater(
+            () -> {
+              throw e;
+            });
+      }
+    }
+  }
+
+  /** Renders a frame if one was requested, a frame which fails is not shown */
+  private void renderFrame() {
+
+    synchronized (renderLock) {
+      if (!isRenderRequested || !isRenderingInBackground) {
+        return;
+      }
+      isRenderRequested = false;
+    }
+
+    int width = getWidth();
+    int height = getHeight();
+    double scale = renderScale;
+    if (width <= 0 || height <= 0) {
+      return;
+    }
+    int imageWidth = (int) Math.ceil(width * scale);
+    int imageHeight = (int) Math.ceil(height * scale);
+    BufferedImage image = backBuffer;
+    if (image == null || image.getWidth() != imageWidth || image.getHeight() != imageHeight) {
+      image = new BufferedImage(imageWidth, imageHeight, BufferedImage.TYPE_INT_RGB);
+    }
+    Graphics2D g2d = image.createGraphics();
+    try {
+      g2d.scale(scale, scale);
+      chart.paint(g2d, width, height);
+    } finally {
+      g2d.dispose();
+    }
+
+    synchronized (renderLock) {
+      backBuffer = frontBuffer;
+      frontBuffer = image;
+      frontBufferWidth = width;
+      frontBufferHeight = height;
+      frontBufferScale = scale;
+    }
+    super.repaint(0, 0, 0, width, height);
+  }
+
   public T getChart() {
 
     return this.chart;
@@ -217,16 +580,9 @@ public class XChartPanel<T extends Chart<?, ?>> extends JPanel {
     fileChooser.addChoosableFileFilter(new SuffixSaveFilter("bmp"));
     fileChooser.addChoosableFileFilter(new SuffixSaveFilter("gif"));
 
-    // VectorGraphics2D is optional, so if it's on the classpath, allow saving charts as vector
-    // graphic
-    try {
-      Class.forName("de.erichseifert.vectorgraphics2d.VectorGraphics2D");
-      // it exists on the classpath
-      fileChooser.addChoosableFileFilter(new SuffixSaveFilter("svg"));
-      fileChooser.addChoosableFileFilter(new SuffixSaveFilter("eps"));
-    } catch (ClassNotFoundException e) {
-      // it does not exist on the classpath
-    }
+    // SVG and EPS are written by XChart itself
+    fileChooser.addChoosableFileFilter(new SuffixSaveFilter("svg"));
+    fileChooser.addChoosableFileFilter(new SuffixSaveFilter("eps"));
     try {
       Class.forName("de.rototor.pdfbox.graphics2d.PdfBoxGraphics2D");
       // it exists on the classpath
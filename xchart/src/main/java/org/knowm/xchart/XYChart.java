@@ -306,6 +306,68 @@ public class XYChart extends Chart<XYStyler, XYSeries> {
     return series;
   }
 
+  /**
+   * Add a series for real-time data backed by fixed-capacity ring buffers. Feed it with
+   * StreamingXYSeries.append instead of calling updateXYSeries.
+   *
+   * @param seriesName
+   * @param capacity the maximum number of points kept, older points are dropped
+   * @return A Series object that you can set properties on
+   */
+  public StreamingXYSeries addStreamingSeries(String seriesName, int capacity) {
+
+    return addStreamingSeries(seriesName, capacity, DataType.Number);
+  }
+
+  /**
+   * Add a series for real-time data backed by fixed-capacity ring buffers. Feed it with
+   * StreamingXYSeries.append instead of calling updateXYSeries.
+   *
+   * @param seriesName
+   * @param capacity the maximum number of points kept, older points are dropped
+   * @param xAxisDataType Number, or Date if the x values are epoch milliseconds
+   * @return A Series object that you can set properties on
+   */
+  public StreamingXYSeries addStreamingSeries(
+      String seriesName, int capacity, DataType xAxisDataType) {
+
+    StreamingXYSeries series = new StreamingXYSeries(seriesName, capacity, xAxisDataType);
+    seriesMap.put(seriesName, series);
+
+    return series;
+  }
+
+  /**
+   * Add a series reading its data from memory-mapped columns, see MappedXYSeries
+   *
+   * @param seriesName
+   * @param xData the X-Axis data, in ascending order
+   * @param yData the Y-Axis data
+   * @return A Series object that you can set properties on
+   */
+  public MappedXYSeries addMappedSeries(String seriesName, MappedColumn xData, MappedColumn yData) {
+
+    return addMappedSeries(seriesName, xData, yData, DataType.Number);
+  }
+
+  /**
+   * Add a series reading its data from memory-mapped columns, see MappedXYSeries
+   *
+   * @param seriesName
+   * @param xData the X-Axis data, in ascending order
+   * @param yData the Y-Axis data
+   * @param xAxisDataType Number, or Date if the x values are epoch milliseconds
+   * @return A Series object that you can set properties on
+   */
+  public MappedXYSeries addMappedSeries(
+      String seriesName, MappedColumn xData, MappedColumn yData, DataType xAxisDataType) {
+
+    MappedXYSeries series = new MappedXYSeries(seriesName, xData, yData, xAxisDataType);
+    seriesMap.put(seriesName, series);
+
+    return series;
+  }
+
   /**
    * Update a series by updating the X-Axis, Y-Axis and error bar data
    *
@@ -400,28 +462,41 @@ public class XYChart extends Chart<XYStyler, XYSeries> {
   }
 
   @Override
-  public void paint(Graphics2D g, int width, int height) {
+  protected void prepareForPaint() {
+
+    for (XYSeries series : getSeriesMap().values()) {
+      series.prepareForPaint();
+    }
+  }
 
-    setWidth(width);
-    setHeight(height);
+  @Override
+  public void paint(Graphics2D g, int width, int height) {
 
-    // set the series render styles if they are not set. Legend and Plot need it.
-    for (XYSeries xySeries : getSeriesMap().values()) {
-      XYSeries.XYSeriesRenderStyle chartXYSeriesRenderStyle =
-          xySeries.getXYSeriesRenderStyle(); // would be directly set
-      if (chartXYSeriesRenderStyle == null) { // wasn't overridden, use default from Style Manager
-        xySeries.setXYSeriesRenderStyle(getStyler().getDefaultSeriesRenderStyle());
+    beginPaint();
+    try {
+      setWidth(width);
+      setHeight(height);
+
+      // set the series render styles if they are not set. Legend and Plot need it.
+      for (XYSeries xySeries : getSeriesMap().values()) {
+        XYSeries.XYSeriesRenderStyle chartXYSeriesRenderStyle =
+            xySeries.getXYSeriesRenderStyle(); // would be directly set
+        if (chartXYSeriesRenderStyle == null) { // wasn't overridden, use default from Style Manager
+          xySeries.setXYSeriesRenderStyle(getStyler().getDefaultSeriesRenderStyle());
+        }
       }
-    }
-    setSeriesStyles();
+      setSeriesStyles();
 
-    paintBackground(g);
+      paintBackground(g);
 
-    axisPair.paint(g);
-    plot.paint(g);
-    chartTitle.paint(g);
-    legend.paint(g);
-    annotations.forEach(x -> x.paint(g));
+      axisPair.paint(g);
+      plot.paint(g);
+      chartTitle.paint(g);
+      legend.paint(g);
+      annotations.forEach(x -> x.paint(g));
+    } finally {
+      endPaint();
+    }
   }
 
   /** set the series color, marker and line style based on theme */
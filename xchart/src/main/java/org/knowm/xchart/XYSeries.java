@@ -10,6 +10,7 @@ public class XYSeries extends AxesChartSeriesNumericalNoErrorBars {
   private XYSeriesRenderStyle xySeriesRenderStyle = null;
   // smooth curve
   private boolean smooth;
+  private DecimationMode decimationMode = DecimationMode.None;
 
   /**
    * Constructor
@@ -50,6 +51,26 @@ public class XYSeries extends AxesChartSeriesNumericalNoErrorBars {
     this.smooth = smooth;
   }
 
+  public DecimationMode getDecimationMode() {
+
+    return decimationMode;
+  }
+
+  /**
+   * Set how the series data is reduced before painting. Decimation only kicks in if the series has
+   * many more points than the plot is wide, and is skipped for series with error bars.
+   *
+   * @param decimationMode
+   */
+  public XYSeries setDecimationMode(DecimationMode decimationMode) {
+
+    this.decimationMode = decimationMode;
+    return this;
+  }
+
+  /** Called by the chart before painting, so the series can publish data added in the meantime */
+  void prepareForPaint() {}
+
   public enum XYSeriesRenderStyle implements RenderableSeries {
     Line(LegendRenderType.Line),
 
@@ -76,4 +97,23 @@ public class XYSeries extends AxesChartSeriesNumericalNoErrorBars {
       return legendRenderType;
     }
   }
+
+  /** The ways a series with more points than pixels can be reduced before painting */
+  public enum DecimationMode {
+
+    /** All points are painted */
+    None,
+
+    /**
+     * Keep the first, minimum, maximum and last point of each pixel column, so every visual extreme
+     * of lines and areas is kept.
+     */
+    M4,
+
+    /**
+     * Largest-Triangle-Three-Buckets, keeps twice as many points as the plot is wide. Keeps the
+     * visual shape, but not necessarily every extreme.
+     */
+    LTTB
+  }
 }
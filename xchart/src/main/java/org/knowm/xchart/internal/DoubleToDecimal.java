@@ -0,0 +1,310 @@
+package org.knowm.xchart.internal;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Formats doubles as the shortest decimal which parses back to exactly the same double, using the
+ * Schubfach algorithm by Raffaello Giulietti, which Double.toString is based on since Java 19.
+ * Before that, Double.toString is several times slower. The digits are written straight into a byte
+ * array, without creating any objects.
+ *
+ * <p>Numbers from 10^-6 up to 10^21 are written in plain notation, e.g. 0.000123 or 1500, others in
+ * scientific notation, e.g. 1.5E-7. Integral values have no fraction, e.g. 3 rather than 3.0.
+ */
+public final class DoubleToDecimal {
+
+  /** more than the length of any formatted double */
+  public static final int MAX_LENGTH = 32;
+
+  private static final int P = 53;
+  private static final int Q_MIN = -1074;
+  private static final long C_MIN = 1L << (P - 1);
+  private static final int BQ_MASK = 0x7FF;
+  private static final long T_MASK = C_MIN - 1;
+  private static final int C_TINY = 3;
+  private static final int K_MIN = -324;
+  private static final int K_MAX = 292;
+  private static final long MASK_63 = Long.MAX_VALUE;
+
+  /**
+   * for each k, 10^-k = beta 2^r with 2^125 <= beta < 2^126, and g = floor(beta) + 1 split into its
+   * upper and lower 63 bits
+   */
+  private static final long[] G = new long[2 * (K_MAX - K_MIN + 1)];
+
+  /** 10^0 to 10^18 */
+  private static final long[] POWERS_OF_TEN = new long[19];
+
+  /** the characters of the numbers from 00 to 99 */
+  private static final byte[] DIGIT_PAIRS = new byte[200];
+
+  static {
+    POWERS_OF_TEN[0] = 1;
+    for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+      POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+    }
+    for (int i = 0; i < 100; i++) {
+      DIGIT_PAIRS[2 * i] = (byte) ('0' + i / 10);
+      DIGIT_PAIRS[2 * i + 1] = (byte) ('0' + i % 10);
+    }
+
+    BigInteger mask63 = BigInteger.valueOf(MASK_63);
+    for (int k = K_MIN; k <= K_MAX; k++) {
+      int r = flog2pow10(-k) - 125;
+      BigInteger g;
+      if (k <= 0) {
+        BigInteger powerOfTen = BigInteger.TEN.pow(-k);
+        g = r < 0 ? powerOfTen.shiftLeft(-r) : powerOfTen.shiftRight(r);
+      } else {
+        g = BigInteger.ONE.shiftLeft(-r).divide(BigInteger.TEN.pow(k));
+      }
+      g = g.add(BigInteger.ONE);
+      G[2 * (k - K_MIN)] = g.shiftRight(63).longValue();
+      G[2 * (k - K_MIN) + 1] = g.and(mask63).longValue();
+    }
+  }
+
+  /** Private Constructor */
+  private DoubleToDecimal() {}
+
+  /**
+   * Writes a double as ASCII characters
+   *
+   * @param v
+   * @param bytes the array to write to, which needs MAX_LENGTH bytes after position
+   * @param position
+   * @return the position after the last character written
+   */
+  public static int write(double v, byte[] bytes, int position) {
+
+    long bits = Double.doubleToRawLongBits(v);
+    long t = bits & T_MASK;
+    int bq = (int) (bits >>> (P - 1)) & BQ_MASK;
+    if (bq == BQ_MASK) {
+      return writeAscii(t != 0 ? "NaN" : bits > 0 ? "Infinity" : "-Infinity", bytes, position);
+    }
+    if (bits < 0) {
+      bytes[position++] = '-';
+    }
+    if (bq != 0) {
+      // normal value: v = c 2^q with c = 2^52 + t
+      int mq = -Q_MIN + 1 - bq;
+      long c = C_MIN | t;
+      if (0 < mq && mq < P) {
+        long f = c >> mq;
+        if (f << mq == c) {
+          // an integer
+          return writeDecimal(f, 0, bytes, position);
+        }
+      }
+      return toDecimal(-mq, c, 0, bytes, position);
+    }
+    if (t != 0) {
+      // subnormal value
+      return t < C_TINY
+          ? toDecimal(Q_MIN, 10 * t, -1, bytes, position)
+          : toDecimal(Q_MIN, t, 0, bytes, position);
+    }
+    bytes[position++] = '0';
+    return position;
+  }
+
+  /**
+   * Formats a double as a String, mainly for testing
+   *
+   * @param v
+   * @return the shortest decimal parsing back to v
+   */
+  public static String toString(double v) {
+
+    byte[] bytes = new byte[MAX_LENGTH];
+    int length = write(v, bytes, 0);
+    return new String(bytes, 0, length, StandardCharsets.US_ASCII);
+  }
+
+  /** Finds the shortest decimal in the rounding interval of c 2^q */
+  private static int toDecimal(int q, long c, int dk, byte[] bytes, int position) {
+
+    int out = (int) c & 1;
+    long cb = c << 2;
+    long cbr = cb + 2;
+    long cbl;
+    int k;
+    if (c != C_MIN || q == Q_MIN) {
+      // the rounding interval is symmetric
+      cbl = cb - 2;
+      k = flog10pow2(q);
+    } else {
+      // c is a power of two, so the next smaller double is closer
+      cbl = cb - 1;
+      k = flog10threeQuartersPow2(q);
+    }
+    int h = q + flog2pow10(-k) + 2;
+
+    long g1 = G[2 * (k - K_MIN)];
+    long g0 = G[2 * (k - K_MIN) + 1];
+
+    long vb = rop(g1, g0, cb << h);
+    long vbl = rop(g1, g0, cbl << h);
+    long vbr = rop(g1, g0, cbr << h);
+
+    long s = vb >> 2;
+    if (s >= 100) {
+      // try one digit less first
+      long sp10 = 10 * multiplyHigh(s, 115_292_150_460_684_698L << 4);
+      long tp10 = sp10 + 10;
+      boolean upin = vbl + out <= sp10 << 2;
+      boolean wpin = (tp10 << 2) + out <= vbr;
+      if (upin != wpin) {
+        return writeDecimal(upin ? sp10 : tp10, k, bytes, position);
+      }
+    }
+    long t = s + 1;
+    boolean uin = vbl + out <= s << 2;
+    boolean win = (t << 2) + out <= vbr;
+    if (uin != win) {
+      return writeDecimal(uin ? s : t, k + dk, bytes, position);
+    }
+    // both are in the interval, take the closer one, or the even one on a tie
+    long cmp = vb - ((s + t) << 1);
+    return writeDecimal(cmp < 0 || cmp == 0 && (s & 1) == 0 ? s : t, k + dk, bytes, position);
+  }
+
+  /** Round to odd of g cp 2^-127 */
+  private static long rop(long g1, long g0, long cp) {
+
+    long x1 = multiplyHigh(g0, cp);
+    long y0 = g1 * cp;
+    long y1 = multiplyHigh(g1, cp);
+    long z = (y0 >>> 1) + x1;
+    long vbp = y1 + (z >>> 63);
+    return vbp | ((z & MASK_63) + MASK_63) >>> 63;
+  }
+
+  /** Math.multiplyHigh, which is not available in Java 8 */
+  private static long multiplyHigh(long x, long y) {
+
+    long x1 = x >> 32;
+    long x2 = x & 0xFFFFFFFFL;
+    long y1 = y >> 32;
+    long y2 = y & 0xFFFFFFFFL;
+    long z2 = x2 * y2;
+    long t = x1 * y2 + (z2 >>> 32);
+    long z1 = t & 0xFFFFFFFFL;
+    long z0 = t >> 32;
+    z1 += x2 * y1;
+    return x1 * y1 + z0 + (z1 >> 32);
+  }
+
+  /** floor(log10(2^e)) */
+  private static int flog10pow2(int e) {
+
+    return (int) (e * 661_971_961_083L >> 41);
+  }
+
+  /** floor(log10(3/4 2^e)) */
+  private static int flog10threeQuartersPow2(int e) {
+
+    return (int) (e * 661_971_961_083L - 274_743_187_321L >> 41);
+  }
+
+  /** floor(log2(10^e)) */
+  private static int flog2pow10(int e) {
+
+    return (int) (e * 913_124_641_741L >> 38);
+  }
+
+  /** Writes f 10^e, where f > 0 */
+  private static int writeDecimal(long f, int e, byte[] bytes, int position) {
+
+    while (f % 10 == 0) {
+      f /= 10;
+      e++;
+    }
+    int length = 1;
+    while (length < POWERS_OF_TEN.length && f >= POWERS_OF_TEN[length]) {
+      length++;
+    }
+    // the value is 0.digits 10^exponent
+    int exponent = e + length;
+    if (0 < exponent && exponent <= 21) {
+      if (e >= 0) {
+        position = writeDigits(f, length, bytes, position);
+        for (int i = 0; i < e; i++) {
+          bytes[position++] = '0';
+        }
+      } else {
+        long divisor = POWERS_OF_TEN[-e];
+        position = writeDigits(f / divisor, exponent, bytes, position);
+        bytes[position++] = '.';
+        position = writeDigits(f % divisor, -e, bytes, position);
+      }
+    } else if (-6 < exponent && exponent <= 0) {
+      bytes[position++] = '0';
+      bytes[position++] = '.';
+      for (int i = exponent; i < 0; i++) {
+        bytes[position++] = '0';
+      }
+      position = writeDigits(f, length, bytes, position);
+    } else {
+      long divisor = POWERS_OF_TEN[length - 1];
+      bytes[position++] = (byte) ('0' + f / divisor);
+      if (length > 1) {
+        bytes[position++] = '.';
+        position = writeDigits(f % divisor, length - 1, bytes, position);
+      }
+      bytes[position++] = 'E';
+      int scientificExponent = exponent - 1;
+      if (scientificExponent < 0) {
+        bytes[position++] = '-';
+        scientificExponent = -scientificExponent;
+      }
+      position =
+          writeDigits(
+              scientificExponent,
+              scientificExponent >= 100 ? 3 : scientificExponent >= 10 ? 2 : 1,
+              bytes,
+              position);
+    }
+    return position;
+  }
+
+  /** Writes the lowest length digits of a non-negative value, with leading zeros */
+  private static int writeDigits(long value, int length, byte[] bytes, int position) {
+
+    int end = position + length;
+    // chunks of 8 digits, so that the rest is done on ints
+    while (end - position > 9) {
+      long quotient = value / 100_000_000;
+      writeDigits((int) (value - quotient * 100_000_000), end - 8, end, bytes);
+      value = quotient;
+      end -= 8;
+    }
+    writeDigits((int) value, position, end, bytes);
+    return position + length;
+  }
+
+  private static void writeDigits(int value, int from, int to, byte[] bytes) {
+
+    int i = to;
+    while (i - from >= 2) {
+      int quotient = value / 100;
+      int pair = value - quotient * 100;
+      bytes[--i] = DIGIT_PAIRS[2 * pair + 1];
+      bytes[--i] = DIGIT_PAIRS[2 * pair];
+      value = quotient;
+    }
+    if (i > from) {
+      bytes[--i] = (byte) ('0' + value % 10);
+    }
+  }
+
+  private static int writeAscii(String s, byte[] bytes, int position) {
+
+    for (int i = 0; i < s.length(); i++) {
+      bytes[position++] = (byte) s.charAt(i);
+    }
+    return position;
+  }
+}
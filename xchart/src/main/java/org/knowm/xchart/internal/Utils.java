@@ -1,8 +1,10 @@
 package org.knowm.xchart.internal;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.RandomAccess;
 
 public class Utils {
 
@@ -45,6 +47,21 @@ public class Utils {
     return dataNumber;
   }
 
+  /**
+   * Wraps a double array into a read-only List without copying it. Elements are only boxed when
+   * they are accessed.
+   *
+   * @param data
+   * @return the List view, or null if data is null
+   */
+  public static List<Double> getNumberListViewOfDoubleArray(double[] data) {
+
+    if (data == null) {
+      return null;
+    }
+    return new DoubleArrayList(data);
+  }
+
   public static List<Double> getNumberListFromIntArray(int[] data) {
 
     if (data == null) {
@@ -197,4 +214,26 @@ public class Utils {
     }
     return fileNameWithFileExtension;
   }
+
+  private static class DoubleArrayList extends AbstractList<Double> implements RandomAccess {
+
+    private final double[] data;
+
+    DoubleArrayList(double[] data) {
+
+      this.data = data;
+    }
+
+    @Override
+    public Double get(int index) {
+
+      return data[index];
+    }
+
+    @Override
+    public int size() {
+
+      return data.length;
+    }
+  }
 }
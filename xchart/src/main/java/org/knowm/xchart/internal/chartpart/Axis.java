@@ -9,8 +9,11 @@ import java.awt.geom.AffineTransform;
 import java.awt.geom.Rectangle2D;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -22,6 +25,7 @@ import org.knowm.xchart.XYSeries;
 import org.knowm.xchart.internal.Utils;
 import org.knowm.xchart.internal.series.AxesChartSeries;
 import org.knowm.xchart.internal.series.AxesChartSeriesCategory;
+import org.knowm.xchart.internal.series.AxesChartSeriesNumericalNoErrorBars.DataSnapshot;
 import org.knowm.xchart.internal.series.Series;
 import org.knowm.xchart.internal.series.Series.DataType;
 import org.knowm.xchart.style.AxesChartStyler;
@@ -35,6 +39,12 @@ import org.knowm.xchart.style.XYStyler;
 /** Axis */
 public class Axis<ST extends AxesChartStyler, S extends AxesChartSeries> implements ChartPart {
 
+  /**
+   * The axis sizes are estimated a few times per paint, so the calculators of a few working spaces
+   * are kept
+   */
+  private static final int MAX_CACHED_TICK_CALCULATORS = 8;
+
   private final Chart<ST, S> chart;
   private final Rectangle2D.Double bounds;
 
@@ -58,6 +68,24 @@ public class Axis<ST extends AxesChartStyler, S extends AxesChartSeries> impleme
   /** the axis tick calculator */
   private AxisTickCalculator axisTickCalculator;
 
+  /** the tick calculators of the last few working spaces, valid as long as tickLayoutKey matches */
+  private final Map<Double, AxisTickCalculator> tickCalculators =
+      new LinkedHashMap<Double, AxisTickCalculator>(16, 0.75f, true) {
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Double, AxisTickCalculator> eldest) {
+
+          return size() > MAX_CACHED_TICK_CALCULATORS;
+        }
+      };
+
+  private List<Object> tickLayoutKey;
+
+  /** the distinct data values along this axis, valid for the data generation they were taken at */
+  private List<Double> axisValues;
+
+  private int axisValuesGeneration = -1;
+
   private double min;
   private double max;
 
@@ -282,7 +310,7 @@ public class Axis<ST extends AxesChartStyler, S extends AxesChartSeries> impleme
         && !chart.getXAxisTitle().trim().equalsIgnoreCase("")
         && axesChartStyler.isXAxisTitleVisible()) {
       TextLayout textLayout =
-          new TextLayout(
+          TextLayoutCache.getTextLayout(
               chart.getXAxisTitle(),
               axesChartStyler.getAxisTitleFont(),
               new FontRenderContext(null, true, false));
@@ -313,7 +341,7 @@ public class Axis<ST extends AxesChartStyler, S extends AxesChartSeries> impleme
 
       // get the height of the label including rotation
       TextLayout textLayout =
-          new TextLayout(
+          TextLayoutCache.getTextLayout(
               sampleLabel.length() == 0 ? " " : sampleLabel,
               axesChartStyler.getAxisTickLabelsFont(),
               new FontRenderContext(null, true, false));
@@ -342,7 +370,7 @@ public class Axis<ST extends AxesChartStyler, S extends AxesChartSeries> impleme
         && !yAxisTitle.trim().equalsIgnoreCase("")
         && axesChartStyler.isYAxisTitleVisible()) {
       TextLayout textLayout =
-          new TextLayout(
+          TextLayoutCache.getTextLayout(
               yAxisTitle,
               axesChartStyler.getAxisTitleFont(),
               new FontRenderContext(null, true, false));
@@ -371,7 +399,7 @@ public class Axis<ST extends AxesChartStyler, S extends AxesChartSeries> impleme
 
       // get the height of the label including rotation
       TextLayout textLayout =
-          new TextLayout(
+          TextLayoutCache.getTextLayout(
               sampleLabel.length() == 0 ? " " : sampleLabel,
               axesChartStyler.getAxisTickLabelsFont(),
               new FontRenderContext(null, true, false));
@@ -385,15 +413,75 @@ public class Axis<ST extends AxesChartStyler, S extends AxesChartSeries> impleme
     return titleHeight + axisTickLabelsHeight;
   }
 
+  /**
+   * Calculating the ticks formats all the tick labels and measures them, so the calculators are
+   * reused until the axis range, the data or one of the styler settings they depend on changes.
+   */
   private AxisTickCalculator getAxisTickCalculator(double workingSpace) {
-    if (getDirection() == Direction.X) {
-      return getAxisTickCalculatorForX(workingSpace);
-    } else {
-      return getAxisTickCalculatorForY(workingSpace);
+
+    List<Object> key = getTickLayoutKey();
+    if (!key.equals(tickLayoutKey)) {
+      tickCalculators.clear();
+      tickLayoutKey = key;
     }
+    AxisTickCalculator calculator = tickCalculators.get(workingSpace);
+    if (calculator == null) {
+      if (getDirection() == Direction.X) {
+        calculator = getAxisTickCalculatorForX(workingSpace);
+      } else {
+        calculator = getAxisTickCalculatorForY(workingSpace);
+      }
+      tickCalculators.put(workingSpace, calculator);
+    }
+    return calculator;
   }
 
-  private AxisTickCalculator getAxisTickCalculatorForY(double workingSpace) {
+  /** Collects everything besides the working space the tick calculators depend on */
+  private List<Object> getTickLayoutKey() {
+
+    return Arrays.asList(
+        chart.getAxisPair().getDataGeneration(),
+        min,
+        max,
+        dataType,
+        axesChartStyler.getAxisTickLabelsFont(),
+        axesChartStyler.getXAxisLabelRotation(),
+        axesChartStyler.getPlotContentSize(),
+        axesChartStyler.getXAxisTickMarkSpacingHint(),
+        axesChartStyler.getYAxisTickMarkSpacingHint(),
+        axesChartStyler.getXAxisMaxLabelCount(),
+        axesChartStyler.isXAxisLogarithmic(),
+        axesChartStyler.isYAxisLogarithmic(),
+        axesChartStyler.isXAxisLogarithmicDecadeOnly(),
+        axesChartStyler.isYAxisLogarithmicDecadeOnly(),
+        axesChartStyler.getLocale(),
+        axesChartStyler.getTimezone(),
+        axesChartStyler.getDatePattern(),
+        axesChartStyler.getDecimalPattern(),
+        axesChartStyler.getXAxisDecimalPattern(),
+        axesChartStyler.getYAxisDecimalPattern(),
+        new HashMap<Integer, String>(axesChartStyler.getYAxisGroupDecimalPatternMap()),
+        axesChartStyler.getxAxisTickLabelsFormattingFunction(),
+        axesChartStyler.getyAxisTickLabelsFormattingFunction());
+  }
+
+  /**
+   * @return the distinct data values along this axis, in the order of the series, which are only
+   *     collected again when the data changed
+   */
+  private List<Double> getAxisValues() {
+
+    int dataGeneration = chart.getAxisPair().getDataGeneration();
+    if (axisValues == null || axisValuesGeneration != dataGeneration) {
+      axisValues =
+          getDirection() == Direction.X ? collectAxisValuesForX() : collectAxisValuesForY();
+      axisValuesGeneration = dataGeneration;
+    }
+    return axisValues;
+  }
+
+  private List<Double> collectAxisValuesForY() {
+
     List<Double> yData = new ArrayList<>();
     if (axesChartStyler instanceof HeatMapStyler) {
       List<?> categories = ((HeatMapChart) chart).getHeatMapSeries().getYData();
@@ -407,22 +495,27 @@ public class Axis<ST extends AxesChartStyler, S extends AxesChartSeries> impleme
     } else if (axesChartStyler instanceof CategoryStyler) {
       Set<Double> uniqueYData = new LinkedHashSet<>();
       for (CategorySeries categorySeries : ((CategoryChart) chart).getSeriesMap().values()) {
-        uniqueYData.addAll(
-            categorySeries.getYData().stream()
-                .filter(Objects::nonNull)
-                .mapToDouble(Number::doubleValue)
-                .boxed()
-                .collect(Collectors.toList()));
+        for (double value : categorySeries.getYDataArray()) {
+          if (!Double.isNaN(value)) {
+            uniqueYData.add(value);
+          }
+        }
       }
       yData.addAll(uniqueYData);
     } else if (axesChartStyler instanceof XYStyler) {
       Set<Double> uniqueYData = new LinkedHashSet<>();
       for (XYSeries xySeries : ((XYChart) chart).getSeriesMap().values()) {
-        uniqueYData.addAll(Arrays.stream(xySeries.getYData()).boxed().collect(Collectors.toList()));
+        DataSnapshot data = xySeries.getDataSnapshot();
+        addAll(uniqueYData, data.getYDataBuffer(), data);
       }
       yData.addAll(uniqueYData);
     }
+    return yData;
+  }
 
+  private AxisTickCalculator getAxisTickCalculatorForY(double workingSpace) {
+
+    List<Double> yData = getAxisValues();
     if (axesChartStyler.getyAxisTickLabelsFormattingFunction() != null) {
       if (!yData.isEmpty()) {
         return new AxisTickCalculator_Callback(
@@ -463,7 +556,8 @@ public class Axis<ST extends AxesChartStyler, S extends AxesChartSeries> impleme
     }
   }
 
-  private AxisTickCalculator_ getAxisTickCalculatorForX(double workingSpace) {
+  private List<Double> collectAxisValuesForX() {
+
     List<Double> xData = new ArrayList<>();
     if (axesChartStyler instanceof HeatMapStyler) {
       List<?> categories = ((HeatMapChart) chart).getHeatMapSeries().getXData();
@@ -490,11 +584,26 @@ public class Axis<ST extends AxesChartStyler, S extends AxesChartSeries> impleme
     } else if (axesChartStyler instanceof XYStyler) {
       Set<Double> uniqueXData = new LinkedHashSet<>();
       for (XYSeries xySeries : ((XYChart) chart).getSeriesMap().values()) {
-        uniqueXData.addAll(Arrays.stream(xySeries.getXData()).boxed().collect(Collectors.toList()));
+        DataSnapshot data = xySeries.getDataSnapshot();
+        addAll(uniqueXData, data.getXDataBuffer(), data);
       }
       xData.addAll(uniqueXData);
     }
+    return xData;
+  }
+
+  /** Adds the values of the current view of a series, without copying the view first */
+  private static void addAll(Set<Double> values, double[] data, DataSnapshot snapshot) {
+
+    int to = snapshot.getDataOffset() + snapshot.getDataLength();
+    for (int i = snapshot.getDataOffset(); i < to; i++) {
+      values.add(data[i]);
+    }
+  }
+
+  private AxisTickCalculator_ getAxisTickCalculatorForX(double workingSpace) {
 
+    List<Double> xData = getAxisValues();
     if (axesChartStyler.getxAxisTickLabelsFormattingFunction() != null) {
       if (!xData.isEmpty()) { // TODO why would this be empty?
         return new AxisTickCalculator_Callback(
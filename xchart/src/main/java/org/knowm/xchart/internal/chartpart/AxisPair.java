@@ -2,7 +2,7 @@ package org.knowm.xchart.internal.chartpart;
 
 import java.awt.Graphics2D;
 import java.awt.geom.Rectangle2D;
-import java.util.Iterator;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map.Entry;
 import java.util.TreeMap;
@@ -27,6 +27,12 @@ public class AxisPair<ST extends AxesChartStyler, S extends AxesChartSeries> imp
   private Axis<ST, S> leftMainYAxis;
   private Axis<ST, S> rightMainYAxis;
 
+  /** what the axis ranges were last calculated from */
+  private List<Object> minMaxKey;
+
+  /** incremented whenever the axis ranges were recalculated */
+  private int dataGeneration;
+
   /**
    * Constructor
    *
@@ -233,6 +239,15 @@ public class AxisPair<ST extends AxesChartStyler, S extends AxesChartSeries> imp
 
   private void prepareForPaint() {
 
+    // the axis ranges only depend on the series data and a few styler settings, so they are kept
+    // while e.g. only a tooltip or the cursor is repainted
+    List<Object> minMaxKey = getMinMaxKey();
+    if (minMaxKey.equals(this.minMaxKey)) {
+      return;
+    }
+
+    // keep the existing axes, as they cache their tick layouts
+    TreeMap<Integer, Axis<ST, S>> previousYAxisMap = new TreeMap<Integer, Axis<ST, S>>(yAxisMap);
     yAxisMap.clear();
     yAxisMap.put(0, yAxis);
     boolean mainYAxisUsed = false;
@@ -248,7 +263,8 @@ public class AxisPair<ST extends AxesChartStyler, S extends AxesChartSeries> imp
         if (yAxisMap.containsKey(yIndex)) {
           continue;
         }
-        yAxisMap.put(yIndex, new Axis<ST, S>(chart, Axis.Direction.Y, yIndex));
+        Axis<ST, S> ya = previousYAxisMap.get(yIndex);
+        yAxisMap.put(yIndex, ya != null ? ya : new Axis<ST, S>(chart, Axis.Direction.Y, yIndex));
       }
     }
 
@@ -350,6 +366,41 @@ public class AxisPair<ST extends AxesChartStyler, S extends AxesChartSeries> imp
       throw new IllegalArgumentException(
           "Series data (accounting for error bars too) cannot be equal to Double.NEGATIVE_INFINITY!!!");
     }
+
+    this.minMaxKey = minMaxKey;
+    dataGeneration++;
+  }
+
+  /**
+   * Collects everything the axis ranges are calculated from. The series data itself is represented
+   * by its version, which changes whenever the data is replaced or filtered.
+   */
+  private List<Object> getMinMaxKey() {
+
+    ST styler = chart.getStyler();
+    List<Object> key = new ArrayList<Object>();
+    key.add(styler.isXAxisLogarithmic());
+    key.add(styler.isYAxisLogarithmic());
+    key.add(styler.getXAxisMin());
+    key.add(styler.getXAxisMax());
+    key.add(styler.getYAxisMin());
+    key.add(styler.getYAxisMax());
+    if (styler instanceof CategoryStyler) {
+      key.add(((CategoryStyler) styler).getDefaultSeriesRenderStyle());
+      key.add(((CategoryStyler) styler).isStacked());
+    }
+    if (chart.getSeriesMap() != null) {
+      for (S series : chart.getSeriesMap().values()) {
+        key.add(series);
+        key.add(series.getDataVersion());
+        key.add(series.isEnabled());
+        key.add(series.getYAxisGroup());
+        key.add(series.getYAxisDecimalPattern());
+        key.add(styler.getYAxisMin(series.getYAxisGroup()));
+        key.add(styler.getYAxisMax(series.getYAxisGroup()));
+      }
+    }
+    return key;
   }
 
   /**
@@ -418,23 +469,15 @@ public class AxisPair<ST extends AxesChartStyler, S extends AxesChartSeries> imp
               continue;
             }
 
-            int categoryCounter = 0;
-            Iterator<? extends Number> yItr = axesChartSeriesCategory.getYData().iterator();
-            while (yItr.hasNext()) {
-
-              Number next = yItr.next();
-              // skip when a value is null
-              if (next == null) {
-                categoryCounter++;
-                continue;
-              }
-
-              if (next.doubleValue() > 0) {
-                accumulatedStackOffsetPos[categoryCounter] += next.doubleValue();
-              } else if (next.doubleValue() < 0) {
-                accumulatedStackOffsetNeg[categoryCounter] += next.doubleValue();
+            // missing values are NaN and fail both comparisons
+            double[] yData = axesChartSeriesCategory.getYDataArray();
+            for (int categoryCounter = 0; categoryCounter < yData.length; categoryCounter++) {
+              double next = yData[categoryCounter];
+              if (next > 0) {
+                accumulatedStackOffsetPos[categoryCounter] += next;
+              } else if (next < 0) {
+                accumulatedStackOffsetNeg[categoryCounter] += next;
               }
-              categoryCounter++;
             }
           }
 
@@ -504,6 +547,15 @@ public class AxisPair<ST extends AxesChartStyler, S extends AxesChartSeries> imp
     return yAxis;
   }
 
+  /**
+   * @return a counter incremented whenever the axis ranges were recalculated, which is when the
+   *     series data or the range settings of the styler changed
+   */
+  int getDataGeneration() {
+
+    return dataGeneration;
+  }
+
   @Override
   public Rectangle2D getBounds() {
 
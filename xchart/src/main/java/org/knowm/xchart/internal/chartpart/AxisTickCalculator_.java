@@ -20,10 +20,10 @@ import org.knowm.xchart.style.AxesChartStyler;
 public abstract class AxisTickCalculator_ implements AxisTickCalculator {
 
   /** the List of tick label position in pixels */
-  final List<Double> tickLocations = new LinkedList<>();
+  final List<Double> tickLocations = new ArrayList<>();
 
   /** the List of tick label values */
-  final List<String> tickLabels = new LinkedList<>();
+  final List<String> tickLabels = new ArrayList<>();
 
   final Direction axisDirection;
 
@@ -118,6 +118,15 @@ public abstract class AxisTickCalculator_ implements AxisTickCalculator {
    */
   boolean willLabelsFitInTickSpaceHint(List<String> tickLabels, int tickSpacingHint) {
 
+    return getLargestLabelWidth(tickLabels) * 1.1 < tickSpacingHint;
+  }
+
+  /**
+   * @param tickLabels
+   * @return the space the largest of the labels takes along the axis, in pixels
+   */
+  private double getLargestLabelWidth(List<String> tickLabels) {
+
     String sampleLabel = "Y";
     if (Direction.X.equals(this.axisDirection)) {
       // find the longest String in all the labels
@@ -130,7 +139,7 @@ public abstract class AxisTickCalculator_ implements AxisTickCalculator {
     // System.out.println("longestLabel: " + sampleLabel);
 
     TextLayout textLayout =
-        new TextLayout(
+        TextLayoutCache.getTextLayout(
             sampleLabel, styler.getAxisTickLabelsFont(), new FontRenderContext(null, true, false));
     AffineTransform rot =
         styler.getXAxisLabelRotation() == 0
@@ -139,16 +148,7 @@ public abstract class AxisTickCalculator_ implements AxisTickCalculator {
                 -1 * Math.toRadians(styler.getXAxisLabelRotation()));
     Shape shape = textLayout.getOutline(rot);
     Rectangle2D rectangle = shape.getBounds();
-    double largestLabelWidth =
-        Direction.X.equals(this.axisDirection) ? rectangle.getWidth() : rectangle.getHeight();
-    // System.out.println("largestLabelWidth: " + largestLabelWidth);
-    // System.out.println("tickSpacingHint: " + tickSpacingHint);
-
-    // if (largestLabelWidth * 1.1 >= tickSpacingHint) {
-    // System.out.println("WILL NOT FIT!!!");
-    // }
-
-    return (largestLabelWidth * 1.1 < tickSpacingHint);
+    return Direction.X.equals(this.axisDirection) ? rectangle.getWidth() : rectangle.getHeight();
   }
 
   public Format getAxisFormat() {
@@ -376,20 +376,19 @@ public abstract class AxisTickCalculator_ implements AxisTickCalculator {
       throw new IllegalStateException("No axis values.");
     }
     int gridStepInChartSpace;
-    int tickValuesHint = 0;
+    // labels less than a pixel apart can never fit, so the steps which would produce more than
+    // tickSpace + 1 labels are skipped rather than formatting and measuring all of their labels
+    int maxTickCount = (int) tickSpace + 1;
+    int tickValuesHint = Math.max(1, (axisValues.size() - 1) / maxTickCount + 1);
     List<Double> tickLabelValues;
     double tickLabelMaxValue;
     double tickLabelMinValue;
-    do {
-      tickValuesHint++;
+    while (true) {
       tickLabels.clear();
-      int finalTickValuesHint = tickValuesHint;
-      tickLabelValues =
-          IntStream.range(0, axisValues.size())
-              .filter(it -> it % finalTickValuesHint == 0)
-              .mapToDouble(axisValues::get)
-              .boxed()
-              .collect(Collectors.toList());
+      tickLabelValues = new ArrayList<>(axisValues.size() / tickValuesHint + 1);
+      for (int i = 0; i < axisValues.size(); i += tickValuesHint) {
+        tickLabelValues.add(axisValues.get(i));
+      }
       tickLabelMaxValue = tickLabelValues.stream().mapToDouble(x -> x).max().orElse(maxValue);
       tickLabelMinValue = tickLabelValues.stream().mapToDouble(x -> x).min().orElse(minValue);
       tickLabels.addAll(
@@ -404,8 +403,24 @@ public abstract class AxisTickCalculator_ implements AxisTickCalculator {
       double gridStep = span / (tickLabelValues.size() - 1);
 
       gridStepInChartSpace = (int) (gridStep / span * tickSpace);
-    } while (!areAllTickLabelsUnique(tickLabels)
-        || !willLabelsFitInTickSpaceHint(tickLabels, gridStepInChartSpace));
+      if (tickLabelValues.size() < 2) {
+        // a single label always fits
+        break;
+      }
+      if (!areAllTickLabelsUnique(tickLabels)) {
+        tickValuesHint++;
+        continue;
+      }
+      double requiredSpace = getLargestLabelWidth(tickLabels) * 1.1;
+      if (requiredSpace < gridStepInChartSpace) {
+        break;
+      }
+      // the space between the labels grows linearly with the step, so with many values the step
+      // is scaled up to what these labels need instead of trying every step in between
+      int scaledTickValuesHint =
+          (int) Math.ceil(tickValuesHint * requiredSpace / Math.max(gridStepInChartSpace, 1));
+      tickValuesHint = Math.max(tickValuesHint + 1, scaledTickValuesHint);
+    }
 
     tickLocations.clear();
     tickLocations.addAll(
@@ -1,6 +1,5 @@
 package org.knowm.xchart.internal.chartpart;
 
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
@@ -120,9 +119,8 @@ class AxisTickCalculator_Date extends AxisTickCalculator_ {
         datePattern = styler.getDatePattern();
       }
 
-      SimpleDateFormat simpleDateformat = new SimpleDateFormat(datePattern, styler.getLocale());
-      simpleDateformat.setTimeZone(styler.getTimezone());
-      axisFormat = simpleDateformat;
+      axisFormat =
+          Formatter_Date.getInstance(datePattern, styler.getLocale(), styler.getTimezone());
 
       tickLabels.add(axisFormat.format(0.0));
       tickLocations.add(workingSpace / 2.0);
@@ -221,10 +219,9 @@ class AxisTickCalculator_Date extends AxisTickCalculator_ {
       }
       // System.out.println("datePattern: " + datePattern);
 
-      SimpleDateFormat simpleDateformat = new SimpleDateFormat(datePattern, styler.getLocale());
-      simpleDateformat.setTimeZone(styler.getTimezone());
-      //      simpleDateformat.setTimeZone(TimeZone.getTimeZone("UTC"));
-      axisFormat = simpleDateformat;
+      // shared and immutable, and remembers the labels of ticks formatted before
+      axisFormat =
+          Formatter_Date.getInstance(datePattern, styler.getLocale(), styler.getTimezone());
 
       // generate all tickLabels and tickLocations from the first to last position
       for (double value = firstPosition;
@@ -73,7 +73,7 @@ public class AxisTickLabels<ST extends AxesChartStyler, S extends AxesChartSerie
             && flippedTickLocation < yOffset + height) { // some are null for logarithmic axes
           FontRenderContext frc = g.getFontRenderContext();
           TextLayout axisLabelTextLayout =
-              new TextLayout(tickLabel, styler.getAxisTickLabelsFont(), frc);
+              TextLayoutCache.getTextLayout(tickLabel, styler.getAxisTickLabelsFont(), frc);
           Rectangle2D tickLabelBounds = axisLabelTextLayout.getBounds();
           double boundWidth = tickLabelBounds.getWidth();
           if (boundWidth > maxTickLabelWidth) {
@@ -87,7 +87,7 @@ public class AxisTickLabels<ST extends AxesChartStyler, S extends AxesChartSerie
         final Double tickLocation = tick.getKey();
         final TextLayout axisLabelTextLayout = tick.getValue();
 
-        Shape shape = axisLabelTextLayout.getOutline(null);
+        Shape shape = TextLayoutCache.getOutline(axisLabelTextLayout);
         Rectangle2D tickLabelBounds = shape.getBounds();
 
         double flippedTickLocation = yOffset + height - tickLocation;
@@ -144,7 +144,8 @@ public class AxisTickLabels<ST extends AxesChartStyler, S extends AxesChartSerie
           // some are null for logarithmic axes
 
           FontRenderContext frc = g.getFontRenderContext();
-          TextLayout textLayout = new TextLayout(tickLabel, styler.getAxisTickLabelsFont(), frc);
+          TextLayout textLayout =
+              TextLayoutCache.getTextLayout(tickLabel, styler.getAxisTickLabelsFont(), frc);
           // System.out.println(textLayout.getOutline(null).getBounds().toString());
 
           // Shape shape = v.getOutline();
@@ -173,7 +174,8 @@ public class AxisTickLabels<ST extends AxesChartStyler, S extends AxesChartSerie
             && shiftedTickLocation < xOffset + width) { // some are null for logarithmic axes
 
           FontRenderContext frc = g.getFontRenderContext();
-          TextLayout textLayout = new TextLayout(tickLabel, styler.getAxisTickLabelsFont(), frc);
+          TextLayout textLayout =
+              TextLayoutCache.getTextLayout(tickLabel, styler.getAxisTickLabelsFont(), frc);
           // System.out.println(textLayout.getOutline(null).getBounds().toString());
 
           // Shape shape = v.getOutline();
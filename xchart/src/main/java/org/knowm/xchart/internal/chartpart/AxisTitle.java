@@ -53,7 +53,7 @@ public class AxisTitle<ST extends AxesChartStyler, S extends Series> implements
         }
         FontRenderContext frc = g.getFontRenderContext();
         TextLayout nonRotatedTextLayout =
-            new TextLayout(yAxisTitle, chart.getStyler().getAxisTitleFont(), frc);
+            TextLayoutCache.getTextLayout(yAxisTitle, chart.getStyler().getAxisTitleFont(), frc);
         Rectangle2D nonRotatedRectangle = nonRotatedTextLayout.getBounds();
 
         // ///////////////////////////////////////////////
@@ -118,7 +118,8 @@ public class AxisTitle<ST extends AxesChartStyler, S extends Series> implements
         }
         FontRenderContext frc = g.getFontRenderContext();
         TextLayout textLayout =
-            new TextLayout(chart.getXAxisTitle(), chart.getStyler().getAxisTitleFont(), frc);
+            TextLayoutCache.getTextLayout(
+                chart.getXAxisTitle(), chart.getStyler().getAxisTitleFont(), frc);
         Rectangle2D rectangle = textLayout.getBounds();
         // System.out.println(rectangle);
 
@@ -131,7 +132,7 @@ public class AxisTitle<ST extends AxesChartStyler, S extends Series> implements
                 - rectangle.getHeight();
 
         // textLayout.draw(g, (float) xOffset, (float) (yOffset - rectangle.getY()));
-        Shape shape = textLayout.getOutline(null);
+        Shape shape = TextLayoutCache.getOutline(textLayout);
         AffineTransform orig = g.getTransform();
         AffineTransform at = new AffineTransform();
         at.translate((float) xOffset, (float) (yOffset - rectangle.getY()));
@@ -1,9 +1,8 @@
 package org.knowm.xchart.internal.chartpart;
 
 import java.util.ArrayList;
-import java.util.Collection;
-import java.util.Collections;
-import java.util.Iterator;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import org.knowm.xchart.internal.series.AxesChartSeries;
@@ -13,50 +12,75 @@ import org.knowm.xchart.style.BoxStyler;
 import org.knowm.xchart.style.BoxStyler.BoxplotCalCulationMethod;
 
 /**
- * Calculate box plot data information for all series of BoxChart.
+ * Calculate box plot data information for all series of BoxChart. The quartiles are found with a
+ * selection algorithm rather than by sorting all data, and the results are kept per series until
+ * its data or the calculation method changes.
  *
  * @param <ST> BoxPlotStyler
  * @param <S> BoxSeries
  */
 public class BoxPlotDataCalculator<ST extends AxesChartStyler, S extends AxesChartSeries> {
 
+  /** ranges up to this size are sorted rather than partitioned further */
+  private static final int SORT_THRESHOLD = 16;
+
+  private final Map<S, CachedBoxPlotData> cache = new HashMap<>();
+
   public List<BoxPlotData> calculate(Map<String, S> seriesMap, ST boxPlotStyler) {
 
+    BoxplotCalCulationMethod boxplotCalCulationMethod =
+        ((BoxStyler) boxPlotStyler).getBoxplotCalCulationMethod();
+
+    // drop the results of removed series
+    cache.keySet().retainAll(seriesMap.values());
+
     // Box plot data information for all series
     List<BoxPlotData> boxPlotDataList = new ArrayList<>();
-    BoxPlotData boxPlotData = null;
-    List<Double> data = null;
-    Collection<? extends Number> yData = null;
-    Iterator<? extends Number> yDataIterator = null;
-    Number next = null;
     for (S series : seriesMap.values()) {
       if (!series.isEnabled()) {
         continue;
       }
 
-      yData = ((AxesChartSeriesCategory) series).getYData();
-      yDataIterator = yData.iterator();
-      data = new ArrayList<>();
-      while (yDataIterator.hasNext()) {
-        next = yDataIterator.next();
-        if (next != null) {
-          data.add(next.doubleValue());
-        }
+      CachedBoxPlotData cached = cache.get(series);
+      if (cached == null
+          || cached.dataVersion != series.getDataVersion()
+          || cached.boxplotCalCulationMethod != boxplotCalCulationMethod) {
+        double[] data = copyWithoutNaN(((AxesChartSeriesCategory) series).getYDataArray());
+        cached =
+            new CachedBoxPlotData(
+                series.getDataVersion(),
+                boxplotCalCulationMethod,
+                calculate(data, boxplotCalCulationMethod));
+        cache.put(series, cached);
       }
-
-      Collections.sort(data);
-      boxPlotData = calculate(data, boxPlotStyler);
-      boxPlotDataList.add(boxPlotData);
+      boxPlotDataList.add(cached.boxPlotData);
     }
     return boxPlotDataList;
   }
 
-  private BoxPlotData calculate(List<Double> data, ST boxPlotStyler) {
+  private static double[] copyWithoutNaN(double[] yData) {
+
+    double[] data = new double[yData.length];
+    int n = 0;
+    for (double value : yData) {
+      if (!Double.isNaN(value)) {
+        data[n++] = value;
+      }
+    }
+    return n == data.length ? data : Arrays.copyOf(data, n);
+  }
+
+  /**
+   * Calculates the box plot data. The data array is reordered.
+   *
+   * @param data
+   * @param boxplotCalCulationMethod
+   * @return the box plot data
+   */
+  static BoxPlotData calculate(double[] data, BoxplotCalCulationMethod boxplotCalCulationMethod) {
 
     BoxPlotData boxPlotData = new BoxPlotData();
-    int n = data.size();
-    BoxplotCalCulationMethod boxplotCalCulationMethod =
-        ((BoxStyler) boxPlotStyler).getBoxplotCalCulationMethod();
+    int n = data.length;
     double q1P = 0.0;
     double q2P = 0.0;
     double q3P = 0.0;
@@ -79,50 +103,173 @@ public class BoxPlotDataCalculator<ST extends AxesChartStyler, S extends AxesCha
       q3P = 3 * (n - 1) / four + 1;
     }
 
+    // only the items the quartiles are interpolated from have to be in their sorted position
+    selectItems(
+        data,
+        previousItemIndex(q1P, n),
+        nextItemIndex(q1P, n),
+        previousItemIndex(q2P, n),
+        nextItemIndex(q2P, n),
+        previousItemIndex(q3P, n),
+        nextItemIndex(q3P, n));
+
     boxPlotData.q1 = getQuartile(data, q1P, boxplotCalCulationMethod);
     boxPlotData.median = getQuartile(data, q2P, boxplotCalCulationMethod);
     boxPlotData.q3 = getQuartile(data, q3P, boxplotCalCulationMethod);
 
+    double min = Double.MAX_VALUE;
+    double max = -Double.MAX_VALUE;
+    for (double value : data) {
+      if (value < min) {
+        min = value;
+      }
+      if (value > max) {
+        max = value;
+      }
+    }
+
     // Interquartile range, IQR = Q3 - Q1
     double irq = boxPlotData.q3 - boxPlotData.q1;
 
     // Lower whisker, lower = Q1 - 1.5 * IQR
     boxPlotData.lower = boxPlotData.q1 - 1.5 * irq;
-    if (boxPlotData.lower < data.get(0)) {
-      boxPlotData.lower = data.get(0);
+    if (boxPlotData.lower < min) {
+      boxPlotData.lower = min;
     }
 
     // Upper whisker, upper = Q3 + 1.5 * IQR
     boxPlotData.upper = boxPlotData.q3 + 1.5 * irq;
-    if (boxPlotData.upper > data.get(data.size() - 1)) {
-      boxPlotData.upper = data.get(data.size() - 1);
+    if (boxPlotData.upper > max) {
+      boxPlotData.upper = max;
     }
     return boxPlotData;
   }
 
+  private static int previousItemIndex(double qiP, int n) {
+
+    int previousItem = (int) Math.floor(qiP);
+    return Math.min(previousItem == 0 ? 0 : previousItem - 1, n - 1);
+  }
+
+  private static int nextItemIndex(double qiP, int n) {
+
+    int nextItem = (int) Math.ceil(qiP);
+    return n == 1 ? 0 : Math.min(Math.max(nextItem - 1, 0), n - 1);
+  }
+
   private static double getQuartile(
-      List<Double> data, double qiP, BoxplotCalCulationMethod boxplotCalCulationMethod) {
+      double[] data, double qiP, BoxplotCalCulationMethod boxplotCalCulationMethod) {
 
     int previousItem = (int) Math.floor(qiP);
-    int previousItem_index = previousItem == 0 ? 0 : previousItem - 1;
+    int previousItem_index = previousItemIndex(qiP, data.length);
     int nextItem = (int) Math.ceil(qiP);
-    int nextItem_index = data.size() == 1 ? 0 : nextItem - 1;
+    int nextItem_index = nextItemIndex(qiP, data.length);
     final double qi;
     if (BoxplotCalCulationMethod.NP == boxplotCalCulationMethod) {
       if (previousItem == nextItem) {
-        qi = (data.get(previousItem_index) + data.get(nextItem_index)) / 2;
+        qi = (data[previousItem_index] + data[nextItem_index]) / 2;
       } else {
-        qi = data.get(nextItem_index);
+        qi = data[nextItem_index];
       }
     } else {
       if (previousItem == nextItem) {
-        qi = data.get(previousItem_index);
+        qi = data[previousItem_index];
       } else {
         qi =
-            data.get(previousItem_index) * (nextItem - qiP)
-                + data.get(nextItem_index) * (qiP - previousItem);
+            data[previousItem_index] * (nextItem - qiP)
+                + data[nextItem_index] * (qiP - previousItem);
       }
     }
     return qi;
   }
+
+  /**
+   * Reorders the data so the items at the given indices are the ones a full sort would put there.
+   * Each selection only has to look at the part of the data right of the previous one.
+   */
+  private static void selectItems(double[] data, int... indices) {
+
+    Arrays.sort(indices);
+    int from = 0;
+    for (int index : indices) {
+      if (index >= from) {
+        select(data, from, data.length - 1, index);
+        from = index + 1;
+      }
+    }
+  }
+
+  /**
+   * Introselect: quickselect with median of three pivots, falling back to sorting the remaining
+   * range if the partitions keep coming out unbalanced, so it is O(n) on average and O(n log n) at
+   * worst
+   */
+  private static void select(double[] data, int lo, int hi, int k) {
+
+    int depthLimit = 2 * (32 - Integer.numberOfLeadingZeros(hi - lo + 1));
+    while (hi - lo > SORT_THRESHOLD) {
+      if (depthLimit-- == 0) {
+        break;
+      }
+      int middle = (lo + hi) >>> 1;
+      if (data[middle] < data[lo]) {
+        swap(data, lo, middle);
+      }
+      if (data[hi] < data[lo]) {
+        swap(data, lo, hi);
+      }
+      if (data[hi] < data[middle]) {
+        swap(data, middle, hi);
+      }
+      double pivot = data[middle];
+      int i = lo;
+      int j = hi;
+      while (i <= j) {
+        while (data[i] < pivot) {
+          i++;
+        }
+        while (data[j] > pivot) {
+          j--;
+        }
+        if (i <= j) {
+          swap(data, i, j);
+          i++;
+          j--;
+        }
+      }
+      // [lo, j] <= pivot, [i, hi] >= pivot, and anything in between equals the pivot
+      if (k <= j) {
+        hi = j;
+      } else if (k >= i) {
+        lo = i;
+      } else {
+        return;
+      }
+    }
+    Arrays.sort(data, lo, hi + 1);
+  }
+
+  private static void swap(double[] data, int i, int j) {
+
+    double temp = data[i];
+    data[i] = data[j];
+    data[j] = temp;
+  }
+
+  private static class CachedBoxPlotData {
+
+    private final int dataVersion;
+    private final BoxplotCalCulationMethod boxplotCalCulationMethod;
+    private final BoxPlotData boxPlotData;
+
+    CachedBoxPlotData(
+        int dataVersion,
+        BoxplotCalCulationMethod boxplotCalCulationMethod,
+        BoxPlotData boxPlotData) {
+
+      this.dataVersion = dataVersion;
+      this.boxplotCalCulationMethod = boxplotCalCulationMethod;
+      this.boxPlotData = boxPlotData;
+    }
+  }
 }
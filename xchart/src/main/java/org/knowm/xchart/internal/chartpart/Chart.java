@@ -8,9 +8,11 @@ import java.text.DecimalFormat;
 import java.text.Format;
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.LinkedHashMap;
+import java.util.IdentityHashMap;
 import java.util.Map;
 import java.util.function.Function;
+import org.knowm.xchart.internal.series.AxesChartSeries;
+import org.knowm.xchart.internal.series.AxesChartSeries.DataSnapshot;
 import org.knowm.xchart.internal.series.Series;
 import org.knowm.xchart.style.AxesChartStyler;
 import org.knowm.xchart.style.Styler;
@@ -20,7 +22,7 @@ public abstract class Chart<ST extends Styler, S extends Series> {
 
   protected final ST styler;
   protected final ChartTitle<ST, S> chartTitle;
-  protected final Map<String, S> seriesMap = new LinkedHashMap<>();
+  protected final CopyOnWriteSeriesMap<S> seriesMap = new CopyOnWriteSeriesMap<>();
   protected final ArrayList<ChartPart> annotations = new ArrayList<>();
 
   /** Chart Parts */
@@ -63,6 +65,73 @@ public abstract class Chart<ST extends Styler, S extends Series> {
 
   public abstract void paint(Graphics2D g, int width, int height);
 
+  /**
+   * Pins the series and their data for the calling thread, so that all parts of the chart paint the
+   * same series and data while other threads add or remove series or replace their data. Has to be
+   * followed by {@link #endPaint()}.
+   */
+  protected void beginPaint() {
+
+    seriesMap.pinSnapshot();
+    prepareForPaint();
+    for (S series : seriesMap.values()) {
+      if (series instanceof AxesChartSeries) {
+        AxesChartSeries axesChartSeries = (AxesChartSeries) series;
+        axesChartSeries.pinDataSnapshot(axesChartSeries.getDataSnapshot());
+      }
+    }
+  }
+
+  protected void endPaint() {
+
+    for (S series : seriesMap.values()) {
+      if (series instanceof AxesChartSeries) {
+        ((AxesChartSeries) series).pinDataSnapshot(null);
+      }
+    }
+    seriesMap.unpinSnapshot();
+  }
+
+  /**
+   * Called while painting, before the data of the series is pinned, so that series can publish the
+   * data added since the last paint
+   */
+  protected void prepareForPaint() {}
+
+  /**
+   * Wraps a part of the painting which runs on another thread, so that it paints the series and the
+   * data pinned by the calling thread
+   *
+   * @param task
+   * @return the task to run on the other thread
+   */
+  Runnable withPinnedData(Runnable task) {
+
+    Map<String, S> series = seriesMap.snapshot();
+    Map<AxesChartSeries, DataSnapshot> data = new IdentityHashMap<>();
+    for (S s : series.values()) {
+      if (s instanceof AxesChartSeries) {
+        data.put((AxesChartSeries) s, ((AxesChartSeries) s).getDataSnapshot());
+      }
+    }
+    Thread paintingThread = Thread.currentThread();
+    return () -> {
+      // a pool may run the task on the painting thread while it waits, which keeps its pins
+      if (Thread.currentThread() == paintingThread) {
+        task.run();
+        return;
+      }
+      seriesMap.pinSnapshot(series);
+      data.forEach(AxesChartSeries::pinDataSnapshot);
+      try {
+        task.run();
+      } finally {
+        data.keySet().forEach(s -> s.pinDataSnapshot(null));
+        seriesMap.unpinSnapshot();
+      }
+    };
+  }
+
   protected void paintBackground(Graphics2D g) {
 
     // paint chart main background
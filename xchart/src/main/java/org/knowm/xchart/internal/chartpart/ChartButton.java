@@ -126,8 +126,8 @@ public class ChartButton extends MouseAdapter implements ChartPart {
     g.setFont(styler.getChartButtonFont());
 
     FontRenderContext frc = g.getFontRenderContext();
-    TextLayout tl = new TextLayout(text, styler.getChartButtonFont(), frc);
-    Shape shape = tl.getOutline(null);
+    TextLayout tl = TextLayoutCache.getTextLayout(text, styler.getChartButtonFont(), frc);
+    Shape shape = TextLayoutCache.getOutline(tl);
 
     Rectangle2D textBounds = shape.getBounds2D();
     calculatePosition(textBounds);
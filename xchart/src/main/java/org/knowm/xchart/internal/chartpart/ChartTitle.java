@@ -39,7 +39,7 @@ public class ChartTitle<ST extends Styler, S extends Series> implements ChartPar
     // create rectangle first for sizing
     FontRenderContext frc = g.getFontRenderContext();
     TextLayout textLayout =
-        new TextLayout(chart.getTitle(), chart.getStyler().getChartTitleFont(), frc);
+        TextLayoutCache.getTextLayout(chart.getTitle(), chart.getStyler().getChartTitleFont(), frc);
     Rectangle2D textBounds = textLayout.getBounds();
 
     double xOffset = chart.getPlot().getBounds().getX(); // of plot left edge
@@ -72,7 +72,7 @@ public class ChartTitle<ST extends Styler, S extends Series> implements ChartPar
             + chart.getStyler().getChartTitlePadding();
 
     g.setColor(chart.getStyler().getChartFontColor());
-    Shape shape = textLayout.getOutline(null);
+    Shape shape = TextLayoutCache.getOutline(textLayout);
     AffineTransform orig = g.getTransform();
     AffineTransform at = new AffineTransform();
     at.translate(xOffset, yOffset);
@@ -104,7 +104,7 @@ public class ChartTitle<ST extends Styler, S extends Series> implements ChartPar
     if (chart.getStyler().isChartTitleVisible() && chart.getTitle().length() > 0) {
 
       TextLayout textLayout =
-          new TextLayout(
+          TextLayoutCache.getTextLayout(
               chart.getTitle(),
               chart.getStyler().getChartTitleFont(),
               new FontRenderContext(null, true, false));
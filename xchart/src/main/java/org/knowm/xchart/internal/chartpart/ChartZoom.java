@@ -7,9 +7,11 @@ import java.awt.event.ActionListener;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.awt.geom.Rectangle2D;
+import java.util.Arrays;
 import org.knowm.xchart.XChartPanel;
 import org.knowm.xchart.XYChart;
 import org.knowm.xchart.XYSeries;
+import org.knowm.xchart.internal.series.AxesChartSeriesNumericalNoErrorBars.DataSnapshot;
 
 public class ChartZoom extends MouseAdapter implements ChartPart, ActionListener {
 
@@ -55,7 +57,8 @@ public class ChartZoom extends MouseAdapter implements ChartPart, ActionListener
 
   private void repaint() {
 
-    xChartPanel.invalidate();
+    // only repaints, the zoom may be handled on the render thread, which must not take the tree
+    // lock
     xChartPanel.repaint();
   }
 
@@ -159,8 +162,20 @@ public class ChartZoom extends MouseAdapter implements ChartPart, ActionListener
     boolean isOnePointSeleted = false;
     double[] xData = null;
     for (XYSeries series : xyChart.getSeriesMap().values()) {
-      xData = series.getXData();
-      for (double x : xData) {
+      DataSnapshot data = series.getDataSnapshot();
+      xData = data.getXDataBuffer();
+      int dataEnd = data.getDataOffset() + data.getDataLength();
+      if (data.isXDataSorted()) {
+        // the visible range is sorted too, so the first point not below minValue decides
+        int index = Arrays.binarySearch(xData, data.getDataOffset(), dataEnd, minValue);
+        index = index < 0 ? -index - 1 : index;
+        if (index < dataEnd && xData[index] <= maxValue) {
+          isOnePointSeleted = true;
+        }
+        continue;
+      }
+      for (int i = data.getDataOffset(); i < dataEnd; i++) {
+        double x = xData[i];
         if (x >= minValue && x <= maxValue) {
           isOnePointSeleted = true;
           break;
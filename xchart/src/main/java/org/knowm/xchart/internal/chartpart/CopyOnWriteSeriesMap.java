@@ -0,0 +1,110 @@
+package org.knowm.xchart.internal.chartpart;
+
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import org.knowm.xchart.internal.series.Series;
+
+/**
+ * The series map of a chart, which can be changed by one thread while another one paints the chart.
+ * Every change copies the map and publishes the copy with a single volatile write, so readers never
+ * lock and never see a map which is being changed. Its views are read-only snapshots.
+ *
+ * <p>While a chart is painted, the painting thread pins the current map, so all parts of the chart
+ * paint the same series even if series are added or removed in the meantime.
+ *
+ * @param <S> the type of the series
+ */
+public class CopyOnWriteSeriesMap<S extends Series> extends AbstractMap<String, S> {
+
+  private volatile Map<String, S> current = Collections.emptyMap();
+
+  private final ThreadLocal<Map<String, S>> pinned = new ThreadLocal<>();
+
+  /** Pins the current map for the calling thread, until {@link #unpinSnapshot()} is called */
+  void pinSnapshot() {
+
+    pinned.set(current);
+  }
+
+  /** Pins a map returned by {@link #snapshot()} for the calling thread */
+  void pinSnapshot(Map<String, S> snapshot) {
+
+    pinned.set(snapshot);
+  }
+
+  void unpinSnapshot() {
+
+    pinned.remove();
+  }
+
+  /**
+   * @return the map pinned by the calling thread, or else the current one
+   */
+  Map<String, S> snapshot() {
+
+    Map<String, S> map = pinned.get();
+    return map != null ? map : current;
+  }
+
+  @Override
+  public Set<Entry<String, S>> entrySet() {
+
+    return snapshot().entrySet();
+  }
+
+  @Override
+  public int size() {
+
+    return snapshot().size();
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+
+    return snapshot().containsKey(key);
+  }
+
+  @Override
+  public S get(Object key) {
+
+    return snapshot().get(key);
+  }
+
+  @Override
+  public synchronized S put(String key, S value) {
+
+    Map<String, S> copy = new LinkedHashMap<>(current);
+    S previous = copy.put(key, value);
+    current = Collections.unmodifiableMap(copy);
+    return previous;
+  }
+
+  @Override
+  public synchronized void putAll(Map<? extends String, ? extends S> map) {
+
+    Map<String, S> copy = new LinkedHashMap<>(current);
+    copy.putAll(map);
+    current = Collections.unmodifiableMap(copy);
+  }
+
+  @Override
+  public synchronized S remove(Object key) {
+
+    if (!current.containsKey(key)) {
+      return null;
+    }
+    Map<String, S> copy = new LinkedHashMap<>(current);
+    S previous = copy.remove(key);
+    current = Collections.unmodifiableMap(copy);
+    return previous;
+  }
+
+  @Override
+  public synchronized void clear() {
+
+    current = Collections.emptyMap();
+  }
+}
@@ -11,8 +11,9 @@ import java.awt.geom.AffineTransform;
 import java.awt.geom.Ellipse2D;
 import java.awt.geom.Line2D;
 import java.awt.geom.Rectangle2D;
+import java.text.Format;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import org.knowm.xchart.internal.series.MarkerSeries;
@@ -26,7 +27,12 @@ public class Cursor extends MouseAdapter implements ChartPart {
 
   private static final int MOUSE_SPACING = 15;
 
-  private final List<DataPoint> dataPointList = new ArrayList<>();
+  /** Points closer to the mouse than this horizontally are matched */
+  private static final double MATCHING_DISTANCE = 7.5;
+
+  // the painted points of each series, as of the last paint
+  private final List<SeriesData> seriesDataList = new ArrayList<>();
+  private SeriesData currentSeriesData;
   private final List<DataPoint> matchingDataPointList = new ArrayList<>();
 
   private final Chart chart;
@@ -52,9 +58,6 @@ public class Cursor extends MouseAdapter implements ChartPart {
     PlotContent_XY plotContent_xy = (PlotContent_XY) (chart.plot.plotContent);
     plotContent_xy.setCursor(this);
 
-    // clear lists
-    dataPointList.clear();
-
     this.seriesMap = chart.getSeriesMap();
   }
 
@@ -105,7 +108,7 @@ public class Cursor extends MouseAdapter implements ChartPart {
       DataPoint firstDataPoint = matchingDataPointList.get(0);
 
       TextLayout xValueTextLayout =
-          new TextLayout(
+          TextLayoutCache.getTextLayout(
               firstDataPoint.xValue,
               styler.getCursorFont(),
               new FontRenderContext(null, true, false));
@@ -141,7 +144,7 @@ public class Cursor extends MouseAdapter implements ChartPart {
     Rectangle2D dataPointRectangle = null;
     for (DataPoint dataPoint : matchingDataPointList) {
       dataPointTextLayout =
-          new TextLayout(
+          TextLayoutCache.getTextLayout(
               dataPoint.seriesName + ": " + dataPoint.yValue,
               styler.getCursorFont(),
               new FontRenderContext(null, true, false));
@@ -186,7 +189,7 @@ public class Cursor extends MouseAdapter implements ChartPart {
         startX + MOUSE_SPACING + LINE_SPACING, startY + textHeight + MOUSE_SPACING + LINE_SPACING);
     g.transform(at);
     g.setColor(styler.getCursorFontColor());
-    g.fill(xValueTextLayout.getOutline(null));
+    g.fill(TextLayoutCache.getOutline(xValueTextLayout));
 
     MarkerSeries series = null;
     TextLayout dataPointTextLayout = null;
@@ -208,11 +211,11 @@ public class Cursor extends MouseAdapter implements ChartPart {
       g.transform(at);
       g.setColor(styler.getCursorFontColor());
       dataPointTextLayout =
-          new TextLayout(
+          TextLayoutCache.getTextLayout(
               dataPoint.seriesName + ": " + dataPoint.yValue,
               styler.getCursorFont(),
               new FontRenderContext(null, true, false));
-      g.fill(dataPointTextLayout.getOutline(null));
+      g.fill(TextLayoutCache.getOutline(dataPointTextLayout));
 
       at = new AffineTransform();
       at.translate(-textHeight - LINE_SPACING, 0);
@@ -221,67 +224,164 @@ public class Cursor extends MouseAdapter implements ChartPart {
     g.setTransform(orig);
   }
 
-  void addData(double xOffset, double yOffset, String xValue, String yValue, String seriesName) {
+  /** Drops the points of the last paint */
+  void clearData() {
+
+    seriesDataList.clear();
+    currentSeriesData = null;
+  }
+
+  /**
+   * Starts collecting the points of a series
+   *
+   * @param seriesName
+   * @param xFormat formats the x values of the series
+   * @param yFormat formats the y values of the series
+   * @param expectedSize the number of points which will be added
+   */
+  void startSeries(String seriesName, Format xFormat, Format yFormat, int expectedSize) {
+
+    currentSeriesData = new SeriesData(seriesName, xFormat, yFormat, expectedSize);
+    seriesDataList.add(currentSeriesData);
+  }
+
+  /**
+   * Adds a painted point to the current series
+   *
+   * @param xOffset the screen x coordinate of the point
+   * @param xValue
+   * @param yValue
+   */
+  void addData(double xOffset, double xValue, double yValue) {
 
-    DataPoint dataPoint = new DataPoint(xOffset, yOffset, xValue, yValue, seriesName);
-    dataPointList.add(dataPoint);
+    currentSeriesData.add(xOffset, xValue, yValue);
   }
 
   /** One DataPoint per series, keep the DataPoint closest to mouseX */
-  private void calculateMatchingDataPoints() {
+  void calculateMatchingDataPoints() {
+
+    Rectangle2D plotBounds = chart.plot.plotContent.getBounds();
+    if (plotBounds.getY() >= mouseY || plotBounds.getY() + plotBounds.getHeight() <= mouseY) {
+      return;
+    }
 
     List<DataPoint> dataPoints = new ArrayList<>();
-    for (DataPoint dataPoint : dataPointList) {
-      if (dataPoint.shape.contains(mouseX, dataPoint.shape.getBounds().getCenterY())
-          && chart.plot.plotContent.getBounds().getY() < mouseY
-          && chart.plot.plotContent.getBounds().getY()
-                  + chart.plot.plotContent.getBounds().getHeight()
-              > mouseY) {
-        dataPoints.add(dataPoint);
+    for (SeriesData seriesData : seriesDataList) {
+      int index = seriesData.findClosest(mouseX);
+      if (index >= 0) {
+        dataPoints.add(seriesData.getDataPoint(index));
       }
     }
 
     if (dataPoints.size() > 0) {
-      Map<String, DataPoint> map = new HashMap<>();
-      String seriesName = "";
-      for (DataPoint dataPoint : dataPoints) {
-        seriesName = dataPoint.seriesName;
-        if (map.containsKey(seriesName)) {
-          if (Math.abs(dataPoint.x - mouseX) < Math.abs(map.get(seriesName).x - mouseX)) {
-            map.put(seriesName, dataPoint);
+      matchingDataPointList.clear();
+      matchingDataPointList.addAll(dataPoints);
+    }
+  }
+
+  /**
+   * The screen x coordinates and values of the painted points of a series, in painting order. The
+   * values are only formatted for the points the cursor is on.
+   */
+  static class SeriesData {
+
+    final String seriesName;
+    final Format xFormat;
+    final Format yFormat;
+    double[] screenX;
+    double[] xValues;
+    double[] yValues;
+    int size;
+    // the screen x coordinates are in ascending order, which allows a binary search
+    boolean isSorted = true;
+
+    SeriesData(String seriesName, Format xFormat, Format yFormat, int expectedSize) {
+
+      this.seriesName = seriesName;
+      this.xFormat = xFormat;
+      this.yFormat = yFormat;
+      int capacity = Math.max(expectedSize, 16);
+      this.screenX = new double[capacity];
+      this.xValues = new double[capacity];
+      this.yValues = new double[capacity];
+    }
+
+    void add(double xOffset, double xValue, double yValue) {
+
+      if (size == screenX.length) {
+        screenX = Arrays.copyOf(screenX, 2 * size);
+        xValues = Arrays.copyOf(xValues, 2 * size);
+        yValues = Arrays.copyOf(yValues, 2 * size);
+      }
+      // NaN compares false, so it ends the binary search
+      if (size > 0 && !(xOffset >= screenX[size - 1])) {
+        isSorted = false;
+      }
+      screenX[size] = xOffset;
+      xValues[size] = xValue;
+      yValues[size] = yValue;
+      size++;
+    }
+
+    /**
+     * @return the index of the point horizontally closest to the mouse within MATCHING_DISTANCE,
+     *     the first one if several are equally close, or -1
+     */
+    int findClosest(double mouseX) {
+
+      int closest = -1;
+      double closestDistance = MATCHING_DISTANCE;
+      if (isSorted) {
+        int index = Arrays.binarySearch(screenX, 0, size, mouseX);
+        if (index < 0) {
+          index = -index - 1;
+        }
+        // the first of equal coordinates left of the mouse, and the first right of it
+        int left = index - 1;
+        while (left > 0 && screenX[left - 1] == screenX[left]) {
+          left--;
+        }
+        int right = index;
+        while (right > 0 && right < size && screenX[right - 1] == screenX[right]) {
+          right--;
+        }
+        for (int i : new int[] {left, right}) {
+          if (i >= 0 && i < size && Math.abs(screenX[i] - mouseX) < closestDistance) {
+            closest = i;
+            closestDistance = Math.abs(screenX[i] - mouseX);
           }
-        } else {
-          map.put(seriesName, dataPoint);
         }
+        return closest;
       }
-      matchingDataPointList.clear();
-      matchingDataPointList.addAll(map.values());
+      for (int i = 0; i < size; i++) {
+        if (Math.abs(screenX[i] - mouseX) < closestDistance) {
+          closest = i;
+          closestDistance = Math.abs(screenX[i] - mouseX);
+        }
+      }
+      return closest;
+    }
+
+    DataPoint getDataPoint(int index) {
+
+      return new DataPoint(
+          screenX[index],
+          xFormat.format(xValues[index]),
+          yFormat.format(yValues[index]),
+          seriesName);
     }
   }
 
   private static class DataPoint {
 
-    // edge detection
-    private static final int MARGIN = 5;
-
-    // Used to determine the point that the mouse has passed vertically
-    final Shape shape;
     final double x;
-    final double y;
     final String xValue;
     final String yValue;
     final String seriesName;
 
-    public DataPoint(double x, double y, String xValue, String yValue, String seriesName) {
-
-      double halfSize = MARGIN * 1.5;
-      double markerSize = MARGIN * 3;
+    public DataPoint(double x, String xValue, String yValue, String seriesName) {
 
       this.x = x;
-      this.y = y;
-      this.shape =
-          new Ellipse2D.Double(this.x - halfSize, this.y - halfSize, markerSize, markerSize);
-
       this.xValue = xValue;
       this.yValue = yValue;
       this.seriesName = seriesName;
@@ -0,0 +1,454 @@
+package org.knowm.xchart.internal.chartpart;
+
+import java.text.FieldPosition;
+import java.text.Format;
+import java.text.ParsePosition;
+import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.time.chrono.Chronology;
+import java.time.chrono.IsoChronology;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DecimalStyle;
+import java.time.format.SignStyle;
+import java.time.format.TextStyle;
+import java.time.temporal.ChronoField;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.Temporal;
+import java.time.temporal.TemporalAccessor;
+import java.time.temporal.TemporalField;
+import java.time.temporal.TemporalUnit;
+import java.time.temporal.ValueRange;
+import java.time.temporal.WeekFields;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Formats epoch milliseconds like a SimpleDateFormat with the same pattern, locale and time zone,
+ * but with an immutable DateTimeFormatter, so one instance can be shared by all axes and threads.
+ * Names, the calendar system and digits are taken from the locale's Calendar, as SimpleDateFormat
+ * does. The most recently used instances are cached per pattern, locale and time zone, and remember
+ * the labels of the last formatted epochs, as the same ticks are labeled again and again while a
+ * chart is panned, zoomed or updated. Week numbers of a calendar other than the Gregorian one are
+ * formatted by a SimpleDateFormat, as e.g. the Japanese calendar starts counting them again with
+ * each era.
+ */
+class Formatter_Date extends Format {
+
+  private static final long serialVersionUID = 1L;
+
+  /** the bit of a Calendar style which selects the stand-alone form */
+  private static final int STANDALONE_MASK = Calendar.SHORT_STANDALONE & ~Calendar.SHORT_FORMAT;
+
+  /** the number of labels remembered, the memo is cleared when it grows beyond */
+  private static final int MAX_MEMO_SIZE = 4096;
+
+  /** the number of formatters kept, the least recently used one is dropped beyond */
+  private static final int MAX_INSTANCES = 256;
+
+  private static final Map<List<Object>, Formatter_Date> INSTANCES =
+      new LinkedHashMap<List<Object>, Formatter_Date>(16, 0.75f, true) {
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<List<Object>, Formatter_Date> eldest) {
+
+          return size() > MAX_INSTANCES;
+        }
+      };
+
+  /** the formatter, or null if the SimpleDateFormat is used */
+  private final DateTimeFormatter formatter;
+
+  /** the SimpleDateFormat for what the formatter cannot do, used by one thread at a time */
+  private final SimpleDateFormat simpleDateFormat;
+
+  private final Map<Long, String> memo = new ConcurrentHashMap<>();
+
+  /**
+   * Gets the shared formatter for a SimpleDateFormat pattern
+   *
+   * @param pattern
+   * @param locale
+   * @param timeZone
+   * @return the formatter
+   */
+  static Formatter_Date getInstance(String pattern, Locale locale, TimeZone timeZone) {
+
+    List<Object> key = Arrays.asList(pattern, locale, timeZone.toZoneId());
+    Formatter_Date instance;
+    synchronized (INSTANCES) {
+      instance = INSTANCES.get(key);
+    }
+    if (instance == null) {
+      // built outside of the lock, so an illegal pattern throws without being cached
+      instance = new Formatter_Date(pattern, locale, timeZone);
+      synchronized (INSTANCES) {
+        Formatter_Date previous = INSTANCES.putIfAbsent(key, instance);
+        if (previous != null) {
+          instance = previous;
+        }
+      }
+    }
+    return instance;
+  }
+
+  /** Constructor */
+  private Formatter_Date(String pattern, Locale locale, TimeZone timeZone) {
+
+    // the calendar system and digits of the locale, like SimpleDateFormat
+    Calendar calendar = Calendar.getInstance(timeZone, locale);
+    boolean isGregorian = "gregory".equals(calendar.getCalendarType());
+    String fieldLetters = getFieldLetters(pattern);
+    if (!isGregorian && (fieldLetters.indexOf('w') >= 0 || fieldLetters.indexOf('W') >= 0)) {
+      this.formatter = null;
+      this.simpleDateFormat = new SimpleDateFormat(pattern, locale);
+      this.simpleDateFormat.setTimeZone(timeZone);
+      return;
+    }
+    this.simpleDateFormat = null;
+    Chronology chronology =
+        isGregorian ? IsoChronology.INSTANCE : Chronology.of(calendar.getCalendarType());
+    this.formatter =
+        toFormatter(pattern, locale, calendar)
+            .withChronology(chronology)
+            .withDecimalStyle(DecimalStyle.of(locale))
+            .withZone(timeZone.toZoneId());
+  }
+
+  @Override
+  public StringBuffer format(Object obj, StringBuffer toAppendTo, FieldPosition pos) {
+
+    long epochMilli;
+    if (obj instanceof Date) {
+      epochMilli = ((Date) obj).getTime();
+    } else if (obj instanceof Number) {
+      epochMilli = ((Number) obj).longValue();
+    } else {
+      throw new IllegalArgumentException("Cannot format given Object as a Date");
+    }
+    return toAppendTo.append(format(epochMilli));
+  }
+
+  /**
+   * Formats epoch milliseconds
+   *
+   * @param epochMilli
+   * @return the label
+   */
+  String format(long epochMilli) {
+
+    String label = memo.get(epochMilli);
+    if (label == null) {
+      if (formatter != null) {
+        label = formatter.format(Instant.ofEpochMilli(epochMilli));
+      } else {
+        synchronized (simpleDateFormat) {
+          label = simpleDateFormat.format(new Date(epochMilli));
+        }
+      }
+      if (memo.size() >= MAX_MEMO_SIZE) {
+        memo.clear();
+      }
+      memo.put(epochMilli, label);
+    }
+    return label;
+  }
+
+  @Override
+  public Object parseObject(String source, ParsePosition pos) {
+
+    return null;
+  }
+
+  /**
+   * Translates a SimpleDateFormat pattern, as the same letters do not always mean the same in a
+   * DateTimeFormatter pattern, e.g. S are milliseconds rather than a fraction of a second.
+   */
+  private static DateTimeFormatter toFormatter(String pattern, Locale locale, Calendar calendar) {
+
+    boolean isGregorian = "gregory".equals(calendar.getCalendarType());
+    DateTimeFormatterBuilder builder = new DateTimeFormatterBuilder();
+    WeekFields weekFields = WeekFields.of(locale);
+    // a month on its own is named in the stand-alone form, like L, otherwise in the format form
+    boolean isMonthOnly = getFieldLetters(pattern).equals("M");
+    int i = 0;
+    while (i < pattern.length()) {
+      char c = pattern.charAt(i);
+      if (c == '\'') {
+        // two quotes are a quote, otherwise quoted text, in which two quotes are a quote too
+        StringBuilder text = new StringBuilder();
+        if (i + 1 < pattern.length() && pattern.charAt(i + 1) == '\'') {
+          text.append('\'');
+          i += 2;
+        } else {
+          i++;
+          while (true) {
+            if (i == pattern.length()) {
+              throw new IllegalArgumentException("Unterminated quote");
+            }
+            char quoted = pattern.charAt(i++);
+            if (quoted == '\'') {
+              if (i < pattern.length() && pattern.charAt(i) == '\'') {
+                i++;
+              } else {
+                break;
+              }
+            }
+            text.append(quoted);
+          }
+        }
+        builder.appendLiteral(text.toString());
+        continue;
+      }
+      if (!(c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z')) {
+        builder.appendLiteral(c);
+        i++;
+        continue;
+      }
+      int count = 1;
+      while (i + count < pattern.length() && pattern.charAt(i + count) == c) {
+        count++;
+      }
+      i += count;
+      switch (c) {
+        case 'G':
+          int eraStyle = count < 4 ? Calendar.SHORT : Calendar.LONG;
+          if (!isGregorian) {
+            // the eras of other calendars are numbered differently, but named the same
+            builder.appendText(
+                ChronoField.ERA, eraStyle == Calendar.SHORT ? TextStyle.SHORT : TextStyle.FULL);
+            break;
+          }
+          // the era names of SimpleDateFormat, which differ from java.time's in some locales
+          Map<Long, String> eraNames = new HashMap<>();
+          for (Map.Entry<String, Integer> era :
+              calendar.getDisplayNames(Calendar.ERA, eraStyle, locale).entrySet()) {
+            eraNames.put((long) era.getValue(), era.getKey());
+          }
+          builder.appendText(ChronoField.ERA, eraNames);
+          break;
+        case 'y':
+          appendYear(builder, ChronoField.YEAR_OF_ERA, count, calendar, locale);
+          break;
+        case 'Y':
+          // calendars without week dates use the year instead
+          appendYear(
+              builder,
+              calendar.isWeekDateSupported() ? weekFields.weekBasedYear() : ChronoField.YEAR_OF_ERA,
+              count,
+              calendar,
+              locale);
+          break;
+        case 'M':
+        case 'L':
+          if (count >= 3) {
+            // the month names of SimpleDateFormat, which differ from java.time's in some locales
+            int style = count == 3 ? Calendar.SHORT_FORMAT : Calendar.LONG_FORMAT;
+            boolean isStandalone = c == 'L' || isMonthOnly;
+            Map<String, Integer> names =
+                calendar.getDisplayNames(
+                    Calendar.MONTH, isStandalone ? style | STANDALONE_MASK : style, locale);
+            if (names == null || names.isEmpty()) {
+              names = calendar.getDisplayNames(Calendar.MONTH, style, locale);
+            }
+            Map<Long, String> monthNames = new HashMap<>();
+            for (Map.Entry<String, Integer> month : names.entrySet()) {
+              monthNames.putIfAbsent(month.getValue() + 1L, month.getKey());
+            }
+            builder.appendText(ChronoField.MONTH_OF_YEAR, monthNames);
+          } else {
+            appendNumber(builder, ChronoField.MONTH_OF_YEAR, count);
+          }
+          break;
+        case 'w':
+          appendNumber(builder, weekFields.weekOfWeekBasedYear(), count);
+          break;
+        case 'W':
+          appendNumber(builder, weekFields.weekOfMonth(), count);
+          break;
+        case 'D':
+          appendNumber(builder, ChronoField.DAY_OF_YEAR, count);
+          break;
+        case 'd':
+          appendNumber(builder, ChronoField.DAY_OF_MONTH, count);
+          break;
+        case 'F':
+          appendNumber(builder, DayOfWeekInMonth.INSTANCE, count);
+          break;
+        case 'E':
+          builder.appendText(ChronoField.DAY_OF_WEEK, count < 4 ? TextStyle.SHORT : TextStyle.FULL);
+          break;
+        case 'u':
+          appendNumber(builder, ChronoField.DAY_OF_WEEK, count);
+          break;
+        case 'a':
+          builder.appendText(ChronoField.AMPM_OF_DAY, TextStyle.SHORT);
+          break;
+        case 'H':
+          appendNumber(builder, ChronoField.HOUR_OF_DAY, count);
+          break;
+        case 'k':
+          appendNumber(builder, ChronoField.CLOCK_HOUR_OF_DAY, count);
+          break;
+        case 'K':
+          appendNumber(builder, ChronoField.HOUR_OF_AMPM, count);
+          break;
+        case 'h':
+          appendNumber(builder, ChronoField.CLOCK_HOUR_OF_AMPM, count);
+          break;
+        case 'm':
+          appendNumber(builder, ChronoField.MINUTE_OF_HOUR, count);
+          break;
+        case 's':
+          appendNumber(builder, ChronoField.SECOND_OF_MINUTE, count);
+          break;
+        case 'S':
+          // milliseconds, not a fraction of a second
+          appendNumber(builder, ChronoField.MILLI_OF_SECOND, count);
+          break;
+        case 'z':
+          builder.appendZoneText(count < 4 ? TextStyle.SHORT : TextStyle.FULL);
+          break;
+        case 'Z':
+          builder.appendOffset("+HHMM", "+0000");
+          break;
+        case 'X':
+          if (count > 3) {
+            throw new IllegalArgumentException("invalid ISO 8601 format: length=" + count);
+          }
+          builder.appendOffset(count == 1 ? "+HH" : count == 2 ? "+HHMM" : "+HH:MM", "Z");
+          break;
+        default:
+          throw new IllegalArgumentException("Illegal pattern character '" + c + "'");
+      }
+    }
+    return builder.toFormatter(locale);
+  }
+
+  /**
+   * Two letters are the last two digits, others the full year padded to their count. The Japanese
+   * calendar does not pad years of four letters or more, and may name the first year of an era.
+   */
+  private static void appendYear(
+      DateTimeFormatterBuilder builder,
+      TemporalField field,
+      int count,
+      Calendar calendar,
+      Locale locale) {
+
+    if (count == 2) {
+      builder.appendValueReduced(field, 2, 2, 2000);
+    } else if (count >= 4 && "japanese".equals(calendar.getCalendarType())) {
+      Calendar firstYear = (Calendar) calendar.clone();
+      firstYear.setTimeInMillis(System.currentTimeMillis());
+      firstYear.set(Calendar.YEAR, 1);
+      String name = firstYear.getDisplayName(Calendar.YEAR, Calendar.LONG, locale);
+      // other years are not found in the map and are printed as numbers
+      builder.appendText(field, Collections.singletonMap(1L, name == null ? "1" : name));
+    } else {
+      appendNumber(builder, field, count);
+    }
+  }
+
+  /** The letter of each field of a pattern, skipping quoted text */
+  private static String getFieldLetters(String pattern) {
+
+    StringBuilder letters = new StringBuilder();
+    boolean isQuoted = false;
+    char previous = 0;
+    for (int i = 0; i < pattern.length(); i++) {
+      char c = pattern.charAt(i);
+      if (c == '\'') {
+        isQuoted = !isQuoted;
+      } else if (!isQuoted && (c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z') && c != previous) {
+        letters.append(c);
+      }
+      previous = isQuoted ? 0 : c;
+    }
+    return letters.toString();
+  }
+
+  /** A number padded with zeros to the count of letters */
+  private static void appendNumber(
+      DateTimeFormatterBuilder builder, TemporalField field, int count) {
+
+    builder.appendValue(field, count, Math.max(count, 19), SignStyle.NORMAL);
+  }
+
+  /**
+   * The occurrence of the day of the week in its month, 1 for days 1 to 7. Equal to the aligned
+   * week of the month, which the Japanese calendar does not support.
+   */
+  private enum DayOfWeekInMonth implements TemporalField {
+    INSTANCE;
+
+    @Override
+    public TemporalUnit getBaseUnit() {
+
+      return ChronoUnit.WEEKS;
+    }
+
+    @Override
+    public TemporalUnit getRangeUnit() {
+
+      return ChronoUnit.MONTHS;
+    }
+
+    @Override
+    public ValueRange range() {
+
+      return ValueRange.of(1, 4, 5);
+    }
+
+    @Override
+    public boolean isDateBased() {
+
+      return true;
+    }
+
+    @Override
+    public boolean isTimeBased() {
+
+      return false;
+    }
+
+    @Override
+    public boolean isSupportedBy(TemporalAccessor temporal) {
+
+      return temporal.isSupported(ChronoField.DAY_OF_MONTH);
+    }
+
+    @Override
+    public ValueRange rangeRefinedBy(TemporalAccessor temporal) {
+
+      return range();
+    }
+
+    @Override
+    public long getFrom(TemporalAccessor temporal) {
+
+      return (temporal.get(ChronoField.DAY_OF_MONTH) - 1) / 7 + 1;
+    }
+
+    @Override
+    public <R extends Temporal> R adjustInto(R temporal, long newValue) {
+
+      throw new UnsupportedOperationException("Formatting only");
+    }
+
+    @Override
+    public String toString() {
+
+      return "DayOfWeekInMonth";
+    }
+  }
+}
@@ -295,9 +295,9 @@ public abstract class Legend_<ST extends Styler, S extends Series> implements Ch
         new LinkedHashMap<String, Rectangle2D>(lines.length);
     for (String line : lines) {
       TextLayout textLayout =
-          new TextLayout(
+          TextLayoutCache.getTextLayout(
               line, chart.getStyler().getLegendFont(), new FontRenderContext(null, true, false));
-      Shape shape = textLayout.getOutline(null);
+      Shape shape = TextLayoutCache.getOutline(textLayout);
       Rectangle2D bounds = shape.getBounds2D();
       // System.out.println(tl.getAscent());
       // System.out.println(tl.getDescent());
@@ -352,8 +352,9 @@ public abstract class Legend_<ST extends Styler, S extends Series> implements Ch
       double centerOffsetY = (Math.max(markerSize, height) - height) / 2.0;
 
       FontRenderContext frc = g.getFontRenderContext();
-      TextLayout tl = new TextLayout(entry.getKey(), chart.getStyler().getLegendFont(), frc);
-      Shape shape = tl.getOutline(null);
+      TextLayout tl =
+          TextLayoutCache.getTextLayout(entry.getKey(), chart.getStyler().getLegendFont(), frc);
+      Shape shape = TextLayoutCache.getOutline(tl);
       AffineTransform orig = g.getTransform();
       AffineTransform at = new AffineTransform();
       at.translate(x, starty + height + centerOffsetY + multiLineOffset);
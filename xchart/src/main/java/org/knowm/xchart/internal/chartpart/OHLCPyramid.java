@@ -0,0 +1,645 @@
+package org.knowm.xchart.internal.chartpart;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Merges the candles of an OHLC series into time buckets, so that a series with many more candles
+ * than the plot is wide can be painted with a readable number of candles. A bucket opens with its
+ * first candle, closes with its last, spans the highest high and the lowest low, and sums the
+ * volumes.
+ *
+ * <p>The buckets form a pyramid: each level's buckets are BUCKET_FACTOR times as wide as the ones
+ * below, and are merged from them rather than from the raw candles. Levels are built when first
+ * needed and kept until the data changes, so zooming and panning only search the level which fits
+ * the visible range, and only the buckets on screen are painted.
+ *
+ * <p>The candles of streaming series are numbered, and a candle never changes once a later one is
+ * added. For those, the pyramid is extended when the data changes: only the buckets holding
+ * dropped, changed or new candles are merged again. This changes the levels in place, so a level
+ * returned by select() is only valid until the next extension.
+ */
+final class OHLCPyramid {
+
+  /** how many buckets of one level are merged into a bucket of the next level */
+  static final int BUCKET_FACTOR = 4;
+
+  private double[] xData;
+  private double[] openData;
+  private double[] highData;
+  private double[] lowData;
+  private double[] closeData;
+  private long[] volumeData;
+
+  /** the sequence number of the first candle, or -1 if the candles are not numbered */
+  private long firstSequence;
+
+  /** the number of candles the pyramid was built from, which sets the width of the buckets */
+  private final int builtLength;
+
+  /** the start of the first bucket on every level */
+  private final double origin;
+
+  /** the width of the buckets of level 1, level 0 are the candles themselves */
+  private final double baseWidth;
+
+  /** the aggregated levels, starting with level 1 */
+  private final List<Buckets> levels = new ArrayList<>();
+
+  /**
+   * Constructor, the x data has to be sorted in ascending order
+   *
+   * @param xData
+   * @param openData
+   * @param highData
+   * @param lowData
+   * @param closeData
+   * @param volumeData may be null
+   */
+  OHLCPyramid(
+      double[] xData,
+      double[] openData,
+      double[] highData,
+      double[] lowData,
+      double[] closeData,
+      long[] volumeData) {
+
+    this(-1, xData, openData, highData, lowData, closeData, volumeData);
+  }
+
+  /**
+   * Constructor, the x data has to be sorted in ascending order
+   *
+   * @param firstSequence the sequence number of the first candle, or -1 if they are not numbered
+   * @param xData
+   * @param openData
+   * @param highData
+   * @param lowData
+   * @param closeData
+   * @param volumeData may be null
+   */
+  OHLCPyramid(
+      long firstSequence,
+      double[] xData,
+      double[] openData,
+      double[] highData,
+      double[] lowData,
+      double[] closeData,
+      long[] volumeData) {
+
+    this.firstSequence = firstSequence;
+    this.xData = xData;
+    this.openData = openData;
+    this.highData = highData;
+    this.lowData = lowData;
+    this.closeData = closeData;
+    this.volumeData = volumeData;
+    this.builtLength = xData.length;
+    this.origin = xData[0];
+    // the average distance between candles, so gaps like weekends do not shrink the buckets
+    double averageWidth = (xData[xData.length - 1] - xData[0]) / (xData.length - 1);
+    this.baseWidth = BUCKET_FACTOR * averageWidth;
+  }
+
+  /**
+   * Can the candles be aggregated at all?
+   *
+   * @param xData
+   * @return true if there are at least two candles, in ascending order, spread over a range
+   */
+  static boolean canAggregate(double[] xData) {
+
+    if (xData.length < 2 || !(xData[xData.length - 1] > xData[0])) {
+      return false;
+    }
+    for (int i = 1; i < xData.length; i++) {
+      // also fails for NaN
+      if (!(xData[i] >= xData[i - 1])) {
+        return false;
+      }
+    }
+    return !Double.isInfinite(xData[xData.length - 1] - xData[0]);
+  }
+
+  /**
+   * Extends the pyramid to the next candles of a streaming series, whose candles are numbered. The
+   * candles may have dropped out at the start, the last one may have changed, and new ones may
+   * follow it.
+   *
+   * @param firstSequence the sequence number of the first candle
+   * @param xData
+   * @param openData
+   * @param highData
+   * @param lowData
+   * @param closeData
+   * @param volumeData may be null
+   * @return true if the pyramid was extended, false if the candles do not continue the ones of the
+   *     pyramid and a new one has to be built
+   */
+  boolean extend(
+      long firstSequence,
+      double[] xData,
+      double[] openData,
+      double[] highData,
+      double[] lowData,
+      double[] closeData,
+      long[] volumeData) {
+
+    long end = this.firstSequence + this.xData.length;
+    // the candles before the last one of the pyramid are the same
+    long kept = end - 1 - firstSequence;
+    if (this.firstSequence < 0
+        || firstSequence < this.firstSequence
+        || kept < 1
+        // while the series fills up, the buckets are fitted to the candles once they doubled
+        || xData.length > 2 * builtLength
+        || firstSequence + xData.length < end
+        || (volumeData == null) != (this.volumeData == null)
+        || !isSortedFrom(xData, (int) kept)) {
+      return false;
+    }
+    boolean isDropped = firstSequence > this.firstSequence;
+    this.firstSequence = firstSequence;
+    this.xData = xData;
+    this.openData = openData;
+    this.highData = highData;
+    this.lowData = lowData;
+    this.closeData = closeData;
+    this.volumeData = volumeData;
+
+    long firstBucket = getBaseBucket(0);
+    long changedBucket = getBaseBucket((int) kept);
+    for (int i = 0; i < levels.size(); i++) {
+      Buckets level = levels.get(i);
+      Buckets finer = i == 0 ? null : levels.get(i - 1);
+      if (isDropped) {
+        level.dropBefore(firstBucket);
+        mergeFirst(level, finer, firstBucket);
+      }
+      level.dropFrom(changedBucket);
+      mergeFrom(level, finer, changedBucket);
+      firstBucket = Math.floorDiv(firstBucket, BUCKET_FACTOR);
+      changedBucket = Math.floorDiv(changedBucket, BUCKET_FACTOR);
+    }
+    return true;
+  }
+
+  /**
+   * Finds the finest level which has at most maxCandles candles between xMin and xMax
+   *
+   * @param xMin the start of the visible range
+   * @param xMax the end of the visible range
+   * @param maxCandles
+   * @return the level, with the range of candles from just before xMin to just after xMax
+   */
+  Level select(double xMin, double xMax, int maxCandles) {
+
+    int from = Math.max(0, firstIndexGreaterThan(xData, xMin, false) - 1);
+    int to = Math.min(xData.length, firstIndexGreaterThan(xData, xMax, true) + 1);
+    if (to - from <= maxCandles) {
+      return new Level(0, xData, openData, highData, lowData, closeData, volumeData, from, to);
+    }
+
+    double width = baseWidth;
+    for (int i = 0; ; i++) {
+      if (i == levels.size()) {
+        levels.add(i == 0 ? aggregateCandles() : aggregate(levels.get(i - 1)));
+      }
+      Buckets level = levels.get(i);
+      long minBucket = (long) Math.floor((xMin - origin) / width);
+      long maxBucket = (long) Math.floor((xMax - origin) / width);
+      from = Math.max(level.start, level.firstIndexGreaterThan(minBucket - 1) - 1);
+      to = Math.min(level.end, level.firstIndexGreaterThan(maxBucket) + 1);
+      if (to - from <= maxCandles || level.end - level.start <= 1) {
+        return level.range(from, to);
+      }
+      width *= BUCKET_FACTOR;
+    }
+  }
+
+  /** Builds level 1 from the candles */
+  private Buckets aggregateCandles() {
+
+    Buckets level = new Buckets(baseWidth, xData.length / BUCKET_FACTOR, volumeData != null);
+    mergeCandles(level, 0);
+    return level;
+  }
+
+  /** Builds the next level from a level, the buckets nest so no bucket is split */
+  private Buckets aggregate(Buckets finer) {
+
+    Buckets level =
+        new Buckets(
+            finer.width * BUCKET_FACTOR,
+            (finer.end - finer.start) / BUCKET_FACTOR,
+            finer.volume != null);
+    mergeBuckets(level, finer, finer.start);
+    return level;
+  }
+
+  /** Merges the candles from an index on into the level 1 buckets */
+  private void mergeCandles(Buckets level, int from) {
+
+    for (int i = from; i < xData.length; i++) {
+      // candles without a close are not painted and not merged either
+      if (Double.isNaN(closeData[i])) {
+        continue;
+      }
+      level.merge(
+          getBaseBucket(i),
+          openData[i],
+          highData[i],
+          lowData[i],
+          closeData[i],
+          volumeData == null ? 0 : volumeData[i]);
+    }
+  }
+
+  /** Merges the buckets of a level from an index on into the next level */
+  private static void mergeBuckets(Buckets level, Buckets finer, int from) {
+
+    for (int i = from; i < finer.end; i++) {
+      level.merge(
+          Math.floorDiv(finer.buckets[i], BUCKET_FACTOR),
+          finer.open[i],
+          finer.high[i],
+          finer.low[i],
+          finer.close[i],
+          finer.volume == null ? 0 : finer.volume[i]);
+    }
+  }
+
+  /**
+   * Merges the first bucket of a level again, after candles dropped out of it
+   *
+   * @param level
+   * @param finer the level below, null for the candles
+   * @param bucket the first bucket
+   */
+  private void mergeFirst(Buckets level, Buckets finer, long bucket) {
+
+    if (level.end > level.start && level.buckets[level.start] == bucket) {
+      level.start++;
+    }
+    Buckets first = new Buckets(level.width, 1, level.volume != null);
+    if (finer == null) {
+      for (int i = 0; i < xData.length && getBaseBucket(i) == bucket; i++) {
+        if (!Double.isNaN(closeData[i])) {
+          first.merge(
+              bucket,
+              openData[i],
+              highData[i],
+              lowData[i],
+              closeData[i],
+              volumeData == null ? 0 : volumeData[i]);
+        }
+      }
+    } else {
+      for (int i = finer.start;
+          i < finer.end && Math.floorDiv(finer.buckets[i], BUCKET_FACTOR) == bucket;
+          i++) {
+        first.merge(
+            bucket,
+            finer.open[i],
+            finer.high[i],
+            finer.low[i],
+            finer.close[i],
+            finer.volume == null ? 0 : finer.volume[i]);
+      }
+    }
+    if (first.end > 0) {
+      level.prepend(first);
+    }
+  }
+
+  /**
+   * Merges the buckets of a level from a bucket on again, after candles changed or were added
+   *
+   * @param level
+   * @param finer the level below, null for the candles
+   * @param bucket the first bucket to merge
+   */
+  private void mergeFrom(Buckets level, Buckets finer, long bucket) {
+
+    if (finer == null) {
+      int from = xData.length;
+      while (from > 0 && getBaseBucket(from - 1) >= bucket) {
+        from--;
+      }
+      mergeCandles(level, from);
+    } else {
+      int from = finer.end;
+      while (from > finer.start
+          && Math.floorDiv(finer.buckets[from - 1], BUCKET_FACTOR) >= bucket) {
+        from--;
+      }
+      mergeBuckets(level, finer, from);
+    }
+  }
+
+  /** The level 1 bucket of a candle */
+  private long getBaseBucket(int index) {
+
+    return (long) Math.floor((xData[index] - origin) / baseWidth);
+  }
+
+  /** Is the data sorted in ascending order from an index on, free of NaN and infinite values? */
+  private static boolean isSortedFrom(double[] data, int from) {
+
+    for (int i = from; i < data.length; i++) {
+      // also fails for NaN
+      if (!(data[i] >= data[i - 1]) || Double.isInfinite(data[i])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /** Binary search in sorted data */
+  private static int firstIndexGreaterThan(double[] data, double value, boolean orEqual) {
+
+    int low = 0;
+    int high = data.length;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (orEqual ? data[mid] <= value : data[mid] < value) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  /** The candles of one level, of which the range from getFrom() to getTo() is visible */
+  static final class Level {
+
+    private final double width;
+    private final double[] x;
+    private final double[] open;
+    private final double[] high;
+    private final double[] low;
+    private final double[] close;
+    private final long[] volume;
+    private final int from;
+    private final int to;
+
+    private Level(
+        double width,
+        double[] x,
+        double[] open,
+        double[] high,
+        double[] low,
+        double[] close,
+        long[] volume,
+        int from,
+        int to) {
+
+      this.width = width;
+      this.x = x;
+      this.open = open;
+      this.high = high;
+      this.low = low;
+      this.close = close;
+      this.volume = volume;
+      this.from = from;
+      this.to = to;
+    }
+
+    /**
+     * @return the width of the buckets in x units, 0 for the candles themselves
+     */
+    double getWidth() {
+
+      return width;
+    }
+
+    /**
+     * @return the x values of the candles, for buckets the start of the bucket
+     */
+    double[] getXData() {
+
+      return x;
+    }
+
+    double[] getOpenData() {
+
+      return open;
+    }
+
+    double[] getHighData() {
+
+      return high;
+    }
+
+    double[] getLowData() {
+
+      return low;
+    }
+
+    double[] getCloseData() {
+
+      return close;
+    }
+
+    /**
+     * @return the volumes, summed for buckets, or null if the series has none
+     */
+    long[] getVolumeData() {
+
+      return volume;
+    }
+
+    /**
+     * @return the index of the first visible candle
+     */
+    int getFrom() {
+
+      return from;
+    }
+
+    /**
+     * @return the index after the last visible candle
+     */
+    int getTo() {
+
+      return to;
+    }
+  }
+
+  /**
+   * The buckets of a level, in ascending order, from index start to index end of the arrays. The
+   * arrays leave room at the end, so buckets can be added without copying them each time.
+   */
+  private final class Buckets {
+
+    private final double width;
+    private long[] buckets;
+    private double[] x;
+    private double[] open;
+    private double[] high;
+    private double[] low;
+    private double[] close;
+    private long[] volume;
+    private int start;
+    private int end;
+
+    Buckets(double width, int capacity, boolean hasVolume) {
+
+      this.width = width;
+      capacity = Math.max(16, capacity);
+      buckets = new long[capacity];
+      x = new double[capacity];
+      open = new double[capacity];
+      high = new double[capacity];
+      low = new double[capacity];
+      close = new double[capacity];
+      volume = hasVolume ? new long[capacity] : null;
+    }
+
+    /** Merges a candle into the last bucket, or starts a new bucket */
+    void merge(
+        long bucket,
+        double openValue,
+        double highValue,
+        double lowValue,
+        double closeValue,
+        long volumeValue) {
+
+      if (end > start && buckets[end - 1] == bucket) {
+        int i = end - 1;
+        high[i] = max(high[i], highValue);
+        low[i] = min(low[i], lowValue);
+        close[i] = closeValue;
+        if (volume != null) {
+          volume[i] += volumeValue;
+        }
+        return;
+      }
+      if (end == buckets.length) {
+        // buckets dropped at the start make room, otherwise the arrays grow
+        resize(start > buckets.length / 2 ? buckets.length : 2 * buckets.length, 0);
+      }
+      set(end++, bucket, openValue, highValue, lowValue, closeValue, volumeValue);
+    }
+
+    /** Adds the bucket of another level before the first one */
+    void prepend(Buckets first) {
+
+      if (start == 0) {
+        resize(buckets.length + 1, 1);
+      }
+      start--;
+      set(
+          start,
+          first.buckets[0],
+          first.open[0],
+          first.high[0],
+          first.low[0],
+          first.close[0],
+          first.volume == null ? 0 : first.volume[0]);
+    }
+
+    /** Removes the buckets before a bucket */
+    void dropBefore(long bucket) {
+
+      while (start < end && buckets[start] < bucket) {
+        start++;
+      }
+    }
+
+    /** Removes the buckets from a bucket on */
+    void dropFrom(long bucket) {
+
+      while (end > start && buckets[end - 1] >= bucket) {
+        end--;
+      }
+    }
+
+    /** Binary search in the bucket numbers */
+    int firstIndexGreaterThan(long value) {
+
+      int low = start;
+      int high = end;
+      while (low < high) {
+        int mid = (low + high) >>> 1;
+        if (buckets[mid] <= value) {
+          low = mid + 1;
+        } else {
+          high = mid;
+        }
+      }
+      return low;
+    }
+
+    /** A view of a range of this level, sharing the arrays */
+    Level range(int from, int to) {
+
+      return new Level(width, x, open, high, low, close, volume, from, to);
+    }
+
+    private void set(
+        int i,
+        long bucket,
+        double openValue,
+        double highValue,
+        double lowValue,
+        double closeValue,
+        long volumeValue) {
+
+      buckets[i] = bucket;
+      // every bucket is placed at its start
+      x[i] = origin + bucket * width;
+      open[i] = openValue;
+      high[i] = highValue;
+      low[i] = lowValue;
+      close[i] = closeValue;
+      if (volume != null) {
+        volume[i] = volumeValue;
+      }
+    }
+
+    /** Moves the buckets to new arrays, starting at an index */
+    private void resize(int capacity, int newStart) {
+
+      int size = end - start;
+      buckets = copy(buckets, capacity, newStart);
+      x = copy(x, capacity, newStart);
+      open = copy(open, capacity, newStart);
+      high = copy(high, capacity, newStart);
+      low = copy(low, capacity, newStart);
+      close = copy(close, capacity, newStart);
+      if (volume != null) {
+        volume = copy(volume, capacity, newStart);
+      }
+      start = newStart;
+      end = newStart + size;
+    }
+
+    private long[] copy(long[] data, int capacity, int newStart) {
+
+      long[] copy = new long[capacity];
+      System.arraycopy(data, start, copy, newStart, end - start);
+      return copy;
+    }
+
+    private double[] copy(double[] data, int capacity, int newStart) {
+
+      double[] copy = new double[capacity];
+      System.arraycopy(data, start, copy, newStart, end - start);
+      return copy;
+    }
+  }
+
+  /** Math.max, but ignoring NaN values */
+  private static double max(double a, double b) {
+
+    return Double.isNaN(a) || b > a ? b : a;
+  }
+
+  /** Math.min, but ignoring NaN values */
+  private static double min(double a, double b) {
+
+    return Double.isNaN(a) || b < a ? b : a;
+  }
+}
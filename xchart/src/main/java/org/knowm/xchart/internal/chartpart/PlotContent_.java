@@ -2,8 +2,16 @@ package org.knowm.xchart.internal.chartpart;
 
 import java.awt.BasicStroke;
 import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
 import java.awt.geom.Path2D;
 import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import org.knowm.xchart.XYChart;
 import org.knowm.xchart.internal.series.Series;
 import org.knowm.xchart.style.Styler;
@@ -20,6 +28,38 @@ public abstract class PlotContent_<ST extends Styler, S extends Series> implemen
   static final BasicStroke ERROR_BAR_STROKE =
       new BasicStroke(1.0f, BasicStroke.CAP_BUTT, BasicStroke.JOIN_BEVEL);
 
+  /**
+   * Rendering hint carrying a ForkJoinPool. If set on the Graphics2D a chart is painted with, the
+   * plot content is painted in vertical tiles in parallel, each with its own clipped Graphics2D on
+   * the same surface. As every pixel is still painted by the same sequence of operations, the
+   * result is identical to painting on a single thread.
+   */
+  public static final RenderingHints.Key KEY_TILE_POOL =
+      new RenderingHints.Key(0) {
+
+        @Override
+        public boolean isCompatibleValue(Object value) {
+
+          return value == null || value instanceof ForkJoinPool;
+        }
+      };
+
+  /**
+   * Rendering hint carrying a resolution in DPI. If set on the Graphics2D a chart is exported with,
+   * plot content painting more than KEY_RASTER_THRESHOLD shapes is painted into an image of that
+   * resolution, which is drawn instead of the shapes. Axes, text and legends stay vectors, so
+   * documents of dense charts stay small and fast to open while their labels stay sharp.
+   */
+  public static final RenderingHints.Key KEY_RASTER_DPI = new IntegerKey(0);
+
+  /**
+   * Rendering hint carrying the number of shapes above which the plot content is rasterized, see
+   * KEY_RASTER_DPI. DEFAULT_RASTER_THRESHOLD if not set.
+   */
+  public static final RenderingHints.Key KEY_RASTER_THRESHOLD = new IntegerKey(1);
+
+  public static final int DEFAULT_RASTER_THRESHOLD = 10_000;
+
   /**
    * Constructor
    *
@@ -58,7 +98,20 @@ public abstract class PlotContent_<ST extends Styler, S extends Series> implemen
       toolTips.clearData();
     }
 
-    doPaint(g);
+    Object tilePool = g.getRenderingHint(KEY_TILE_POOL);
+    Object rasterDPI = g.getRenderingHint(KEY_RASTER_DPI);
+    Object rasterThreshold = g.getRenderingHint(KEY_RASTER_THRESHOLD);
+    if (rasterDPI != null
+        && getShapeCount()
+            > (rasterThreshold == null ? DEFAULT_RASTER_THRESHOLD : (Integer) rasterThreshold)) {
+      doPaintRasterized(g, (Integer) rasterDPI);
+    } else if (tilePool != null
+        && ((ForkJoinPool) tilePool).getParallelism() > 1
+        && isTilePaintingSupported()) {
+      doPaintTiled(g, (ForkJoinPool) tilePool);
+    } else {
+      doPaint(g);
+    }
 
     // after painting the plot content, paint the tooltip(s) if necessary
     if (chart.getStyler().isToolTipsEnabled() && toolTips != null) {
@@ -73,6 +126,100 @@ public abstract class PlotContent_<ST extends Styler, S extends Series> implemen
     g.setClip(saveClip);
   }
 
+  /**
+   * @return true if doPaint() may be called concurrently with differently clipped Graphics2D
+   *     instances, which requires it to only read the chart state
+   */
+  boolean isTilePaintingSupported() {
+
+    return false;
+  }
+
+  /**
+   * @return an estimate of the number of shapes doPaint() paints, to decide whether the plot
+   *     content is rasterized, 0 for plot content which is never rasterized
+   */
+  long getShapeCount() {
+
+    return 0;
+  }
+
+  /**
+   * Paints the plot content into an image and draws the image
+   *
+   * @param g
+   * @param dpi the resolution of the image, 72 is one pixel per unit
+   */
+  private void doPaintRasterized(Graphics2D g, int dpi) {
+
+    Rectangle2D bounds = getBounds();
+    double scale = dpi / 72.0;
+    int width = (int) Math.ceil(bounds.getWidth() * scale);
+    int height = (int) Math.ceil(bounds.getHeight() * scale);
+    if (width <= 0 || height <= 0) {
+      return;
+    }
+
+    // transparent, so the plot surface painted before shows through
+    BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+    Graphics2D imageGraphics = image.createGraphics();
+    imageGraphics.addRenderingHints(g.getRenderingHints());
+    imageGraphics.scale(scale, scale);
+    imageGraphics.translate(-bounds.getX(), -bounds.getY());
+    imageGraphics.clip(g.getClip());
+    try {
+      doPaint(imageGraphics);
+    } finally {
+      imageGraphics.dispose();
+    }
+
+    Object oldInterpolation = g.getRenderingHint(RenderingHints.KEY_INTERPOLATION);
+    g.setRenderingHint(
+        RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+    g.drawImage(
+        image, new AffineTransform(1 / scale, 0, 0, 1 / scale, bounds.getX(), bounds.getY()), null);
+    if (oldInterpolation != null) {
+      g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, oldInterpolation);
+    }
+  }
+
+  /**
+   * Paints the plot content in vertical tiles on the given pool and waits for all of them. The
+   * tiles are cut in device space on whole pixels, so that they partition the current clip exactly.
+   *
+   * @param g
+   * @param pool
+   */
+  private void doPaintTiled(Graphics2D g, ForkJoinPool pool) {
+
+    AffineTransform transform = g.getTransform();
+    Rectangle deviceClip = transform.createTransformedShape(g.getClip()).getBounds();
+    int tileCount = Math.min(pool.getParallelism(), Math.max(1, deviceClip.width));
+    int tileWidth = (deviceClip.width + tileCount - 1) / tileCount;
+
+    List<ForkJoinTask<?>> tasks = new ArrayList<>(tileCount);
+    for (int x = deviceClip.x; x < deviceClip.x + deviceClip.width; x += tileWidth) {
+      Graphics2D tile = (Graphics2D) g.create();
+      tile.setTransform(new AffineTransform());
+      tile.clipRect(x, deviceClip.y, tileWidth, deviceClip.height);
+      tile.setTransform(transform);
+      // the tiles paint the series and data pinned by this thread
+      tasks.add(
+          pool.submit(
+              chart.withPinnedData(
+                  () -> {
+                    try {
+                      doPaint(tile);
+                    } finally {
+                      tile.dispose();
+                    }
+                  })));
+    }
+    for (ForkJoinTask<?> task : tasks) {
+      task.join();
+    }
+  }
+
   @Override
   public Rectangle2D getBounds() {
 
@@ -98,4 +245,19 @@ public abstract class PlotContent_<ST extends Styler, S extends Series> implemen
   public void setChartZoom(ChartZoom chartZoom) {
     this.chartZoom = chartZoom;
   }
+
+  /** A rendering hint key whose values are Integers */
+  private static final class IntegerKey extends RenderingHints.Key {
+
+    IntegerKey(int privateKey) {
+
+      super(privateKey);
+    }
+
+    @Override
+    public boolean isCompatibleValue(Object value) {
+
+      return value == null || value instanceof Integer;
+    }
+  }
 }
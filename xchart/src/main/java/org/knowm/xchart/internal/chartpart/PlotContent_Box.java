@@ -7,8 +7,6 @@ import java.awt.Shape;
 import java.awt.geom.Area;
 import java.awt.geom.Line2D;
 import java.awt.geom.Rectangle2D;
-import java.util.Collection;
-import java.util.Iterator;
 import java.util.List;
 import org.knowm.xchart.BoxSeries;
 import org.knowm.xchart.internal.Utils;
@@ -18,6 +16,7 @@ public class PlotContent_Box<ST extends BoxStyler, S extends BoxSeries>
     extends PlotContent_<ST, S> {
 
   private final ST boxPlotStyler;
+  private final BoxPlotDataCalculator<ST, S> boxPlotDataCalculator = new BoxPlotDataCalculator<>();
   private double yMax;
   private double yMin;
   private double xLeftMargin;
@@ -44,7 +43,6 @@ public class PlotContent_Box<ST extends BoxStyler, S extends BoxSeries>
     boolean toolTipsEnabled = chart.getStyler().isToolTipsEnabled();
     double gridStep = xTickSpace / chart.getSeriesMap().size();
 
-    BoxPlotDataCalculator<ST, S> boxPlotDataCalculator = new BoxPlotDataCalculator<>();
     // Calculate box plot data for all series
     List<BoxPlotData> boxPlotDataList =
         boxPlotDataCalculator.calculate(chart.getSeriesMap(), boxPlotStyler);
@@ -65,13 +63,8 @@ public class PlotContent_Box<ST extends BoxStyler, S extends BoxSeries>
         yMax = Math.log10(yMax);
       }
       // data points
-      Collection<? extends Number> yData = series.getYData();
-      Iterator<? extends Number> yItr = yData.iterator();
-      while (yItr.hasNext()) {
+      for (double yOrig : series.getYDataArray()) {
 
-        Number next = yItr.next();
-
-        double yOrig = next.doubleValue();
         double y;
 
         if (boxPlotStyler.isYAxisLogarithmic()) {
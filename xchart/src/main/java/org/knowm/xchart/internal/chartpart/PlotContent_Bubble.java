@@ -23,6 +23,18 @@ public class PlotContent_Bubble<ST extends BubbleStyler, S extends BubbleSeries>
     stylerBubble = chart.getStyler();
   }
 
+  @Override
+  long getShapeCount() {
+
+    long count = 0;
+    for (S series : chart.getSeriesMap().values()) {
+      if (series.isEnabled()) {
+        count += series.getXData().length;
+      }
+    }
+    return count;
+  }
+
   @Override
   public void doPaint(Graphics2D g) {
 
@@ -137,8 +149,10 @@ public class PlotContent_Bubble<ST extends BubbleStyler, S extends BubbleSeries>
                 xOffset,
                 yOffset,
                 0,
-                chart.getXAxisFormat().format(x),
-                chart.getYAxisFormat().format(yOrig));
+                chart.getXAxisFormat(),
+                chart.getYAxisFormat(),
+                x,
+                yOrig);
           }
         }
       }
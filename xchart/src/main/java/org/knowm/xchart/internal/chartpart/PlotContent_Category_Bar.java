@@ -8,8 +8,8 @@ import java.awt.geom.Line2D;
 import java.awt.geom.Path2D;
 import java.awt.geom.Point2D;
 import java.awt.geom.Rectangle2D;
+import java.text.Format;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
@@ -70,6 +70,10 @@ public class PlotContent_Category_Bar<ST extends CategoryStyler, S extends Categ
 
     double yTopMargin = Utils.getTickStartOffset(getBounds().getHeight(), yTickSpace);
 
+    // resolved once rather than per category, tooltip labels are only formatted when shown
+    Format xFormat = chart.getStyler().isToolTipsEnabled() ? chart.getXAxisFormat() : null;
+    Format yFormat = chart.getStyler().isToolTipsEnabled() ? chart.getYAxisFormat() : null;
+
     // plot series
     int seriesCounter = 0;
     double[] accumulatedStackOffsetPos = new double[numCategories];
@@ -94,12 +98,8 @@ public class PlotContent_Category_Bar<ST extends CategoryStyler, S extends Categ
       double previousY = -Double.MAX_VALUE;
 
       Iterator<?> xItr = series.getXData().iterator();
-      Iterator<? extends Number> yItr = series.getYData().iterator();
-      Iterator<? extends Number> ebItr = null;
-      Collection<? extends Number> errorBars = series.getExtraValues();
-      if (errorBars != null) {
-        ebItr = errorBars.iterator();
-      }
+      double[] yData = series.getYDataArray();
+      double[] errorBars = series.getExtraValuesArray();
 
       // Stepped bars are drawn in chunks
       // rather than for each inidivdual bar
@@ -107,11 +107,12 @@ public class PlotContent_Category_Bar<ST extends CategoryStyler, S extends Categ
       ArrayList<Point2D.Double> steppedReturnPath = null;
       Path2D.Double path = null;
       int categoryCounter = 0;
-      while (yItr.hasNext()) {
+      for (int i = 0; i < yData.length; i++) {
 
-        Number next = yItr.next();
-        // skip when a value is null
-        if (next == null) {
+        Object nextCat = xItr.next();
+        double yOrig = yData[i];
+        // skip when a value is missing
+        if (Double.isNaN(yOrig)) {
 
           //          // for area charts
           //          closePath(g, path, previousX, getBounds(), yTopMargin);
@@ -122,9 +123,7 @@ public class PlotContent_Category_Bar<ST extends CategoryStyler, S extends Categ
           categoryCounter++;
           continue;
         }
-        Object nextCat = xItr.next();
 
-        double yOrig = next.doubleValue();
         double y;
         if (stylerCategory.isYAxisLogarithmic()) {
           y = Math.log10(yOrig);
@@ -207,7 +206,7 @@ public class PlotContent_Category_Bar<ST extends CategoryStyler, S extends Categ
 
         // Record the first series yOffset value, update totalYOffset value
         // when next is greater then 0
-        if (seriesCounter == 0 || next.doubleValue() > 0) {
+        if (seriesCounter == 0 || yOrig > 0) {
           accumulatedStackOffsetTotalYOffset[categoryCounter] = yOffset;
         }
 
@@ -273,7 +272,7 @@ public class PlotContent_Category_Bar<ST extends CategoryStyler, S extends Categ
             }
           }
 
-          if (!yItr.hasNext()) {
+          if (i == yData.length - 1) {
 
             // Shift the far point of the final bar backwards
             // by the same amount its start was shifted forward.
@@ -329,10 +328,10 @@ public class PlotContent_Category_Bar<ST extends CategoryStyler, S extends Categ
           // g.draw(path);
           // }
 
-          if (stylerCategory.isLabelsVisible() && next != null) {
+          if (stylerCategory.isLabelsVisible()) {
             drawLabels(
                 g,
-                next,
+                yOrig,
                 xOffset,
                 yOffset,
                 zeroOffset,
@@ -440,7 +439,7 @@ public class PlotContent_Category_Bar<ST extends CategoryStyler, S extends Categ
 
         if (errorBars != null) {
 
-          double eb = ebItr.next().doubleValue();
+          double eb = errorBars[i];
 
           // set error bar style
           if (stylerCategory.isErrorBarsColorSeriesColor()) {
@@ -494,13 +493,7 @@ public class PlotContent_Category_Bar<ST extends CategoryStyler, S extends Categ
             yPoint = yOffset;
           }
 
-          toolTips.addData(
-              rect,
-              xOffset,
-              yPoint,
-              barWidth,
-              chart.getXAxisFormat().format(nextCat),
-              chart.getYAxisFormat().format(yOrig));
+          toolTips.addData(rect, xOffset, yPoint, barWidth, xFormat, yFormat, nextCat, yOrig);
         }
       }
 
@@ -587,7 +580,7 @@ public class PlotContent_Category_Bar<ST extends CategoryStyler, S extends Categ
     String numberAsString = chart.getYAxisFormat().format(next);
 
     TextLayout textLayout =
-        new TextLayout(
+        TextLayoutCache.getTextLayout(
             numberAsString,
             stylerCategory.getLabelsFont(),
             new FontRenderContext(null, true, false));
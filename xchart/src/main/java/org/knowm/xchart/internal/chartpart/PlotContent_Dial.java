@@ -96,9 +96,9 @@ public class PlotContent_Dial<ST extends DialStyler, S extends DialSeries>
         String labels = axisTickLabels[i];
 
         TextLayout textLayout =
-            new TextLayout(
+            TextLayoutCache.getTextLayout(
                 labels, styler.getAxisTitleFont(), new FontRenderContext(null, true, false));
-        Shape shape = textLayout.getOutline(null);
+        Shape shape = TextLayoutCache.getOutline(textLayout);
 
         Rectangle2D labelBounds = shape.getBounds2D();
         double labelWidth = labelBounds.getWidth();
@@ -143,11 +143,11 @@ public class PlotContent_Dial<ST extends DialStyler, S extends DialSeries>
       // draw title
       if (styler.isAxisTitleVisible()) {
         TextLayout textLayout =
-            new TextLayout(
+            TextLayoutCache.getTextLayout(
                 series.getName(),
                 styler.getAxisTitleFont(),
                 new FontRenderContext(null, true, false));
-        Shape shape = textLayout.getOutline(null);
+        Shape shape = TextLayoutCache.getOutline(textLayout);
 
         Rectangle2D labelBounds = shape.getBounds2D();
         double labelWidth = labelBounds.getWidth();
@@ -183,9 +183,9 @@ public class PlotContent_Dial<ST extends DialStyler, S extends DialSeries>
         }
         if (!label.isEmpty()) {
           TextLayout textLayout =
-              new TextLayout(
+              TextLayoutCache.getTextLayout(
                   label, styler.getLabelsFont(), new FontRenderContext(null, true, false));
-          Shape shape = textLayout.getOutline(null);
+          Shape shape = TextLayoutCache.getOutline(textLayout);
 
           Rectangle2D labelBounds = shape.getBounds2D();
           double labelnWidth = labelBounds.getWidth();
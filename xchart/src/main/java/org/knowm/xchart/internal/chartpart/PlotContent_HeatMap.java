@@ -2,11 +2,15 @@ package org.knowm.xchart.internal.chartpart;
 
 import java.awt.Color;
 import java.awt.Graphics2D;
+import java.awt.RenderingHints;
 import java.awt.font.FontRenderContext;
 import java.awt.font.TextLayout;
 import java.awt.geom.AffineTransform;
 import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
 import java.text.DecimalFormat;
+import java.util.Arrays;
 import java.util.List;
 import org.knowm.xchart.HeatMapChart;
 import org.knowm.xchart.HeatMapSeries;
@@ -16,9 +20,19 @@ import org.knowm.xchart.style.HeatMapStyler;
 public class PlotContent_HeatMap<ST extends HeatMapStyler, S extends HeatMapSeries>
     extends PlotContent_<ST, S> {
 
+  /** above this many cells, the cells are drawn as one image rather than filled one by one */
+  private static final int MAX_FILLED_CELLS = 10_000;
+
   private final ST heatMapStyler;
   private final DecimalFormat df = new DecimalFormat("");
 
+  private BufferedImage heatMapImage;
+  private List<Object> heatMapImageKey;
+
+  // Colors of the entries of the range color lookup table, created on demand
+  private int[] colorLookupTable;
+  private Color[] colorLookupTableColors;
+
   /**
    * Constructor
    *
@@ -30,6 +44,22 @@ public class PlotContent_HeatMap<ST extends HeatMapStyler, S extends HeatMapSeri
     heatMapStyler = chart.getStyler();
   }
 
+  @Override
+  long getShapeCount() {
+
+    HeatMapSeries series = ((HeatMapChart) chart).getHeatMapSeries();
+    if (series == null || !series.isEnabled()) {
+      return 0;
+    }
+    int cells = series.getHeatDataArray().length;
+    // large heat maps are painted as an image already, unless their cells have borders or values
+    boolean isImage = cells > MAX_FILLED_CELLS;
+    if (isImage && !heatMapStyler.isDrawBorder() && !heatMapStyler.isShowValue()) {
+      return 1;
+    }
+    return cells;
+  }
+
   @Override
   protected void doPaint(Graphics2D g) {
 
@@ -52,167 +82,198 @@ public class PlotContent_HeatMap<ST extends HeatMapStyler, S extends HeatMapSeri
       return;
     }
 
-    int x = 0;
-    int y = 0;
-    Number value = 0.0;
-    List<? extends Number[]> list = series.getHeatData();
+    double[] heatData = series.getHeatDataArray();
     List<?> xData = series.getXData();
     List<?> yData = series.getYData();
+    int xSize = xData.size();
+    int ySize = yData.size();
     double plotContentBoundsWidth = plotContentBounds.getWidth();
     double plotContentBoundsHeight = plotContentBounds.getHeight();
-    double rectWidth = (plotContentBoundsWidth - 2 * xLeftMargin) / xData.size();
-    double rectHeight = (plotContentBoundsHeight - 2 * yTopMargin) / yData.size();
+    double rectWidth = (plotContentBoundsWidth - 2 * xLeftMargin) / xSize;
+    double rectHeight = (plotContentBoundsHeight - 2 * yTopMargin) / ySize;
+    double left = getBounds().getX() + xLeftMargin;
+    double top = getBounds().getY() + yTopMargin;
+
+    boolean isImage = heatData.length > MAX_FILLED_CELLS;
+    // the tooltips of an image are only created for the cell which is hovered
+    boolean isToolTipFinder =
+        isImage && heatMapStyler.isToolTipsEnabled() && !heatMapStyler.isToolTipsAlwaysVisible();
+    if (isImage) {
+      // the image has a pixel per cell and is scaled to the plot, so painting costs as much as
+      // the pixels covered, no matter how many cells there are
+      Object oldInterpolation = g.getRenderingHint(RenderingHints.KEY_INTERPOLATION);
+      g.setRenderingHint(
+          RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+      g.drawImage(
+          getHeatMapImage(series, heatData, xSize, ySize),
+          new AffineTransform(rectWidth, 0, 0, rectHeight, left, top),
+          null);
+      if (oldInterpolation != null) {
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, oldInterpolation);
+      }
+      if (isToolTipFinder) {
+        toolTips.addData(
+            (mouseX, mouseY) -> {
+              int x = (int) Math.floor((mouseX - left) / rectWidth);
+              int y = ySize - 1 - (int) Math.floor((mouseY - top) / rectHeight);
+              if (x < 0 || x >= xSize || y < 0 || y >= ySize) {
+                return null;
+              }
+              double value = heatData[x * ySize + y];
+              if (Double.isNaN(value)) {
+                return null;
+              }
+              Rectangle2D rect =
+                  new Rectangle2D.Double(
+                      left + rectWidth * x,
+                      top + rectHeight * (ySize - 1 - y),
+                      rectWidth,
+                      rectHeight);
+              return new ToolTips.ToolTip(
+                  rect,
+                  rect.getCenterX(),
+                  rect.getCenterY() + heatMapStyler.getToolTipFont().getSize(),
+                  0,
+                  () -> getToolTipLabel(series, xData.get(x), yData.get(y), value));
+            });
+      }
+      if (!heatMapStyler.isDrawBorder()
+          && !heatMapStyler.isShowValue()
+          && (!heatMapStyler.isToolTipsEnabled() || isToolTipFinder)) {
+        return;
+      }
+    }
+
     double xOffset = 0.0;
     double yOffset = 0.0;
     Rectangle2D rect = null;
     Color heatMapValueColor = null;
-    for (Number[] numbers : list) {
-      if (numbers == null) {
-        continue;
-      }
-      x = numbers[0].intValue();
-      y = numbers[1].intValue();
-      value = numbers[2].doubleValue();
-      if (x >= xData.size() || y >= yData.size()) {
-        continue;
-      }
-      xOffset = getBounds().getX() + xLeftMargin + rectWidth * x;
-      yOffset = getBounds().getY() + yTopMargin + rectHeight * (yData.size() - 1 - y);
-      rect = new Rectangle2D.Double(xOffset, yOffset, rectWidth, rectHeight);
-      heatMapValueColor = getColor(series, value.doubleValue());
-      g.setColor(heatMapValueColor);
-      g.fill(rect);
-
-      // draw rect border
-      if (heatMapStyler.isDrawBorder()) {
-        g.setColor(heatMapValueColor);
-        g.setStroke(SOLID_STROKE);
-        g.draw(rect);
-      }
+    for (int x = 0; x < xSize; x++) {
+      for (int y = 0; y < ySize; y++) {
+        double value = heatData[x * ySize + y];
+        if (Double.isNaN(value)) {
+          continue;
+        }
+        xOffset = left + rectWidth * x;
+        yOffset = top + rectHeight * (ySize - 1 - y);
+        rect = new Rectangle2D.Double(xOffset, yOffset, rectWidth, rectHeight);
+        heatMapValueColor = getColor(series, value);
+        if (!isImage) {
+          g.setColor(heatMapValueColor);
+          g.fill(rect);
+        }
 
-      // show heat data value
-      if (heatMapStyler.isShowValue()) {
-        showValue(g, rect, df.format(numbers[2]));
-      }
+        // draw rect border
+        if (heatMapStyler.isDrawBorder()) {
+          g.setColor(heatMapValueColor);
+          g.setStroke(SOLID_STROKE);
+          g.draw(rect);
+        }
 
-      if (heatMapStyler.isToolTipsEnabled()) {
-        toolTips.addData(
-            rect,
-            rect.getCenterX(),
-            rect.getCenterY() + heatMapStyler.getToolTipFont().getSize(),
-            0,
-            series.getName()
-                + ": "
-                + chart.getXAxisFormat().format(xData.get(x))
-                + ", "
-                + chart.getYAxisFormat().format(yData.get(y))
-                + ", "
-                + df.format(numbers[2]));
+        // show heat data value
+        if (heatMapStyler.isShowValue()) {
+          showValue(g, rect, df.format(value));
+        }
+
+        if (heatMapStyler.isToolTipsEnabled() && !isToolTipFinder) {
+          toolTips.addData(
+              rect,
+              rect.getCenterX(),
+              rect.getCenterY() + heatMapStyler.getToolTipFont().getSize(),
+              0,
+              getToolTipLabel(series, xData.get(x), yData.get(y), value));
+        }
       }
     }
   }
 
-  private Color getColor(HeatMapSeries series, double value) {
+  private String getToolTipLabel(HeatMapSeries series, Object xValue, Object yValue, double value) {
 
-    Color color = null;
-    Color[] rangeColors = chart.getStyler().getRangeColors();
-    double min = series.getMin();
-    double max = series.getMax();
-    if (value <= min) {
-      color = rangeColors[0];
-    } else if (value >= max) {
-      color = rangeColors[rangeColors.length - 1];
-    } else {
-      double valueRation = (value - min) / (max - min);
-      if (heatMapStyler.isPiecewise()) {
-        color = getPiecewiseColor(rangeColors, valueRation);
-      } else {
-        color = getGradientColor(rangeColors, valueRation);
-      }
-    }
-    return color;
+    return series.getName()
+        + ": "
+        + chart.getXAxisFormat().format(xValue)
+        + ", "
+        + chart.getYAxisFormat().format(yValue)
+        + ", "
+        + df.format(value);
   }
 
-  private Color getPiecewiseColor(Color[] rangeColors, double valueRation) {
-
-    Color color = null;
-    int splitNumber = chart.getStyler().getSplitNumber();
-    int splitNumberIndex = (int) (valueRation * splitNumber);
-    for (int i = 0; i < splitNumber; i++) {
-      if (splitNumberIndex == 0) {
-        color = rangeColors[0];
-        break;
-      } else if (splitNumberIndex == splitNumber - 1) {
-        color = rangeColors[rangeColors.length - 1];
-        break;
-      } else {
-        double index = (double) i / splitNumber * rangeColors.length;
-        int beginColorIndex = (int) index;
-        int endColorIndex = 0;
-        if (rangeColors.length != 1) {
-          endColorIndex = beginColorIndex + 1;
-        } else {
-          endColorIndex = beginColorIndex;
-        }
+  /** Colors an image with a pixel per cell, which is kept until the data or colors change */
+  private BufferedImage getHeatMapImage(
+      HeatMapSeries series, double[] heatData, int xSize, int ySize) {
+
+    List<Object> key =
+        Arrays.asList(
+            series,
+            series.getDataVersion(),
+            xSize,
+            ySize,
+            series.getMin(),
+            series.getMax(),
+            heatMapStyler.getRangeColorLookupTable());
+    if (key.equals(heatMapImageKey)) {
+      return heatMapImage;
+    }
 
-        if (splitNumberIndex == i) {
-          Color beginColor = rangeColors[beginColorIndex];
-          Color endColor = rangeColors[endColorIndex];
-          int red =
-              (int)
-                  (beginColor.getRed()
-                      + (index - (int) index) * (endColor.getRed() - beginColor.getRed()));
-          int green =
-              (int)
-                  (beginColor.getGreen()
-                      + (index - (int) index) * (endColor.getGreen() - beginColor.getGreen()));
-          int blue =
-              (int)
-                  (beginColor.getBlue()
-                      + (index - (int) index) * (endColor.getBlue() - beginColor.getBlue()));
-          color = new Color(red, green, blue);
-          break;
+    int[] lookupTable = heatMapStyler.getRangeColorLookupTable();
+    BufferedImage image = new BufferedImage(xSize, ySize, BufferedImage.TYPE_INT_ARGB);
+    int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+    for (int x = 0; x < xSize; x++) {
+      for (int y = 0; y < ySize; y++) {
+        double value = heatData[x * ySize + y];
+        if (!Double.isNaN(value)) {
+          // the first row of the image is the top row of the heat map
+          pixels[(ySize - 1 - y) * xSize + x] = getRGB(lookupTable, series, value);
         }
       }
     }
-    return color;
+    heatMapImage = image;
+    heatMapImageKey = key;
+    return image;
   }
 
-  private Color getGradientColor(Color[] rangeColors, double valueRation) {
+  private Color getColor(HeatMapSeries series, double value) {
+
+    Color[] rangeColors = chart.getStyler().getRangeColors();
+    if (value <= series.getMin()) {
+      return rangeColors[0];
+    } else if (value >= series.getMax()) {
+      return rangeColors[rangeColors.length - 1];
+    }
+    int[] lookupTable = heatMapStyler.getRangeColorLookupTable();
+    if (lookupTable != colorLookupTable) {
+      colorLookupTable = lookupTable;
+      colorLookupTableColors = new Color[lookupTable.length];
+    }
+    int index = getLookupTableIndex(lookupTable, series, value);
+    Color color = colorLookupTableColors[index];
+    if (color == null) {
+      color = new Color(lookupTable[index], true);
+      colorLookupTableColors[index] = color;
+    }
+    return color;
+  }
 
-    double index = valueRation * (rangeColors.length - 1);
-    Color color = null;
-    int beginColorIndex = (int) index;
-    int endColorIndex = 0;
+  private int getRGB(int[] lookupTable, HeatMapSeries series, double value) {
 
-    if (rangeColors.length != 1) {
-      endColorIndex = beginColorIndex + 1;
-    } else {
-      endColorIndex = beginColorIndex;
+    Color[] rangeColors = chart.getStyler().getRangeColors();
+    if (value <= series.getMin()) {
+      return rangeColors[0].getRGB();
+    } else if (value >= series.getMax()) {
+      return rangeColors[rangeColors.length - 1].getRGB();
     }
+    return lookupTable[getLookupTableIndex(lookupTable, series, value)];
+  }
 
-    Color beginColor = rangeColors[beginColorIndex];
-    Color endColor = rangeColors[endColorIndex];
-
-    if ((int) index < rangeColors.length - 1) {
-      int red =
-          (int)
-              (beginColor.getRed()
-                  + (index - (int) index) * (endColor.getRed() - beginColor.getRed()));
-      int green =
-          (int)
-              (beginColor.getGreen()
-                  + (index - (int) index) * (endColor.getGreen() - beginColor.getGreen()));
-      int blue =
-          (int)
-              (beginColor.getBlue()
-                  + (index - (int) index) * (endColor.getBlue() - beginColor.getBlue()));
-      color = new Color(red, green, blue);
+  /** The index of a value between the min and the max in the range color lookup table */
+  private int getLookupTableIndex(int[] lookupTable, HeatMapSeries series, double value) {
+
+    double valueRation = (value - series.getMin()) / (series.getMax() - series.getMin());
+    if (heatMapStyler.isPiecewise()) {
+      return Math.min((int) (valueRation * lookupTable.length), lookupTable.length - 1);
     } else {
-      color = endColor;
+      return (int) (valueRation * (lookupTable.length - 1) + 0.5);
     }
-
-    return color;
   }
 
   private void showValue(Graphics2D g, Rectangle2D rect, String value) {
@@ -221,7 +282,7 @@ public class PlotContent_HeatMap<ST extends HeatMapStyler, S extends HeatMapSeri
     double rectCenterY = rect.getCenterY();
 
     TextLayout textLayout =
-        new TextLayout(
+        TextLayoutCache.getTextLayout(
             value, heatMapStyler.getValueFont(), new FontRenderContext(null, true, false));
     Rectangle2D annotationRectangle = textLayout.getBounds();
     g.setColor(heatMapStyler.getValueFontColor());
@@ -231,7 +292,7 @@ public class PlotContent_HeatMap<ST extends HeatMapStyler, S extends HeatMapSeri
         rectCenterX - annotationRectangle.getWidth() / 2,
         rectCenterY + annotationRectangle.getHeight() / 2);
     g.transform(at);
-    g.fill(textLayout.getOutline(null));
+    g.fill(TextLayoutCache.getOutline(textLayout));
     g.setTransform(orig);
   }
 }
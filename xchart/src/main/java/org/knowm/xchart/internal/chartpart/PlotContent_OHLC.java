@@ -4,6 +4,7 @@ import java.awt.Graphics2D;
 import java.awt.geom.Area;
 import java.awt.geom.Line2D;
 import java.awt.geom.Rectangle2D;
+import java.util.HashMap;
 import java.util.Map;
 import org.knowm.xchart.OHLCSeries;
 import org.knowm.xchart.OHLCSeries.OHLCSeriesRenderStyle;
@@ -14,8 +15,13 @@ import org.knowm.xchart.style.lines.SeriesLines;
 public class PlotContent_OHLC<ST extends AxesChartStyler, S extends OHLCSeries>
     extends PlotContent_<ST, S> {
 
+  /** Aggregated series are merged until each candle has at least this many pixels */
+  private static final int MIN_PIXELS_PER_CANDLE = 8;
+
   private final ST ohlcStyler;
 
+  private final Map<S, CachedPyramid> pyramids = new HashMap<>();
+
   /**
    * Constructor
    *
@@ -56,6 +62,9 @@ public class PlotContent_OHLC<ST extends AxesChartStyler, S extends OHLCSeries>
 
     Map<String, S> map = chart.getSeriesMap();
 
+    // drop the pyramids of removed series
+    pyramids.keySet().retainAll(map.values());
+
     for (S series : map.values()) {
 
       if (!series.isEnabled()) {
@@ -155,12 +164,39 @@ public class PlotContent_OHLC<ST extends AxesChartStyler, S extends OHLCSeries>
         double[] highData = series.getHighData();
         double[] lowData = series.getLowData();
         double[] closeData = series.getCloseData();
+        long[] volumeData = series.getVolumeData();
+        int from = 0;
+        int to = xData.length;
 
         double candleHalfWidth =
             Math.max(3, xTickSpace / xData.length / 2 - ohlcStyler.getAxisTickPadding());
         float lineWidth = Math.max(2, series.getLineStyle().getLineWidth());
 
-        for (int i = 0; i < xData.length; i++) {
+        // only the candles on screen, merged into wider buckets if there are too many of them
+        double bucketWidth = 0;
+        OHLCPyramid pyramid =
+            series.isAggregationEnabled() && !ohlcStyler.isXAxisLogarithmic() && xMax > xMin
+                ? getPyramid(series)
+                : null;
+        if (pyramid != null) {
+          OHLCPyramid.Level level =
+              pyramid.select(xMin, xMax, Math.max(1, (int) xTickSpace / MIN_PIXELS_PER_CANDLE));
+          xData = level.getXData();
+          openData = level.getOpenData();
+          highData = level.getHighData();
+          lowData = level.getLowData();
+          closeData = level.getCloseData();
+          volumeData = level.getVolumeData();
+          from = level.getFrom();
+          to = level.getTo();
+          bucketWidth = level.getWidth();
+          if (bucketWidth > 0) {
+            double bucketPixels = bucketWidth / (xMax - xMin) * xTickSpace;
+            candleHalfWidth = Math.max(3, bucketPixels / 2 - ohlcStyler.getAxisTickPadding());
+          }
+        }
+
+        for (int i = from; i < to; i++) {
 
           double x = xData[i];
           if (ohlcStyler.isXAxisLogarithmic()) {
@@ -194,7 +230,9 @@ public class PlotContent_OHLC<ST extends AxesChartStyler, S extends OHLCSeries>
             closeY = closeOrig;
           }
 
-          double xTransform = xLeftMargin + ((x - xMin) / (xMax - xMin) * xTickSpace);
+          // buckets are painted at their middle, and labeled with their start
+          double xCenter = x + bucketWidth / 2;
+          double xTransform = xLeftMargin + ((xCenter - xMin) / (xMax - xMin) * xTickSpace);
           double openTransform =
               getBounds().getHeight() - (yTopMargin + (openY - yMin) / (yMax - yMin) * yTickSpace);
           double highTransform =
@@ -293,9 +331,9 @@ public class PlotContent_OHLC<ST extends AxesChartStyler, S extends OHLCSeries>
           if (chart.getStyler().isToolTipsEnabled()) {
 
             StringBuilder sb = new StringBuilder();
-            if (series.getVolumeData() != null) {
+            if (volumeData != null) {
               sb.append(chart.getXAxisFormat().format(x));
-              sb.append(System.lineSeparator()).append("Volume: " + series.getVolumeData()[i]);
+              sb.append(System.lineSeparator()).append("Volume: " + volumeData[i]);
               sb.append(System.lineSeparator()).append(" ").append(System.lineSeparator());
             }
             sb.append(chart.getXAxisFormat().format(x));
@@ -319,6 +357,56 @@ public class PlotContent_OHLC<ST extends AxesChartStyler, S extends OHLCSeries>
     }
   }
 
+  /**
+   * Gets the pyramid of a series, extending it if the data of a streaming series moved on, or
+   * building a new one if the data changed otherwise
+   */
+  private OHLCPyramid getPyramid(S series) {
+
+    OHLCSeries.DataSnapshot data = series.getDataSnapshot();
+    CachedPyramid cached = pyramids.get(series);
+    if (cached == null || cached.dataVersion != data.getDataVersion()) {
+      OHLCPyramid pyramid = cached == null ? null : cached.pyramid;
+      if (pyramid == null
+          || !pyramid.extend(
+              data.getFirstBarSequence(),
+              data.getXData(),
+              data.getOpenData(),
+              data.getHighData(),
+              data.getLowData(),
+              data.getCloseData(),
+              data.getVolumeData())) {
+        pyramid =
+            OHLCPyramid.canAggregate(data.getXData())
+                ? new OHLCPyramid(
+                    data.getFirstBarSequence(),
+                    data.getXData(),
+                    data.getOpenData(),
+                    data.getHighData(),
+                    data.getLowData(),
+                    data.getCloseData(),
+                    data.getVolumeData())
+                : null;
+      }
+      cached = new CachedPyramid(data.getDataVersion(), pyramid);
+      pyramids.put(series, cached);
+    }
+    return cached.pyramid;
+  }
+
+  /** The pyramid of a series, null if its data cannot be aggregated */
+  private static class CachedPyramid {
+
+    private final int dataVersion;
+    private final OHLCPyramid pyramid;
+
+    CachedPyramid(int dataVersion, OHLCPyramid pyramid) {
+
+      this.dataVersion = dataVersion;
+      this.pyramid = pyramid;
+    }
+  }
+
   // line chart drawing logic
   private void paintLine(Graphics2D g, S series) {}
 }
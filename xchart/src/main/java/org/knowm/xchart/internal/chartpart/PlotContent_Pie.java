@@ -293,7 +293,7 @@ public class PlotContent_Pie<ST extends PieStyler, S extends PieSeries>
         }
 
         TextLayout textLayout =
-            new TextLayout(
+            TextLayoutCache.getTextLayout(
                 label, pieStyler.getLabelsFont(), new FontRenderContext(null, true, false));
         Rectangle2D labelRectangle = textLayout.getBounds();
 
@@ -312,7 +312,7 @@ public class PlotContent_Pie<ST extends PieStyler, S extends PieSeries>
                     * (pieBounds.getHeight() / 2 * pieStyler.getLabelsDistance());
 
         // get annotation width
-        Shape shape = textLayout.getOutline(null);
+        Shape shape = TextLayoutCache.getOutline(textLayout);
         Rectangle2D labelBounds = shape.getBounds2D();
         double labelWidth = labelBounds.getWidth();
         // System.out.println("annotationWidth= " + annotationWidth);
@@ -431,8 +431,9 @@ public class PlotContent_Pie<ST extends PieStyler, S extends PieSeries>
               : String.format(pieStyler.getSumFormat(), total);
 
       TextLayout textLayout =
-          new TextLayout(label, pieStyler.getSumFont(), new FontRenderContext(null, true, false));
-      Shape shape = textLayout.getOutline(null);
+          TextLayoutCache.getTextLayout(
+              label, pieStyler.getSumFont(), new FontRenderContext(null, true, false));
+      Shape shape = TextLayoutCache.getOutline(textLayout);
       g.setColor(pieStyler.getChartFontColor());
 
       // compute center
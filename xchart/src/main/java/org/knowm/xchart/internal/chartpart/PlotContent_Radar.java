@@ -98,9 +98,9 @@ public class PlotContent_Radar<ST extends RadarStyler, S extends RadarSeries>
 
         String radiiLabel = radiiLabels[i];
         TextLayout textLayout =
-            new TextLayout(
+            TextLayoutCache.getTextLayout(
                 radiiLabel, styler.getRadiiTitleFont(), new FontRenderContext(null, true, false));
-        Shape shape = textLayout.getOutline(null);
+        Shape shape = TextLayoutCache.getOutline(textLayout);
         Rectangle2D labelBounds = shape.getBounds2D();
         double labelWidth = labelBounds.getWidth();
         double labelHeight = labelBounds.getHeight();
@@ -6,8 +6,10 @@ import java.awt.geom.Path2D;
 import java.text.Format;
 import java.util.Map;
 import org.knowm.xchart.XYSeries;
+import org.knowm.xchart.XYSeries.DecimationMode;
 import org.knowm.xchart.XYSeries.XYSeriesRenderStyle;
 import org.knowm.xchart.internal.Utils;
+import org.knowm.xchart.internal.series.AxesChartSeriesNumericalNoErrorBars.DataSnapshot;
 import org.knowm.xchart.style.XYStyler;
 import org.knowm.xchart.style.lines.SeriesLines;
 
@@ -52,6 +54,10 @@ public class PlotContent_XY<ST extends XYStyler, S extends XYSeries> extends Plo
 
     Map<String, S> map = chart.getSeriesMap();
 
+    if (xyStyler.isCursorEnabled()) {
+      cursor.clearData();
+    }
+
     for (S series : map.values()) {
 
       if (!series.isEnabled()) {
@@ -65,9 +71,13 @@ public class PlotContent_XY<ST extends XYStyler, S extends XYSeries> extends Plo
         yMax = Math.log10(yMax);
       }
 
-      // data points
-      double[] xData = series.getXData();
-      double[] yData = series.getYData();
+      // data points, the visible range of the buffers if zoomed
+      // one snapshot, so the arrays and the range belong together while the data is replaced
+      DataSnapshot data = series.getDataSnapshot();
+      double[] xData = data.getXDataBuffer();
+      double[] yData = data.getYDataBuffer();
+      int dataStart = data.getDataOffset();
+      int dataEnd = dataStart + data.getDataLength();
 
       double previousX = -Double.MAX_VALUE;
       double previousY = -Double.MAX_VALUE;
@@ -76,7 +86,7 @@ public class PlotContent_XY<ST extends XYStyler, S extends XYSeries> extends Plo
       double polygonStartX = -Double.MAX_VALUE;
       double polygonStartY = -Double.MAX_VALUE;
 
-      double[] errorBars = series.getExtraValues();
+      double[] errorBars = data.getExtraValuesBuffer();
       Path2D.Double path = null;
       // smooth curve
       Path2D.Double smoothPath = null;
@@ -86,8 +96,37 @@ public class PlotContent_XY<ST extends XYStyler, S extends XYSeries> extends Plo
           getBounds().getHeight() - (yTopMargin + (0 - yMin) / (yMax - yMin) * yTickSpace);
       double yZeroOffset = yZeroTransform + getBounds().getY();
 
-      for (int i = 0; i < xData.length; i++) {
+      // only paint the points which are distinguishable at the current plot size
+      int[] renderIndices = getRenderIndices(series, data);
+      int renderCount = renderIndices == null ? dataEnd - dataStart : renderIndices.length;
+
+      Format toolTipXFormat = null;
+      Format toolTipYFormat = null;
+      if (chart.getStyler().isToolTipsEnabled()) {
+        toolTipXFormat = chart.getXAxisFormat();
+        toolTipYFormat = chart.getYAxisFormat(series.getYAxisDecimalPattern());
+      }
+
+      // the cursor only keeps the values, they are formatted for the points the cursor is on
+      if (xyStyler.isCursorEnabled()) {
+        Format xFormat;
+        Format yFormat;
+        if (xyStyler.getCustomCursorXDataFormattingFunction() == null) {
+          xFormat = chart.getXAxisFormat();
+        } else {
+          xFormat = new Formatter_Custom(xyStyler.getCustomCursorXDataFormattingFunction());
+        }
+        if (xyStyler.getCustomCursorYDataFormattingFunction() == null) {
+          yFormat = chart.getYAxisFormat(series.getYAxisDecimalPattern());
+        } else {
+          yFormat = new Formatter_Custom(xyStyler.getCustomCursorYDataFormattingFunction());
+        }
+        cursor.startSeries(series.getName(), xFormat, yFormat, renderCount);
+      }
+
+      for (int n = 0; n < renderCount; n++) {
 
+        int i = renderIndices == null ? dataStart + n : renderIndices[n];
         double x = xData[i];
         // System.out.println(x);
         if (xyStyler.isXAxisLogarithmic()) {
@@ -301,28 +340,11 @@ public class PlotContent_XY<ST extends XYStyler, S extends XYSeries> extends Plo
 
         // add tooltips
         if (chart.getStyler().isToolTipsEnabled()) {
-          toolTips.addData(
-              xOffset,
-              yOffset,
-              chart.getXAxisFormat().format(x),
-              chart.getYAxisFormat(series.getYAxisDecimalPattern()).format(yOrig));
+          toolTips.addData(xOffset, yOffset, toolTipXFormat, toolTipYFormat, x, yOrig);
         }
 
         if (xyStyler.isCursorEnabled()) {
-          Format xFormat;
-          Format yFormat;
-          if (xyStyler.getCustomCursorXDataFormattingFunction() == null) {
-            xFormat = chart.getXAxisFormat();
-          } else {
-            xFormat = new Formatter_Custom(xyStyler.getCustomCursorXDataFormattingFunction());
-          }
-          if (xyStyler.getCustomCursorYDataFormattingFunction() == null) {
-            yFormat = chart.getYAxisFormat(series.getYAxisDecimalPattern());
-          } else {
-            yFormat = new Formatter_Custom(xyStyler.getCustomCursorYDataFormattingFunction());
-          }
-          cursor.addData(
-              xOffset, yOffset, xFormat.format(x), yFormat.format(yOrig), series.getName());
+          cursor.addData(xOffset, x, yOrig);
         }
       }
 
@@ -340,6 +362,81 @@ public class PlotContent_XY<ST extends XYStyler, S extends XYSeries> extends Plo
     }
   }
 
+  @Override
+  long getShapeCount() {
+
+    long count = 0;
+    for (S series : chart.getSeriesMap().values()) {
+      if (!series.isEnabled()) {
+        continue;
+      }
+      DataSnapshot data = series.getDataSnapshot();
+      int[] renderIndices = getRenderIndices(series, data);
+      long points = renderIndices == null ? data.getDataLength() : renderIndices.length;
+      count += points;
+    }
+    return count;
+  }
+
+  /**
+   * The indices of the points of a series which are painted at the current plot size, decimated the
+   * way its render style needs it
+   *
+   * @return the indices or null if all points are painted
+   */
+  private int[] getRenderIndices(S series, DataSnapshot data) {
+
+    if (series.getDecimationMode() == DecimationMode.None || data.getExtraValuesBuffer() != null) {
+      return null;
+    }
+
+    double xTickSpace = xyStyler.getPlotContentSize() * getBounds().getWidth();
+    double xLeftMargin = Utils.getTickStartOffset((int) getBounds().getWidth(), xTickSpace);
+    double yTickSpace = xyStyler.getPlotContentSize() * getBounds().getHeight();
+    double yTopMargin = Utils.getTickStartOffset((int) getBounds().getHeight(), yTickSpace);
+
+    double xMin = chart.getXAxis().getMin();
+    double xMax = chart.getXAxis().getMax();
+    if (xyStyler.isXAxisLogarithmic()) {
+      xMin = Math.log10(xMin);
+      xMax = Math.log10(xMax);
+    }
+    Axis yAxis = chart.getYAxis(series.getYAxisGroup());
+    double yMin = yAxis.getMin();
+    double yMax = yAxis.getMax();
+    if (xyStyler.isYAxisLogarithmic()) {
+      yMin = Math.log10(yMin);
+      yMax = Math.log10(yMax);
+    }
+
+    double xScale = xTickSpace / (xMax - xMin);
+    double yScale = -yTickSpace / (yMax - yMin);
+    XYDataDecimator decimator =
+        new XYDataDecimator(
+            getBounds(),
+            xyStyler.isXAxisLogarithmic(),
+            getBounds().getX() + xLeftMargin - xMin * xScale,
+            xScale,
+            xyStyler.isYAxisLogarithmic(),
+            getBounds().getY() + getBounds().getHeight() - yTopMargin - yMin * yScale,
+            yScale);
+    int dataStart = data.getDataOffset();
+    return decimator.decimate(
+        series.getDecimationMode(),
+        XYSeriesRenderStyle.Scatter == series.getXYSeriesRenderStyle(),
+        data.getXDataBuffer(),
+        data.getYDataBuffer(),
+        dataStart,
+        dataStart + data.getDataLength());
+  }
+
+  @Override
+  boolean isTilePaintingSupported() {
+
+    // tooltips and the cursor collect the painted points
+    return !xyStyler.isToolTipsEnabled() && !xyStyler.isCursorEnabled();
+  }
+
   void closePathXY(
       Graphics2D g,
       Path2D.Double path,
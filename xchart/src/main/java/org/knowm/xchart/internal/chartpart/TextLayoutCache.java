@@ -0,0 +1,209 @@
+package org.knowm.xchart.internal.chartpart;
+
+import java.awt.Font;
+import java.awt.Shape;
+import java.awt.font.FontRenderContext;
+import java.awt.font.TextLayout;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded LRU cache of TextLayouts and their glyph outlines shared by all chart parts. Charts
+ * measure and draw the same titles, tick labels and legend entries on every paint, and shaping the
+ * text and extracting the glyph outlines again each time is expensive. TextLayouts are immutable,
+ * so they can be shared between charts and threads.
+ */
+public final class TextLayoutCache {
+
+  private static final int DEFAULT_MAX_SIZE = 2048;
+
+  private static volatile int maxSize = DEFAULT_MAX_SIZE;
+
+  private static final Map<Key, TextLayout> textLayouts = newLruMap();
+  private static final Map<IdentityKey, Shape> outlines = newLruMap();
+
+  private static final LongAdder hitCount = new LongAdder();
+  private static final LongAdder missCount = new LongAdder();
+
+  /** Constructor - Private constructor to prevent instantiation */
+  private TextLayoutCache() {}
+
+  /**
+   * Returns a TextLayout for the given text, equal to new TextLayout(text, font, frc)
+   *
+   * @param text
+   * @param font
+   * @param frc
+   * @return the cached TextLayout
+   */
+  public static TextLayout getTextLayout(String text, Font font, FontRenderContext frc) {
+
+    Key key = new Key(text, font, frc);
+    TextLayout textLayout;
+    synchronized (textLayouts) {
+      textLayout = textLayouts.get(key);
+    }
+    if (textLayout != null) {
+      hitCount.increment();
+      return textLayout;
+    }
+    missCount.increment();
+    // created outside of the lock, in the rare case of a race the first one wins
+    textLayout = new TextLayout(text, font, frc);
+    synchronized (textLayouts) {
+      TextLayout existing = textLayouts.putIfAbsent(key, textLayout);
+      return existing == null ? textLayout : existing;
+    }
+  }
+
+  /**
+   * Returns the outline of a TextLayout at the origin, equal to textLayout.getOutline(null). The
+   * returned shape is shared and must not be modified.
+   *
+   * @param textLayout
+   * @return the cached outline
+   */
+  public static Shape getOutline(TextLayout textLayout) {
+
+    IdentityKey key = new IdentityKey(textLayout);
+    Shape outline;
+    synchronized (outlines) {
+      outline = outlines.get(key);
+    }
+    if (outline != null) {
+      hitCount.increment();
+      return outline;
+    }
+    missCount.increment();
+    outline = textLayout.getOutline(null);
+    synchronized (outlines) {
+      Shape existing = outlines.putIfAbsent(key, outline);
+      return existing == null ? outline : existing;
+    }
+  }
+
+  /**
+   * @return the number of lookups answered from the cache since the last reset
+   */
+  public static long getHitCount() {
+
+    return hitCount.sum();
+  }
+
+  /**
+   * @return the number of lookups which had to shape text or extract outlines since the last reset
+   */
+  public static long getMissCount() {
+
+    return missCount.sum();
+  }
+
+  /** Resets the hit and miss counters */
+  public static void resetCounts() {
+
+    hitCount.reset();
+    missCount.reset();
+  }
+
+  /**
+   * Sets the maximum number of TextLayouts, and of outlines, kept. The least recently used ones are
+   * dropped first.
+   *
+   * @param maxSize
+   */
+  public static void setMaxSize(int maxSize) {
+
+    if (maxSize < 0) {
+      throw new IllegalArgumentException("The cache size must not be negative!!!");
+    }
+    TextLayoutCache.maxSize = maxSize;
+    // dropping everything is simpler than trimming and the cache refills within one paint
+    clear();
+  }
+
+  public static int getMaxSize() {
+
+    return maxSize;
+  }
+
+  /** Drops all cached TextLayouts and outlines */
+  public static void clear() {
+
+    synchronized (textLayouts) {
+      textLayouts.clear();
+    }
+    synchronized (outlines) {
+      outlines.clear();
+    }
+  }
+
+  private static <K, V> Map<K, V> newLruMap() {
+
+    return new LinkedHashMap<K, V>(64, 0.75f, true) {
+
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+
+        return size() > maxSize;
+      }
+    };
+  }
+
+  private static final class Key {
+
+    private final String text;
+    private final Font font;
+    private final FontRenderContext frc;
+    private final int hashCode;
+
+    Key(String text, Font font, FontRenderContext frc) {
+
+      this.text = text;
+      this.font = font;
+      this.frc = frc;
+      this.hashCode = 31 * (31 * text.hashCode() + font.hashCode()) + frc.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+
+      if (this == o) return true;
+      if (!(o instanceof Key)) return false;
+      Key key = (Key) o;
+      return hashCode == key.hashCode
+          && text.equals(key.text)
+          && font.equals(key.font)
+          && frc.equals(key.frc);
+    }
+
+    @Override
+    public int hashCode() {
+
+      return hashCode;
+    }
+  }
+
+  /** Outlines are looked up by the identity of the cached TextLayout they belong to */
+  private static final class IdentityKey {
+
+    private final TextLayout textLayout;
+
+    IdentityKey(TextLayout textLayout) {
+
+      this.textLayout = textLayout;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+
+      return o instanceof IdentityKey && ((IdentityKey) o).textLayout == textLayout;
+    }
+
+    @Override
+    public int hashCode() {
+
+      return System.identityHashCode(textLayout);
+    }
+  }
+}
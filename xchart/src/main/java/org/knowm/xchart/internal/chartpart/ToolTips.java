@@ -10,9 +10,11 @@ import java.awt.font.TextLayout;
 import java.awt.geom.AffineTransform;
 import java.awt.geom.Ellipse2D;
 import java.awt.geom.Rectangle2D;
+import java.text.Format;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Supplier;
 import org.knowm.xchart.style.BoxStyler;
 import org.knowm.xchart.style.OHLCStyler;
 import org.knowm.xchart.style.Styler;
@@ -26,6 +28,9 @@ public class ToolTips extends MouseAdapter implements ChartPart {
   private static final int MARGIN = 5;
   private static final int MOUSE_MARGIN = 20;
 
+  /** Edge length in pixels of the grid cells the tooltips are indexed by */
+  private static final int CELL_SIZE = 16;
+
   private final Chart chart;
   private final Styler styler;
 
@@ -33,6 +38,12 @@ public class ToolTips extends MouseAdapter implements ChartPart {
   private final List<ToolTip> toolTipList = new ArrayList<>();
   private ToolTip tooltip = null;
 
+  // spatial index of toolTipList for the mouse lookup, built lazily after painting
+  private Grid grid;
+
+  // lookups of the parts which create the tooltip of a point only when it is hovered
+  private final List<Finder> finders = new ArrayList<>();
+
   /**
    * Constructor
    *
@@ -81,16 +92,26 @@ public class ToolTips extends MouseAdapter implements ChartPart {
     }
   }
 
-  private ToolTip getSelectedTooltip(int x, int y) {
+  ToolTip getSelectedTooltip(int x, int y) {
 
-    // find the datapoint based on the mouse location
+    if (grid == null) {
+      grid = new Grid(toolTipList, chart.getWidth(), chart.getHeight());
+    }
     ToolTip newPoint = null;
-    for (ToolTip tooltip : toolTipList) {
-      if (tooltip.shape.contains(x, y)) {
-        newPoint = tooltip;
-        break;
+    if (grid.covers(x, y)) {
+      newPoint = grid.find(x, y);
+    } else {
+      // find the datapoint based on the mouse location
+      for (ToolTip tooltip : toolTipList) {
+        if (tooltip.getShape().contains(x, y)) {
+          newPoint = tooltip;
+          break;
+        }
       }
     }
+    for (int i = 0; newPoint == null && i < finders.size(); i++) {
+      newPoint = finders.get(i).find(x, y);
+    }
     //    System.out.println("newPoint = " + newPoint);
     return newPoint;
   }
@@ -133,8 +154,8 @@ public class ToolTips extends MouseAdapter implements ChartPart {
   private void paintToolTip(Graphics2D g, ToolTip tooltip) {
 
     TextLayout textLayout =
-        new TextLayout(
-            tooltip.label, styler.getToolTipFont(), new FontRenderContext(null, true, false));
+        TextLayoutCache.getTextLayout(
+            tooltip.getLabel(), styler.getToolTipFont(), new FontRenderContext(null, true, false));
     Rectangle2D annotationRectangle = textLayout.getBounds();
 
     double w = annotationRectangle.getWidth() + 2 * MARGIN;
@@ -149,7 +170,7 @@ public class ToolTips extends MouseAdapter implements ChartPart {
       // not the box with label, but the shape
       // highlight shape for popup
       g.setColor(styler.getToolTipHighlightColor());
-      g.fill(tooltip.shape);
+      g.fill(tooltip.getShape());
     }
 
     //    System.out.println("paintToolTip");
@@ -196,7 +217,7 @@ public class ToolTips extends MouseAdapter implements ChartPart {
     g.draw(rectangle);
 
     // draw text label
-    Shape shape = textLayout.getOutline(null);
+    Shape shape = TextLayoutCache.getOutline(textLayout);
     g.setColor(styler.getChartFontColor());
     g.setFont(styler.getToolTipFont());
     AffineTransform orig = g.getTransform();
@@ -209,7 +230,7 @@ public class ToolTips extends MouseAdapter implements ChartPart {
 
   private void paintMultiLineToolTip(Graphics2D g) {
 
-    String[] texts = tooltip.label.split(System.lineSeparator());
+    String[] texts = tooltip.getLabel().split(System.lineSeparator());
     List<TextLayout> list = new ArrayList<>();
     TextLayout textLayout = null;
     Rectangle2D bounds = null;
@@ -217,7 +238,8 @@ public class ToolTips extends MouseAdapter implements ChartPart {
     double backgroundWidth = 0;
     for (String text : texts) {
       textLayout =
-          new TextLayout(text, styler.getToolTipFont(), new FontRenderContext(null, true, false));
+          TextLayoutCache.getTextLayout(
+              text, styler.getToolTipFont(), new FontRenderContext(null, true, false));
       bounds = textLayout.getBounds();
       bounds.getHeight();
       if (backgroundWidth < bounds.getWidth()) {
@@ -257,7 +279,7 @@ public class ToolTips extends MouseAdapter implements ChartPart {
     g.setColor(styler.getChartFontColor());
     g.setFont(styler.getToolTipFont());
     for (TextLayout t : list) {
-      g.fill(t.getOutline(null));
+      g.fill(TextLayoutCache.getOutline(t));
       at = new AffineTransform();
       at.translate(0, styler.getToolTipFont().getSize() + MARGIN);
       g.transform(at);
@@ -278,14 +300,34 @@ public class ToolTips extends MouseAdapter implements ChartPart {
     addData(xOffset, yOffset, label);
   }
 
+  /**
+   * Adds a data (xValue, yValue) with coordinates (xOffset, yOffset). This point will be
+   * highlighted with a circle centering (xOffset, yOffset). The label is only formatted once the
+   * tooltip is shown.
+   */
+  void addData(
+      double xOffset,
+      double yOffset,
+      Format xFormat,
+      Format yFormat,
+      double xValue,
+      double yValue) {
+
+    toolTipList.add(
+        new ToolTip(
+            xOffset, yOffset, () -> getLabel(xFormat.format(xValue), yFormat.format(yValue))));
+    grid = null;
+  }
+
   /**
    * Adds a data with label with coordinates (xOffset, yOffset). This point will be highlighted with
    * a circle centering (xOffset, yOffset)
    */
   void addData(double xOffset, double yOffset, String label) {
 
-    ToolTip toolTip = new ToolTip(xOffset, yOffset, label);
+    ToolTip toolTip = new ToolTip(xOffset, yOffset, () -> label);
     toolTipList.add(toolTip);
+    grid = null;
   }
 
   /**
@@ -301,8 +343,57 @@ public class ToolTips extends MouseAdapter implements ChartPart {
 
   void addData(Shape shape, double xOffset, double yOffset, double width, String label) {
 
-    ToolTip toolTip = new ToolTip(shape, xOffset, yOffset, width, label);
+    ToolTip toolTip = new ToolTip(shape, xOffset, yOffset, width, () -> label);
     toolTipList.add(toolTip);
+    grid = null;
+  }
+
+  /**
+   * Adds a data (xValue, yValue) with geometry defined with shape. This point will be highlighted
+   * using the shape. The label is only formatted once the tooltip is shown.
+   */
+  void addData(
+      Shape shape,
+      double xOffset,
+      double yOffset,
+      double width,
+      Format xFormat,
+      Format yFormat,
+      double xValue,
+      double yValue) {
+
+    toolTipList.add(
+        new ToolTip(
+            shape,
+            xOffset,
+            yOffset,
+            width,
+            () -> getLabel(xFormat.format(xValue), yFormat.format(yValue))));
+    grid = null;
+  }
+
+  /**
+   * Adds a data (xValue, yValue) with geometry defined with shape, for category data. This point
+   * will be highlighted using the shape. The label is only formatted once the tooltip is shown.
+   */
+  void addData(
+      Shape shape,
+      double xOffset,
+      double yOffset,
+      double width,
+      Format xFormat,
+      Format yFormat,
+      Object xValue,
+      double yValue) {
+
+    toolTipList.add(
+        new ToolTip(
+            shape,
+            xOffset,
+            yOffset,
+            width,
+            () -> getLabel(xFormat.format(xValue), yFormat.format(yValue))));
+    grid = null;
   }
 
   private String getLabel(String xValue, String yValue) {
@@ -320,8 +411,105 @@ public class ToolTips extends MouseAdapter implements ChartPart {
     return "";
   }
 
+  /**
+   * Adds a lookup for the tooltips of many shapes, which creates the tooltip of a point only when
+   * it is hovered. Its tooltips are not shown if the tooltips are always visible.
+   */
+  void addData(Finder finder) {
+
+    finders.add(finder);
+  }
+
   public void clearData() {
     toolTipList.clear();
+    finders.clear();
+    grid = null;
+  }
+
+  /** Creates the tooltip of the shape at a point on the chart */
+  interface Finder {
+
+    /**
+     * @return the tooltip or null if there is no shape at the point
+     */
+    ToolTip find(int x, int y);
+  }
+
+  /**
+   * A uniform grid of CELL_SIZE cells over the chart. Each cell lists the tooltips whose shape
+   * bounds overlap it, in the order they were added, so a lookup only tests the few tooltips of one
+   * cell and finds the same tooltip as a scan of the whole list would.
+   */
+  private static class Grid {
+
+    private final int columns;
+    private final int rows;
+    private final ToolTip[] toolTips;
+    // entries[cellStart[c]] until entries[cellStart[c + 1]] are the tooltip indices of cell c
+    private final int[] cellStart;
+    private final int[] entries;
+
+    Grid(List<ToolTip> toolTipList, int width, int height) {
+
+      columns = Math.max(1, (width + CELL_SIZE - 1) / CELL_SIZE);
+      rows = Math.max(1, (height + CELL_SIZE - 1) / CELL_SIZE);
+      toolTips = toolTipList.toArray(new ToolTip[0]);
+
+      // the cell ranges of all tooltips, as the first and last column and row
+      int[] ranges = new int[4 * toolTips.length];
+      cellStart = new int[columns * rows + 1];
+      for (int i = 0; i < toolTips.length; i++) {
+        Rectangle2D bounds = toolTips[i].getShapeBounds();
+        int firstColumn = Math.max(0, (int) Math.floor(bounds.getMinX() / CELL_SIZE));
+        int lastColumn = Math.min(columns - 1, (int) Math.floor(bounds.getMaxX() / CELL_SIZE));
+        int firstRow = Math.max(0, (int) Math.floor(bounds.getMinY() / CELL_SIZE));
+        int lastRow = Math.min(rows - 1, (int) Math.floor(bounds.getMaxY() / CELL_SIZE));
+        if (!(bounds.getMinX() <= bounds.getMaxX() && bounds.getMinY() <= bounds.getMaxY())) {
+          // NaN coordinates, nothing can be hit
+          lastColumn = -1;
+        }
+        ranges[4 * i] = firstColumn;
+        ranges[4 * i + 1] = lastColumn;
+        ranges[4 * i + 2] = firstRow;
+        ranges[4 * i + 3] = lastRow;
+        for (int row = firstRow; row <= lastRow; row++) {
+          for (int column = firstColumn; column <= lastColumn; column++) {
+            cellStart[row * columns + column + 1]++;
+          }
+        }
+      }
+      for (int c = 0; c < columns * rows; c++) {
+        cellStart[c + 1] += cellStart[c];
+      }
+
+      entries = new int[cellStart[columns * rows]];
+      int[] fill = new int[columns * rows];
+      for (int i = 0; i < toolTips.length; i++) {
+        for (int row = ranges[4 * i + 2]; row <= ranges[4 * i + 3]; row++) {
+          for (int column = ranges[4 * i]; column <= ranges[4 * i + 1]; column++) {
+            int c = row * columns + column;
+            entries[cellStart[c] + fill[c]++] = i;
+          }
+        }
+      }
+    }
+
+    boolean covers(int x, int y) {
+
+      return x >= 0 && y >= 0 && x < columns * CELL_SIZE && y < rows * CELL_SIZE;
+    }
+
+    ToolTip find(int x, int y) {
+
+      int c = (y / CELL_SIZE) * columns + x / CELL_SIZE;
+      for (int e = cellStart[c]; e < cellStart[c + 1]; e++) {
+        ToolTip toolTip = toolTips[entries[e]];
+        if (toolTip.getShape().contains(x, y)) {
+          return toolTip;
+        }
+      }
+      return null;
+    }
   }
 
   static class ToolTip {
@@ -329,9 +517,11 @@ public class ToolTips extends MouseAdapter implements ChartPart {
     // width of data point (used for bar charts)
     // TODO possibly delete this
     final double w;
-    private final String label;
-    // used for popup detection & popup highlight
-    private final Shape shape;
+    // formatted when first needed, which is only for the tooltips actually shown
+    private Supplier<String> labelSupplier;
+    private String label;
+    // used for popup detection & popup highlight, created on demand for data points
+    private Shape shape;
     // label center coordinates
     private final double x;
     private final double y;
@@ -341,19 +531,14 @@ public class ToolTips extends MouseAdapter implements ChartPart {
      *
      * @param x
      * @param y
-     * @param label
+     * @param labelSupplier
      */
-    ToolTip(double x, double y, String label) {
-
-      double halfSize = MARGIN * 1.5;
-      double markerSize = MARGIN * 3;
-
-      this.shape = new Ellipse2D.Double(x - halfSize, y - halfSize, markerSize, markerSize);
+    ToolTip(double x, double y, Supplier<String> labelSupplier) {
 
       this.x = x;
       this.y = y;
       this.w = 0;
-      this.label = label;
+      this.labelSupplier = labelSupplier;
     }
 
     /**
@@ -363,15 +548,44 @@ public class ToolTips extends MouseAdapter implements ChartPart {
      * @param x
      * @param y
      * @param width
-     * @param label
+     * @param labelSupplier
      */
-    ToolTip(Shape shape, double x, double y, double width, String label) {
+    ToolTip(Shape shape, double x, double y, double width, Supplier<String> labelSupplier) {
 
       this.x = x;
       this.y = y;
       this.w = width;
       this.shape = shape;
-      this.label = label;
+      this.labelSupplier = labelSupplier;
+    }
+
+    String getLabel() {
+
+      if (label == null) {
+        label = labelSupplier.get();
+        labelSupplier = null;
+      }
+      return label;
+    }
+
+    Shape getShape() {
+
+      if (shape == null) {
+        double halfSize = MARGIN * 1.5;
+        double markerSize = MARGIN * 3;
+        shape = new Ellipse2D.Double(x - halfSize, y - halfSize, markerSize, markerSize);
+      }
+      return shape;
+    }
+
+    /** The bounds of the shape, without creating it for data points */
+    Rectangle2D getShapeBounds() {
+
+      if (shape == null) {
+        double halfSize = MARGIN * 1.5;
+        return new Rectangle2D.Double(x - halfSize, y - halfSize, 2 * halfSize, 2 * halfSize);
+      }
+      return shape.getBounds2D();
     }
 
     @Override
@@ -380,10 +594,10 @@ public class ToolTips extends MouseAdapter implements ChartPart {
           + "w="
           + w
           + ", label='"
-          + label
+          + getLabel()
           + '\''
           + ", shape="
-          + shape
+          + getShape()
           + ", x="
           + x
           + ", y="
@@ -396,12 +610,12 @@ public class ToolTips extends MouseAdapter implements ChartPart {
       if (this == o) return true;
       if (o == null || getClass() != o.getClass()) return false;
       ToolTip tooltip = (ToolTip) o;
-      return label.equals(tooltip.label) && shape.equals(tooltip.shape);
+      return getLabel().equals(tooltip.getLabel()) && getShape().equals(tooltip.getShape());
     }
 
     @Override
     public int hashCode() {
-      return Objects.hash(label, shape);
+      return Objects.hash(getLabel(), getShape());
     }
   }
 }
@@ -0,0 +1,300 @@
+package org.knowm.xchart.internal.chartpart;
+
+import java.awt.geom.Rectangle2D;
+import java.util.Arrays;
+import java.util.BitSet;
+import org.knowm.xchart.XYSeries.DecimationMode;
+
+/**
+ * Reduces the data of an XY series to the points which are actually distinguishable at the current
+ * plot size. The result is an array of indices into the series data, in ascending order, so that
+ * the render loop can simply skip the points which would not change the painted pixels.
+ */
+final class XYDataDecimator {
+
+  /** Series are only decimated if they have more points than this factor times the plot width */
+  private static final int MIN_POINTS_PER_PIXEL = 4;
+
+  private final Rectangle2D bounds;
+
+  // screen = start + value * scale, for y the scale is negative as screen y grows downwards
+  private final boolean xLogarithmic;
+  private final double xStart;
+  private final double xScale;
+  private final boolean yLogarithmic;
+  private final double yStart;
+  private final double yScale;
+
+  /**
+   * Constructor
+   *
+   * @param bounds the plot content bounds
+   * @param xLogarithmic
+   * @param xStart screen x of the value 0
+   * @param xScale screen pixels per x unit
+   * @param yLogarithmic
+   * @param yStart screen y of the value 0
+   * @param yScale screen pixels per y unit
+   */
+  XYDataDecimator(
+      Rectangle2D bounds,
+      boolean xLogarithmic,
+      double xStart,
+      double xScale,
+      boolean yLogarithmic,
+      double yStart,
+      double yScale) {
+
+    this.bounds = bounds;
+    this.xLogarithmic = xLogarithmic;
+    this.xStart = xStart;
+    this.xScale = xScale;
+    this.yLogarithmic = yLogarithmic;
+    this.yStart = yStart;
+    this.yScale = yScale;
+  }
+
+  /**
+   * Decimates the given data
+   *
+   * @param decimationMode
+   * @param isScatter true if only markers are painted for the series
+   * @param xData
+   * @param yData
+   * @param from the first index to consider, inclusive
+   * @param to the last index to consider, exclusive
+   * @return the indices of the points to paint, or null if all points should be painted
+   */
+  int[] decimate(
+      DecimationMode decimationMode,
+      boolean isScatter,
+      double[] xData,
+      double[] yData,
+      int from,
+      int to) {
+
+    int width = (int) Math.ceil(bounds.getWidth());
+    if (decimationMode == DecimationMode.None
+        || to - from <= MIN_POINTS_PER_PIXEL * width
+        || Double.isInfinite(xScale)
+        || Double.isNaN(xScale)
+        || Double.isInfinite(yScale)
+        || Double.isNaN(yScale)) {
+      return null;
+    }
+
+    if (isScatter) {
+      return decimatePixelGrid(xData, yData, from, to);
+    }
+    if (decimationMode == DecimationMode.LTTB) {
+      int[] indices = decimateLTTB(xData, yData, from, to, 2 * width);
+      if (indices != null) {
+        return indices;
+      }
+    }
+    return decimateM4(xData, yData, from, to);
+  }
+
+  private double getScreenX(double x) {
+
+    return xStart + (xLogarithmic ? Math.log10(x) : x) * xScale;
+  }
+
+  private double getScreenY(double y) {
+
+    return yStart + (yLogarithmic ? Math.log10(y) : y) * yScale;
+  }
+
+  /**
+   * M4 aggregation: for each run of consecutive points falling into the same pixel column, keep the
+   * first, the minimum, the maximum and the last point. The resulting polyline covers exactly the
+   * same pixels as the full one. NaN values are always kept as they break lines and areas.
+   */
+  int[] decimateM4(double[] xData, double[] yData, int from, int to) {
+
+    IndexBuffer result = new IndexBuffer(4 * ((int) bounds.getWidth() + 2));
+
+    long column = Long.MIN_VALUE;
+    int first = -1;
+    int min = -1;
+    int max = -1;
+    int last = -1;
+
+    for (int i = from; i < to; i++) {
+
+      double y = yData[i];
+      double screenX = getScreenX(xData[i]);
+      if (Double.isNaN(y) || Double.isNaN(screenX)) {
+        result.addBucket(first, min, max, last);
+        first = -1;
+        column = Long.MIN_VALUE;
+        result.add(i);
+        continue;
+      }
+
+      long c = (long) Math.floor(screenX);
+      if (c != column || first == -1) {
+        result.addBucket(first, min, max, last);
+        column = c;
+        first = i;
+        min = i;
+        max = i;
+      } else if (y < yData[min]) {
+        min = i;
+      } else if (y > yData[max]) {
+        max = i;
+      }
+      last = i;
+    }
+    result.addBucket(first, min, max, last);
+
+    return result.toArray();
+  }
+
+  /**
+   * Largest-Triangle-Three-Buckets downsampling, which keeps the visual shape of the series with a
+   * fixed number of points.
+   *
+   * @return the indices, or null if the data contains NaN values, which LTTB can't represent
+   */
+  int[] decimateLTTB(double[] xData, double[] yData, int from, int to, int threshold) {
+
+    int length = to - from;
+    if (threshold >= length || threshold < 3) {
+      return null;
+    }
+
+    double[] sx = new double[length];
+    double[] sy = new double[length];
+    for (int i = 0; i < length; i++) {
+      sx[i] = getScreenX(xData[from + i]);
+      sy[i] = getScreenY(yData[from + i]);
+      if (Double.isNaN(sx[i]) || Double.isNaN(sy[i])) {
+        return null;
+      }
+    }
+
+    int[] indices = new int[threshold];
+    int count = 0;
+    indices[count++] = from;
+
+    double bucketSize = (double) (length - 2) / (threshold - 2);
+    int a = 0;
+    for (int bucket = 0; bucket < threshold - 2; bucket++) {
+
+      // average of the next bucket is the third point of the triangle
+      int nextStart = (int) Math.floor((bucket + 1) * bucketSize) + 1;
+      int nextEnd = Math.min((int) Math.floor((bucket + 2) * bucketSize) + 1, length);
+      double avgX = 0;
+      double avgY = 0;
+      for (int i = nextStart; i < nextEnd; i++) {
+        avgX += sx[i];
+        avgY += sy[i];
+      }
+      int nextLength = nextEnd - nextStart;
+      avgX /= nextLength;
+      avgY /= nextLength;
+
+      // pick the point of the current bucket building the largest triangle
+      int start = (int) Math.floor(bucket * bucketSize) + 1;
+      int end = (int) Math.floor((bucket + 1) * bucketSize) + 1;
+      double maxArea = -1;
+      int maxIndex = start;
+      for (int i = start; i < end; i++) {
+        double area = Math.abs((sx[a] - avgX) * (sy[i] - sy[a]) - (sx[a] - sx[i]) * (avgY - sy[a]));
+        if (area > maxArea) {
+          maxArea = area;
+          maxIndex = i;
+        }
+      }
+      indices[count++] = from + maxIndex;
+      a = maxIndex;
+    }
+    indices[count] = to - 1;
+
+    return indices;
+  }
+
+  /**
+   * For markers only: keep the first point painted into each pixel, as any later point in the same
+   * pixel is painted with the same marker at the same location. Points too far outside of the plot
+   * to be visible are dropped.
+   */
+  int[] decimatePixelGrid(double[] xData, double[] yData, int from, int to) {
+
+    int margin = 16;
+    int left = (int) Math.floor(bounds.getX()) - margin;
+    int top = (int) Math.floor(bounds.getY()) - margin;
+    int columns = (int) Math.ceil(bounds.getWidth()) + 2 * margin;
+    int rows = (int) Math.ceil(bounds.getHeight()) + 2 * margin;
+
+    BitSet occupied = new BitSet(columns * rows);
+    IndexBuffer result = new IndexBuffer(columns);
+
+    for (int i = from; i < to; i++) {
+
+      double screenX = getScreenX(xData[i]);
+      double screenY = getScreenY(yData[i]);
+      if (Double.isNaN(screenX) || Double.isNaN(screenY)) {
+        continue;
+      }
+      int column = (int) Math.floor(screenX) - left;
+      int row = (int) Math.floor(screenY) - top;
+      if (column < 0 || column >= columns || row < 0 || row >= rows) {
+        continue;
+      }
+      int cell = row * columns + column;
+      if (!occupied.get(cell)) {
+        occupied.set(cell);
+        result.add(i);
+      }
+    }
+
+    return result.toArray();
+  }
+
+  /** A growable int array */
+  private static class IndexBuffer {
+
+    private int[] indices;
+    private int size;
+
+    IndexBuffer(int initialCapacity) {
+
+      indices = new int[Math.max(initialCapacity, 16)];
+    }
+
+    void add(int index) {
+
+      if (size == indices.length) {
+        indices = Arrays.copyOf(indices, size * 2);
+      }
+      indices[size++] = index;
+    }
+
+    /** Adds the distinct indices of an M4 bucket in ascending order */
+    void addBucket(int first, int min, int max, int last) {
+
+      if (first == -1) {
+        return;
+      }
+      add(first);
+      int lower = Math.min(min, max);
+      int upper = Math.max(min, max);
+      if (lower != first) {
+        add(lower);
+      }
+      if (upper != lower && upper != first) {
+        add(upper);
+      }
+      if (last != upper && last != lower && last != first) {
+        add(last);
+      }
+    }
+
+    int[] toArray() {
+
+      return Arrays.copyOf(indices, size);
+    }
+  }
+}
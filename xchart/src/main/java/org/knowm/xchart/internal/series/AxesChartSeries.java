@@ -2,7 +2,14 @@ package org.knowm.xchart.internal.series;
 
 import java.awt.*;
 
-/** A Series containing X and Y data to be plotted on a Chart with X and Y Axes. */
+/**
+ * A Series containing X and Y data to be plotted on a Chart with X and Y Axes.
+ *
+ * <p>The data may be replaced by one thread while another one paints the chart. Changes are made
+ * under the series' lock and then published as an immutable {@link DataSnapshot} with a single
+ * volatile write. While a chart is painted, the painting thread pins the snapshot of each series,
+ * so the axes and the plot content read the same data even if it is replaced in the meantime.
+ */
 public abstract class AxesChartSeries extends Series {
 
   final DataType xAxisDataType;
@@ -29,6 +36,14 @@ public abstract class AxesChartSeries extends Series {
   /** Line Width */
   private float lineWidth = -1.0f;
 
+  private int dataVersion;
+
+  /** the data as of the last change, read by the getters */
+  private volatile DataSnapshot data;
+
+  /** the data the painting thread reads instead, see {@link #pinDataSnapshot} */
+  private final ThreadLocal<DataSnapshot> pinnedData = new ThreadLocal<>();
+
   /**
    * Constructor
    *
@@ -58,24 +73,93 @@ public abstract class AxesChartSeries extends Series {
 
   protected abstract void calculateMinMax();
 
+  /**
+   * Creates the snapshot of the current data, after the min and max are calculated. Series with
+   * more data than the min and max return a subclass holding it.
+   *
+   * @param previous the snapshot published before, or null
+   */
+  protected DataSnapshot createDataSnapshot(DataSnapshot previous) {
+
+    return new DataSnapshot(this);
+  }
+
+  /**
+   * Recalculates the min and max after the data changed, bumps the data version and publishes it
+   */
+  protected void dataChanged() {
+
+    dataVersion++;
+    calculateMinMax();
+    publishData();
+  }
+
+  /** Publishes the current data to the getters, without changing the data version */
+  protected void publishData() {
+
+    data = createDataSnapshot(data);
+  }
+
+  /**
+   * @return the data pinned by the calling thread, or else the data as of the last change, whose
+   *     parts are consistent with each other
+   */
+  public DataSnapshot getDataSnapshot() {
+
+    DataSnapshot pinned = pinnedData.get();
+    return pinned != null ? pinned : data;
+  }
+
+  /**
+   * @return the data as of the last change, even on a thread which pinned other data
+   */
+  protected DataSnapshot getPublishedDataSnapshot() {
+
+    return data;
+  }
+
+  /**
+   * This is an internal method which shouldn't be called from client code. Lets the getters return
+   * the given data on the calling thread, until it is unpinned.
+   *
+   * @param snapshot a snapshot of this series, or null to unpin it
+   */
+  public void pinDataSnapshot(DataSnapshot snapshot) {
+
+    if (snapshot == null) {
+      pinnedData.remove();
+    } else {
+      pinnedData.set(snapshot);
+    }
+  }
+
+  /**
+   * @return a counter incremented whenever the data changes, which lets cached axis layouts tell if
+   *     they are stale
+   */
+  public int getDataVersion() {
+
+    return getDataSnapshot().dataVersion;
+  }
+
   public double getXMin() {
 
-    return xMin;
+    return getDataSnapshot().xMin;
   }
 
   public double getXMax() {
 
-    return xMax;
+    return getDataSnapshot().xMax;
   }
 
   public double getYMin() {
 
-    return yMin;
+    return getDataSnapshot().yMin;
   }
 
   public double getYMax() {
 
-    return yMax;
+    return getDataSnapshot().yMax;
   }
 
   public BasicStroke getLineStyle() {
@@ -145,4 +229,51 @@ public abstract class AxesChartSeries extends Series {
 
     return yAxisType;
   }
+
+  /**
+   * The data of a series at one point in time. Neither the snapshot nor its arrays are changed
+   * after it is published, so it can be read by any thread without locking.
+   */
+  public static class DataSnapshot {
+
+    private final double xMin;
+    private final double xMax;
+    private final double yMin;
+    private final double yMax;
+    private final int dataVersion;
+
+    protected DataSnapshot(AxesChartSeries series) {
+
+      this.xMin = series.xMin;
+      this.xMax = series.xMax;
+      this.yMin = series.yMin;
+      this.yMax = series.yMax;
+      this.dataVersion = series.dataVersion;
+    }
+
+    public double getXMin() {
+
+      return xMin;
+    }
+
+    public double getXMax() {
+
+      return xMax;
+    }
+
+    public double getYMin() {
+
+      return yMin;
+    }
+
+    public double getYMax() {
+
+      return yMax;
+    }
+
+    public int getDataVersion() {
+
+      return dataVersion;
+    }
+  }
 }
@@ -2,12 +2,15 @@ package org.knowm.xchart.internal.series;
 
 import java.util.Collection;
 import java.util.Date;
-import java.util.Iterator;
 import java.util.List;
+import org.knowm.xchart.internal.Utils;
 
 /**
  * A Series containing X and Y data to be plotted on a Chart with X and Y Axes. xData can be Number
  * or Date or String, hence a List<?>
+ *
+ * <p>The lists and arrays and the min and max are published together in one {@link DataSnapshot},
+ * so the getters never lock and always return data which belongs together.
  */
 public abstract class AxesChartSeriesCategory extends MarkerSeries {
 
@@ -17,6 +20,11 @@ public abstract class AxesChartSeriesCategory extends MarkerSeries {
 
   List<? extends Number> extraValues;
 
+  // the y data and error bars as arrays with NaN for missing values, either given directly or
+  // converted from the lists when the data changes
+  private double[] yDataArray;
+  private double[] extraValuesArray;
+
   /**
    * Constructor
    *
@@ -37,7 +45,25 @@ public abstract class AxesChartSeriesCategory extends MarkerSeries {
     this.yData = yData;
     this.extraValues = extraValues;
 
-    calculateMinMax();
+    dataChanged();
+  }
+
+  /**
+   * Constructor - the y data and error bars are kept as the given arrays, which avoids boxing them
+   *
+   * @param name
+   * @param xData
+   * @param yData the y data, NaN for missing values
+   * @param extraValues
+   * @param xAxisDataType
+   */
+  public AxesChartSeriesCategory(
+      String name, List<?> xData, double[] yData, double[] extraValues, DataType xAxisDataType) {
+
+    super(name, xAxisDataType);
+
+    setData(xData, yData, extraValues);
+    dataChanged();
   }
 
   /**
@@ -48,7 +74,7 @@ public abstract class AxesChartSeriesCategory extends MarkerSeries {
    * @param newYData
    * @param newExtraValues
    */
-  public void replaceData(
+  public synchronized void replaceData(
       List<?> newXData, List<? extends Number> newYData, List<? extends Number> newExtraValues) {
 
     // Sanity check
@@ -62,7 +88,32 @@ public abstract class AxesChartSeriesCategory extends MarkerSeries {
     xData = newXData;
     yData = newYData;
     extraValues = newExtraValues;
-    calculateMinMax();
+    yDataArray = null;
+    extraValuesArray = null;
+    dataChanged();
+  }
+
+  /**
+   * This is an internal method which shouldn't be called from client code. Use
+   * CategoryChart.updateCategorySeries instead!
+   *
+   * @param newXData
+   * @param newYData the new y data, NaN for missing values
+   * @param newExtraValues
+   */
+  public synchronized void replaceData(
+      List<?> newXData, double[] newYData, double[] newExtraValues) {
+
+    // Sanity check
+    if (newExtraValues != null && newExtraValues.length != newYData.length) {
+      throw new IllegalArgumentException("error bars and Y-Axis sizes are not the same!!!");
+    }
+    if (newXData.size() != newYData.length) {
+      throw new IllegalArgumentException("X and Y-Axis sizes are not the same!!!");
+    }
+
+    setData(newXData, newYData, newExtraValues);
+    dataChanged();
   }
 
   /**
@@ -70,15 +121,32 @@ public abstract class AxesChartSeriesCategory extends MarkerSeries {
    *
    * @param newYData Updated yData
    */
-  public void replaceData(List<? extends Number> newYData) {
+  public synchronized void replaceData(List<? extends Number> newYData) {
 
     yData = newYData;
-    calculateMinMax();
+    yDataArray = null;
+    dataChanged();
+  }
+
+  private void setData(List<?> newXData, double[] newYData, double[] newExtraValues) {
+
+    xData = newXData;
+    yData = Utils.getNumberListViewOfDoubleArray(newYData);
+    extraValues = Utils.getNumberListViewOfDoubleArray(newExtraValues);
+    yDataArray = newYData;
+    extraValuesArray = newExtraValues;
   }
 
   @Override
   protected void calculateMinMax() {
 
+    if (yDataArray == null) {
+      yDataArray = toArray(yData);
+    }
+    if (extraValuesArray == null && extraValues != null) {
+      extraValuesArray = toArray(extraValues);
+    }
+
     // xData
     double[] xMinMax = findMinMax(xData, xAxisDataType);
     xMin = xMinMax[0];
@@ -88,10 +156,10 @@ public abstract class AxesChartSeriesCategory extends MarkerSeries {
 
     // yData
     double[] yMinMax;
-    if (extraValues == null) {
-      yMinMax = findMinMax(yData, yAxisType);
+    if (extraValuesArray == null) {
+      yMinMax = findMinMax(yDataArray);
     } else {
-      yMinMax = findMinMaxWithErrorBars(yData, extraValues);
+      yMinMax = findMinMaxWithErrorBars(yDataArray, extraValuesArray);
     }
     yMin = yMinMax[0];
     yMax = yMinMax[1];
@@ -99,6 +167,18 @@ public abstract class AxesChartSeriesCategory extends MarkerSeries {
     // System.out.println(yMax);
   }
 
+  @Override
+  protected DataSnapshot createDataSnapshot(AxesChartSeries.DataSnapshot previous) {
+
+    return new DataSnapshot(this);
+  }
+
+  @Override
+  public DataSnapshot getDataSnapshot() {
+
+    return (DataSnapshot) super.getDataSnapshot();
+  }
+
   /**
    * Finds the min and max of a dataset accounting for error bars
    *
@@ -106,22 +186,42 @@ public abstract class AxesChartSeriesCategory extends MarkerSeries {
    * @param errorBars
    * @return
    */
-  private double[] findMinMaxWithErrorBars(
-      Collection<? extends Number> data, Collection<? extends Number> errorBars) {
+  private double[] findMinMaxWithErrorBars(double[] data, double[] errorBars) {
 
     double min = Double.MAX_VALUE;
     double max = -Double.MAX_VALUE;
 
-    Iterator<? extends Number> itr = data.iterator();
-    Iterator<? extends Number> ebItr = errorBars.iterator();
-    while (itr.hasNext()) {
-      double bigDecimal = itr.next().doubleValue();
-      double eb = ebItr.next().doubleValue();
-      if (bigDecimal - eb < min) {
-        min = bigDecimal - eb;
+    // missing values are NaN and fail both comparisons
+    for (int i = 0; i < data.length; i++) {
+      double value = data[i];
+      double eb = errorBars[i];
+      if (value - eb < min) {
+        min = value - eb;
       }
-      if (bigDecimal + eb > max) {
-        max = bigDecimal + eb;
+      if (value + eb > max) {
+        max = value + eb;
+      }
+    }
+    return new double[] {min, max};
+  }
+
+  /**
+   * Finds the min and max of numerical data, skipping missing values
+   *
+   * @param data
+   * @return
+   */
+  private double[] findMinMax(double[] data) {
+
+    double min = Double.MAX_VALUE;
+    double max = -Double.MAX_VALUE;
+
+    for (double value : data) {
+      if (value < min) {
+        min = value;
+      }
+      if (value > max) {
+        max = value;
       }
     }
     return new double[] {min, max};
@@ -167,16 +267,102 @@ public abstract class AxesChartSeriesCategory extends MarkerSeries {
 
   public Collection<?> getXData() {
 
-    return xData;
+    return getDataSnapshot().xData;
   }
 
   public Collection<? extends Number> getYData() {
 
-    return yData;
+    return getDataSnapshot().yData;
   }
 
   public Collection<? extends Number> getExtraValues() {
 
-    return extraValues;
+    return getDataSnapshot().extraValues;
+  }
+
+  /**
+   * This is an internal method which shouldn't be called from client code. The returned array must
+   * not be modified.
+   *
+   * @return the y data as an array, with NaN for missing values
+   */
+  public double[] getYDataArray() {
+
+    return getDataSnapshot().yDataArray;
+  }
+
+  /**
+   * This is an internal method which shouldn't be called from client code. The returned array must
+   * not be modified.
+   *
+   * @return the error bars as an array, with NaN for missing values, or null
+   */
+  public double[] getExtraValuesArray() {
+
+    return getDataSnapshot().extraValuesArray;
+  }
+
+  private static double[] toArray(Collection<? extends Number> data) {
+
+    double[] array = new double[data.size()];
+    int i = 0;
+    for (Number number : data) {
+      array[i++] = number == null ? Double.NaN : number.doubleValue();
+    }
+    return array;
+  }
+
+  /**
+   * The data of a series at one point in time. Neither the snapshot nor its lists and arrays are
+   * changed after it is published, so it can be read by any thread without locking.
+   */
+  public static final class DataSnapshot extends AxesChartSeries.DataSnapshot {
+
+    private final List<?> xData;
+    private final List<? extends Number> yData;
+    private final List<? extends Number> extraValues;
+    private final double[] yDataArray;
+    private final double[] extraValuesArray;
+
+    private DataSnapshot(AxesChartSeriesCategory series) {
+
+      super(series);
+      this.xData = series.xData;
+      this.yData = series.yData;
+      this.extraValues = series.extraValues;
+      this.yDataArray = series.yDataArray;
+      this.extraValuesArray = series.extraValuesArray;
+    }
+
+    public Collection<?> getXData() {
+
+      return xData;
+    }
+
+    public Collection<? extends Number> getYData() {
+
+      return yData;
+    }
+
+    public Collection<? extends Number> getExtraValues() {
+
+      return extraValues;
+    }
+
+    /**
+     * @return the y data as an array, with NaN for missing values
+     */
+    public double[] getYDataArray() {
+
+      return yDataArray;
+    }
+
+    /**
+     * @return the error bars as an array, with NaN for missing values, or null
+     */
+    public double[] getExtraValuesArray() {
+
+      return extraValuesArray;
+    }
   }
 }
@@ -5,6 +5,11 @@ import java.util.Arrays;
 /**
  * A Series containing X and Y data to be plotted on a Chart with X and Y Axes. xData can be Number
  * or Date(epochtime), hence a double[]
+ *
+ * <p>The arrays, the visible range and the min and max are published together in one {@link
+ * DataSnapshot}, so the getters never lock and always return data which belongs together. Painting
+ * code should take one snapshot with {@link #getDataSnapshot()} rather than calling several
+ * getters.
  */
 // TODO weird name of class since it does contain extravalues for error bars!
 public abstract class AxesChartSeriesNumericalNoErrorBars extends MarkerSeries {
@@ -14,11 +19,20 @@ public abstract class AxesChartSeriesNumericalNoErrorBars extends MarkerSeries {
   double[] yDataAll;
   double[] extraValuesAll;
 
+  // the range of the permanent data arrays holding the data, all of them unless the arrays are
+  // buffers which are appended to
+  int dataAllOffset;
+  int dataAllLength;
+
   // temporary data different from permanent data if some is filter out for zooming
   double[] xData; // can be Number or Date(epochtime)
   double[] yData;
   double[] extraValues;
 
+  // the range of xData, yData and extraValues which is currently visible
+  int dataOffset;
+  int dataLength;
+
   /**
    * Constructor
    *
@@ -35,12 +49,16 @@ public abstract class AxesChartSeriesNumericalNoErrorBars extends MarkerSeries {
     this.xDataAll = xData;
     this.yDataAll = yData;
     this.extraValuesAll = extraValues;
+    this.dataAllOffset = 0;
+    this.dataAllLength = xData.length;
 
     this.xData = xData;
     this.yData = yData;
     this.extraValues = extraValues;
+    this.dataOffset = 0;
+    this.dataLength = xData.length;
 
-    calculateMinMax();
+    dataChanged();
   }
 
   /**
@@ -51,7 +69,8 @@ public abstract class AxesChartSeriesNumericalNoErrorBars extends MarkerSeries {
    * @param newYData
    * @param newExtraValues
    */
-  public void replaceData(double[] newXData, double[] newYData, double[] newExtraValues) {
+  public synchronized void replaceData(
+      double[] newXData, double[] newYData, double[] newExtraValues) {
 
     // Sanity check
     if (newExtraValues != null && newExtraValues.length != newYData.length) {
@@ -64,35 +83,71 @@ public abstract class AxesChartSeriesNumericalNoErrorBars extends MarkerSeries {
     this.xDataAll = newXData;
     this.yDataAll = newYData;
     this.extraValuesAll = newExtraValues;
+    dataAllOffset = 0;
+    dataAllLength = newXData.length;
 
     xData = newXData;
     yData = newYData;
     extraValues = newExtraValues;
+    dataOffset = 0;
+    dataLength = newXData.length;
 
-    calculateMinMax();
+    dataChanged();
   }
 
-  public void filterXByIndex(int startIndex, int endIndex) {
+  /**
+   * Replaces the data with a range of the given buffers, without copying. The range must not be
+   * changed afterwards, as it may still be painted, but the rest of the buffers may, so points can
+   * be appended to them. Error bars are not supported.
+   *
+   * @param xBuffer
+   * @param yBuffer
+   * @param offset the index of the first point in the buffers
+   * @param length the number of points
+   */
+  protected synchronized void replaceData(
+      double[] xBuffer, double[] yBuffer, int offset, int length) {
+
+    this.xDataAll = xBuffer;
+    this.yDataAll = yBuffer;
+    this.extraValuesAll = null;
+    dataAllOffset = offset;
+    dataAllLength = length;
 
-    startIndex = Math.max(0, startIndex);
-    endIndex = Math.min(yDataAll.length, endIndex);
+    setView(offset, length);
+  }
 
-    xData = Arrays.copyOfRange(xDataAll, startIndex, endIndex);
-    yData = Arrays.copyOfRange(yDataAll, startIndex, endIndex);
-    if (extraValuesAll != null) {
-      extraValues = Arrays.copyOfRange(extraValuesAll, startIndex, endIndex);
+  public synchronized void filterXByIndex(int startIndex, int endIndex) {
+
+    startIndex = Math.max(0, startIndex);
+    endIndex = Math.min(dataAllLength, endIndex);
+    if (startIndex > endIndex) {
+      throw new IllegalArgumentException(startIndex + " > " + endIndex);
     }
 
-    calculateMinMax();
+    setView(dataAllOffset + startIndex, endIndex - startIndex);
   }
 
-  public boolean filterXByValue(double minValue, double maxValue) {
+  public synchronized boolean filterXByValue(double minValue, double maxValue) {
+
+    int length = dataAllLength;
+
+    // sorted data, e.g. time series, can be filtered without copying
+    if (((DataSnapshot) getPublishedDataSnapshot()).isXDataSorted()) {
+      int startIndex = getFirstIndexNotLessThan(minValue);
+      int endIndex = getFirstIndexGreaterThan(maxValue);
+      int remainingDataCount = Math.max(0, endIndex - startIndex);
+      if (remainingDataCount == length) {
+        return false;
+      }
+      setView(startIndex, remainingDataCount);
+      return true;
+    }
 
-    int length = xDataAll.length;
     boolean[] filterResult = new boolean[length];
     int remainingDataCount = 0;
     for (int i = 0; i < length; i++) {
-      double val = xDataAll[i];
+      double val = xDataAll[dataAllOffset + i];
       boolean result = val >= minValue && val <= maxValue;
       filterResult[i] = result;
       if (result) {
@@ -119,24 +174,76 @@ public abstract class AxesChartSeriesNumericalNoErrorBars extends MarkerSeries {
       if (!filterResult[i]) {
         continue;
       }
-      xData[ind] = xDataAll[i];
-      yData[ind] = yDataAll[i];
+      xData[ind] = xDataAll[dataAllOffset + i];
+      yData[ind] = yDataAll[dataAllOffset + i];
       if (extra) {
-        extraValues[ind] = extraValuesAll[i];
+        extraValues[ind] = extraValuesAll[dataAllOffset + i];
       }
       ind++;
     }
+    dataOffset = 0;
+    dataLength = remainingDataCount;
 
-    calculateMinMax();
+    dataChanged();
     return true;
   }
 
-  public void resetFilter() {
+  public synchronized void resetFilter() {
+
+    setView(dataAllOffset, dataAllLength);
+  }
+
+  /** Points the visible data at a range of the permanent data, without copying */
+  private void setView(int offset, int length) {
 
     xData = xDataAll;
     yData = yDataAll;
     extraValues = extraValuesAll;
-    calculateMinMax();
+    dataOffset = offset;
+    dataLength = length;
+    dataChanged();
+  }
+
+  /**
+   * Is the permanent X data sorted in ascending order? Determined once per data update.
+   *
+   * @return true: sorted and free of NaN values; false: otherwise
+   */
+  public boolean isXDataSorted() {
+
+    return getDataSnapshot().isXDataSorted();
+  }
+
+  /** Binary search in the sorted permanent X data */
+  private int getFirstIndexNotLessThan(double value) {
+
+    int low = dataAllOffset;
+    int high = dataAllOffset + dataAllLength;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (xDataAll[mid] < value) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  /** Binary search in the sorted permanent X data */
+  private int getFirstIndexGreaterThan(double value) {
+
+    int low = dataAllOffset;
+    int high = dataAllOffset + dataAllLength;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (xDataAll[mid] <= value) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
   }
 
   /**
@@ -147,11 +254,25 @@ public abstract class AxesChartSeriesNumericalNoErrorBars extends MarkerSeries {
    */
   double[] findMinMax(double[] data) {
 
+    return findMinMax(data, 0, data.length);
+  }
+
+  /**
+   * Finds the min and max of a range of a dataset
+   *
+   * @param data
+   * @param from the first index, inclusive
+   * @param to the last index, exclusive
+   * @return
+   */
+  double[] findMinMax(double[] data, int from, int to) {
+
     double min = Double.MAX_VALUE;
     double max = -Double.MAX_VALUE;
 
-    for (double dataPoint : data) {
+    for (int i = from; i < to; i++) {
 
+      double dataPoint = data[i];
       if (Double.isNaN(dataPoint)) {
         continue;
       } else {
@@ -167,11 +288,19 @@ public abstract class AxesChartSeriesNumericalNoErrorBars extends MarkerSeries {
     return new double[] {min, max};
   }
 
+  @Override
+  protected DataSnapshot createDataSnapshot(AxesChartSeries.DataSnapshot previous) {
+
+    return new DataSnapshot(this, (DataSnapshot) previous);
+  }
+
   @Override
   protected void calculateMinMax() {
 
+    int dataEnd = dataOffset + dataLength;
+
     // xData
-    double[] xMinMax = findMinMax(xData);
+    double[] xMinMax = findMinMax(xData, dataOffset, dataEnd);
     xMin = xMinMax[0];
     xMax = xMinMax[1];
     // System.out.println(xMin);
@@ -180,9 +309,9 @@ public abstract class AxesChartSeriesNumericalNoErrorBars extends MarkerSeries {
     // yData
     double[] yMinMax;
     if (extraValues == null) {
-      yMinMax = findMinMax(yData);
+      yMinMax = findMinMax(yData, dataOffset, dataEnd);
     } else {
-      yMinMax = findMinMaxWithErrorBars(yData, extraValues);
+      yMinMax = findMinMaxWithErrorBars(yData, extraValues, dataOffset, dataEnd);
     }
     yMin = yMinMax[0];
     yMax = yMinMax[1];
@@ -191,18 +320,20 @@ public abstract class AxesChartSeriesNumericalNoErrorBars extends MarkerSeries {
   }
 
   /**
-   * Finds the min and max of a dataset accounting for error bars
+   * Finds the min and max of a range of a dataset accounting for error bars
    *
    * @param data
    * @param errorBars
+   * @param from the first index, inclusive
+   * @param to the last index, exclusive
    * @return
    */
-  private double[] findMinMaxWithErrorBars(double[] data, double[] errorBars) {
+  private double[] findMinMaxWithErrorBars(double[] data, double[] errorBars, int from, int to) {
 
     double min = Double.MAX_VALUE;
     double max = -Double.MAX_VALUE;
 
-    for (int i = 0; i < data.length; i++) {
+    for (int i = from; i < to; i++) {
 
       double d = data[i];
       double eb = errorBars[i];
@@ -216,6 +347,20 @@ public abstract class AxesChartSeriesNumericalNoErrorBars extends MarkerSeries {
     return new double[] {min, max};
   }
 
+  /**
+   * @return true if points of the data about to be published are filtered out by zooming
+   */
+  protected boolean isFiltered() {
+
+    return xData != xDataAll || dataOffset != dataAllOffset || dataLength != dataAllLength;
+  }
+
+  @Override
+  public DataSnapshot getDataSnapshot() {
+
+    return (DataSnapshot) super.getDataSnapshot();
+  }
+
   /**
    * Is xData.length equal to xDataAll.length
    *
@@ -223,21 +368,206 @@ public abstract class AxesChartSeriesNumericalNoErrorBars extends MarkerSeries {
    */
   public boolean isAllXData() {
 
-    return xData.length == xDataAll.length;
+    return getDataSnapshot().isAllXData();
   }
 
+  /**
+   * Gets the visible X data, which is a copy if the series is zoomed. Painting code should rather
+   * use getXDataBuffer() together with getDataOffset() and getDataLength().
+   */
   public double[] getXData() {
 
-    return xData;
+    return getDataSnapshot().getXData();
   }
 
   public double[] getYData() {
 
-    return yData;
+    return getDataSnapshot().getYData();
   }
 
   public double[] getExtraValues() {
 
-    return extraValues;
+    return getDataSnapshot().getExtraValues();
+  }
+
+  /**
+   * @return the array holding the visible X data, starting at getDataOffset()
+   */
+  public double[] getXDataBuffer() {
+
+    return getDataSnapshot().xData;
+  }
+
+  /**
+   * @return the array holding the visible Y data, starting at getDataOffset()
+   */
+  public double[] getYDataBuffer() {
+
+    return getDataSnapshot().yData;
+  }
+
+  /**
+   * @return the array holding the visible extra values, starting at getDataOffset(), or null
+   */
+  public double[] getExtraValuesBuffer() {
+
+    return getDataSnapshot().extraValues;
+  }
+
+  /**
+   * @return the index of the first visible point in the data buffers
+   */
+  public int getDataOffset() {
+
+    return getDataSnapshot().dataOffset;
+  }
+
+  /**
+   * @return the number of visible points in the data buffers
+   */
+  public int getDataLength() {
+
+    return getDataSnapshot().dataLength;
+  }
+
+  /**
+   * The data of a series at one point in time. Neither the snapshot nor its arrays are changed
+   * after it is published, so it can be read by any thread without locking.
+   */
+  public static final class DataSnapshot extends AxesChartSeries.DataSnapshot {
+
+    private final double[] xDataAll;
+    private final int dataAllOffset;
+    private final int dataAllLength;
+    private final double[] xData;
+    private final double[] yData;
+    private final double[] extraValues;
+    private final int dataOffset;
+    private final int dataLength;
+
+    // lazily determined when zooming, null if not known yet
+    private volatile Boolean isXDataSorted;
+
+    private DataSnapshot(AxesChartSeriesNumericalNoErrorBars series, DataSnapshot previous) {
+
+      super(series);
+      this.xDataAll = series.xDataAll;
+      this.dataAllOffset = series.dataAllOffset;
+      this.dataAllLength = series.dataAllLength;
+      this.xData = series.xData;
+      this.yData = series.yData;
+      this.extraValues = series.extraValues;
+      this.dataOffset = series.dataOffset;
+      this.dataLength = series.dataLength;
+      // zooming keeps the permanent data, and with it whether it is sorted
+      if (previous != null
+          && previous.xDataAll == xDataAll
+          && previous.dataAllOffset == dataAllOffset
+          && previous.dataAllLength == dataAllLength) {
+        this.isXDataSorted = previous.isXDataSorted;
+      }
+    }
+
+    /**
+     * Is the permanent X data sorted in ascending order? Determined once per snapshot.
+     *
+     * @return true: sorted and free of NaN values; false: otherwise
+     */
+    public boolean isXDataSorted() {
+
+      Boolean sorted = isXDataSorted;
+      if (sorted == null) {
+        // computing it twice when racing does no harm
+        int end = dataAllOffset + dataAllLength;
+        boolean isSorted = dataAllLength == 0 || !Double.isNaN(xDataAll[dataAllOffset]);
+        for (int i = dataAllOffset + 1; isSorted && i < end; i++) {
+          // also fails for NaN
+          isSorted = xDataAll[i] >= xDataAll[i - 1];
+        }
+        sorted = isSorted;
+        isXDataSorted = sorted;
+      }
+      return sorted;
+    }
+
+    /**
+     * @return true if no points are filtered out by zooming
+     */
+    public boolean isAllXData() {
+
+      return dataLength == dataAllLength;
+    }
+
+    /**
+     * @return the visible X data, which is a copy if the series is zoomed
+     */
+    public double[] getXData() {
+
+      return getRange(xData);
+    }
+
+    /**
+     * @return the visible Y data, which is a copy if the series is zoomed
+     */
+    public double[] getYData() {
+
+      return getRange(yData);
+    }
+
+    /**
+     * @return the visible extra values, which are a copy if the series is zoomed, or null
+     */
+    public double[] getExtraValues() {
+
+      return getRange(extraValues);
+    }
+
+    private double[] getRange(double[] data) {
+
+      if (data == null || (dataOffset == 0 && dataLength == data.length)) {
+        return data;
+      }
+      return Arrays.copyOfRange(data, dataOffset, dataOffset + dataLength);
+    }
+
+    /**
+     * @return the array holding the visible X data, starting at getDataOffset()
+     */
+    public double[] getXDataBuffer() {
+
+      return xData;
+    }
+
+    /**
+     * @return the array holding the visible Y data, starting at getDataOffset()
+     */
+    public double[] getYDataBuffer() {
+
+      return yData;
+    }
+
+    /**
+     * @return the array holding the visible extra values, starting at getDataOffset(), or null
+     */
+    public double[] getExtraValuesBuffer() {
+
+      return extraValues;
+    }
+
+    /**
+     * @return the index of the first visible point in the data buffers
+     */
+    public int getDataOffset() {
+
+      return dataOffset;
+    }
+
+    /**
+     * @return the number of visible points in the data buffers
+     */
+    public int getDataLength() {
+
+      return dataLength;
+    }
   }
 }
@@ -22,21 +22,21 @@ public abstract class NoMarkersSeries extends AxesChartSeriesNumericalNoErrorBar
 
     // TODO why do we need this here?
     this.extraValues = extraValues;
-    calculateMinMax();
+    dataChanged();
   }
 
   @Override
   protected void calculateMinMax() {
 
     // xData
-    double[] xMinMax = findMinMax(xData);
+    double[] xMinMax = findMinMax(xData, dataOffset, dataOffset + dataLength);
     xMin = xMinMax[0];
     xMax = xMinMax[1];
     // System.out.println(xMin);
     // System.out.println(xMax);
 
     // yData
-    double[] yMinMax = findMinMax(yData);
+    double[] yMinMax = findMinMax(yData, dataOffset, dataOffset + dataLength);
     yMin = yMinMax[0];
     yMax = yMinMax[1];
     // System.out.println(yMin);
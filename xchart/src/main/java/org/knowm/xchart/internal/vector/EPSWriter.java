@@ -0,0 +1,356 @@
+package org.knowm.xchart.internal.vector;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Shape;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.PathIterator;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Writes an Encapsulated PostScript document. The page is flipped, so that coordinates are written
+ * as they are painted. Symbols are procedures which build their path at the position on the stack.
+ * PostScript has no transparency, so alpha is ignored, except that transparent pixels of images are
+ * masked out.
+ */
+class EPSWriter extends VectorWriter {
+
+  /** scratch buffer for one element */
+  private final StringBuilder element = new StringBuilder();
+
+  // the color and stroke set in the graphics state, null if unknown
+  private Color writtenColor;
+  private BasicStroke writtenStroke;
+
+  EPSWriter(Writer out, double width, double height) {
+
+    super(out, width, height);
+  }
+
+  @Override
+  void writeHeader() throws IOException {
+
+    element.setLength(0);
+    element.append("%!PS-Adobe-3.0 EPSF-3.0\n");
+    element.append("%%BoundingBox: 0 0 ");
+    element.append((long) Math.ceil(width)).append(' ').append((long) Math.ceil(height));
+    element.append("\n%%HiResBoundingBox: 0 0 ");
+    appendNumber(element, width);
+    element.append(' ');
+    appendNumber(element, height);
+    element.append("\n%%LanguageLevel: 3\n%%Creator: XChart\n%%EndComments\n");
+    element.append("/M /moveto load def\n/L /lineto load def\n/C /curveto load def\n");
+    element.append("/Z /closepath load def\n/f /fill load def\n/ef /eofill load def\n");
+    element.append("/s /stroke load def\n");
+    element.append("0 ");
+    appendNumber(element, height);
+    element.append(" translate\n1 -1 scale\n/basematrix matrix currentmatrix def\ngsave\n");
+    out.append(element);
+  }
+
+  @Override
+  void writeState(AffineTransform transform, Shape clip, boolean isClipChanged) throws IOException {
+
+    element.setLength(0);
+    if (isClipChanged) {
+      // the clip can only be reset by restoring the state saved before it was set
+      element.append("grestore\ngsave\n");
+      writtenColor = null;
+      writtenStroke = null;
+      if (clip != null) {
+        PathIterator pi = clip.getPathIterator(null);
+        appendPath(element, pi, 0, 0);
+        element.append(pi.getWindingRule() == PathIterator.WIND_EVEN_ODD ? "eoclip" : "clip");
+        element.append(" newpath\n");
+      }
+    } else {
+      element.append("basematrix setmatrix\n");
+    }
+    if (!transform.isIdentity()) {
+      appendMatrix(element, transform);
+      element.append(" concat\n");
+    }
+    out.append(element);
+  }
+
+  @Override
+  void appendSegment(StringBuilder sb, int type, double[] coords) {
+
+    switch (type) {
+      case PathIterator.SEG_MOVETO:
+        appendPoints(sb, coords, 1);
+        sb.append("M\n");
+        break;
+      case PathIterator.SEG_LINETO:
+        appendPoints(sb, coords, 1);
+        sb.append("L\n");
+        break;
+      case PathIterator.SEG_CUBICTO:
+        appendPoints(sb, coords, 3);
+        sb.append("C\n");
+        break;
+      default:
+        sb.append("Z\n");
+        break;
+    }
+  }
+
+  private static void appendPoints(StringBuilder sb, double[] coords, int count) {
+
+    for (int i = 0; i < 2 * count; i++) {
+      appendNumber(sb, coords[i]);
+      sb.append(' ');
+    }
+  }
+
+  @Override
+  void writePath(CharSequence path, Color color, float alpha, BasicStroke stroke, int windingRule)
+      throws IOException {
+
+    element.setLength(0);
+    appendStyle(color, stroke);
+    element.append(path);
+    appendPaintOperator(stroke, windingRule);
+    out.append(element);
+  }
+
+  @Override
+  void writeSymbol(int id, CharSequence path) throws IOException {
+
+    element.setLength(0);
+    // moves the path to the position on the stack, restoring the matrix after it has been built
+    element.append("/s").append(id).append(" {matrix currentmatrix 3 1 roll translate\n");
+    element.append(path);
+    element.append("setmatrix} bind def\n");
+    out.append(element);
+  }
+
+  @Override
+  void writeUse(
+      int id, double x, double y, Color color, float alpha, BasicStroke stroke, int windingRule)
+      throws IOException {
+
+    element.setLength(0);
+    appendStyle(color, stroke);
+    appendNumber(element, x);
+    element.append(' ');
+    appendNumber(element, y);
+    element.append(" s").append(id).append(' ');
+    appendPaintOperator(stroke, windingRule);
+    out.append(element);
+  }
+
+  @Override
+  void writeImage(BufferedImage image, AffineTransform imageTransform, boolean isSmooth)
+      throws IOException {
+
+    int imageWidth = image.getWidth();
+    int imageHeight = image.getHeight();
+    boolean isOpaque = isOpaque(image);
+    element.setLength(0);
+    element.append("gsave\n");
+    appendMatrix(element, imageTransform);
+    element.append(" concat\n/DeviceRGB setcolorspace\n");
+    // PostScript masks are binary, transparent images get a mask interleaved with the colors
+    String size = " /Width " + imageWidth + " /Height " + imageHeight + " /BitsPerComponent 8";
+    if (!isOpaque) {
+      element.append("<< /ImageType 3 /InterleaveType 1\n");
+      element.append("/MaskDict << /ImageType 1").append(size).append(" /Decode [1 0] >>\n");
+      element.append("/DataDict ");
+    }
+    element.append("<< /ImageType 1").append(size).append(" /Decode [0 1 0 1 0 1]\n");
+    element.append("/ImageMatrix [1 0 0 1 0 0] /Interpolate ").append(isSmooth);
+    element.append("\n/DataSource currentfile /ASCII85Decode filter /FlateDecode filter >>\n");
+    if (!isOpaque) {
+      element.append(">>\n");
+    }
+    element.append("image\n");
+    out.append(element);
+
+    ASCII85OutputStream ascii85 = new ASCII85OutputStream(out);
+    DeflaterOutputStream deflater = new DeflaterOutputStream(ascii85);
+    byte[] row = new byte[imageWidth * (isOpaque ? 3 : 4)];
+    int[] argb = new int[imageWidth];
+    for (int y = 0; y < imageHeight; y++) {
+      image.getRGB(0, y, imageWidth, 1, argb, 0, imageWidth);
+      int i = 0;
+      for (int pixel : argb) {
+        if (!isOpaque) {
+          row[i++] = (byte) ((pixel >>> 24) >= 128 ? 255 : 0);
+        }
+        row[i++] = (byte) (pixel >> 16);
+        row[i++] = (byte) (pixel >> 8);
+        row[i++] = (byte) pixel;
+      }
+      deflater.write(row);
+    }
+    // ends the deflate stream and the ASCII85 data, the writer is left open
+    deflater.close();
+    out.write("\ngrestore\n");
+  }
+
+  private static boolean isOpaque(BufferedImage image) {
+
+    if (!image.getColorModel().hasAlpha()) {
+      return true;
+    }
+    int[] argb = new int[image.getWidth()];
+    for (int y = 0; y < image.getHeight(); y++) {
+      image.getRGB(0, y, argb.length, 1, argb, 0, argb.length);
+      for (int pixel : argb) {
+        if ((pixel >>> 24) != 255) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  @Override
+  void writeTrailer() throws IOException {
+
+    out.write("grestore\nshowpage\n%%EOF\n");
+  }
+
+  /** Sets the color and the stroke, if they are not set already */
+  private void appendStyle(Color color, BasicStroke stroke) {
+
+    if (writtenColor == null || writtenColor.getRGB() << 8 != color.getRGB() << 8) {
+      appendNumber(element, color.getRed() / 255.0);
+      element.append(' ');
+      appendNumber(element, color.getGreen() / 255.0);
+      element.append(' ');
+      appendNumber(element, color.getBlue() / 255.0);
+      element.append(" setrgbcolor\n");
+      writtenColor = color;
+    }
+    if (stroke == null || stroke.equals(writtenStroke)) {
+      return;
+    }
+    appendNumber(element, stroke.getLineWidth());
+    element.append(" setlinewidth ");
+    // the caps and joins of BasicStroke have the values of PostScript
+    element.append(stroke.getEndCap()).append(" setlinecap ");
+    element.append(stroke.getLineJoin()).append(" setlinejoin ");
+    appendNumber(element, Math.max(1, stroke.getMiterLimit()));
+    element.append(" setmiterlimit [");
+    float[] dashArray = stroke.getDashArray();
+    if (dashArray != null) {
+      for (float dash : dashArray) {
+        appendNumber(element, dash);
+        element.append(' ');
+      }
+    }
+    element.append("] ");
+    appendNumber(element, stroke.getDashPhase());
+    element.append(" setdash\n");
+    writtenStroke = stroke;
+  }
+
+  private void appendPaintOperator(BasicStroke stroke, int windingRule) {
+
+    if (stroke != null) {
+      element.append("s\n");
+    } else {
+      element.append(windingRule == PathIterator.WIND_EVEN_ODD ? "ef\n" : "f\n");
+    }
+  }
+
+  /**
+   * Writes bytes as ASCII base-85 characters, ending the data with the end of data marker when it
+   * is closed. The writer itself is not closed.
+   */
+  private static final class ASCII85OutputStream extends OutputStream {
+
+    /** characters per line */
+    private static final int LINE_LENGTH = 72;
+
+    private final Writer out;
+
+    private final char[] line = new char[LINE_LENGTH + 1];
+
+    private int lineLength;
+
+    /** the bytes of the current group of four */
+    private long tuple;
+
+    private int tupleLength;
+
+    ASCII85OutputStream(Writer out) {
+
+      this.out = out;
+      line[LINE_LENGTH] = '\n';
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+
+      tuple = tuple << 8 | (b & 0xff);
+      if (++tupleLength == 4) {
+        if (tuple == 0) {
+          append('z');
+        } else {
+          appendTuple(5);
+        }
+        tuple = 0;
+        tupleLength = 0;
+      }
+    }
+
+    @Override
+    public void close() throws IOException {
+
+      if (tupleLength > 0) {
+        // pads the last group with zeros and writes one character more than it has bytes
+        int length = tupleLength;
+        tuple <<= 8 * (4 - length);
+        appendTuple(length + 1);
+        tupleLength = 0;
+        tuple = 0;
+      }
+      out.write(line, 0, lineLength);
+      out.write("~>");
+      lineLength = 0;
+    }
+
+    private void appendTuple(int count) throws IOException {
+
+      char[] digits = new char[5];
+      long value = tuple;
+      for (int i = 4; i >= 0; i--) {
+        digits[i] = (char) ('!' + value % 85);
+        value /= 85;
+      }
+      for (int i = 0; i < count; i++) {
+        append(digits[i]);
+      }
+    }
+
+    private void append(char c) throws IOException {
+
+      line[lineLength++] = c;
+      if (lineLength == LINE_LENGTH) {
+        out.write(line, 0, LINE_LENGTH + 1);
+        lineLength = 0;
+      }
+    }
+  }
+
+  private static void appendMatrix(StringBuilder sb, AffineTransform transform) {
+
+    double[] matrix = new double[6];
+    transform.getMatrix(matrix);
+    sb.append('[');
+    for (int i = 0; i < 6; i++) {
+      if (i > 0) {
+        sb.append(' ');
+      }
+      appendMatrixNumber(sb, matrix[i]);
+    }
+    sb.append(']');
+  }
+}
@@ -0,0 +1,271 @@
+package org.knowm.xchart.internal.vector;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Shape;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.PathIterator;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Base64;
+import javax.imageio.ImageIO;
+
+/**
+ * Writes an SVG document. Clips and transforms are groups, symbols are symbol elements referenced
+ * by use elements, and images are embedded as PNG data.
+ */
+class SVGWriter extends VectorWriter {
+
+  /** scratch buffer for one element */
+  private final StringBuilder element = new StringBuilder();
+
+  /** the number of groups which are open, the clip group is always the outer one */
+  private int openClipGroups;
+
+  private int openTransformGroups;
+
+  private int clipCount;
+
+  SVGWriter(Writer out, double width, double height) {
+
+    super(out, width, height);
+  }
+
+  @Override
+  void writeHeader() throws IOException {
+
+    element.setLength(0);
+    element.append("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>\n");
+    element.append("<svg xmlns=\"http://www.w3.org/2000/svg\"");
+    element.append(" xmlns:xlink=\"http://www.w3.org/1999/xlink\" version=\"1.1\" width=\"");
+    appendNumber(element, width);
+    element.append("\" height=\"");
+    appendNumber(element, height);
+    element.append("\" viewBox=\"0 0 ");
+    appendNumber(element, width);
+    element.append(' ');
+    appendNumber(element, height);
+    element.append("\">\n");
+    out.append(element);
+  }
+
+  @Override
+  void writeState(AffineTransform transform, Shape clip, boolean isClipChanged) throws IOException {
+
+    element.setLength(0);
+    for (; openTransformGroups > 0; openTransformGroups--) {
+      element.append("</g>\n");
+    }
+    if (isClipChanged) {
+      for (; openClipGroups > 0; openClipGroups--) {
+        element.append("</g>\n");
+      }
+      if (clip != null) {
+        int id = clipCount++;
+        PathIterator pi = clip.getPathIterator(null);
+        element.append("<clipPath id=\"c").append(id).append("\"><path d=\"");
+        appendPath(element, pi, 0, 0);
+        element.append('"');
+        if (pi.getWindingRule() == PathIterator.WIND_EVEN_ODD) {
+          element.append(" clip-rule=\"evenodd\"");
+        }
+        element.append("/></clipPath>\n");
+        element.append("<g clip-path=\"url(#c").append(id).append(")\">\n");
+        openClipGroups++;
+      }
+    }
+    if (!transform.isIdentity()) {
+      element.append("<g");
+      appendTransform(element, transform);
+      element.append(">\n");
+      openTransformGroups++;
+    }
+    out.append(element);
+  }
+
+  @Override
+  void appendSegment(StringBuilder sb, int type, double[] coords) {
+
+    switch (type) {
+      case PathIterator.SEG_MOVETO:
+        sb.append('M');
+        appendPoints(sb, coords, 1);
+        break;
+      case PathIterator.SEG_LINETO:
+        sb.append('L');
+        appendPoints(sb, coords, 1);
+        break;
+      case PathIterator.SEG_CUBICTO:
+        sb.append('C');
+        appendPoints(sb, coords, 3);
+        break;
+      default:
+        sb.append('Z');
+        break;
+    }
+  }
+
+  private static void appendPoints(StringBuilder sb, double[] coords, int count) {
+
+    for (int i = 0; i < 2 * count; i++) {
+      if (i > 0) {
+        sb.append(' ');
+      }
+      appendNumber(sb, coords[i]);
+    }
+  }
+
+  @Override
+  void writePath(CharSequence path, Color color, float alpha, BasicStroke stroke, int windingRule)
+      throws IOException {
+
+    element.setLength(0);
+    element.append("<path d=\"").append(path).append('"');
+    appendStyle(element, color, alpha, stroke, windingRule);
+    element.append("/>\n");
+    out.append(element);
+  }
+
+  @Override
+  void writeSymbol(int id, CharSequence path) throws IOException {
+
+    element.setLength(0);
+    element.append("<symbol id=\"s").append(id).append("\" overflow=\"visible\"><path d=\"");
+    element.append(path).append("\"/></symbol>\n");
+    out.append(element);
+  }
+
+  @Override
+  void writeUse(
+      int id, double x, double y, Color color, float alpha, BasicStroke stroke, int windingRule)
+      throws IOException {
+
+    element.setLength(0);
+    element.append("<use xlink:href=\"#s").append(id).append("\" x=\"");
+    appendNumber(element, x);
+    element.append("\" y=\"");
+    appendNumber(element, y);
+    element.append('"');
+    appendStyle(element, color, alpha, stroke, windingRule);
+    element.append("/>\n");
+    out.append(element);
+  }
+
+  @Override
+  void writeImage(BufferedImage image, AffineTransform imageTransform, boolean isSmooth)
+      throws IOException {
+
+    ByteArrayOutputStream png = new ByteArrayOutputStream();
+    ImageIO.write(image, "png", png);
+
+    element.setLength(0);
+    element.append("<image width=\"").append(image.getWidth());
+    element.append("\" height=\"").append(image.getHeight()).append('"');
+    appendTransform(element, imageTransform);
+    element.append(" preserveAspectRatio=\"none\"");
+    if (!isSmooth) {
+      element.append(" style=\"image-rendering:pixelated\"");
+    }
+    element.append(" xlink:href=\"data:image/png;base64,");
+    element.append(Base64.getEncoder().encodeToString(png.toByteArray()));
+    element.append("\"/>\n");
+    out.append(element);
+  }
+
+  @Override
+  void writeTrailer() throws IOException {
+
+    element.setLength(0);
+    for (int i = openClipGroups + openTransformGroups; i > 0; i--) {
+      element.append("</g>\n");
+    }
+    openClipGroups = 0;
+    openTransformGroups = 0;
+    element.append("</svg>\n");
+    out.append(element);
+  }
+
+  private static void appendTransform(StringBuilder sb, AffineTransform transform) {
+
+    if (transform.isIdentity()) {
+      return;
+    }
+    double[] matrix = new double[6];
+    transform.getMatrix(matrix);
+    sb.append(" transform=\"matrix(");
+    for (int i = 0; i < 6; i++) {
+      if (i > 0) {
+        sb.append(' ');
+      }
+      appendMatrixNumber(sb, matrix[i]);
+    }
+    sb.append(")\"");
+  }
+
+  private static void appendStyle(
+      StringBuilder sb, Color color, float alpha, BasicStroke stroke, int windingRule) {
+
+    String paint = stroke == null ? "fill" : "stroke";
+    if (stroke != null) {
+      sb.append(" fill=\"none\"");
+    }
+    sb.append(' ').append(paint).append("=\"#");
+    appendHex(sb, color.getRed());
+    appendHex(sb, color.getGreen());
+    appendHex(sb, color.getBlue());
+    sb.append('"');
+    float opacity = color.getAlpha() / 255f * alpha;
+    if (opacity < 1) {
+      sb.append(' ').append(paint).append("-opacity=\"");
+      appendNumber(sb, opacity);
+      sb.append('"');
+    }
+    if (stroke == null) {
+      if (windingRule == PathIterator.WIND_EVEN_ODD) {
+        sb.append(" fill-rule=\"evenodd\"");
+      }
+      return;
+    }
+    sb.append(" stroke-width=\"");
+    appendNumber(sb, stroke.getLineWidth());
+    sb.append('"');
+    if (stroke.getEndCap() == BasicStroke.CAP_ROUND) {
+      sb.append(" stroke-linecap=\"round\"");
+    } else if (stroke.getEndCap() == BasicStroke.CAP_SQUARE) {
+      sb.append(" stroke-linecap=\"square\"");
+    }
+    if (stroke.getLineJoin() == BasicStroke.JOIN_ROUND) {
+      sb.append(" stroke-linejoin=\"round\"");
+    } else if (stroke.getLineJoin() == BasicStroke.JOIN_BEVEL) {
+      sb.append(" stroke-linejoin=\"bevel\"");
+    } else if (stroke.getMiterLimit() != 4) {
+      // 4 is the default in SVG, 10 in Java
+      sb.append(" stroke-miterlimit=\"");
+      appendNumber(sb, stroke.getMiterLimit());
+      sb.append('"');
+    }
+    float[] dashArray = stroke.getDashArray();
+    if (dashArray != null) {
+      sb.append(" stroke-dasharray=\"");
+      for (int i = 0; i < dashArray.length; i++) {
+        if (i > 0) {
+          sb.append(' ');
+        }
+        appendNumber(sb, dashArray[i]);
+      }
+      sb.append('"');
+      if (stroke.getDashPhase() != 0) {
+        sb.append(" stroke-dashoffset=\"");
+        appendNumber(sb, stroke.getDashPhase());
+        sb.append('"');
+      }
+    }
+  }
+
+  private static void appendHex(StringBuilder sb, int value) {
+
+    sb.append(Character.forDigit(value >> 4, 16)).append(Character.forDigit(value & 15, 16));
+  }
+}
@@ -0,0 +1,797 @@
+package org.knowm.xchart.internal.vector;
+
+import java.awt.AlphaComposite;
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Composite;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Image;
+import java.awt.Paint;
+import java.awt.Polygon;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.Shape;
+import java.awt.Stroke;
+import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphVector;
+import java.awt.font.TextLayout;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Arc2D;
+import java.awt.geom.Area;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.Line2D;
+import java.awt.geom.NoninvertibleTransformException;
+import java.awt.geom.Path2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.geom.RoundRectangle2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.BufferedImageOp;
+import java.awt.image.ImageObserver;
+import java.awt.image.RenderedImage;
+import java.awt.image.renderable.RenderableImage;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.text.AttributedCharacterIterator;
+import java.util.Map;
+
+/**
+ * A Graphics2D which writes an SVG or EPS document to an OutputStream while it is painted on,
+ * rather than recording all paint commands first. Consecutive line segments are merged into one
+ * path and markers are written as references to one shared symbol, so the size of the document and
+ * the memory needed stay proportional to the visible geometry. Text is written as outlines.
+ *
+ * <p>Paint calls may throw an UncheckedIOException if the stream cannot be written. finish() has to
+ * be called after painting to complete the document. Copies made with create() write to the same
+ * document.
+ */
+public final class StreamingGraphics2D extends Graphics2D {
+
+  private static final int BUFFER_SIZE = 1 << 16;
+
+  private final VectorWriter writer;
+
+  private AffineTransform transform;
+
+  /** the clip in device space, or null */
+  private Shape clip;
+
+  private Color color;
+  private Paint paint;
+  private Stroke stroke;
+  private Font font;
+  private Composite composite;
+  private Color background;
+  private final RenderingHints hints;
+
+  /**
+   * Creates a Graphics2D which writes an SVG document
+   *
+   * @param os the stream to write to, which is not closed
+   * @param width
+   * @param height
+   * @return the Graphics2D
+   */
+  public static StreamingGraphics2D createSVG(OutputStream os, double width, double height) {
+
+    BufferedWriter out =
+        new BufferedWriter(new OutputStreamWriter(os, StandardCharsets.UTF_8), BUFFER_SIZE);
+    return new StreamingGraphics2D(new SVGWriter(out, width, height));
+  }
+
+  /**
+   * Creates a Graphics2D which writes an EPS document
+   *
+   * @param os the stream to write to, which is not closed
+   * @param width
+   * @param height
+   * @return the Graphics2D
+   */
+  public static StreamingGraphics2D createEPS(OutputStream os, double width, double height) {
+
+    BufferedWriter out =
+        new BufferedWriter(new OutputStreamWriter(os, StandardCharsets.US_ASCII), BUFFER_SIZE);
+    return new StreamingGraphics2D(new EPSWriter(out, width, height));
+  }
+
+  /** Constructor */
+  private StreamingGraphics2D(VectorWriter writer) {
+
+    this.writer = writer;
+    this.transform = new AffineTransform();
+    this.color = Color.BLACK;
+    this.paint = Color.BLACK;
+    this.stroke = new BasicStroke();
+    this.font = new Font(Font.DIALOG, Font.PLAIN, 12);
+    this.composite = AlphaComposite.SrcOver;
+    this.background = Color.WHITE;
+    this.hints = new RenderingHints(null);
+    writer.start();
+  }
+
+  /** Copy constructor, for create() */
+  private StreamingGraphics2D(StreamingGraphics2D g) {
+
+    this.writer = g.writer;
+    this.transform = new AffineTransform(g.transform);
+    this.clip = g.clip;
+    this.color = g.color;
+    this.paint = g.paint;
+    this.stroke = g.stroke;
+    this.font = g.font;
+    this.composite = g.composite;
+    this.background = g.background;
+    this.hints = (RenderingHints) g.hints.clone();
+  }
+
+  /**
+   * Writes what is left of the document and flushes the stream
+   *
+   * @throws IOException if the document could not be written
+   */
+  public void finish() throws IOException {
+
+    writer.finish();
+  }
+
+  // painting
+
+  @Override
+  public void draw(Shape s) {
+
+    if (stroke instanceof BasicStroke && paint instanceof Color) {
+      writer.draw(s, color, getAlpha(), (BasicStroke) stroke, transform, clip);
+    } else {
+      fill(stroke.createStrokedShape(s));
+    }
+  }
+
+  @Override
+  public void fill(Shape s) {
+
+    if (paint instanceof Color) {
+      writer.fill(s, color, getAlpha(), transform, clip);
+    } else {
+      fillRasterized(s);
+    }
+  }
+
+  /** Fills a shape with a paint the documents do not have as an image of it */
+  private void fillRasterized(Shape s) {
+
+    Rectangle2D bounds = transform.createTransformedShape(s).getBounds2D();
+    if (clip != null) {
+      bounds = bounds.createIntersection(clip.getBounds2D());
+    }
+    Rectangle deviceBounds = bounds.getBounds();
+    if (deviceBounds.isEmpty()) {
+      return;
+    }
+    AffineTransform imageTransform;
+    try {
+      imageTransform = transform.createInverse();
+    } catch (NoninvertibleTransformException e) {
+      // nothing is visible
+      return;
+    }
+    imageTransform.translate(deviceBounds.x, deviceBounds.y);
+
+    BufferedImage image =
+        new BufferedImage(deviceBounds.width, deviceBounds.height, BufferedImage.TYPE_INT_ARGB);
+    Graphics2D g = image.createGraphics();
+    g.setRenderingHints(hints);
+    g.translate(-deviceBounds.x, -deviceBounds.y);
+    g.transform(transform);
+    g.setPaint(paint);
+    g.setComposite(composite);
+    g.fill(s);
+    g.dispose();
+    writer.drawImage(image, imageTransform, true, transform, clip);
+  }
+
+  private float getAlpha() {
+
+    return composite instanceof AlphaComposite ? ((AlphaComposite) composite).getAlpha() : 1;
+  }
+
+  @Override
+  public void drawString(String str, int x, int y) {
+
+    drawString(str, (float) x, (float) y);
+  }
+
+  @Override
+  public void drawString(String str, float x, float y) {
+
+    if (!str.isEmpty()) {
+      TextLayout textLayout = new TextLayout(str, font, getFontRenderContext());
+      fill(textLayout.getOutline(AffineTransform.getTranslateInstance(x, y)));
+    }
+  }
+
+  @Override
+  public void drawString(AttributedCharacterIterator iterator, int x, int y) {
+
+    drawString(iterator, (float) x, (float) y);
+  }
+
+  @Override
+  public void drawString(AttributedCharacterIterator iterator, float x, float y) {
+
+    if (iterator.getEndIndex() > iterator.getBeginIndex()) {
+      TextLayout textLayout = new TextLayout(iterator, getFontRenderContext());
+      fill(textLayout.getOutline(AffineTransform.getTranslateInstance(x, y)));
+    }
+  }
+
+  @Override
+  public void drawGlyphVector(GlyphVector g, float x, float y) {
+
+    fill(g.getOutline(x, y));
+  }
+
+  @Override
+  public void drawLine(int x1, int y1, int x2, int y2) {
+
+    draw(new Line2D.Double(x1, y1, x2, y2));
+  }
+
+  @Override
+  public void fillRect(int x, int y, int width, int height) {
+
+    fill(new Rectangle(x, y, width, height));
+  }
+
+  @Override
+  public void clearRect(int x, int y, int width, int height) {
+
+    writer.fill(new Rectangle(x, y, width, height), background, 1, transform, clip);
+  }
+
+  @Override
+  public void drawRoundRect(int x, int y, int width, int height, int arcWidth, int arcHeight) {
+
+    draw(new RoundRectangle2D.Double(x, y, width, height, arcWidth, arcHeight));
+  }
+
+  @Override
+  public void fillRoundRect(int x, int y, int width, int height, int arcWidth, int arcHeight) {
+
+    fill(new RoundRectangle2D.Double(x, y, width, height, arcWidth, arcHeight));
+  }
+
+  @Override
+  public void drawOval(int x, int y, int width, int height) {
+
+    draw(new Ellipse2D.Double(x, y, width, height));
+  }
+
+  @Override
+  public void fillOval(int x, int y, int width, int height) {
+
+    fill(new Ellipse2D.Double(x, y, width, height));
+  }
+
+  @Override
+  public void drawArc(int x, int y, int width, int height, int startAngle, int arcAngle) {
+
+    draw(new Arc2D.Double(x, y, width, height, startAngle, arcAngle, Arc2D.OPEN));
+  }
+
+  @Override
+  public void fillArc(int x, int y, int width, int height, int startAngle, int arcAngle) {
+
+    fill(new Arc2D.Double(x, y, width, height, startAngle, arcAngle, Arc2D.PIE));
+  }
+
+  @Override
+  public void drawPolyline(int[] xPoints, int[] yPoints, int nPoints) {
+
+    if (nPoints > 0) {
+      Path2D.Double path = new Path2D.Double();
+      path.moveTo(xPoints[0], yPoints[0]);
+      for (int i = 1; i < nPoints; i++) {
+        path.lineTo(xPoints[i], yPoints[i]);
+      }
+      draw(path);
+    }
+  }
+
+  @Override
+  public void drawPolygon(int[] xPoints, int[] yPoints, int nPoints) {
+
+    draw(new Polygon(xPoints, yPoints, nPoints));
+  }
+
+  @Override
+  public void fillPolygon(int[] xPoints, int[] yPoints, int nPoints) {
+
+    fill(new Polygon(xPoints, yPoints, nPoints));
+  }
+
+  // images
+
+  @Override
+  public boolean drawImage(Image img, AffineTransform xform, ImageObserver obs) {
+
+    return paintImage(img, xform == null ? new AffineTransform() : xform, null);
+  }
+
+  @Override
+  public void drawImage(BufferedImage img, BufferedImageOp op, int x, int y) {
+
+    paintImage(
+        op == null ? img : op.filter(img, null), AffineTransform.getTranslateInstance(x, y), null);
+  }
+
+  @Override
+  public void drawRenderedImage(RenderedImage img, AffineTransform xform) {
+
+    BufferedImage image;
+    if (img instanceof BufferedImage) {
+      image = (BufferedImage) img;
+    } else {
+      image = new BufferedImage(img.getWidth(), img.getHeight(), BufferedImage.TYPE_INT_ARGB);
+      Graphics2D g = image.createGraphics();
+      g.drawRenderedImage(
+          img, AffineTransform.getTranslateInstance(-img.getMinX(), -img.getMinY()));
+      g.dispose();
+    }
+    paintImage(image, xform, null);
+  }
+
+  @Override
+  public void drawRenderableImage(RenderableImage img, AffineTransform xform) {
+
+    drawRenderedImage(img.createDefaultRendering(), xform);
+  }
+
+  @Override
+  public boolean drawImage(Image img, int x, int y, ImageObserver observer) {
+
+    return paintImage(img, AffineTransform.getTranslateInstance(x, y), null);
+  }
+
+  @Override
+  public boolean drawImage(Image img, int x, int y, int width, int height, ImageObserver observer) {
+
+    return drawImage(img, x, y, width, height, null, observer);
+  }
+
+  @Override
+  public boolean drawImage(Image img, int x, int y, Color bgcolor, ImageObserver observer) {
+
+    return paintImage(img, AffineTransform.getTranslateInstance(x, y), bgcolor);
+  }
+
+  @Override
+  public boolean drawImage(
+      Image img, int x, int y, int width, int height, Color bgcolor, ImageObserver observer) {
+
+    int imageWidth = img.getWidth(null);
+    int imageHeight = img.getHeight(null);
+    if (imageWidth <= 0 || imageHeight <= 0) {
+      return false;
+    }
+    AffineTransform xform = AffineTransform.getTranslateInstance(x, y);
+    xform.scale((double) width / imageWidth, (double) height / imageHeight);
+    return paintImage(img, xform, bgcolor);
+  }
+
+  @Override
+  public boolean drawImage(
+      Image img,
+      int dx1,
+      int dy1,
+      int dx2,
+      int dy2,
+      int sx1,
+      int sy1,
+      int sx2,
+      int sy2,
+      ImageObserver observer) {
+
+    return drawImage(img, dx1, dy1, dx2, dy2, sx1, sy1, sx2, sy2, null, observer);
+  }
+
+  @Override
+  public boolean drawImage(
+      Image img,
+      int dx1,
+      int dy1,
+      int dx2,
+      int dy2,
+      int sx1,
+      int sy1,
+      int sx2,
+      int sy2,
+      Color bgcolor,
+      ImageObserver observer) {
+
+    BufferedImage image = toBufferedImage(img);
+    if (image == null || sx1 == sx2 || sy1 == sy2) {
+      return false;
+    }
+    int x = Math.max(0, Math.min(sx1, sx2));
+    int y = Math.max(0, Math.min(sy1, sy2));
+    int width = Math.min(image.getWidth(), Math.max(sx1, sx2)) - x;
+    int height = Math.min(image.getHeight(), Math.max(sy1, sy2)) - y;
+    if (width <= 0 || height <= 0) {
+      return true;
+    }
+    // maps the source corners onto the destination corners, which may flip the image
+    double scaleX = (double) (dx2 - dx1) / (sx2 - sx1);
+    double scaleY = (double) (dy2 - dy1) / (sy2 - sy1);
+    AffineTransform xform =
+        new AffineTransform(
+            scaleX, 0, 0, scaleY, dx1 - scaleX * (sx1 - x), dy1 - scaleY * (sy1 - y));
+    return paintImage(image.getSubimage(x, y, width, height), xform, bgcolor);
+  }
+
+  /**
+   * Draws an image
+   *
+   * @param img
+   * @param xform the transform from image pixels to user space
+   * @param bgcolor the color behind transparent pixels, or null
+   * @return false if the image is not loaded yet
+   */
+  private boolean paintImage(Image img, AffineTransform xform, Color bgcolor) {
+
+    BufferedImage image = toBufferedImage(img);
+    if (image == null) {
+      return false;
+    }
+    if (bgcolor != null) {
+      Shape imageBounds =
+          xform.createTransformedShape(new Rectangle(image.getWidth(), image.getHeight()));
+      writer.fill(imageBounds, bgcolor, getAlpha(), transform, clip);
+    }
+    Object interpolation = hints.get(RenderingHints.KEY_INTERPOLATION);
+    boolean isSmooth =
+        interpolation != null
+            && interpolation != RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR;
+    writer.drawImage(image, xform, isSmooth, transform, clip);
+    return true;
+  }
+
+  private static BufferedImage toBufferedImage(Image img) {
+
+    if (img instanceof BufferedImage) {
+      return (BufferedImage) img;
+    }
+    int width = img.getWidth(null);
+    int height = img.getHeight(null);
+    if (width <= 0 || height <= 0) {
+      return null;
+    }
+    BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+    Graphics2D g = image.createGraphics();
+    g.drawImage(img, 0, 0, null);
+    g.dispose();
+    return image;
+  }
+
+  @Override
+  public void copyArea(int x, int y, int width, int height, int dx, int dy) {
+
+    // what has been written cannot be read back
+  }
+
+  // state
+
+  @Override
+  public Graphics create() {
+
+    return new StreamingGraphics2D(this);
+  }
+
+  @Override
+  public void dispose() {
+
+    // the document is completed by finish(), as copies share it
+  }
+
+  @Override
+  public boolean hit(Rectangle rect, Shape s, boolean onStroke) {
+
+    Shape shape = transform.createTransformedShape(onStroke ? stroke.createStrokedShape(s) : s);
+    return shape.intersects(rect) && (clip == null || clip.intersects(rect));
+  }
+
+  @Override
+  public GraphicsConfiguration getDeviceConfiguration() {
+
+    return null;
+  }
+
+  @Override
+  public void setComposite(Composite comp) {
+
+    composite = comp;
+  }
+
+  @Override
+  public Composite getComposite() {
+
+    return composite;
+  }
+
+  @Override
+  public void setPaint(Paint paint) {
+
+    if (paint instanceof Color) {
+      setColor((Color) paint);
+    } else if (paint != null) {
+      this.paint = paint;
+    }
+  }
+
+  @Override
+  public Paint getPaint() {
+
+    return paint;
+  }
+
+  @Override
+  public void setColor(Color c) {
+
+    if (c != null) {
+      color = c;
+      paint = c;
+    }
+  }
+
+  @Override
+  public Color getColor() {
+
+    return color;
+  }
+
+  @Override
+  public void setPaintMode() {
+
+    composite = AlphaComposite.SrcOver;
+  }
+
+  @Override
+  public void setXORMode(Color c1) {
+
+    // documents have no XOR mode
+  }
+
+  @Override
+  public void setBackground(Color color) {
+
+    background = color;
+  }
+
+  @Override
+  public Color getBackground() {
+
+    return background;
+  }
+
+  @Override
+  public void setStroke(Stroke s) {
+
+    stroke = s;
+  }
+
+  @Override
+  public Stroke getStroke() {
+
+    return stroke;
+  }
+
+  @Override
+  public void setFont(Font font) {
+
+    if (font != null) {
+      this.font = font;
+    }
+  }
+
+  @Override
+  public Font getFont() {
+
+    return font;
+  }
+
+  @Override
+  public FontMetrics getFontMetrics(Font f) {
+
+    BufferedImage image = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+    Graphics2D g = image.createGraphics();
+    g.setRenderingHints(hints);
+    FontMetrics fontMetrics = g.getFontMetrics(f);
+    g.dispose();
+    return fontMetrics;
+  }
+
+  @Override
+  public FontRenderContext getFontRenderContext() {
+
+    boolean isAntiAliased =
+        RenderingHints.VALUE_TEXT_ANTIALIAS_ON.equals(
+                hints.get(RenderingHints.KEY_TEXT_ANTIALIASING))
+            || RenderingHints.VALUE_ANTIALIAS_ON.equals(hints.get(RenderingHints.KEY_ANTIALIASING));
+    boolean usesFractionalMetrics =
+        RenderingHints.VALUE_FRACTIONALMETRICS_ON.equals(
+            hints.get(RenderingHints.KEY_FRACTIONALMETRICS));
+    return new FontRenderContext(null, isAntiAliased, usesFractionalMetrics);
+  }
+
+  @Override
+  public void setRenderingHint(RenderingHints.Key hintKey, Object hintValue) {
+
+    hints.put(hintKey, hintValue);
+  }
+
+  @Override
+  public Object getRenderingHint(RenderingHints.Key hintKey) {
+
+    return hints.get(hintKey);
+  }
+
+  @Override
+  public void setRenderingHints(Map<?, ?> hints) {
+
+    this.hints.clear();
+    this.hints.putAll(hints);
+  }
+
+  @Override
+  public void addRenderingHints(Map<?, ?> hints) {
+
+    this.hints.putAll(hints);
+  }
+
+  @Override
+  public RenderingHints getRenderingHints() {
+
+    return (RenderingHints) hints.clone();
+  }
+
+  // transform
+
+  @Override
+  public void translate(int x, int y) {
+
+    transform.translate(x, y);
+  }
+
+  @Override
+  public void translate(double tx, double ty) {
+
+    transform.translate(tx, ty);
+  }
+
+  @Override
+  public void rotate(double theta) {
+
+    transform.rotate(theta);
+  }
+
+  @Override
+  public void rotate(double theta, double x, double y) {
+
+    transform.rotate(theta, x, y);
+  }
+
+  @Override
+  public void scale(double sx, double sy) {
+
+    transform.scale(sx, sy);
+  }
+
+  @Override
+  public void shear(double shx, double shy) {
+
+    transform.shear(shx, shy);
+  }
+
+  @Override
+  public void transform(AffineTransform tx) {
+
+    transform.concatenate(tx);
+  }
+
+  @Override
+  public void setTransform(AffineTransform tx) {
+
+    transform = new AffineTransform(tx);
+  }
+
+  @Override
+  public AffineTransform getTransform() {
+
+    return new AffineTransform(transform);
+  }
+
+  // clip
+
+  @Override
+  public Shape getClip() {
+
+    if (clip == null) {
+      return null;
+    }
+    try {
+      return transformShape(transform.createInverse(), clip);
+    } catch (NoninvertibleTransformException e) {
+      return null;
+    }
+  }
+
+  @Override
+  public Rectangle getClipBounds() {
+
+    Shape userClip = getClip();
+    return userClip == null ? null : userClip.getBounds();
+  }
+
+  @Override
+  public void setClip(Shape clip) {
+
+    this.clip = clip == null ? null : transformShape(transform, clip);
+  }
+
+  @Override
+  public void setClip(int x, int y, int width, int height) {
+
+    setClip(new Rectangle(x, y, width, height));
+  }
+
+  @Override
+  public void clip(Shape s) {
+
+    if (s == null) {
+      clip = null;
+      return;
+    }
+    Shape deviceShape = transformShape(transform, s);
+    if (clip == null) {
+      clip = deviceShape;
+    } else if (clip instanceof Rectangle2D && deviceShape instanceof Rectangle2D) {
+      clip = ((Rectangle2D) clip).createIntersection((Rectangle2D) deviceShape);
+    } else {
+      Area area = new Area(clip);
+      area.intersect(new Area(deviceShape));
+      clip = area;
+    }
+  }
+
+  @Override
+  public void clipRect(int x, int y, int width, int height) {
+
+    clip(new Rectangle(x, y, width, height));
+  }
+
+  /** Transforms a shape, keeping rectangles rectangles if the transform does not rotate */
+  private static Shape transformShape(AffineTransform transform, Shape s) {
+
+    if (s instanceof Rectangle2D
+        && (transform.getType()
+                & (AffineTransform.TYPE_GENERAL_ROTATION
+                    | AffineTransform.TYPE_QUADRANT_ROTATION
+                    | AffineTransform.TYPE_GENERAL_TRANSFORM))
+            == 0) {
+      Rectangle2D rectangle = (Rectangle2D) s;
+      double[] corners = {
+        rectangle.getMinX(), rectangle.getMinY(), rectangle.getMaxX(), rectangle.getMaxY()
+      };
+      transform.transform(corners, 0, corners, 0, 2);
+      Rectangle2D.Double transformed = new Rectangle2D.Double();
+      transformed.setFrameFromDiagonal(corners[0], corners[1], corners[2], corners[3]);
+      return transformed;
+    }
+    return transform.createTransformedShape(s);
+  }
+}
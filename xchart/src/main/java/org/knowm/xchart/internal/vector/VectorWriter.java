@@ -0,0 +1,461 @@
+package org.knowm.xchart.internal.vector;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Shape;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.PathIterator;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Writes the shapes painted on a StreamingGraphics2D straight to a vector document, keeping only
+ * what is needed to merge consecutive elements. Format specific subclasses write the elements.
+ *
+ * <p>Two merges keep the document proportional to the visible geometry rather than to the number of
+ * paint calls:
+ *
+ * <ul>
+ *   <li>Open polylines drawn one after the other with the same color and stroke, like the segments
+ *       of a series line, are written as one path. Markers painted on the vertices of the line in
+ *       exactly its color and alpha do not interrupt it, as the order of equal paint does not show,
+ *       even if it is translucent. Any other shape is written after the line painted before it,
+ *       keeping the order of a bitmap.
+ *   <li>Small shapes which are painted again at another position, like markers, are written once as
+ *       a symbol and then referenced by their position.
+ * </ul>
+ */
+abstract class VectorWriter {
+
+  /** shapes with more segments are always written as paths */
+  static final int MAX_SYMBOL_SEGMENTS = 32;
+
+  /** the number of small shapes remembered to be turned into symbols when painted again */
+  static final int MAX_SYMBOLS = 1024;
+
+  /** merged lines are written in chunks of this many segments */
+  static final int MAX_LINE_SEGMENTS = 1000;
+
+  final Writer out;
+  final double width;
+  final double height;
+
+  /** scratch buffer for the path of one element */
+  private final StringBuilder path = new StringBuilder();
+
+  private final double[] coords = new double[6];
+
+  // the transform and device clip the document is currently at
+  private AffineTransform writtenTransform = new AffineTransform();
+  private Shape writtenClip;
+
+  // the line which is being merged, written when something else is painted
+  private final StringBuilder line = new StringBuilder();
+  private int lineSegments;
+  private Color lineColor;
+  private float lineAlpha;
+  private BasicStroke lineStroke;
+  private double lineX;
+  private double lineY;
+
+  /** the paths of small shapes relative to their first point, with their symbol id or -1 */
+  private final Map<String, Integer> symbols =
+      new LinkedHashMap<String, Integer>(16, 0.75f, true) {
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Integer> eldest) {
+
+          return size() > MAX_SYMBOLS;
+        }
+      };
+
+  private int symbolCount;
+
+  private boolean isFinished;
+
+  /**
+   * Constructor
+   *
+   * @param out
+   * @param width
+   * @param height
+   */
+  VectorWriter(Writer out, double width, double height) {
+
+    this.out = out;
+    this.width = width;
+    this.height = height;
+  }
+
+  /** Writes the start of the document */
+  abstract void writeHeader() throws IOException;
+
+  /**
+   * Moves the document to a transform and clip
+   *
+   * @param transform the user to device transform
+   * @param clip the clip in device space, or null
+   * @param isClipChanged false if only the transform changed
+   */
+  abstract void writeState(AffineTransform transform, Shape clip, boolean isClipChanged)
+      throws IOException;
+
+  /**
+   * Appends a path segment in the document's path syntax
+   *
+   * @param sb
+   * @param type PathIterator.SEG_MOVETO, SEG_LINETO, SEG_CUBICTO or SEG_CLOSE
+   * @param coords
+   */
+  abstract void appendSegment(StringBuilder sb, int type, double[] coords);
+
+  /**
+   * Writes a path
+   *
+   * @param path the path data
+   * @param color
+   * @param alpha the alpha of the composite
+   * @param stroke the stroke to draw the path with, or null to fill it
+   * @param windingRule
+   */
+  abstract void writePath(
+      CharSequence path, Color color, float alpha, BasicStroke stroke, int windingRule)
+      throws IOException;
+
+  /**
+   * Writes the definition of a symbol
+   *
+   * @param id
+   * @param path the path data relative to the first point of the shape
+   */
+  abstract void writeSymbol(int id, CharSequence path) throws IOException;
+
+  /**
+   * Writes a reference to a symbol
+   *
+   * @param id
+   * @param x the position of the first point of the shape
+   * @param y
+   * @param color
+   * @param alpha
+   * @param stroke the stroke to draw the symbol with, or null to fill it
+   * @param windingRule
+   */
+  abstract void writeUse(
+      int id, double x, double y, Color color, float alpha, BasicStroke stroke, int windingRule)
+      throws IOException;
+
+  /**
+   * Writes an image
+   *
+   * @param image
+   * @param imageTransform the transform from image pixels to user space
+   * @param isSmooth false if pixels should be painted as squares
+   */
+  abstract void writeImage(BufferedImage image, AffineTransform imageTransform, boolean isSmooth)
+      throws IOException;
+
+  /** Writes the end of the document */
+  abstract void writeTrailer() throws IOException;
+
+  void start() {
+
+    try {
+      writeHeader();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /** Draws the outline of a shape */
+  void draw(
+      Shape shape,
+      Color color,
+      float alpha,
+      BasicStroke stroke,
+      AffineTransform transform,
+      Shape clip) {
+
+    try {
+      setState(transform, clip);
+      int segments = countPolylineSegments(shape);
+      if (segments > 0) {
+        drawPolyline(shape, color, alpha, stroke);
+      } else if (segments == 0) {
+        paintSmallShape(shape, color, alpha, stroke);
+      } else {
+        flushLine();
+        writePath(shape, color, alpha, stroke);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /** Fills the interior of a shape */
+  void fill(Shape shape, Color color, float alpha, AffineTransform transform, Shape clip) {
+
+    try {
+      setState(transform, clip);
+      if (countPolylineSegments(shape) == 0) {
+        paintSmallShape(shape, color, alpha, null);
+      } else {
+        flushLine();
+        writePath(shape, color, alpha, null);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /** Draws an image, see writeImage() */
+  void drawImage(
+      BufferedImage image,
+      AffineTransform imageTransform,
+      boolean isSmooth,
+      AffineTransform transform,
+      Shape clip) {
+
+    try {
+      setState(transform, clip);
+      flushLine();
+      writeImage(image, imageTransform, isSmooth);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /** Writes what is left and the end of the document, and flushes it */
+  void finish() throws IOException {
+
+    if (isFinished) {
+      return;
+    }
+    isFinished = true;
+    flushLine();
+    writeTrailer();
+    out.flush();
+  }
+
+  private void setState(AffineTransform transform, Shape clip) throws IOException {
+
+    boolean isClipChanged = !Objects.equals(clip, writtenClip);
+    if (isClipChanged || !transform.equals(writtenTransform)) {
+      flushLine();
+      writeState(transform, clip, isClipChanged);
+      writtenTransform = new AffineTransform(transform);
+      writtenClip = clip;
+    }
+  }
+
+  /**
+   * Classifies a shape
+   *
+   * @return the number of segments of an open polyline, 0 for other shapes with at most
+   *     MAX_SYMBOL_SEGMENTS segments, -1 for larger ones
+   */
+  private int countPolylineSegments(Shape shape) {
+
+    int segments = 0;
+    boolean isPolyline = true;
+    for (PathIterator pi = shape.getPathIterator(null); !pi.isDone(); pi.next()) {
+      int type = pi.currentSegment(coords);
+      int expectedType = segments == 0 ? PathIterator.SEG_MOVETO : PathIterator.SEG_LINETO;
+      isPolyline &= type == expectedType;
+      segments++;
+      if (!isPolyline && segments > MAX_SYMBOL_SEGMENTS) {
+        return -1;
+      }
+    }
+    return isPolyline && segments > 1 ? segments - 1 : 0;
+  }
+
+  /** Appends an open polyline to the merged line, starting a new one if it does not fit */
+  private void drawPolyline(Shape shape, Color color, float alpha, BasicStroke stroke)
+      throws IOException {
+
+    PathIterator pi = shape.getPathIterator(null);
+    pi.currentSegment(coords);
+    boolean isConnected = line.length() > 0 && coords[0] == lineX && coords[1] == lineY;
+    boolean isSameStyle =
+        line.length() > 0
+            && color.equals(lineColor)
+            && alpha == lineAlpha
+            && stroke.equals(lineStroke);
+    if (!isSameStyle) {
+      flushLine();
+      lineColor = color;
+      lineAlpha = alpha;
+      lineStroke = stroke;
+    }
+    if (!isConnected || line.length() == 0) {
+      appendSegment(line, PathIterator.SEG_MOVETO, coords);
+    }
+    lineX = coords[0];
+    lineY = coords[1];
+    for (pi.next(); !pi.isDone(); pi.next()) {
+      pi.currentSegment(coords);
+      appendSegment(line, PathIterator.SEG_LINETO, coords);
+      lineSegments++;
+      lineX = coords[0];
+      lineY = coords[1];
+      if (lineSegments == MAX_LINE_SEGMENTS) {
+        flushLine();
+        coords[0] = lineX;
+        coords[1] = lineY;
+        appendSegment(line, PathIterator.SEG_MOVETO, coords);
+      }
+    }
+  }
+
+  /** Writes the merged line, if any */
+  private void flushLine() throws IOException {
+
+    if (lineSegments > 0) {
+      writePath(line, lineColor, lineAlpha, lineStroke, PathIterator.WIND_NON_ZERO);
+    }
+    line.setLength(0);
+    lineSegments = 0;
+  }
+
+  /** Paints a small shape, as a symbol if it has been painted before */
+  private void paintSmallShape(Shape shape, Color color, float alpha, BasicStroke stroke)
+      throws IOException {
+
+    PathIterator pi = shape.getPathIterator(null);
+    if (pi.isDone()) {
+      return;
+    }
+    pi.currentSegment(coords);
+    double x = coords[0];
+    double y = coords[1];
+    // the line is written before a shape painted after it, unless the shape is a marker on the
+    // current vertex which looks the same above or below the line, being of the same color and
+    // alpha
+    if (line.length() > 0
+        && !(color.getRGB() == lineColor.getRGB()
+            && alpha == lineAlpha
+            && shape.getBounds2D().contains(lineX, lineY))) {
+      flushLine();
+    }
+
+    StringBuilder key = new StringBuilder();
+    appendPath(key, pi, x, y);
+    String relativePath = key.toString();
+    Integer id = symbols.get(relativePath);
+    if (id == null) {
+      symbols.put(relativePath, -1);
+      writePath(shape, color, alpha, stroke);
+      return;
+    }
+    if (id < 0) {
+      id = symbolCount++;
+      symbols.put(relativePath, id);
+      writeSymbol(id, relativePath);
+    }
+    writeUse(id, x, y, color, alpha, stroke, pi.getWindingRule());
+  }
+
+  private void writePath(Shape shape, Color color, float alpha, BasicStroke stroke)
+      throws IOException {
+
+    PathIterator pi = shape.getPathIterator(null);
+    path.setLength(0);
+    appendPath(path, pi, 0, 0);
+    writePath(path, color, alpha, stroke, pi.getWindingRule());
+  }
+
+  /**
+   * Appends the segments of a path, moved by -dx, -dy. Quadratic segments are appended as cubic
+   * ones, which all formats have.
+   */
+  void appendPath(StringBuilder sb, PathIterator pi, double dx, double dy) {
+
+    double[] c = new double[6];
+    double currentX = 0;
+    double currentY = 0;
+    double moveX = 0;
+    double moveY = 0;
+    for (; !pi.isDone(); pi.next()) {
+      int type = pi.currentSegment(c);
+      switch (type) {
+        case PathIterator.SEG_MOVETO:
+          moveX = currentX = c[0];
+          moveY = currentY = c[1];
+          break;
+        case PathIterator.SEG_LINETO:
+          currentX = c[0];
+          currentY = c[1];
+          break;
+        case PathIterator.SEG_QUADTO:
+          double qx = c[0];
+          double qy = c[1];
+          c[0] = currentX + 2.0 / 3 * (qx - currentX);
+          c[1] = currentY + 2.0 / 3 * (qy - currentY);
+          c[4] = currentX = c[2];
+          c[5] = currentY = c[3];
+          c[2] = c[4] + 2.0 / 3 * (qx - c[4]);
+          c[3] = c[5] + 2.0 / 3 * (qy - c[5]);
+          type = PathIterator.SEG_CUBICTO;
+          break;
+        case PathIterator.SEG_CUBICTO:
+          currentX = c[4];
+          currentY = c[5];
+          break;
+        default:
+          currentX = moveX;
+          currentY = moveY;
+          break;
+      }
+      for (int i = 0; i < 6; i += 2) {
+        c[i] -= dx;
+        c[i + 1] -= dy;
+      }
+      appendSegment(sb, type, c);
+    }
+  }
+
+  /** Appends a number with at most three decimals, which is finer than any printer resolves */
+  static void appendNumber(StringBuilder sb, double value) {
+
+    if (!(Math.abs(value) < 1e12)) {
+      // NaN or far off the page
+      sb.append(Double.isNaN(value) ? 0 : value > 0 ? 1_000_000_000_000L : -1_000_000_000_000L);
+      return;
+    }
+    long scaled = Math.round(value * 1000);
+    if (scaled < 0) {
+      sb.append('-');
+      scaled = -scaled;
+    }
+    sb.append(scaled / 1000);
+    int fraction = (int) (scaled % 1000);
+    if (fraction != 0) {
+      sb.append('.').append((char) ('0' + fraction / 100));
+      fraction %= 100;
+      if (fraction != 0) {
+        sb.append((char) ('0' + fraction / 10));
+        fraction %= 10;
+        if (fraction != 0) {
+          sb.append((char) ('0' + fraction));
+        }
+      }
+    }
+  }
+
+  /** Appends a number of a transform matrix, which needs more than three decimals if it scales */
+  static void appendMatrixNumber(StringBuilder sb, double value) {
+
+    float rounded = (float) value;
+    if (rounded == Math.rint(rounded)) {
+      sb.append((long) rounded);
+    } else {
+      sb.append(rounded);
+    }
+  }
+}
@@ -21,6 +21,12 @@ public class HeatMapStyler extends AxesChartStyler {
 
   private Color[] rangeColors;
 
+  /** number of entries the gradient of the range colors is sampled at */
+  private static final int GRADIENT_LOOKUP_TABLE_SIZE = 4096;
+
+  /** the range colors compiled into packed ARGB values, created on demand */
+  private int[] rangeColorLookupTable;
+
   private boolean isDrawBorder;
 
   private boolean showValue;
@@ -63,6 +69,7 @@ public class HeatMapStyler extends AxesChartStyler {
     rangeColors[0] = new Color(255, 165, 0); // #FF5A00
     rangeColors[1] = new Color(255, 69, 0); // #FF4500
     rangeColors[2] = new Color(139, 0, 0); // #8B0000
+    rangeColorLookupTable = null;
 
     splitNumber = 5;
     valueFont = new Font(Font.SANS_SERIF, Font.PLAIN, 16);
@@ -93,6 +100,7 @@ public class HeatMapStyler extends AxesChartStyler {
   public HeatMapStyler setPiecewise(boolean isPiecewise) {
 
     this.isPiecewise = isPiecewise;
+    rangeColorLookupTable = null;
     return this;
   }
 
@@ -108,6 +116,7 @@ public class HeatMapStyler extends AxesChartStyler {
     } else {
       this.splitNumber = 1;
     }
+    rangeColorLookupTable = null;
     return this;
   }
 
@@ -128,9 +137,77 @@ public class HeatMapStyler extends AxesChartStyler {
     } else {
       this.rangeColors = DEFAULT_RANGE_COLORS;
     }
+    rangeColorLookupTable = null;
     return this;
   }
 
+  /**
+   * Returns the range colors compiled into a table of packed ARGB values, so coloring a cell is a
+   * single lookup. For piecewise heat maps, entry i is the color of the values whose ratio (value -
+   * min) / (max - min) lies in [i / splitNumber, (i + 1) / splitNumber). Otherwise the entries
+   * sample the gradient at evenly spaced ratios from 0 to 1. The table is kept until the range
+   * colors, the split number or the piecewise flag are set again, and must not be modified.
+   *
+   * @return the lookup table
+   */
+  public int[] getRangeColorLookupTable() {
+
+    if (rangeColorLookupTable == null) {
+      rangeColorLookupTable =
+          isPiecewise ? createPiecewiseLookupTable() : createGradientLookupTable();
+    }
+    return rangeColorLookupTable;
+  }
+
+  private int[] createPiecewiseLookupTable() {
+
+    int[] table = new int[splitNumber];
+    for (int i = 0; i < splitNumber; i++) {
+      if (i == 0) {
+        table[i] = rangeColors[0].getRGB();
+      } else if (i == splitNumber - 1) {
+        table[i] = rangeColors[rangeColors.length - 1].getRGB();
+      } else {
+        double index = (double) i / splitNumber * rangeColors.length;
+        int beginColorIndex = (int) index;
+        int endColorIndex = rangeColors.length != 1 ? beginColorIndex + 1 : beginColorIndex;
+        table[i] =
+            interpolate(
+                rangeColors[beginColorIndex], rangeColors[endColorIndex], index - (int) index);
+      }
+    }
+    return table;
+  }
+
+  private int[] createGradientLookupTable() {
+
+    int[] table = new int[GRADIENT_LOOKUP_TABLE_SIZE];
+    for (int i = 0; i < table.length; i++) {
+      double index = (double) i / (table.length - 1) * (rangeColors.length - 1);
+      int beginColorIndex = (int) index;
+      if (beginColorIndex < rangeColors.length - 1) {
+        table[i] =
+            interpolate(
+                rangeColors[beginColorIndex],
+                rangeColors[beginColorIndex + 1],
+                index - beginColorIndex);
+      } else {
+        table[i] = rangeColors[rangeColors.length - 1].getRGB();
+      }
+    }
+    return table;
+  }
+
+  private static int interpolate(Color beginColor, Color endColor, double fraction) {
+
+    int red = (int) (beginColor.getRed() + fraction * (endColor.getRed() - beginColor.getRed()));
+    int green =
+        (int) (beginColor.getGreen() + fraction * (endColor.getGreen() - beginColor.getGreen()));
+    int blue =
+        (int) (beginColor.getBlue() + fraction * (endColor.getBlue() - beginColor.getBlue()));
+    return 0xFF000000 | red << 16 | green << 8 | blue;
+  }
+
   public boolean isDrawBorder() {
 
     return isDrawBorder;
@@ -1,8 +1,11 @@
 package org.knowm.xchart;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import java.awt.image.BufferedImage;
 import java.util.Arrays;
+import java.util.Random;
 import org.junit.jupiter.api.Test;
 
 public class BitmapEncoderTest {
@@ -22,4 +25,25 @@ public class BitmapEncoderTest {
     assertEquals(".bmp", BitmapEncoder.addFileExtension(".bmp", BitmapEncoder.BitmapFormat.BMP));
     assertEquals(".bmp", BitmapEncoder.addFileExtension(".BmP", BitmapEncoder.BitmapFormat.BMP));
   }
+
+  @Test
+  public void testParallelTilesAreIdentical() {
+
+    XYChart chart = new XYChart(640, 480);
+    Random random = new Random(42);
+    for (XYSeries.XYSeriesRenderStyle renderStyle : XYSeries.XYSeriesRenderStyle.values()) {
+      double[] xData = new double[2000];
+      double[] yData = new double[2000];
+      for (int i = 0; i < xData.length; i++) {
+        xData[i] = i + random.nextDouble();
+        yData[i] = random.nextGaussian() + renderStyle.ordinal();
+      }
+      chart.addSeries(renderStyle.name(), xData, yData).setXYSeriesRenderStyle(renderStyle);
+    }
+
+    BufferedImage serial = BitmapEncoder.getBufferedImage(chart);
+    BufferedImage parallel = BitmapEncoder.getBufferedImage(chart, 7);
+    assertArrayEquals(
+        serial.getRGB(0, 0, 640, 480, null, 0, 640), parallel.getRGB(0, 0, 640, 480, null, 0, 640));
+  }
 }
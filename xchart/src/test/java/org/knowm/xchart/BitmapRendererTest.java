@@ -0,0 +1,61 @@
+package org.knowm.xchart;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.Test;
+import org.knowm.xchart.BitmapEncoder.BitmapFormat;
+
+public class BitmapRendererTest {
+
+  @Test
+  public void recycledImagesMatchBitmapEncoder() throws Exception {
+
+    XYChart small = new XYChartBuilder().width(200).height(150).title("small").build();
+    small.addSeries("a", new double[] {1, 2, 3}, new double[] {1, 2, 3});
+    small.getStyler().setChartBackgroundColor(Color.RED);
+    // a translucent background shows what was painted before
+    XYChart large = new XYChartBuilder().width(400).height(300).title("large").build();
+    large.addSeries("b", new double[] {1, 2, 3}, new double[] {3, 1, 2});
+    large.getStyler().setChartBackgroundColor(new Color(255, 255, 255, 128));
+
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      BitmapRenderer renderer = new BitmapRenderer(executor);
+      for (int i = 0; i < 3; i++) {
+        List<CompletableFuture<byte[]>> futures =
+            renderer.submitAll(Arrays.asList(small, large), BitmapFormat.PNG);
+        assertPixelsEqual(small, futures.get(0).get());
+        assertPixelsEqual(large, futures.get(1).get());
+      }
+
+      ByteBuffer buffer = ByteBuffer.allocate(1 << 20);
+      int length = renderer.write(large, BitmapFormat.PNG, buffer);
+      assertEquals(length, buffer.position());
+      assertPixelsEqual(large, Arrays.copyOf(buffer.array(), length));
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  private static void assertPixelsEqual(XYChart chart, byte[] png) throws Exception {
+
+    BufferedImage expected = BitmapEncoder.getBufferedImage(chart);
+    BufferedImage actual = ImageIO.read(new ByteArrayInputStream(png));
+    int width = expected.getWidth();
+    int height = expected.getHeight();
+    assertArrayEquals(
+        expected.getRGB(0, 0, width, height, null, 0, width),
+        actual.getRGB(0, 0, width, height, null, 0, width));
+  }
+}
@@ -0,0 +1,86 @@
+package org.knowm.xchart;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.knowm.xchart.CSVImporter.DataOrientation;
+
+public class CSVExporterTest {
+
+  @Test
+  public void shortestDecimals() throws IOException {
+
+    Path dir = Files.createTempDirectory("csv");
+    XYChart chart = new XYChart(600, 400);
+    chart.addSeries("a", new double[] {1, 2.5, -0.125}, new double[] {0.1, 1e-5, 0.1 + 0.2});
+
+    CSVExporter.writeCSVRows(chart, dir + "/");
+    String n = System.getProperty("line.separator");
+    assertEquals(
+        "1,2.5,-0.125" + n + "0.1,0.00001,0.30000000000000004" + n,
+        new String(Files.readAllBytes(dir.resolve("a.csv")), StandardCharsets.US_ASCII));
+
+    CSVExporter.writeCSVColumns(chart, dir + "/");
+    assertEquals(
+        "1,0.1" + n + "2.5,0.00001" + n + "-0.125,0.30000000000000004" + n,
+        new String(Files.readAllBytes(dir.resolve("a.csv")), StandardCharsets.US_ASCII));
+  }
+
+  @Test
+  public void roundTrip() throws IOException {
+
+    Random random = new Random(7);
+    double[] xData = new double[100_000];
+    double[] yData = new double[xData.length];
+    double[] errorBars = new double[xData.length];
+    for (int i = 0; i < xData.length; i++) {
+      xData[i] = i / 100.0;
+      yData[i] = random.nextGaussian() * Math.pow(10, random.nextInt(60) - 30);
+      errorBars[i] = Math.rint(random.nextDouble() * 1000) / 1000;
+    }
+    xData[1] = -0.0;
+    yData[1] = Double.POSITIVE_INFINITY;
+    yData[2] = Double.MAX_VALUE;
+    yData[3] = -Double.MIN_VALUE;
+    XYChart chart = new XYChart(600, 400);
+    chart.addSeries("a", xData, yData, errorBars);
+    chart.addSeries("b", yData, xData);
+
+    Path dir = Files.createTempDirectory("csv");
+    CSVExporter.writeCSVColumns(chart, dir + "/");
+    CSVImporter.SeriesData a =
+        CSVImporter.getSeriesDataFromCSVFile(
+            dir.resolve("a.csv").toString(), DataOrientation.Columns);
+    assertArrayEquals(xData, a.getxAxisDataArray());
+    assertArrayEquals(yData, a.getyAxisDataArray());
+    XYChart imported =
+        CSVImporter.getChartFromCSVDir(dir.toString(), DataOrientation.Columns, 600, 400);
+    assertArrayEquals(errorBars, imported.getSeriesMap().get("a").getExtraValues());
+
+    CSVExporter.writeCSVRows(chart, dir + "/");
+    CSVImporter.SeriesData b =
+        CSVImporter.getSeriesDataFromCSVFile(dir.resolve("b.csv").toString(), DataOrientation.Rows);
+    assertArrayEquals(yData, b.getxAxisDataArray());
+    assertArrayEquals(xData, b.getyAxisDataArray());
+
+    CSVExporter.writeBinaryColumns(chart, dir + "/");
+    CSVImporter.SeriesData binary =
+        CSVImporter.getSeriesDataFromBinaryFile(dir.resolve("a.bin").toString());
+    assertEquals("a", binary.getSeriesName());
+    assertArrayEquals(xData, binary.getxAxisDataArray());
+    assertArrayEquals(yData, binary.getyAxisDataArray());
+    MappedColumn mappedErrorBars =
+        MappedColumn.map(
+            dir.resolve("a.bin"),
+            MappedColumn.ValueType.Float64,
+            CSVExporter.BINARY_HEADER_SIZE + 2L * xData.length * Double.BYTES,
+            xData.length);
+    assertEquals(errorBars[5], mappedErrorBars.get(5));
+  }
+}
@@ -0,0 +1,100 @@
+package org.knowm.xchart;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.knowm.xchart.CSVImporter.DataOrientation;
+
+public class CSVImporterTest {
+
+  @Test
+  public void rowsAndColumns() throws IOException {
+
+    Path dir = Files.createTempDirectory("csv");
+    write(dir.resolve("rows.csv"), "1,2,3\n4.5,-5e2,6\n0.1,0.2,0.3\n");
+    write(dir.resolve("columns.csv"), "1, 10\r\n2, 20\r\n3, 30");
+
+    CSVImporter.SeriesData rows =
+        CSVImporter.getSeriesDataFromCSVFile(
+            dir.resolve("rows.csv").toString(), DataOrientation.Rows);
+    assertEquals("rows", rows.getSeriesName());
+    assertArrayEquals(new double[] {1, 2, 3}, rows.getxAxisDataArray());
+    assertArrayEquals(new double[] {4.5, -500, 6}, rows.getyAxisDataArray());
+    assertEquals(Double.valueOf(-500), rows.getyAxisData().get(1));
+
+    CSVImporter.SeriesData columns =
+        CSVImporter.getSeriesDataFromCSVFile(
+            dir.resolve("columns.csv").toString(), DataOrientation.Columns);
+    assertArrayEquals(new double[] {1, 2, 3}, columns.getxAxisDataArray());
+    assertArrayEquals(new double[] {10, 20, 30}, columns.getyAxisDataArray());
+
+    Files.delete(dir.resolve("rows.csv"));
+    XYChart chart =
+        CSVImporter.getChartFromCSVDir(dir.toString(), DataOrientation.Columns, 600, 400);
+    XYSeries series = chart.getSeriesMap().get("columns");
+    assertArrayEquals(new double[] {10, 20, 30}, series.getYData());
+    assertNull(series.getExtraValues());
+  }
+
+  @Test
+  public void valuesParseLikeDoubleParseDouble() throws IOException {
+
+    Random random = new Random(42);
+    String[] values = new String[200_000];
+    StringBuilder xRow = new StringBuilder();
+    StringBuilder yRow = new StringBuilder();
+    for (int i = 0; i < values.length; i++) {
+      switch (i % 4) {
+        case 0:
+          double scale = Math.pow(10, random.nextInt(40) - 20);
+          values[i] = Double.toString(random.nextGaussian() * scale);
+          break;
+        case 1:
+          values[i] = String.format(Locale.ROOT, "%.6f", random.nextDouble() * 1000 - 500);
+          break;
+        case 2:
+          values[i] = Long.toString(random.nextLong());
+          break;
+        default:
+          values[i] = "0.000" + random.nextInt(1000) + "E" + (random.nextInt(10) - 5);
+      }
+      xRow.append(i).append(',');
+      yRow.append(values[i]).append(',');
+    }
+    // the rows are much longer than the read buffer, so values are split between reads
+    Path file = Files.createTempFile("values", ".csv");
+    write(file, xRow + "\n" + yRow + "\n");
+
+    double[] yData =
+        CSVImporter.getSeriesDataFromCSVFile(file.toString(), DataOrientation.Rows)
+            .getyAxisDataArray();
+    assertEquals(values.length, yData.length);
+    for (int i = 0; i < values.length; i++) {
+      assertEquals(Double.parseDouble(values[i]), yData[i], values[i]);
+    }
+  }
+
+  @Test
+  public void invalidValue() throws IOException {
+
+    Path file = Files.createTempFile("invalid", ".csv");
+    write(file, "1,2\n3,x\n");
+    assertThrows(
+        NumberFormatException.class,
+        () -> CSVImporter.getSeriesDataFromCSVFile(file.toString(), DataOrientation.Columns));
+  }
+
+  private static void write(Path path, String content) throws IOException {
+
+    Files.write(path, content.getBytes(StandardCharsets.US_ASCII));
+  }
+}
@@ -227,6 +227,54 @@ public class CategoryChartTest {
     assertThat(fruit.getXData()).isEqualTo(Arrays.asList(1, 2, 3, 4, 5));
   }
 
+  @Test
+  void checkAddSeriesWithArrays() {
+    String[] categories = {"Blue", "Red", "Green", "Yellow", "Orange"};
+    CategorySeries series =
+        chart.addSeries(
+            "fruit", categories, new double[] {-40, 40.8, Double.NaN, 60, 60}, new double[5]);
+    CategorySeries other = chart.addSeries("food", categories, new double[] {1, 2, 3, 4, 5});
+
+    assertAll(
+        () -> assertThat(series.getxAxisDataType()).isEqualTo(Series.DataType.String),
+        () -> assertThat(series.getXData()).isEqualTo(Arrays.asList(categories)),
+        () ->
+            assertThat(series.getYData())
+                .isEqualTo(Arrays.asList(-40., 40.8, Double.NaN, 60., 60.)),
+        () -> assertThat(series.getYMin()).isEqualTo(-40),
+        () -> assertThat(series.getYMax()).isEqualTo(60),
+        () -> assertThat(other.getExtraValues()).isNull());
+
+    chart.updateCategorySeries("food", new double[] {5, 4, 3, 2, 1}, null);
+
+    assertAll(
+        () -> assertThat(other.getXData()).isEqualTo(Arrays.asList(categories)),
+        () -> assertThat(other.getYData()).isEqualTo(Arrays.asList(5., 4., 3., 2., 1.)));
+  }
+
+  @Test
+  void arraysAndListsPaintTheSame() {
+    String[] categories = {"Blue", "Red", "Green", "Yellow", "Orange"};
+    double[][] values = {{-40, 30, Double.NaN, 60, 60}, {10, -30, 20, 5, 60}};
+    CategoryChart listChart = new CategoryChart(800, 600, GGPlot2);
+    for (CategoryChart c : new CategoryChart[] {chart, listChart}) {
+      c.getStyler().setStacked(true);
+      c.getStyler().setLabelsVisible(true);
+    }
+    for (int i = 0; i < values.length; i++) {
+      chart.addSeries("s" + i, categories, values[i], new double[] {1, 2, 3, 4, 5});
+      List<Double> valueList = new ArrayList<>();
+      for (double value : values[i]) {
+        valueList.add(Double.isNaN(value) ? null : value);
+      }
+      listChart.addSeries(
+          "s" + i, Arrays.asList(categories), valueList, Arrays.asList(1, 2, 3, 4, 5));
+    }
+
+    assertThat(BitmapEncoder.getBufferedImage(chart).getRGB(0, 0, 800, 600, null, 0, 800))
+        .isEqualTo(BitmapEncoder.getBufferedImage(listChart).getRGB(0, 0, 800, 600, null, 0, 800));
+  }
+
   @Test
   void paint() {
     chart.addSeries(
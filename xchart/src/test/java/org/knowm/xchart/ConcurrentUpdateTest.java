@@ -0,0 +1,126 @@
+package org.knowm.xchart;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+import org.knowm.xchart.internal.series.AxesChartSeriesNumericalNoErrorBars.DataSnapshot;
+
+public class ConcurrentUpdateTest {
+
+  @Test
+  public void snapshotsAreConsistent() throws InterruptedException {
+
+    XYChart chart = new XYChart(400, 300);
+    XYSeries series = chart.addSeries("data", new double[] {0}, new double[] {0});
+    AtomicBoolean isRunning = new AtomicBoolean(true);
+    AtomicReference<Throwable> failure = new AtomicReference<>();
+    Thread writer =
+        startWriter(
+            () -> {
+              for (int n = 1; isRunning.get(); n = n % 1000 + 1) {
+                chart.updateXYSeries("data", ramp(n), ramp(n), null);
+              }
+            },
+            failure);
+
+    for (int i = 0; i < 20_000; i++) {
+      DataSnapshot data = series.getDataSnapshot();
+      int n = data.getDataLength();
+      // the data of a ramp of n points goes from 0 to n - 1
+      assertEquals(n, data.getXDataBuffer().length);
+      assertEquals(n, data.getYDataBuffer().length);
+      assertEquals(n - 1, data.getXMax(), 0);
+      assertEquals(n - 1, data.getYData()[n - 1], 0);
+    }
+    isRunning.set(false);
+    writer.join();
+    assertNull(failure.get());
+  }
+
+  @Test
+  public void paintWhileUpdating() throws InterruptedException {
+
+    XYChart chart = new XYChart(400, 300);
+    chart.addSeries("data", new double[] {0}, new double[] {0});
+    AtomicBoolean isRunning = new AtomicBoolean(true);
+    AtomicReference<Throwable> failure = new AtomicReference<>();
+    Thread writer =
+        startWriter(
+            () -> {
+              for (int n = 1; isRunning.get(); n = n % 500 + 1) {
+                chart.updateXYSeries("data", ramp(n), ramp(n), null);
+                // series appear and disappear while the chart is painted
+                if (n % 2 == 0) {
+                  chart.addSeries("other", ramp(n), ramp(n));
+                } else {
+                  chart.removeSeries("other");
+                }
+              }
+            },
+            failure);
+
+    BufferedImage image = new BufferedImage(400, 300, BufferedImage.TYPE_INT_RGB);
+    for (int i = 0; i < 300; i++) {
+      Graphics2D g = image.createGraphics();
+      try {
+        chart.paint(g, 400, 300);
+      } finally {
+        g.dispose();
+      }
+    }
+    isRunning.set(false);
+    writer.join();
+    assertNull(failure.get());
+  }
+
+  @Test
+  public void seriesMapViewsAreSnapshots() {
+
+    XYChart chart = new XYChart(400, 300);
+    chart.addSeries("a", new double[] {1}, new double[] {1});
+    chart.addSeries("b", new double[] {1}, new double[] {1});
+
+    Iterator<XYSeries> iterator = chart.getSeriesMap().values().iterator();
+    chart.removeSeries("a");
+    chart.addSeries("c", new double[] {1}, new double[] {1});
+
+    // the iterator neither fails nor sees the changes
+    assertEquals("a", iterator.next().getName());
+    assertEquals("b", iterator.next().getName());
+    assertFalse(iterator.hasNext());
+    assertEquals(2, chart.getSeriesMap().size());
+    assertTrue(chart.getSeriesMap().containsKey("c"));
+  }
+
+  private static Thread startWriter(Runnable writer, AtomicReference<Throwable> failure) {
+
+    Thread thread =
+        new Thread(
+            () -> {
+              try {
+                writer.run();
+              } catch (Throwable t) {
+                failure.set(t);
+              }
+            });
+    thread.start();
+    return thread;
+  }
+
+  private static double[] ramp(int n) {
+
+    double[] data = new double[n];
+    for (int i = 0; i < n; i++) {
+      data[i] = i;
+    }
+    return data;
+  }
+}
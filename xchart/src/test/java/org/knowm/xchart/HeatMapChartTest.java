@@ -0,0 +1,124 @@
+package org.knowm.xchart;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.knowm.xchart.style.HeatMapStyler;
+
+public class HeatMapChartTest {
+
+  @Test
+  public void denseAndSparseHeatDataAreTheSame() {
+
+    int[] xData = {0, 1, 2};
+    int[] yData = {0, 1};
+    List<Number[]> sparse = new ArrayList<>();
+    sparse.add(new Number[] {0, 0, 4});
+    sparse.add(new Number[] {2, 1, -3});
+    sparse.add(new Number[] {5, 0, 100}); // outside of the x axis
+
+    HeatMapChart sparseChart = new HeatMapChartBuilder().build();
+    HeatMapSeries sparseSeries =
+        sparseChart.addSeries("heat", Arrays.asList(0, 1, 2), Arrays.asList(0, 1), sparse);
+
+    HeatMapChart matrixChart = new HeatMapChartBuilder().build();
+    HeatMapSeries matrixSeries =
+        matrixChart.addSeries(
+            "heat", xData, yData, new double[][] {{4, Double.NaN}, {}, {Double.NaN, -3, 7}});
+
+    double[] expected = {4, Double.NaN, Double.NaN, Double.NaN, Double.NaN, -3};
+    assertArrayEquals(expected, sparseSeries.getHeatDataArray());
+    assertArrayEquals(expected, matrixSeries.getHeatDataArray());
+    assertEquals(-3, matrixSeries.getMin());
+    assertEquals(4, matrixSeries.getMax());
+
+    List<? extends Number[]> heatData = matrixSeries.getHeatData();
+    assertEquals(2, heatData.size());
+    assertArrayEquals(new Number[] {2, 1, -3.0}, heatData.get(1));
+  }
+
+  @Test
+  public void negativeIndicesAreLeftOut() {
+
+    HeatMapChart chart = new HeatMapChartBuilder().build();
+    List<Number[]> heatData = new ArrayList<>();
+    heatData.add(new Number[] {0, 0, 4});
+    HeatMapSeries series =
+        chart.addSeries("heat", Arrays.asList(0, 1), Arrays.asList(0, 1), heatData);
+
+    // x = 1, y = -1 would be x * 2 + y = 1, the cell at x = 0, y = 1
+    heatData = new ArrayList<>(heatData);
+    heatData.add(new Number[] {1, -1, 5});
+    heatData.add(new Number[] {-1, 1, 6});
+    series.replaceData(Arrays.asList(0, 1), Arrays.asList(0, 1), heatData);
+    assertArrayEquals(
+        new double[] {4, Double.NaN, Double.NaN, Double.NaN}, series.getHeatDataArray());
+  }
+
+  @Test
+  public void largeHeatMapIsPaintedAsAnImage() {
+
+    int size = 400;
+    int[] xData = new int[size];
+    int[] yData = new int[size];
+    double[][] heatData = new double[size][size];
+    for (int i = 0; i < size; i++) {
+      xData[i] = i;
+      yData[i] = i;
+      for (int j = 0; j < size; j++) {
+        // left half cold, right half hot
+        heatData[i][j] = i < size / 2 ? 0 : 1;
+      }
+    }
+    HeatMapChart chart = new HeatMapChartBuilder().width(800).height(600).build();
+    chart.getStyler().setLegendVisible(false);
+    chart.addSeries("heat", xData, yData, heatData);
+
+    BufferedImage image = new BufferedImage(800, 600, BufferedImage.TYPE_INT_RGB);
+    Graphics2D g = image.createGraphics();
+    chart.paint(g, 800, 600);
+    g.dispose();
+
+    int y = 300;
+    int cold = image.getRGB(300, y);
+    int hot = image.getRGB(500, y);
+    assertNotEquals(cold, hot);
+    assertEquals(chart.getStyler().getRangeColors()[0].getRGB(), cold);
+    assertEquals(
+        chart.getStyler().getRangeColors()[chart.getStyler().getRangeColors().length - 1].getRGB(),
+        hot);
+  }
+
+  @Test
+  public void rangeColorLookupTableIsKeptUntilTheColorsChange() {
+
+    HeatMapStyler styler = new HeatMapChartBuilder().build().getStyler();
+    styler.setRangeColors(new Color[] {Color.BLACK, Color.RED});
+
+    int[] gradient = styler.getRangeColorLookupTable();
+    assertSame(gradient, styler.getRangeColorLookupTable());
+    assertEquals(Color.BLACK.getRGB(), gradient[0]);
+    assertEquals(Color.RED.getRGB(), gradient[gradient.length - 1]);
+    assertEquals(new Color(127, 0, 0).getRGB(), gradient[gradient.length / 2]);
+
+    styler.setPiecewise(true).setSplitNumber(3);
+    int[] piecewise = styler.getRangeColorLookupTable();
+    assertArrayEquals(
+        new int[] {Color.BLACK.getRGB(), new Color(170, 0, 0).getRGB(), Color.RED.getRGB()},
+        piecewise);
+
+    styler.setRangeColors(new Color[] {Color.WHITE, Color.BLUE});
+    assertNotSame(piecewise, styler.getRangeColorLookupTable());
+    assertEquals(Color.WHITE.getRGB(), styler.getRangeColorLookupTable()[0]);
+  }
+}
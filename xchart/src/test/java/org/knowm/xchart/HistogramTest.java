@@ -3,6 +3,8 @@ package org.knowm.xchart;
 import static org.assertj.core.api.Assertions.*;
 
 import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.DoubleStream;
 import org.junit.jupiter.api.Test;
 
 public class HistogramTest {
@@ -31,4 +33,66 @@ public class HistogramTest {
     assertThat(histogram.getMin()).isEqualTo(-6);
     assertThat(histogram.getNumBins()).isEqualTo(3);
   }
+
+  @Test
+  public void testArraysAndCollectionsBinTheSame() {
+
+    Random random = new Random(42);
+    double[] data = new double[1_000_000];
+    for (int i = 0; i < data.length; i++) {
+      data[i] = random.nextGaussian();
+    }
+    Double[] boxed = new Double[data.length];
+    for (int i = 0; i < data.length; i++) {
+      boxed[i] = data[i];
+    }
+
+    // large enough to be binned in parallel
+    Histogram fromArray = new Histogram(data, 30);
+    Histogram fromCollection = new Histogram(Arrays.asList(boxed), 30);
+    Histogram fromStream = new Histogram(DoubleStream.of(data).parallel(), 30, -3, 3);
+
+    assertThat(fromArray.getMin()).isEqualTo(fromCollection.getMin());
+    assertThat(fromArray.getMax()).isEqualTo(fromCollection.getMax());
+    assertThat(fromArray.getyAxisDataArray()).containsExactly(fromCollection.getyAxisDataArray());
+    assertThat(fromArray.getxAxisData()).isEqualTo(fromCollection.getxAxisData());
+    assertThat(DoubleStream.of(fromArray.getyAxisDataArray()).sum()).isEqualTo(data.length);
+    assertThat(fromStream.getyAxisDataArray())
+        .containsExactly(new Histogram(data, 30, -3, 3).getyAxisDataArray());
+  }
+
+  @Test
+  public void testAddAndMerge() {
+
+    Histogram histogram = new Histogram(new double[] {0, 1, 1.5, 4, 5, Double.NaN}, 2, 0, 4);
+    assertThat(histogram.getyAxisDataArray()).containsExactly(3, 1);
+
+    Histogram shard = new Histogram(2, 0, 4);
+    shard.add(3);
+    shard.add(-1);
+    histogram.merge(shard);
+    assertThat(histogram.getyAxisData()).containsExactly(3.0, 2.0);
+
+    histogram.add(2);
+    assertThat(histogram.getyAxisData()).containsExactly(3.0, 3.0);
+    assertThat(histogram.getOriginalData()).isNull();
+
+    assertThatThrownBy(() -> histogram.merge(new Histogram(3, 0, 4)))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void testOnlyNaNValuesThrow() {
+
+    assertThatThrownBy(() -> new Histogram(new double[] {Double.NaN, Double.NaN}, 2))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new Histogram(Arrays.asList(Double.NaN), 2))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new Histogram(new double[0], 2))
+        .isInstanceOf(IllegalArgumentException.class);
+
+    Histogram histogram = new Histogram(new double[] {Double.NaN, 1, 3}, 2);
+    assertThat(histogram.getMin()).isEqualTo(1);
+    assertThat(histogram.getMax()).isEqualTo(3);
+  }
 }
@@ -0,0 +1,85 @@
+package org.knowm.xchart;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.knowm.xchart.MappedColumn.ValueType;
+
+public class MappedXYSeriesTest {
+
+  @Test
+  public void smallRangesAreLoadedAsTheyAre() throws IOException {
+
+    ByteBuffer buffer = ByteBuffer.allocate(4 * 8 + 4 * 4).order(ByteOrder.LITTLE_ENDIAN);
+    for (int i = 0; i < 4; i++) {
+      buffer.putLong(1000L * i);
+    }
+    for (int i = 0; i < 4; i++) {
+      buffer.putFloat(i * 0.5f);
+    }
+    Path path = write(buffer);
+
+    MappedColumn xColumn = MappedColumn.map(path, ValueType.Int64, 0, 4);
+    MappedColumn yColumn = MappedColumn.map(path, ValueType.Float32, 4 * 8, 4);
+    XYChart chart = new XYChart(400, 300);
+    MappedXYSeries series = chart.addMappedSeries("mapped", xColumn, yColumn);
+    series.prepareForPaint();
+
+    assertEquals(4, series.size());
+    assertArrayEquals(new double[] {0, 1000, 2000, 3000}, series.getXData());
+    assertArrayEquals(new double[] {0, 0.5, 1, 1.5}, series.getYData());
+  }
+
+  @Test
+  public void largeRangesKeepTheExtremes() throws IOException {
+
+    int size = 100_000;
+    ByteBuffer xBuffer = ByteBuffer.allocate(size * 8).order(ByteOrder.LITTLE_ENDIAN);
+    ByteBuffer yBuffer = ByteBuffer.allocate(size * 8).order(ByteOrder.LITTLE_ENDIAN);
+    for (int i = 0; i < size; i++) {
+      xBuffer.putDouble(i);
+      yBuffer.putDouble(i == 12_345 ? -50 : i == 67_890 ? 70 : Math.sin(i / 100.0));
+    }
+    MappedColumn xColumn = MappedColumn.map(write(xBuffer), ValueType.Float64);
+    MappedColumn yColumn = MappedColumn.map(write(yBuffer), ValueType.Float64);
+    MappedXYSeries series =
+        new XYChart(400, 300).addMappedSeries("mapped", xColumn, yColumn).setMaxLoadedPoints(400);
+    series.prepareForPaint();
+
+    assertTrue(series.getXData().length <= 400);
+    assertEquals(0, series.getXMin());
+    assertEquals(size - 1, series.getXMax());
+    assertEquals(-50, series.getYMin());
+    assertEquals(70, series.getYMax());
+    double[] allXData = series.getXData();
+
+    // zoomed in far enough, every point is loaded
+    assertTrue(series.filterXByValue(1000, 1099));
+    series.prepareForPaint();
+    assertFalse(series.isAllXData());
+    assertEquals(100, series.getXData().length);
+    assertEquals(1000, series.getXMin());
+    assertEquals(Math.sin(10.5), series.getYData()[50]);
+
+    series.resetFilter();
+    series.prepareForPaint();
+    assertTrue(series.isAllXData());
+    assertArrayEquals(allXData, series.getXData());
+  }
+
+  private static Path write(ByteBuffer buffer) throws IOException {
+
+    Path path = Files.createTempFile("xchart", ".bin");
+    path.toFile().deleteOnExit();
+    Files.write(path, buffer.array());
+    return path;
+  }
+}
@@ -0,0 +1,72 @@
+package org.knowm.xchart;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Component;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+public class RepaintSchedulerTest {
+
+  @Test
+  public void repaintsFollowTheFrameRate() throws InterruptedException {
+
+    RepaintScheduler scheduler = new RepaintScheduler(20);
+    CountingComponent a = new CountingComponent();
+    CountingComponent b = new CountingComponent();
+
+    // two producers requesting repaints at 5 kHz for half a second
+    Runnable producer =
+        () -> {
+          for (int i = 0; i < 2500; i++) {
+            scheduler.requestRepaint(i % 2 == 0 ? a : b);
+            sleepNanos(200_000);
+          }
+          a.lastRequest = System.nanoTime();
+          scheduler.requestRepaint(a);
+        };
+    Thread first = new Thread(producer);
+    Thread second = new Thread(producer);
+    first.start();
+    second.start();
+    first.join();
+    second.join();
+    Thread.sleep(200);
+
+    // about 10 frames in half a second, not thousands
+    assertTrue(a.repaints.get() >= 2, "repaints: " + a.repaints.get());
+    assertTrue(a.repaints.get() <= 40, "repaints: " + a.repaints.get());
+    assertTrue(b.repaints.get() <= 40, "repaints: " + b.repaints.get());
+    // the last request was not lost
+    assertTrue(a.lastRepaint >= a.lastRequest);
+
+    scheduler.shutdown();
+    int repaints = a.repaints.get();
+    scheduler.requestRepaint(a);
+    Thread.sleep(100);
+    assertEquals(repaints, a.repaints.get());
+  }
+
+  private static void sleepNanos(long nanos) {
+
+    long end = System.nanoTime() + nanos;
+    while (System.nanoTime() < end) {
+      Thread.yield();
+    }
+  }
+
+  private static class CountingComponent extends Component {
+
+    final AtomicInteger repaints = new AtomicInteger();
+    volatile long lastRequest;
+    volatile long lastRepaint;
+
+    @Override
+    public void repaint() {
+
+      repaints.incrementAndGet();
+      lastRepaint = System.nanoTime();
+    }
+  }
+}
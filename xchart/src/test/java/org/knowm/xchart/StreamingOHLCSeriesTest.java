@@ -0,0 +1,152 @@
+package org.knowm.xchart;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.knowm.xchart.internal.series.Series.DataType;
+
+public class StreamingOHLCSeriesTest {
+
+  @Test
+  public void ticksFormBars() {
+
+    OHLCChart chart = new OHLCChart(400, 300);
+    StreamingOHLCSeries series = chart.addStreamingSeries("ticks", 10, 100);
+    series.addTick(1, 5, 1);
+    series.addTick(3, 7, 2);
+    series.addTick(4, 4, 3);
+    series.addTick(9.5, 6, 4);
+    // the next bar, skipping the one from 10 to 20 which has no ticks
+    series.addTick(25, 8, 5);
+    series.prepareForPaint();
+
+    assertEquals(2, series.size());
+    assertArrayEquals(new double[] {0, 20}, series.getXData());
+    assertArrayEquals(new double[] {5, 8}, series.getOpenData());
+    assertArrayEquals(new double[] {7, 8}, series.getHighData());
+    assertArrayEquals(new double[] {4, 8}, series.getLowData());
+    assertArrayEquals(new double[] {6, 8}, series.getCloseData());
+    assertArrayEquals(new long[] {10, 5}, series.getVolumeData());
+    assertEquals(4.0, series.getYMin());
+    assertEquals(8.0, series.getYMax());
+  }
+
+  @Test
+  public void keepsLastBars() {
+
+    StreamingOHLCSeries series = new StreamingOHLCSeries("ticks", 1, 3, DataType.Number);
+    for (int i = 0; i < 10; i++) {
+      series.addTick(i, i, 1);
+      series.addTick(i + 0.5, i + 0.5, 1);
+    }
+    series.prepareForPaint();
+
+    assertEquals(3, series.size());
+    assertArrayEquals(new double[] {7, 8, 9}, series.getXData());
+    assertArrayEquals(new double[] {7.5, 8.5, 9.5}, series.getCloseData());
+    assertEquals(7.0, series.getXMin());
+    assertEquals(9.5, series.getYMax());
+  }
+
+  @Test
+  public void minMaxFollowTheWindow() {
+
+    int capacity = 20;
+    StreamingOHLCSeries series = new StreamingOHLCSeries("ticks", 1, capacity, DataType.Number);
+    Random random = new Random(42);
+    for (int i = 0; i < 2000; i++) {
+      if (i == 1000) {
+        series.clear();
+      }
+      series.addTick(i / 7.0, random.nextGaussian(), 1);
+      series.prepareForPaint();
+
+      double[] lows = series.getLowData();
+      double[] highs = series.getHighData();
+      double min = Double.MAX_VALUE;
+      double max = -Double.MAX_VALUE;
+      for (int j = 0; j < lows.length; j++) {
+        min = Math.min(min, lows[j]);
+        max = Math.max(max, highs[j]);
+      }
+      assertEquals(min, series.getYMin());
+      assertEquals(max, series.getYMax());
+      assertEquals(series.getXData()[0], series.getXMin());
+      assertEquals(series.getXData()[lows.length - 1], series.getXMax());
+    }
+    // the bars are numbered on across the clear, which started the forming bar again
+    assertEquals(2000 / 7 + 2 - capacity, series.getDataSnapshot().getFirstBarSequence());
+  }
+
+  @Test
+  public void lateTicksAreDropped() {
+
+    StreamingOHLCSeries series = new StreamingOHLCSeries("ticks", 1, 3, DataType.Number);
+    assertTrue(series.addTick(5, 1, 1));
+    assertFalse(series.addTick(4.5, 2, 1));
+    assertFalse(series.addTick(Double.NaN, 2, 1));
+    assertFalse(series.addTick(5.5, Double.NaN, 1));
+    series.prepareForPaint();
+
+    assertArrayEquals(new double[] {1}, series.getHighData());
+  }
+
+  @Test
+  public void updateReplacesBars() {
+
+    OHLCChart chart = new OHLCChart(400, 300);
+    StreamingOHLCSeries series = chart.addStreamingSeries("ticks", 10, 100);
+    series.addTick(1, 5, 1);
+    chart.updateOHLCSeries(
+        "ticks",
+        new double[] {100, 110},
+        new double[] {1, 2},
+        new double[] {3, 4},
+        new double[] {1, 1},
+        new double[] {2, 3},
+        new long[] {7, 8});
+    // falls into the last bar
+    series.addTick(115, 9, 1);
+    series.prepareForPaint();
+
+    assertArrayEquals(new double[] {100, 110}, series.getXData());
+    assertArrayEquals(new double[] {3, 9}, series.getHighData());
+    assertArrayEquals(new long[] {7, 9}, series.getVolumeData());
+    assertThrows(
+        UnsupportedOperationException.class,
+        () -> chart.updateOHLCSeries("ticks", new double[] {1, 2}, new double[] {3, 4}));
+  }
+
+  @Test
+  public void paintWhileTicking() throws InterruptedException {
+
+    OHLCChart chart = new OHLCChart(400, 300);
+    StreamingOHLCSeries series = chart.addStreamingSeries("ticks", 100, 1000);
+    Thread producer =
+        new Thread(
+            () -> {
+              for (int i = 0; i < 200_000; i++) {
+                series.addTick(i, Math.sin(i / 1000.0), 1);
+              }
+            });
+    producer.start();
+
+    BufferedImage image = new BufferedImage(400, 300, BufferedImage.TYPE_INT_RGB);
+    while (producer.isAlive()) {
+      Graphics2D g = image.createGraphics();
+      chart.paint(g, 400, 300);
+      g.dispose();
+    }
+    producer.join();
+    series.prepareForPaint();
+    assertEquals(1000, series.size());
+    assertEquals(199_900, series.getXMax(), 0);
+  }
+}
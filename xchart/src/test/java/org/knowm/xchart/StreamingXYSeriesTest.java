@@ -0,0 +1,109 @@
+package org.knowm.xchart;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.knowm.xchart.internal.series.AxesChartSeriesNumericalNoErrorBars.DataSnapshot;
+import org.knowm.xchart.internal.series.Series.DataType;
+
+public class StreamingXYSeriesTest {
+
+  @Test
+  public void keepsLastPointsInOrder() {
+
+    XYChart chart = new XYChart(400, 300);
+    StreamingXYSeries series = chart.addStreamingSeries("stream", 3);
+    for (int i = 0; i < 5; i++) {
+      series.append(i, 10 * i);
+    }
+    series.prepareForPaint();
+
+    assertEquals(3, series.size());
+    assertArrayEquals(new double[] {2, 3, 4}, series.getXData());
+    assertArrayEquals(new double[] {20, 30, 40}, series.getYData());
+  }
+
+  @Test
+  public void slidingWindowMinMax() {
+
+    int capacity = 50;
+    StreamingXYSeries series = new StreamingXYSeries("stream", capacity, DataType.Number);
+    Random random = new Random(42);
+    double[] history = new double[1000];
+    for (int i = 0; i < history.length; i++) {
+      history[i] = random.nextGaussian();
+      series.append(i, history[i]);
+      series.prepareForPaint();
+
+      double min = Double.MAX_VALUE;
+      double max = -Double.MAX_VALUE;
+      for (int j = Math.max(0, i - capacity + 1); j <= i; j++) {
+        min = Math.min(min, history[j]);
+        max = Math.max(max, history[j]);
+      }
+      assertEquals(min, series.getYMin());
+      assertEquals(max, series.getYMax());
+      assertEquals(Math.max(0, i - capacity + 1), series.getXMin());
+      assertEquals(i, series.getXMax());
+    }
+  }
+
+  @Test
+  public void appendBatchAndReplace() {
+
+    XYChart chart = new XYChart(400, 300);
+    StreamingXYSeries series = chart.addStreamingSeries("stream", 4);
+    series.appendBatch(new double[] {1, 2, 3, 4, 5, 6}, new double[] {6, 5, 4, 3, 2, 1});
+    series.prepareForPaint();
+    assertArrayEquals(new double[] {3, 4, 5, 6}, series.getXData());
+    assertEquals(1.0, series.getYMin());
+    assertEquals(4.0, series.getYMax());
+
+    chart.updateXYSeries("stream", new double[] {7, 8}, new double[] {9, 10}, null);
+    series.prepareForPaint();
+    assertArrayEquals(new double[] {7, 8}, series.getXData());
+    assertEquals(9.0, series.getYMin());
+  }
+
+  @Test
+  public void paintsPublishTheBuffersWithoutCopying() {
+
+    StreamingXYSeries series = new StreamingXYSeries("stream", 4, DataType.Number);
+    series.appendBatch(new double[] {1, 2, 3}, new double[] {1, 2, 3});
+    series.prepareForPaint();
+    DataSnapshot painted = series.getDataSnapshot();
+
+    series.appendBatch(new double[] {4, 5}, new double[] {4, 5});
+    series.prepareForPaint();
+    assertSame(painted.getXDataBuffer(), series.getXDataBuffer());
+    assertArrayEquals(new double[] {2, 3, 4, 5}, series.getXData());
+
+    // moving to new buffers and clearing leave the painted points alone
+    for (int i = 6; i < 20; i++) {
+      series.append(i, i);
+    }
+    series.clear();
+    series.append(100, 100);
+    series.prepareForPaint();
+    assertArrayEquals(new double[] {1, 2, 3}, painted.getXData());
+    assertArrayEquals(new double[] {1, 2, 3}, painted.getYData());
+    assertArrayEquals(new double[] {100}, series.getYData());
+    assertEquals(100.0, series.getYMin());
+  }
+
+  @Test
+  public void zoomedWindowIsScanned() {
+
+    StreamingXYSeries series = new StreamingXYSeries("stream", 10, DataType.Number);
+    series.appendBatch(new double[] {1, 2, 3, 4}, new double[] {7, 1, 5, 9});
+    series.prepareForPaint();
+    series.filterXByValue(2.5, 10);
+    assertArrayEquals(new double[] {5, 9}, series.getYData());
+    assertEquals(5.0, series.getYMin());
+    series.resetFilter();
+    assertEquals(1.0, series.getYMin());
+  }
+}
@@ -0,0 +1,101 @@
+package org.knowm.xchart;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+
+import java.awt.Graphics2D;
+import java.awt.GraphicsEnvironment;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.swing.SwingUtilities;
+import org.junit.jupiter.api.Test;
+import org.knowm.xchart.internal.chartpart.ChartPart;
+import org.knowm.xchart.style.markers.SeriesMarkers;
+
+public class XChartPanelTest {
+
+  @Test
+  public void paintInTheBackgroundWhileTheMouseMoves() throws Exception {
+
+    // the panel binds its shortcut keys, which needs a display
+    assumeFalse(GraphicsEnvironment.isHeadless());
+    XYChart chart = new XYChartBuilder().width(600).height(400).build();
+    chart.getStyler().setCursorEnabled(true).setToolTipsEnabled(true);
+    double[] xData = new double[2000];
+    double[] yData = new double[xData.length];
+    for (int i = 0; i < xData.length; i++) {
+      xData[i] = i;
+      yData[i] = Math.sin(i / 50.0);
+    }
+    chart.addSeries("data", xData, yData).setMarker(SeriesMarkers.CIRCLE);
+    XChartPanel<XYChart> panel = new XChartPanel<>(chart);
+    panel.setSize(600, 400);
+    ThreadRecorder recorder = new ThreadRecorder();
+
+    List<Throwable> errors = Collections.synchronizedList(new ArrayList<>());
+    Thread.UncaughtExceptionHandler handler = Thread.getDefaultUncaughtExceptionHandler();
+    Thread.setDefaultUncaughtExceptionHandler((thread, e) -> errors.add(e));
+    try {
+      SwingUtilities.invokeAndWait(
+          () -> {
+            panel.addMouseMotionListener(recorder);
+            panel.setRenderingInBackground(true);
+          });
+      Random random = new Random(42);
+      // keeps moving until the render thread handled enough of the moves between its frames
+      for (int i = 0; i < 1000 || recorder.moveCount.get() < 100; i++) {
+        MouseEvent e =
+            new MouseEvent(
+                panel,
+                MouseEvent.MOUSE_MOVED,
+                System.currentTimeMillis(),
+                0,
+                random.nextInt(600),
+                random.nextInt(400),
+                0,
+                false);
+        // the tooltips and the cursor look up what the frame being rendered is changing
+        SwingUtilities.invokeAndWait(() -> panel.dispatchEvent(e));
+        panel.repaint();
+      }
+      SwingUtilities.invokeAndWait(() -> panel.setRenderingInBackground(false));
+      SwingUtilities.invokeAndWait(() -> {});
+    } finally {
+      Thread.setDefaultUncaughtExceptionHandler(handler);
+    }
+
+    assertEquals(Collections.emptyList(), errors);
+    assertEquals(Collections.singleton("XChart Renderer"), recorder.threadNames);
+  }
+
+  /** A chart part recording the threads it handles the mouse on */
+  private static class ThreadRecorder extends MouseAdapter implements ChartPart {
+
+    final Set<String> threadNames = ConcurrentHashMap.newKeySet();
+    final AtomicInteger moveCount = new AtomicInteger();
+
+    @Override
+    public void mouseMoved(MouseEvent e) {
+
+      threadNames.add(Thread.currentThread().getName());
+      moveCount.incrementAndGet();
+    }
+
+    @Override
+    public Rectangle2D getBounds() {
+
+      return null;
+    }
+
+    @Override
+    public void paint(Graphics2D g) {}
+  }
+}
@@ -0,0 +1,60 @@
+package org.knowm.xchart.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+public class DoubleToDecimalTest {
+
+  @Test
+  public void notation() {
+
+    assertEquals("0", DoubleToDecimal.toString(0));
+    assertEquals("-0", DoubleToDecimal.toString(-0.0));
+    assertEquals("3", DoubleToDecimal.toString(3));
+    assertEquals("1500", DoubleToDecimal.toString(1500));
+    assertEquals("-2.5", DoubleToDecimal.toString(-2.5));
+    assertEquals("0.1", DoubleToDecimal.toString(0.1));
+    assertEquals("0.30000000000000004", DoubleToDecimal.toString(0.1 + 0.2));
+    assertEquals("0.000001", DoubleToDecimal.toString(1e-6));
+    assertEquals("1.5E-7", DoubleToDecimal.toString(1.5e-7));
+    assertEquals("123456789012345680", DoubleToDecimal.toString(123456789012345678.0));
+    assertEquals("1E23", DoubleToDecimal.toString(1e23));
+    assertEquals("1.7976931348623157E308", DoubleToDecimal.toString(Double.MAX_VALUE));
+    assertEquals("4.9E-324", DoubleToDecimal.toString(Double.MIN_VALUE));
+    assertEquals("NaN", DoubleToDecimal.toString(Double.NaN));
+    assertEquals("-Infinity", DoubleToDecimal.toString(Double.NEGATIVE_INFINITY));
+  }
+
+  @Test
+  public void shortestRoundTrip() {
+
+    Random random = new Random(11);
+    for (int i = 0; i < 100_000; i++) {
+      double v =
+          i % 2 == 0
+              ? Double.longBitsToDouble(random.nextLong())
+              : random.nextGaussian() * Math.pow(10, random.nextInt(40) - 20);
+      if (Double.isNaN(v) || Double.isInfinite(v)) {
+        continue;
+      }
+      String s = DoubleToDecimal.toString(v);
+      assertEquals(v, Double.parseDouble(s), s);
+
+      // no decimal with one significant digit less parses back to v
+      int digits = new BigDecimal(s).stripTrailingZeros().precision();
+      if (digits > 1) {
+        BigDecimal exact = new BigDecimal(v);
+        MathContext down = new MathContext(digits - 1, RoundingMode.FLOOR);
+        MathContext up = new MathContext(digits - 1, RoundingMode.CEILING);
+        assertFalse(exact.round(down).doubleValue() == v, s);
+        assertFalse(exact.round(up).doubleValue() == v, s);
+      }
+    }
+  }
+}
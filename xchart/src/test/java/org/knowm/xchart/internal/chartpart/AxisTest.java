@@ -0,0 +1,83 @@
+package org.knowm.xchart.internal.chartpart;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.knowm.xchart.XYChart;
+
+public class AxisTest {
+
+  @Test
+  public void tickLayoutIsReusedUntilSomethingChanges() {
+
+    XYChart chart = new XYChart(600, 400);
+    chart.addSeries("a", new double[] {0, 1, 2, 5}, new double[] {1, 3, 2, 4});
+
+    paint(chart);
+    AxisTickCalculator xCalculator = getXAxisTickCalculator(chart);
+    AxisTickCalculator yCalculator = getYAxisTickCalculator(chart);
+    paint(chart);
+    assertSame(xCalculator, getXAxisTickCalculator(chart));
+    assertSame(yCalculator, getYAxisTickCalculator(chart));
+
+    // data change
+    chart.updateXYSeries("a", new double[] {0, 1, 2, 50}, new double[] {1, 3, 2, 4}, null);
+    paint(chart);
+    assertNotSame(xCalculator, getXAxisTickCalculator(chart));
+    xCalculator = getXAxisTickCalculator(chart);
+
+    // styler change
+    chart.getStyler().setXAxisDecimalPattern("0.00");
+    paint(chart);
+    assertNotSame(xCalculator, getXAxisTickCalculator(chart));
+    assertEquals("0.00", getXAxisTickCalculator(chart).getTickLabels().get(1));
+    xCalculator = getXAxisTickCalculator(chart);
+
+    // resize
+    chart.setWidth(900);
+    paint(chart);
+    assertNotSame(xCalculator, getXAxisTickCalculator(chart));
+  }
+
+  @Test
+  public void manyEquallySpacedValues() {
+
+    int size = 200_000;
+    double[] xData = new double[size];
+    double[] yData = new double[size];
+    for (int i = 0; i < size; i++) {
+      xData[i] = i;
+      yData[i] = Math.sin(i / 1000.0);
+    }
+    XYChart chart = new XYChart(600, 400);
+    chart.addSeries("a", xData, yData);
+
+    paint(chart);
+    List<String> tickLabels = getXAxisTickCalculator(chart).getTickLabels();
+    assertEquals("0", tickLabels.get(0));
+  }
+
+  private static void paint(XYChart chart) {
+
+    BufferedImage image =
+        new BufferedImage(chart.getWidth(), chart.getHeight(), BufferedImage.TYPE_INT_RGB);
+    Graphics2D g = image.createGraphics();
+    chart.paint(g, chart.getWidth(), chart.getHeight());
+    g.dispose();
+  }
+
+  private static AxisTickCalculator getXAxisTickCalculator(Chart<?, ?> chart) {
+
+    return chart.getXAxis().getAxisTickCalculator();
+  }
+
+  private static AxisTickCalculator getYAxisTickCalculator(Chart<?, ?> chart) {
+
+    return chart.getYAxis().getAxisTickCalculator();
+  }
+}
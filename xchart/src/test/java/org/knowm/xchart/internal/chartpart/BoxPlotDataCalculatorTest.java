@@ -0,0 +1,80 @@
+package org.knowm.xchart.internal.chartpart;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.knowm.xchart.BoxChart;
+import org.knowm.xchart.BoxChartBuilder;
+import org.knowm.xchart.BoxSeries;
+import org.knowm.xchart.style.BoxStyler;
+import org.knowm.xchart.style.BoxStyler.BoxplotCalCulationMethod;
+
+public class BoxPlotDataCalculatorTest {
+
+  @Test
+  public void selectionMatchesSorting() {
+
+    Random random = new Random(7);
+    for (BoxplotCalCulationMethod method : BoxplotCalCulationMethod.values()) {
+      for (int n = 1; n < 300; n += 1 + n / 10) {
+        double[] data = new double[n];
+        for (int i = 0; i < n; i++) {
+          // few distinct values, so there are plenty of duplicates
+          data[i] = random.nextInt(n / 3 + 2) - 5;
+        }
+        double[] sorted = data.clone();
+        Arrays.sort(sorted);
+
+        BoxPlotData expected = BoxPlotDataCalculator.calculate(sorted, method);
+        BoxPlotData actual = BoxPlotDataCalculator.calculate(data, method);
+
+        String message = method + ", n = " + n;
+        assertEquals(expected.lower, actual.lower, message);
+        assertEquals(expected.q1, actual.q1, message);
+        assertEquals(expected.median, actual.median, message);
+        assertEquals(expected.q3, actual.q3, message);
+        assertEquals(expected.upper, actual.upper, message);
+      }
+    }
+  }
+
+  @Test
+  public void quartiles() {
+
+    BoxPlotData boxPlotData =
+        BoxPlotDataCalculator.calculate(
+            new double[] {9, 1, 8, 2, 7, 3, 6, 4, 5}, BoxplotCalCulationMethod.N_LESS_1_PLUS_1);
+
+    assertEquals(1, boxPlotData.lower);
+    assertEquals(3, boxPlotData.q1);
+    assertEquals(5, boxPlotData.median);
+    assertEquals(7, boxPlotData.q3);
+    assertEquals(9, boxPlotData.upper);
+  }
+
+  @Test
+  public void resultsAreKeptUntilTheDataChanges() {
+
+    BoxChart chart = new BoxChartBuilder().width(600).height(400).build();
+    chart.addSeries("a", new double[] {1, 2, 3, 4, 50});
+    BoxPlotDataCalculator<BoxStyler, BoxSeries> calculator = new BoxPlotDataCalculator<>();
+
+    List<BoxPlotData> first = calculator.calculate(chart.getSeriesMap(), chart.getStyler());
+    List<BoxPlotData> second = calculator.calculate(chart.getSeriesMap(), chart.getStyler());
+    assertSame(first.get(0), second.get(0));
+
+    chart.getStyler().setBoxplotCalCulationMethod(BoxplotCalCulationMethod.NP);
+    List<BoxPlotData> third = calculator.calculate(chart.getSeriesMap(), chart.getStyler());
+    assertNotSame(second.get(0), third.get(0));
+
+    chart.updateBoxSeries("a", new double[] {1, 2, 3, 4, 5});
+    List<BoxPlotData> fourth = calculator.calculate(chart.getSeriesMap(), chart.getStyler());
+    assertNotSame(third.get(0), fourth.get(0));
+    assertEquals(5, fourth.get(0).upper);
+  }
+}
@@ -0,0 +1,39 @@
+package org.knowm.xchart.internal.chartpart;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.text.DecimalFormat;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+public class CursorTest {
+
+  @Test
+  public void binarySearchMatchesScan() {
+
+    Random random = new Random(42);
+    for (boolean isSorted : new boolean[] {true, false}) {
+      Cursor.SeriesData seriesData =
+          new Cursor.SeriesData("series", new DecimalFormat(), new DecimalFormat(), 0);
+      double[] screenX = new double[500];
+      double x = 0;
+      for (int i = 0; i < screenX.length; i++) {
+        // duplicates and gaps wider than the matching distance
+        x += random.nextInt(4) == 0 ? 0 : random.nextInt(30) / 2.0;
+        screenX[i] = isSorted ? x : random.nextInt(3000) / 2.0;
+        seriesData.add(screenX[i], i, i);
+      }
+
+      for (double mouseX = -20; mouseX < x + 20; mouseX += 0.25) {
+        int expected = -1;
+        for (int i = 0; i < screenX.length; i++) {
+          double distance = Math.abs(screenX[i] - mouseX);
+          if (distance < 7.5 && (expected < 0 || distance < Math.abs(screenX[expected] - mouseX))) {
+            expected = i;
+          }
+        }
+        assertEquals(expected, seriesData.findClosest(mouseX));
+      }
+    }
+  }
+}
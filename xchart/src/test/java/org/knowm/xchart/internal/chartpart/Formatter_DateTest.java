@@ -0,0 +1,167 @@
+package org.knowm.xchart.internal.chartpart;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.TimeZone;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+public class Formatter_DateTest {
+
+  private static final String[] PATTERNS = {
+    "yyyy-MM-dd",
+    "yy MMM d",
+    "HH:mm:ss.SSS",
+    "ss.S",
+    "h:mm a",
+    "EEE, MMMM d, yyyy G",
+    "'Week' w 'of' YYYY, ''W''",
+    "D F u k K",
+    "HH:mm z Z X XX XXX",
+    "LLLL",
+    "MMMM",
+    "d LLL yyyy",
+    "MMM ''yy",
+    "GGGG yyyy"
+  };
+
+  private static final Locale[] LOCALES = {
+    Locale.US,
+    Locale.GERMANY,
+    Locale.JAPAN,
+    Locale.ROOT,
+    new Locale("ar", "EG"),
+    new Locale("pl", "PL"),
+    new Locale("ru", "RU"),
+    new Locale("fa", "IR"),
+    new Locale("zh", "SG"),
+    new Locale("th", "TH", "TH"),
+    new Locale("ja", "JP", "JP")
+  };
+
+  private static final TimeZone[] TIME_ZONES = {
+    TimeZone.getTimeZone("UTC"),
+    TimeZone.getTimeZone("America/New_York"),
+    TimeZone.getTimeZone("GMT+05:30")
+  };
+
+  @Test
+  public void formatsLikeSimpleDateFormat() {
+
+    Random random = new Random(42);
+    for (String pattern : PATTERNS) {
+      for (Locale locale : LOCALES) {
+        for (TimeZone timeZone : TIME_ZONES) {
+          SimpleDateFormat simpleDateFormat = new SimpleDateFormat(pattern, locale);
+          simpleDateFormat.setTimeZone(timeZone);
+          Formatter_Date formatter = Formatter_Date.getInstance(pattern, locale, timeZone);
+          for (int i = 0; i < 100; i++) {
+            long epochMilli = (long) (random.nextDouble() * 4_000_000_000_000L);
+            assertEquals(
+                simpleDateFormat.format(new Date(epochMilli)),
+                formatter.format(new Date(epochMilli)),
+                pattern + " " + locale + " " + timeZone.getID());
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  public void weeksRestartWithAnEra() {
+
+    // Heisei started on January 8, 1989, in the second week of the Gregorian year
+    Locale locale = new Locale("ja", "JP", "JP");
+    TimeZone timeZone = TimeZone.getTimeZone("Asia/Tokyo");
+    SimpleDateFormat simpleDateFormat = new SimpleDateFormat("GGGGy w W", locale);
+    simpleDateFormat.setTimeZone(timeZone);
+    Formatter_Date formatter = Formatter_Date.getInstance("GGGGy w W", locale, timeZone);
+    long epochMilli = 600_220_800_000L; // 1989-01-08, 9:00 in Tokyo
+    assertEquals(simpleDateFormat.format(new Date(epochMilli)), formatter.format(epochMilli));
+    assertTrue(formatter.format(epochMilli).endsWith(" 1 1"));
+  }
+
+  @Test
+  public void instancesAreShared() {
+
+    TimeZone utc = TimeZone.getTimeZone("UTC");
+    Formatter_Date formatter = Formatter_Date.getInstance("HH:mm", Locale.US, utc);
+
+    assertSame(formatter, Formatter_Date.getInstance("HH:mm", Locale.US, utc));
+    assertNotSame(formatter, Formatter_Date.getInstance("HH:mm", Locale.GERMANY, utc));
+    assertNotSame(formatter, Formatter_Date.getInstance("HH:mm:ss", Locale.US, utc));
+    assertNotSame(
+        formatter,
+        Formatter_Date.getInstance("HH:mm", Locale.US, TimeZone.getTimeZone("Europe/Berlin")));
+  }
+
+  @Test
+  public void instancesAreBounded() {
+
+    TimeZone utc = TimeZone.getTimeZone("UTC");
+    Formatter_Date formatter = Formatter_Date.getInstance("'first' HH", Locale.US, utc);
+    for (int i = 0; i < 1000; i++) {
+      Formatter_Date.getInstance("'" + i + "' HH", Locale.US, utc);
+    }
+
+    assertNotSame(formatter, Formatter_Date.getInstance("'first' HH", Locale.US, utc));
+  }
+
+  @Test
+  public void illegalPatternsThrow() {
+
+    TimeZone utc = TimeZone.getTimeZone("UTC");
+    assertThrows(
+        IllegalArgumentException.class, () -> Formatter_Date.getInstance("yyyy-q", Locale.US, utc));
+    assertThrows(
+        IllegalArgumentException.class, () -> Formatter_Date.getInstance("'HH", Locale.US, utc));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> Formatter_Date.getInstance("HH", Locale.US, utc).format("12:00"));
+  }
+
+  @Test
+  public void formatsConcurrently() throws Exception {
+
+    String pattern = "yyyy-MM-dd HH:mm:ss.SSS";
+    TimeZone timeZone = TimeZone.getTimeZone("America/New_York");
+    Formatter_Date formatter = Formatter_Date.getInstance(pattern, Locale.US, timeZone);
+
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    List<Future<?>> futures = new ArrayList<>();
+    for (int t = 0; t < 4; t++) {
+      long seed = t;
+      futures.add(
+          executor.submit(
+              () -> {
+                SimpleDateFormat simpleDateFormat = new SimpleDateFormat(pattern, Locale.US);
+                simpleDateFormat.setTimeZone(timeZone);
+                Random random = new Random(seed);
+                for (int i = 0; i < 10_000; i++) {
+                  // few distinct ticks, as on an axis, so the memo is shared between threads
+                  long epochMilli = random.nextInt(500) * 3_600_000L;
+                  assertEquals(
+                      simpleDateFormat.format(new Date(epochMilli)), formatter.format(epochMilli));
+                }
+              }));
+    }
+    executor.shutdown();
+    for (Future<?> future : futures) {
+      future.get();
+    }
+    executor.awaitTermination(10, TimeUnit.SECONDS);
+  }
+}
@@ -0,0 +1,206 @@
+package org.knowm.xchart.internal.chartpart;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.knowm.xchart.OHLCChart;
+import org.knowm.xchart.OHLCSeries;
+
+public class OHLCPyramidTest {
+
+  private static final int SIZE = 100_000;
+
+  private final double[] xData = new double[SIZE];
+  private final double[] openData = new double[SIZE];
+  private final double[] highData = new double[SIZE];
+  private final double[] lowData = new double[SIZE];
+  private final double[] closeData = new double[SIZE];
+  private final long[] volumeData = new long[SIZE];
+
+  public OHLCPyramidTest() {
+
+    // one candle per second, with a gap
+    Random random = new Random(42);
+    double price = 100;
+    for (int i = 0; i < SIZE; i++) {
+      xData[i] = i < SIZE / 2 ? i : i + 5000;
+      openData[i] = price;
+      price += random.nextGaussian();
+      closeData[i] = price;
+      highData[i] = Math.max(openData[i], closeData[i]) + random.nextDouble();
+      lowData[i] = Math.min(openData[i], closeData[i]) - random.nextDouble();
+      volumeData[i] = random.nextInt(1000);
+    }
+    closeData[1234] = Double.NaN;
+  }
+
+  @Test
+  public void visibleCandlesAreNotAggregated() {
+
+    OHLCPyramid pyramid = newPyramid();
+    OHLCPyramid.Level level = pyramid.select(1000, 1100, 1000);
+
+    assertEquals(0, level.getWidth(), 0);
+    assertSame(xData, level.getXData());
+    // one more candle on each side, which may be partly visible
+    assertEquals(999, level.getFrom());
+    assertEquals(1102, level.getTo());
+  }
+
+  @Test
+  public void bucketsMergeTheirCandles() {
+
+    OHLCPyramid pyramid = newPyramid();
+    OHLCPyramid.Level level = pyramid.select(xData[0], xData[SIZE - 1], 100);
+
+    double width = level.getWidth();
+    assertTrue(width > 0);
+    assertTrue(level.getTo() - level.getFrom() <= 100);
+
+    assertMergesCandles(level, xData, openData, highData, lowData, closeData, volumeData);
+  }
+
+  @Test
+  public void extendedBucketsMergeTheCandlesOfTheWindow() {
+
+    // a streaming window of 4000 candles moves on by 2000, and its last candle changed
+    OHLCPyramid pyramid =
+        new OHLCPyramid(
+            0,
+            copy(xData, 0, 4000),
+            copy(openData, 0, 4000),
+            copy(highData, 0, 4000),
+            copy(lowData, 0, 4000),
+            copy(closeData, 0, 4000),
+            Arrays.copyOfRange(volumeData, 0, 4000));
+    pyramid.select(0, 4000, 10);
+
+    int from = 1001;
+    int to = 6001;
+    double[] x = copy(xData, from, to);
+    double[] open = copy(openData, from, to);
+    double[] high = copy(highData, from, to);
+    double[] low = copy(lowData, from, to);
+    double[] close = copy(closeData, from, to);
+    long[] volume = Arrays.copyOfRange(volumeData, from, to);
+    high[3999 - from] += 50;
+    close[3999 - from] = high[3999 - from];
+    volume[3999 - from] += 10_000;
+    assertTrue(pyramid.extend(from, x, open, high, low, close, volume));
+
+    for (int maxCandles : new int[] {2000, 500, 100, 20, 5}) {
+      OHLCPyramid.Level level = pyramid.select(x[0], x[x.length - 1], maxCandles);
+      assertTrue(level.getWidth() > 0);
+      assertMergesCandles(level, x, open, high, low, close, volume);
+    }
+  }
+
+  @Test
+  public void onlyContinuedCandlesExtendThePyramid() {
+
+    double[] x = {0, 1, 2, 3};
+    OHLCPyramid pyramid = new OHLCPyramid(10, x, x, x, x, x, null);
+    // the first candle of the pyramid is the only one left
+    assertFalse(pyramid.extend(13, new double[] {3, 4}, x, x, x, x, null));
+    // cleared, so the numbers moved past the candles of the pyramid
+    assertFalse(pyramid.extend(14, new double[] {0, 1}, x, x, x, x, null));
+    // unsorted
+    assertFalse(pyramid.extend(12, new double[] {2, 3, 1}, x, x, x, x, null));
+    // not numbered
+    assertFalse(newPyramid().extend(1, x, x, x, x, x, null));
+    assertTrue(pyramid.extend(12, new double[] {2, 3, 4}, x, x, x, x, null));
+  }
+
+  @Test
+  public void zoomingSelectsFinerBuckets() {
+
+    OHLCPyramid pyramid = newPyramid();
+    OHLCPyramid.Level all = pyramid.select(xData[0], xData[SIZE - 1], 100);
+    OHLCPyramid.Level zoomed = pyramid.select(20_000, 30_000, 100);
+
+    assertTrue(zoomed.getWidth() < all.getWidth());
+    assertTrue(zoomed.getTo() - zoomed.getFrom() <= 100);
+    // only the visible buckets
+    assertTrue(zoomed.getXData()[zoomed.getFrom() + 1] <= 20_000);
+    assertTrue(zoomed.getXData()[zoomed.getTo() - 1] > 30_000 - zoomed.getWidth());
+    assertTrue(zoomed.getXData()[zoomed.getTo() - 1] <= 30_000 + zoomed.getWidth());
+  }
+
+  @Test
+  public void unsortedDataIsNotAggregated() {
+
+    assertTrue(OHLCPyramid.canAggregate(xData));
+    assertFalse(OHLCPyramid.canAggregate(new double[] {1, 3, 2}));
+    assertFalse(OHLCPyramid.canAggregate(new double[] {1, Double.NaN, 2}));
+    assertFalse(OHLCPyramid.canAggregate(new double[] {1, 1}));
+    assertFalse(OHLCPyramid.canAggregate(new double[] {1}));
+  }
+
+  @Test
+  public void paintAggregatedChart() {
+
+    OHLCChart chart = new OHLCChart(800, 600);
+    OHLCSeries series =
+        chart.addSeries("series", xData, openData, highData, lowData, closeData, volumeData);
+    series.setAggregationEnabled(true);
+
+    BufferedImage image = new BufferedImage(800, 600, BufferedImage.TYPE_INT_RGB);
+    Graphics2D g = image.createGraphics();
+    chart.paint(g, 800, 600);
+    g.dispose();
+  }
+
+  /** Compares the visible buckets of a level with the candles which fall into them */
+  private static void assertMergesCandles(
+      OHLCPyramid.Level level,
+      double[] xData,
+      double[] openData,
+      double[] highData,
+      double[] lowData,
+      double[] closeData,
+      long[] volumeData) {
+
+    double width = level.getWidth();
+    double[] x = level.getXData();
+    for (int bucket = level.getFrom(); bucket < level.getTo(); bucket++) {
+      double open = Double.NaN;
+      double high = -Double.MAX_VALUE;
+      double low = Double.MAX_VALUE;
+      double close = Double.NaN;
+      long volume = 0;
+      for (int i = 0; i < xData.length; i++) {
+        if (xData[i] >= x[bucket] && xData[i] < x[bucket] + width && !Double.isNaN(closeData[i])) {
+          if (Double.isNaN(open)) {
+            open = openData[i];
+          }
+          high = Math.max(high, highData[i]);
+          low = Math.min(low, lowData[i]);
+          close = closeData[i];
+          volume += volumeData[i];
+        }
+      }
+      assertEquals(open, level.getOpenData()[bucket], 0);
+      assertEquals(high, level.getHighData()[bucket], 0);
+      assertEquals(low, level.getLowData()[bucket], 0);
+      assertEquals(close, level.getCloseData()[bucket], 0);
+      assertEquals(volume, level.getVolumeData()[bucket]);
+    }
+  }
+
+  private static double[] copy(double[] data, int from, int to) {
+
+    return Arrays.copyOfRange(data, from, to);
+  }
+
+  private OHLCPyramid newPyramid() {
+
+    return new OHLCPyramid(xData, openData, highData, lowData, closeData, volumeData);
+  }
+}
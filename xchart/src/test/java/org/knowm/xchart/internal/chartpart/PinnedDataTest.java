@@ -0,0 +1,103 @@
+package org.knowm.xchart.internal.chartpart;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.Test;
+import org.knowm.xchart.CategoryChart;
+import org.knowm.xchart.CategorySeries;
+import org.knowm.xchart.HeatMapChart;
+import org.knowm.xchart.HeatMapChartBuilder;
+import org.knowm.xchart.HeatMapSeries;
+import org.knowm.xchart.OHLCChart;
+import org.knowm.xchart.OHLCSeries;
+
+public class PinnedDataTest {
+
+  @Test
+  public void categoryDataIsPinnedWhilePainting() throws Exception {
+
+    CategoryChart chart = new CategoryChart(400, 300);
+    CategorySeries series = chart.addSeries("data", new double[] {1, 2, 3}, new double[] {4, 5, 6});
+
+    chart.beginPaint();
+    try {
+      runOnOtherThread(
+          () -> chart.updateCategorySeries("data", new double[] {1, 2}, new double[] {7, 9}, null));
+      // the painting thread reads the data as of the start of the paint
+      assertEquals(3, series.getXData().size());
+      assertArrayEquals(new double[] {4, 5, 6}, series.getYDataArray());
+      assertEquals(6, series.getYMax());
+      // other threads, like the tile painters, read it too once they pin it
+      Runnable check = () -> assertEquals(6, series.getYMax());
+      runOnOtherThread(((Chart<?, ?>) chart).withPinnedData(check));
+    } finally {
+      chart.endPaint();
+    }
+    assertEquals(2, series.getXData().size());
+    assertEquals(9, series.getYMax());
+  }
+
+  @Test
+  public void ohlcDataIsPinnedWhilePainting() throws Exception {
+
+    OHLCChart chart = new OHLCChart(400, 300);
+    OHLCSeries series =
+        chart.addSeries(
+            "data",
+            new double[] {1, 2},
+            new double[] {10, 11},
+            new double[] {12, 13},
+            new double[] {9, 10},
+            new double[] {11, 12});
+
+    chart.beginPaint();
+    try {
+      double[] one = {20};
+      runOnOtherThread(() -> chart.updateOHLCSeries("data", new double[] {3}, one, one, one, one));
+      assertEquals(2, series.getXData().length);
+      assertEquals(2, series.getCloseData().length);
+      assertEquals(13, series.getYMax());
+    } finally {
+      chart.endPaint();
+    }
+    assertEquals(1, series.getCloseData().length);
+    assertEquals(20, series.getYMax());
+  }
+
+  @Test
+  public void heatMapDataIsPinnedWhilePainting() throws Exception {
+
+    HeatMapChart chart = new HeatMapChartBuilder().build();
+    HeatMapSeries series =
+        chart.addSeries("data", new int[] {0, 1}, new int[] {0}, new int[][] {{3}, {4}});
+
+    chart.beginPaint();
+    try {
+      runOnOtherThread(
+          () -> chart.updateSeries("data", new int[] {0}, new int[] {0, 1, 2}, new int[][] {{8}}));
+      assertEquals(2, series.getXData().size());
+      assertArrayEquals(new double[] {3, 4}, series.getHeatDataArray());
+      assertEquals(4, series.getMax());
+    } finally {
+      chart.endPaint();
+    }
+    assertEquals(Arrays.asList(0, 1, 2), series.getYData());
+    assertEquals(3, series.getHeatDataArray().length);
+  }
+
+  private static void runOnOtherThread(Runnable task)
+      throws InterruptedException, ExecutionException {
+
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      executor.submit(task).get();
+    } finally {
+      executor.shutdown();
+    }
+  }
+}
@@ -0,0 +1,197 @@
+package org.knowm.xchart.internal.chartpart;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import javax.xml.parsers.DocumentBuilderFactory;
+import org.junit.jupiter.api.Test;
+import org.knowm.xchart.VectorGraphicsEncoder;
+import org.knowm.xchart.VectorGraphicsEncoder.VectorGraphicsFormat;
+import org.knowm.xchart.XYChart;
+import org.knowm.xchart.XYChartBuilder;
+import org.knowm.xchart.XYSeries.DecimationMode;
+import org.knowm.xchart.XYSeries.XYSeriesRenderStyle;
+import org.knowm.xchart.style.markers.SeriesMarkers;
+
+public class RasterizedPlotContentTest {
+
+  @Test
+  public void denseContentIsRasterized() throws Exception {
+
+    XYChart chart = getChart(20_000);
+
+    ByteArrayOutputStream os = new ByteArrayOutputStream();
+    VectorGraphicsEncoder.saveVectorGraphic(chart, os, VectorGraphicsFormat.SVG);
+    int vectorLength = os.size();
+    assertFalse(toString(os).contains("<image"));
+
+    os.reset();
+    VectorGraphicsEncoder.saveVectorGraphic(chart, os, VectorGraphicsFormat.SVG, 144, 10_000);
+    String svg = toString(os);
+    assertEquals(1, count(svg, "<image"));
+    // only the markers of the legend are left
+    assertTrue(count(svg, "<use") < 10);
+    assertTrue(os.size() < vectorLength / 4);
+    DocumentBuilderFactory.newInstance()
+        .newDocumentBuilder()
+        .parse(new ByteArrayInputStream(os.toByteArray()));
+  }
+
+  @Test
+  public void sparseContentStaysVector() throws IOException {
+
+    ByteArrayOutputStream os = new ByteArrayOutputStream();
+    VectorGraphicsEncoder.saveVectorGraphic(
+        getChart(1_000), os, VectorGraphicsFormat.SVG, 144, 10_000);
+    String svg = toString(os);
+    assertFalse(svg.contains("<image"));
+    assertTrue(count(svg, "<use") >= 999);
+  }
+
+  @Test
+  public void decimatedScatterCountsTheKeptPoints() throws IOException {
+
+    // scatter decimation keeps a point per pixel, far more than four per pixel column
+    XYChart chart = new XYChartBuilder().width(400).height(300).build();
+    Random random = new Random(0);
+    double[] xData = new double[20_000];
+    double[] yData = new double[xData.length];
+    for (int i = 0; i < xData.length; i++) {
+      xData[i] = random.nextDouble();
+      yData[i] = random.nextDouble();
+    }
+    chart
+        .addSeries("scatter", xData, yData)
+        .setXYSeriesRenderStyle(XYSeriesRenderStyle.Scatter)
+        .setDecimationMode(DecimationMode.M4);
+
+    ByteArrayOutputStream os = new ByteArrayOutputStream();
+    VectorGraphicsEncoder.saveVectorGraphic(chart, os, VectorGraphicsFormat.SVG, 72, 10_000);
+    assertEquals(1, count(toString(os), "<image"));
+  }
+
+  @Test
+  public void epsImagesAreCompressed() throws Exception {
+
+    XYChart chart = getChart(20_000);
+    ByteArrayOutputStream os = new ByteArrayOutputStream();
+    VectorGraphicsEncoder.saveVectorGraphic(chart, os, VectorGraphicsFormat.EPS, 72, 10_000);
+    String eps = toString(os);
+    assertTrue(eps.contains("%%LanguageLevel: 3\n"));
+    assertEquals(1, count(eps, "/ImageType 3"));
+
+    int width = Integer.parseInt(between(eps, "/ImageType 1 /Width ", " "));
+    int height = Integer.parseInt(between(eps, width + " /Height ", " "));
+    String data = between(eps, "/FlateDecode filter >>\n>>\nimage\n", "~>");
+    // mask and color samples for each pixel
+    byte[] samples = inflate(decodeASCII85(data));
+    assertEquals(4 * width * height, samples.length);
+    for (int i = 0; i < samples.length; i += 4) {
+      assertTrue(samples[i] == 0 || samples[i] == (byte) 255);
+    }
+  }
+
+  @Test
+  public void illegalResolutionsThrow() {
+
+    assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            VectorGraphicsEncoder.saveVectorGraphic(
+                getChart(10), new ByteArrayOutputStream(), VectorGraphicsFormat.SVG, 0, 10));
+  }
+
+  private static XYChart getChart(int length) {
+
+    XYChart chart = new XYChartBuilder().width(400).height(300).build();
+    double[] xData = new double[length];
+    double[] yData = new double[length];
+    for (int i = 0; i < length; i++) {
+      xData[i] = i;
+      yData[i] = Math.sin(i / 100.0);
+    }
+    chart.addSeries("line", xData, yData).setMarker(SeriesMarkers.CIRCLE);
+    return chart;
+  }
+
+  private static byte[] decodeASCII85(String text) {
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    long tuple = 0;
+    int length = 0;
+    for (char c : text.toCharArray()) {
+      if (c == 'z' && length == 0) {
+        bytes.write(new byte[4], 0, 4);
+        continue;
+      }
+      if (c < '!' || c > 'u') {
+        continue;
+      }
+      tuple = tuple * 85 + (c - '!');
+      if (++length == 5) {
+        for (int shift = 24; shift >= 0; shift -= 8) {
+          bytes.write((int) (tuple >> shift));
+        }
+        tuple = 0;
+        length = 0;
+      }
+    }
+    if (length > 0) {
+      // pads the last group with the highest digit and keeps one byte less than it has digits
+      for (int i = length; i < 5; i++) {
+        tuple = tuple * 85 + 84;
+      }
+      for (int i = 0; i < length - 1; i++) {
+        bytes.write((int) (tuple >> (24 - 8 * i)));
+      }
+    }
+    return bytes.toByteArray();
+  }
+
+  private static byte[] inflate(byte[] data) throws DataFormatException {
+
+    Inflater inflater = new Inflater();
+    inflater.setInput(data);
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    byte[] buffer = new byte[8192];
+    while (!inflater.finished()) {
+      int length = inflater.inflate(buffer);
+      if (length == 0 && inflater.needsInput()) {
+        break;
+      }
+      bytes.write(buffer, 0, length);
+    }
+    assertTrue(inflater.finished());
+    inflater.end();
+    return bytes.toByteArray();
+  }
+
+  private static String between(String text, String start, String end) {
+
+    int from = text.indexOf(start) + start.length();
+    return text.substring(from, text.indexOf(end, from));
+  }
+
+  private static String toString(ByteArrayOutputStream os) {
+
+    return new String(os.toByteArray(), StandardCharsets.UTF_8);
+  }
+
+  private static int count(String text, String part) {
+
+    int count = 0;
+    for (int i = text.indexOf(part); i >= 0; i = text.indexOf(part, i + 1)) {
+      count++;
+    }
+    return count;
+  }
+}
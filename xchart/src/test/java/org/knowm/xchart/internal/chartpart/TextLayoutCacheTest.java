@@ -0,0 +1,51 @@
+package org.knowm.xchart.internal.chartpart;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Font;
+import java.awt.font.FontRenderContext;
+import java.awt.font.TextLayout;
+import org.junit.jupiter.api.Test;
+import org.knowm.xchart.BitmapEncoder;
+import org.knowm.xchart.XYChart;
+
+public class TextLayoutCacheTest {
+
+  @Test
+  public void repaintIsAnsweredFromTheCache() {
+
+    XYChart chart = new XYChart(600, 400);
+    chart.setTitle("title");
+    chart.addSeries("series", new double[] {1, 2, 3}, new double[] {3, 1, 2});
+    BitmapEncoder.getBufferedImage(chart);
+
+    TextLayoutCache.resetCounts();
+    BitmapEncoder.getBufferedImage(chart);
+    assertEquals(0, TextLayoutCache.getMissCount());
+    assertTrue(TextLayoutCache.getHitCount() > 0);
+  }
+
+  @Test
+  public void leastRecentlyUsedAreDropped() {
+
+    int maxSize = TextLayoutCache.getMaxSize();
+    try {
+      TextLayoutCache.setMaxSize(2);
+      Font font = new Font(Font.SANS_SERIF, Font.PLAIN, 12);
+      FontRenderContext frc = new FontRenderContext(null, true, false);
+      TextLayout a = TextLayoutCache.getTextLayout("a", font, frc);
+      TextLayout b = TextLayoutCache.getTextLayout("b", font, frc);
+      assertSame(a, TextLayoutCache.getTextLayout("a", font, frc));
+      TextLayoutCache.getTextLayout("c", font, frc);
+
+      assertSame(a, TextLayoutCache.getTextLayout("a", font, frc));
+      assertNotSame(b, TextLayoutCache.getTextLayout("b", font, frc));
+      assertSame(TextLayoutCache.getOutline(a), TextLayoutCache.getOutline(a));
+    } finally {
+      TextLayoutCache.setMaxSize(maxSize);
+    }
+  }
+}
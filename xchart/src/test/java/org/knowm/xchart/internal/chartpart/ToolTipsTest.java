@@ -0,0 +1,133 @@
+package org.knowm.xchart.internal.chartpart;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.awt.Graphics2D;
+import java.awt.Shape;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.text.DecimalFormat;
+import java.text.FieldPosition;
+import java.text.Format;
+import java.text.ParsePosition;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.knowm.xchart.HeatMapChart;
+import org.knowm.xchart.HeatMapChartBuilder;
+import org.knowm.xchart.XYChart;
+
+public class ToolTipsTest {
+
+  @Test
+  public void gridFindsSameTooltipAsScan() {
+
+    XYChart chart = new XYChart(600, 400);
+    ToolTips toolTips = new ToolTips(chart);
+    Random random = new Random(42);
+    Format format = new DecimalFormat("0");
+    Shape[] shapes = new Shape[2001];
+    for (int i = 0; i < 2000; i++) {
+      double x = random.nextDouble() * 600;
+      double y = random.nextDouble() * 400;
+      toolTips.addData(x, y, format, format, i, i);
+      shapes[i] = new Ellipse2D.Double(x - 7.5, y - 7.5, 15, 15);
+    }
+    shapes[2000] = new Rectangle2D.Double(100, 100, 200, 50);
+    toolTips.addData(shapes[2000], 200, 100, 200, "bar");
+
+    for (int x = 0; x < 600; x += 3) {
+      for (int y = 0; y < 400; y += 3) {
+        String expected = null;
+        for (int i = 0; i < shapes.length; i++) {
+          if (shapes[i].contains(x, y)) {
+            expected = i < 2000 ? "(" + i + ", " + i + ")" : "bar";
+            break;
+          }
+        }
+        ToolTips.ToolTip toolTip = toolTips.getSelectedTooltip(x, y);
+        assertEquals(expected, toolTip == null ? null : toolTip.getLabel());
+      }
+    }
+  }
+
+  @Test
+  public void labelsAreFormattedLazily() {
+
+    XYChart chart = new XYChart(600, 400);
+    ToolTips toolTips = new ToolTips(chart);
+    CountingFormat format = new CountingFormat();
+    for (int i = 0; i < 30; i++) {
+      toolTips.addData(20 * i, 100, format, format, i, 2 * i);
+    }
+    assertEquals(0, format.count);
+
+    ToolTips.ToolTip toolTip = toolTips.getSelectedTooltip(200, 100);
+    assertEquals("(10, 20)", toolTip.getLabel());
+    assertEquals(2, format.count);
+    assertNull(toolTips.getSelectedTooltip(200, 300));
+    assertEquals(2, format.count);
+  }
+
+  @Test
+  public void imageHeatMapCreatesTheToolTipOfTheHoveredCell() {
+
+    // the tooltips of the image are created on hover, they are the same as the listed ones
+    ToolTips found = getHeatMapToolTips(false);
+    ToolTips listed = getHeatMapToolTips(true);
+    for (int x = 0; x < 800; x += 7) {
+      for (int y = 0; y < 600; y += 7) {
+        ToolTips.ToolTip expected = listed.getSelectedTooltip(x, y);
+        ToolTips.ToolTip toolTip = found.getSelectedTooltip(x, y);
+        assertEquals(expected, toolTip);
+        if (expected != null) {
+          assertEquals(expected.getShape(), toolTip.getShape());
+        }
+      }
+    }
+  }
+
+  private static ToolTips getHeatMapToolTips(boolean isAlwaysVisible) {
+
+    int size = 150;
+    int[] xData = new int[size];
+    int[] yData = new int[size];
+    double[][] heatData = new double[size][size];
+    for (int i = 0; i < size; i++) {
+      xData[i] = i;
+      yData[i] = i;
+      for (int j = 0; j < size; j++) {
+        heatData[i][j] = (i + j) % 3 == 0 ? Double.NaN : i * j;
+      }
+    }
+    HeatMapChart chart = new HeatMapChartBuilder().width(800).height(600).build();
+    chart.getStyler().setToolTipsEnabled(true).setToolTipsAlwaysVisible(isAlwaysVisible);
+    chart.addSeries("heat", xData, yData, heatData);
+    ToolTips toolTips = new ToolTips(chart);
+
+    BufferedImage image = new BufferedImage(800, 600, BufferedImage.TYPE_INT_RGB);
+    Graphics2D g = image.createGraphics();
+    chart.paint(g, 800, 600);
+    g.dispose();
+    return toolTips;
+  }
+
+  private static class CountingFormat extends Format {
+
+    int count;
+
+    @Override
+    public StringBuffer format(Object obj, StringBuffer toAppendTo, FieldPosition pos) {
+
+      count++;
+      return toAppendTo.append(((Number) obj).intValue());
+    }
+
+    @Override
+    public Object parseObject(String source, ParsePosition pos) {
+
+      return null;
+    }
+  }
+}
@@ -0,0 +1,120 @@
+package org.knowm.xchart.internal.chartpart;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.geom.Rectangle2D;
+import org.junit.jupiter.api.Test;
+import org.knowm.xchart.XYSeries.DecimationMode;
+
+public class XYDataDecimatorTest {
+
+  // 100 pixels wide, one x unit per pixel
+  private final XYDataDecimator decimator =
+      new XYDataDecimator(new Rectangle2D.Double(0, 0, 100, 100), false, 0, 1, false, 100, -1);
+
+  @Test
+  public void smallSeriesAreNotDecimated() {
+
+    double[] xData = {1, 2, 3};
+    double[] yData = {1, 2, 3};
+    assertNull(decimator.decimate(DecimationMode.M4, false, xData, yData, 0, xData.length));
+    assertNull(
+        decimator.decimate(
+            DecimationMode.None, false, new double[1000], new double[1000], 0, 1000));
+  }
+
+  @Test
+  public void m4KeepsExtremesOfEveryColumn() {
+
+    int length = 100_000;
+    double[] xData = new double[length];
+    double[] yData = new double[length];
+    for (int i = 0; i < length; i++) {
+      xData[i] = i / 1000.0;
+      yData[i] = Math.sin(i);
+    }
+
+    int[] indices = decimator.decimate(DecimationMode.M4, false, xData, yData, 0, xData.length);
+
+    assertTrue(indices.length <= 4 * 100);
+    for (int column = 0; column < 100; column++) {
+      double min = Double.MAX_VALUE;
+      double max = -Double.MAX_VALUE;
+      for (int i = column * 1000; i < (column + 1) * 1000; i++) {
+        min = Math.min(min, yData[i]);
+        max = Math.max(max, yData[i]);
+      }
+      double keptMin = Double.MAX_VALUE;
+      double keptMax = -Double.MAX_VALUE;
+      for (int index : indices) {
+        if ((int) xData[index] == column) {
+          keptMin = Math.min(keptMin, yData[index]);
+          keptMax = Math.max(keptMax, yData[index]);
+        }
+      }
+      assertEquals(min, keptMin);
+      assertEquals(max, keptMax);
+    }
+    for (int i = 1; i < indices.length; i++) {
+      assertTrue(indices[i] > indices[i - 1]);
+    }
+    assertEquals(0, indices[0]);
+    assertEquals(length - 1, indices[indices.length - 1]);
+  }
+
+  @Test
+  public void m4KeepsNaNGaps() {
+
+    int length = 10_000;
+    double[] xData = new double[length];
+    double[] yData = new double[length];
+    for (int i = 0; i < length; i++) {
+      xData[i] = i / 100.0;
+      yData[i] = i == 5_050 ? Double.NaN : i;
+    }
+
+    int[] indices = decimator.decimate(DecimationMode.M4, false, xData, yData, 0, xData.length);
+
+    boolean containsNaN = false;
+    for (int index : indices) {
+      containsNaN |= index == 5_050;
+    }
+    assertTrue(containsNaN);
+  }
+
+  @Test
+  public void lttbKeepsEndPoints() {
+
+    int length = 10_000;
+    double[] xData = new double[length];
+    double[] yData = new double[length];
+    for (int i = 0; i < length; i++) {
+      xData[i] = i / 100.0;
+      yData[i] = Math.cos(i / 50.0);
+    }
+
+    int[] indices = decimator.decimate(DecimationMode.LTTB, false, xData, yData, 0, xData.length);
+
+    assertEquals(200, indices.length);
+    assertEquals(0, indices[0]);
+    assertEquals(length - 1, indices[indices.length - 1]);
+  }
+
+  @Test
+  public void scatterKeepsOnePointPerPixel() {
+
+    int length = 10_000;
+    double[] xData = new double[length];
+    double[] yData = new double[length];
+    for (int i = 0; i < length; i++) {
+      xData[i] = (i % 10) + 0.5;
+      yData[i] = (i % 7) + 0.5;
+    }
+
+    int[] indices = decimator.decimate(DecimationMode.M4, true, xData, yData, 0, xData.length);
+
+    assertEquals(70, indices.length);
+  }
+}
@@ -0,0 +1,55 @@
+package org.knowm.xchart.internal.series;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.knowm.xchart.XYSeries;
+import org.knowm.xchart.internal.series.Series.DataType;
+
+public class AxesChartSeriesNumericalNoErrorBarsTest {
+
+  @Test
+  public void sortedFilterIsAView() {
+
+    double[] xData = {0, 1, 2, 3, 4, 5, 6, 7, 8, 9};
+    double[] yData = {5, 9, 1, 7, 3, 8, 2, 6, 4, 0};
+    XYSeries series = new XYSeries("series", xData, yData, null, DataType.Number);
+    assertTrue(series.isXDataSorted());
+
+    assertTrue(series.filterXByValue(2.5, 6));
+    assertSame(xData, series.getXDataBuffer());
+    assertEquals(3, series.getDataOffset());
+    assertEquals(4, series.getDataLength());
+    assertArrayEquals(new double[] {3, 4, 5, 6}, series.getXData());
+    assertArrayEquals(new double[] {7, 3, 8, 2}, series.getYData());
+    assertEquals(3, series.getXMin());
+    assertEquals(6, series.getXMax());
+    assertEquals(2, series.getYMin());
+    assertEquals(8, series.getYMax());
+
+    series.resetFilter();
+    assertTrue(series.isAllXData());
+    assertSame(xData, series.getXData());
+    assertEquals(0, series.getYMin());
+    assertEquals(9, series.getYMax());
+  }
+
+  @Test
+  public void unsortedFilterCopies() {
+
+    double[] xData = {3, 1, 2, 0};
+    double[] yData = {30, 10, 20, 0};
+    XYSeries series = new XYSeries("series", xData, yData, null, DataType.Number);
+    assertFalse(series.isXDataSorted());
+
+    assertTrue(series.filterXByValue(1, 2));
+    assertEquals(0, series.getDataOffset());
+    assertArrayEquals(new double[] {1, 2}, series.getXData());
+    assertArrayEquals(new double[] {10, 20}, series.getYData());
+    assertFalse(series.filterXByValue(-1, 5));
+  }
+}
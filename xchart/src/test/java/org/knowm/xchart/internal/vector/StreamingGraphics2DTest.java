@@ -0,0 +1,168 @@
+package org.knowm.xchart.internal.vector;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.Line2D;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import javax.xml.parsers.DocumentBuilderFactory;
+import org.junit.jupiter.api.Test;
+import org.knowm.xchart.VectorGraphicsEncoder;
+import org.knowm.xchart.VectorGraphicsEncoder.VectorGraphicsFormat;
+import org.knowm.xchart.XYChart;
+import org.knowm.xchart.XYChartBuilder;
+import org.knowm.xchart.style.markers.SeriesMarkers;
+import org.w3c.dom.Document;
+
+public class StreamingGraphics2DTest {
+
+  @Test
+  public void connectedLinesAreMerged() throws IOException {
+
+    ByteArrayOutputStream os = new ByteArrayOutputStream();
+    StreamingGraphics2D g = StreamingGraphics2D.createSVG(os, 100, 100);
+    g.setColor(Color.BLUE);
+    g.setStroke(new BasicStroke(2));
+    for (int i = 0; i < 10; i++) {
+      g.draw(new Line2D.Double(i, i, i + 1, i + 1));
+    }
+    g.setColor(Color.RED);
+    g.draw(new Line2D.Double(0, 0, 1, 1));
+    g.finish();
+
+    String svg = toString(os);
+    assertEquals(2, count(svg, "<path"));
+    assertTrue(svg.contains("<path d=\"M0 0L1 1L2 2L3 3L4 4L5 5L6 6L7 7L8 8L9 9L10 10\""));
+  }
+
+  @Test
+  public void repeatedShapesAreSymbols() throws IOException {
+
+    ByteArrayOutputStream os = new ByteArrayOutputStream();
+    StreamingGraphics2D g = StreamingGraphics2D.createSVG(os, 100, 100);
+    for (int i = 0; i < 100; i++) {
+      g.fill(new Ellipse2D.Double(i, 2 * i, 8, 8));
+    }
+    g.finish();
+
+    String svg = toString(os);
+    // the first one is written before it is known to repeat
+    assertEquals(2, count(svg, "<path"));
+    assertEquals(1, count(svg, "<symbol"));
+    assertEquals(99, count(svg, "<use"));
+    assertTrue(svg.contains("<use xlink:href=\"#s0\" x=\"107\" y=\"202\""));
+  }
+
+  @Test
+  public void markersOnTheLineDoNotInterruptIt() throws IOException {
+
+    ByteArrayOutputStream os = new ByteArrayOutputStream();
+    StreamingGraphics2D g = StreamingGraphics2D.createSVG(os, 100, 100);
+    paintLineWithMarkers(g, Color.BLUE, Color.BLUE, 0);
+    g.finish();
+
+    String svg = toString(os);
+    // the merged line, the first marker and the path of the symbol
+    assertEquals(3, count(svg, "<path"));
+    assertEquals(9, count(svg, "<use"));
+  }
+
+  @Test
+  public void markersOfAnotherColorKeepThePaintOrder() throws IOException {
+
+    ByteArrayOutputStream os = new ByteArrayOutputStream();
+    StreamingGraphics2D g = StreamingGraphics2D.createSVG(os, 100, 100);
+    paintLineWithMarkers(g, Color.BLUE, Color.RED, 0);
+    g.finish();
+
+    String svg = toString(os);
+    // each segment, the first marker and the path of the symbol
+    assertEquals(12, count(svg, "<path"));
+    assertEquals(9, count(svg, "<use"));
+    // a marker is above the segment before it and below the one after it
+    int marker = svg.indexOf("<use xlink:href=\"#s0\" x=\"34\"");
+    assertTrue(svg.indexOf("<path d=\"M20 0L30 5\"") < marker);
+    assertTrue(svg.indexOf("<path d=\"M30 0L40 5\"") > marker);
+  }
+
+  @Test
+  public void translucentSeriesAreMergedLikeOpaqueOnes() throws IOException {
+
+    // the default theme's series colors, which are translucent
+    Color[] seriesColors = new XYChartBuilder().build().getStyler().getSeriesColors();
+    ByteArrayOutputStream os = new ByteArrayOutputStream();
+    StreamingGraphics2D g = StreamingGraphics2D.createSVG(os, 100, 100);
+    for (int i = 0; i < 3; i++) {
+      assertTrue(seriesColors[i].getAlpha() < 255);
+      paintLineWithMarkers(g, seriesColors[i], seriesColors[i], 20 * i);
+    }
+    g.finish();
+
+    String svg = toString(os);
+    // a line per series, the first marker and the path of the symbol
+    assertEquals(3, count(svg, "fill=\"none\""));
+    assertEquals(5, count(svg, "<path"));
+    assertEquals(29, count(svg, "<use"));
+  }
+
+  private static void paintLineWithMarkers(
+      StreamingGraphics2D g, Color lineColor, Color markerColor, double y) {
+
+    for (int i = 0; i < 10; i++) {
+      g.setColor(lineColor);
+      g.draw(new Line2D.Double(10 * i, y, 10 * i + 10, y + 5));
+      g.setColor(markerColor);
+      g.fill(new Ellipse2D.Double(10 * i + 6, y + 1, 8, 8));
+    }
+  }
+
+  @Test
+  public void chartsAreWellFormed() throws Exception {
+
+    XYChart chart = new XYChartBuilder().width(400).height(300).build();
+    double[] xData = new double[10_000];
+    double[] yData = new double[xData.length];
+    for (int i = 0; i < xData.length; i++) {
+      xData[i] = i;
+      yData[i] = Math.sin(i / 100.0);
+    }
+    chart.addSeries("line", xData, yData).setMarker(SeriesMarkers.CIRCLE);
+    chart.getStyler().setPlotBackgroundColor(new Color(0, 0, 255, 64));
+
+    ByteArrayOutputStream os = new ByteArrayOutputStream();
+    VectorGraphicsEncoder.saveVectorGraphic(chart, os, VectorGraphicsFormat.SVG);
+    Document document =
+        DocumentBuilderFactory.newInstance()
+            .newDocumentBuilder()
+            .parse(new ByteArrayInputStream(os.toByteArray()));
+    assertEquals("svg", document.getDocumentElement().getTagName());
+    assertTrue(count(toString(os), "<use") >= xData.length - 1);
+
+    os.reset();
+    VectorGraphicsEncoder.saveVectorGraphic(chart, os, VectorGraphicsFormat.EPS);
+    String eps = toString(os);
+    assertTrue(eps.startsWith("%!PS-Adobe-3.0 EPSF-3.0\n%%BoundingBox: 0 0 400 300\n"));
+    assertTrue(eps.endsWith("showpage\n%%EOF\n"));
+    assertEquals(count(eps, "gsave"), count(eps, "grestore"));
+  }
+
+  private static String toString(ByteArrayOutputStream os) {
+
+    return new String(os.toByteArray(), StandardCharsets.UTF_8);
+  }
+
+  private static int count(String text, String part) {
+
+    int count = 0;
+    for (int i = text.indexOf(part); i >= 0; i = text.indexOf(part, i + 1)) {
+      count++;
+    }
+    return count;
+  }
+}